@@ -0,0 +1,195 @@
+package com.biblioteca.app.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.biblioteca.app.repository.AuthorRepository;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.service.analytics.AuthorRentalTally;
+import com.biblioteca.app.service.analytics.BookRankingPage;
+import com.biblioteca.app.service.analytics.BookRentalTally;
+import com.biblioteca.app.service.analytics.RentalAnalyticsEngine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmark y comprobación del motor de analítica en memoria (RentalAnalyticsEngine) sobre una
+ * base generada con DataGeneratorMain.
+ *
+ * mvn -Pdatagen -DskipTests verify -Ddatagen.main=com.biblioteca.app.datagen.AnalyticsEngineBenchmark
+ *     -Ddatagen.args="-Ddatagen.url=jdbc:mysql://localhost:3306/biblioteca_perf -Ddatagen.user=root -Ddatagen.password=..."
+ *
+ * Mide la carga completa y la memoria por millón de alquileres, y compara la primera página de
+ * libros y el top de autores del motor con las consultas de RentalRepository / AuthorRepository
+ * (variantes WithArchive, leídas de @Query). Termina con código 1 si algún conteo no coincide.
+ *
+ * Propiedades (-Dbench.*): limit (20), warmup (2), runs (5), parallelism (núcleos).
+ */
+public class AnalyticsEngineBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("datagen.url");
+        if (url == null || url.isBlank()) {
+            System.err.println("Falta -Ddatagen.url (y datagen.user / datagen.password)");
+            System.exit(2);
+        }
+        String user = System.getProperty("datagen.user");
+        String password = System.getProperty("datagen.password");
+
+        int limit = Integer.getInteger("bench.limit", 20);
+        int warmup = Integer.getInteger("bench.warmup", 2);
+        int runs = Integer.getInteger("bench.runs", 5);
+        int parallelism = Integer.getInteger("bench.parallelism", 0);
+
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(url, user, password, true);
+        RentalAnalyticsEngine engine = new RentalAnalyticsEngine(dataSource, new SimpleMeterRegistry(),
+                true, parallelism, 1 << 20, Integer.MIN_VALUE, 1000, Duration.ofMinutes(1));
+
+        long start = System.nanoTime();
+        engine.reload();
+        double loadMillis = (System.nanoTime() - start) / 1e6;
+        dataSource.destroy();
+
+        System.out.printf("Carga: %,d alquileres en %.0f ms%n", engine.rowCount(), loadMillis);
+        System.out.printf("Memoria: %,d KB (%,.0f bytes por millón de alquileres)%n%n",
+                engine.memoryBytes() / 1024, engine.memoryBytesPerMillion());
+
+        String booksSql = RepositorySql.of(RentalRepository.class, "findMostRequestedBooksWithArchive");
+        String authorsSql = RepositorySql.of(AuthorRepository.class, "getMostRequestedAuthorsWithArchive");
+
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        Map<String, Object> bookParams = new HashMap<>();
+        bookParams.put("categoryId", null);
+        bookParams.put("yesterdayStart", todayStart.minusDays(1));
+        bookParams.put("todayStart", todayStart);
+        bookParams.put("tomorrowStart", todayStart.plusDays(1));
+        bookParams.put("afterTotal", null);
+        bookParams.put("afterBookId", null);
+        bookParams.put("limit", limit);
+        bookParams.put("offset", 0);
+
+        Map<String, Object> authorParams = new HashMap<>();
+        authorParams.put("countryId", null);
+        authorParams.put("statusId", null);
+        authorParams.put("limit", limit);
+
+        int mismatches = 0;
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setReadOnly(true);
+
+            // ====== LIBROS ======
+
+            double sqlBooks = medianMillis(() -> fetchBooks(connection, booksSql, bookParams), warmup, runs);
+            double engineBooks = medianMillis(() -> engine.rankBooks(null, null, null, limit, 0), warmup, runs);
+            System.out.printf("Libros más pedidos (página 1): SQL %.1f ms, memoria %.1f ms (x%.1f)%n",
+                    sqlBooks, engineBooks, sqlBooks / engineBooks);
+
+            List<long[]> expected = fetchBooks(connection, booksSql, bookParams);
+            BookRankingPage page = engine.rankBooks(null, null, null, limit, 0);
+            if (expected.size() != page.getItems().size()) {
+                System.out.printf("  filas: SQL %d, memoria %d DISTINTO%n", expected.size(), page.getItems().size());
+                mismatches++;
+            }
+            for (int i = 0; i < Math.min(expected.size(), page.getItems().size()); i++) {
+                long[] row = expected.get(i);
+                BookRentalTally tally = page.getItems().get(i);
+                long[] actual = { tally.getBookId().getMostSignificantBits(), tally.getBookId().getLeastSignificantBits(),
+                        tally.getTotalRentals(), tally.getYesterdayRentals(), tally.getTodayRentals(),
+                        page.getTotalItems(), page.getMaxRentals() };
+                if (!Arrays.equals(row, actual)) {
+                    mismatches++;
+                    System.out.printf("  posición %d: SQL %s, memoria %s DISTINTO%n", i + 1,
+                            Arrays.toString(row), Arrays.toString(actual));
+                }
+            }
+
+            // ====== AUTORES ======
+
+            double sqlAuthors = medianMillis(() -> fetchAuthors(connection, authorsSql, authorParams), warmup, runs);
+            double engineAuthors = medianMillis(() -> engine.topAuthors(null, null, limit), warmup, runs);
+            System.out.printf("Autores más pedidos (top %d): SQL %.1f ms, memoria %.1f ms (x%.1f)%n",
+                    limit, sqlAuthors, engineAuthors, sqlAuthors / engineAuthors);
+
+            Map<UUID, Integer> engineTotals = new HashMap<>();
+            for (AuthorRentalTally tally : engine.topAuthors(null, null, limit)) {
+                engineTotals.put(tally.getAuthorId(), tally.getTotalRentals());
+            }
+            for (Map.Entry<UUID, Integer> entry : fetchAuthors(connection, authorsSql, authorParams).entrySet()) {
+                Integer actual = engineTotals.get(entry.getKey());
+                if (!entry.getValue().equals(actual)) {
+                    mismatches++;
+                    System.out.printf("  autor %s: SQL %d, memoria %s DISTINTO%n",
+                            entry.getKey(), entry.getValue(), actual);
+                }
+            }
+        }
+
+        System.out.println(mismatches == 0
+                ? "\nEl motor en memoria coincide con las consultas SQL"
+                : "\n" + mismatches + " diferencias con las consultas SQL");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    private static double medianMillis(SqlSupplier<?> task, int warmup, int runs) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            task.get();
+        }
+        double[] samples = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.get();
+            samples[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+
+    /**
+     * Filas del reporte de libros como (bookId msb, lsb, total, ayer, hoy, totalItems, maxRentals)
+     */
+    private static List<long[]> fetchBooks(Connection connection, String sql, Map<String, Object> params)
+            throws SQLException {
+        List<long[]> rows = new ArrayList<>();
+        try (PreparedStatement statement = RepositorySql.prepare(connection, sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                UUID bookId = UUID.fromString(rs.getString("bookId"));
+                rows.add(new long[] { bookId.getMostSignificantBits(), bookId.getLeastSignificantBits(),
+                        rs.getLong("totalRentals"), rs.getLong("yesterdayRentals"), rs.getLong("todayRentals"),
+                        rs.getLong("totalItems"), rs.getLong("maxRentals") });
+            }
+        }
+        return rows;
+    }
+
+    private static Map<UUID, Integer> fetchAuthors(Connection connection, String sql, Map<String, Object> params)
+            throws SQLException {
+        Map<UUID, Integer> rows = new HashMap<>();
+        try (PreparedStatement statement = RepositorySql.prepare(connection, sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows.put(UUID.fromString(rs.getString("authorId")), rs.getInt("totalRentals"));
+            }
+        }
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface SqlSupplier<T> {
+        T get() throws SQLException;
+    }
+}
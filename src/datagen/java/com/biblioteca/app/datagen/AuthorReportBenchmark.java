@@ -0,0 +1,174 @@
+package com.biblioteca.app.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.biblioteca.app.repository.AuthorRepository;
+
+/**
+ * Benchmark y comprobación del reporte de autores más pedidos (/admin/autores-pedidos) sobre una
+ * base generada con DataGeneratorMain.
+ *
+ * mvn -Pdatagen -DskipTests verify -Ddatagen.main=com.biblioteca.app.datagen.AuthorReportBenchmark
+ *     -Ddatagen.args="-Ddatagen.url=jdbc:mysql://localhost:3306/biblioteca_perf -Ddatagen.user=root -Ddatagen.password=..."
+ *
+ * Mide la consulta anterior (uniones Author-Book-BookCopy-Rental sin agrupar) frente a la actual de
+ * AuthorRepository (leída de @Query) y comprueba, para los autores devueltos, cada columna contra
+ * conteos independientes por nivel. Termina con código 1 si la consulta actual no coincide.
+ *
+ * Propiedades (-Dbench.*): limit (20), warmup (2), runs (5).
+ */
+public class AuthorReportBenchmark {
+
+    /**
+     * Consulta del reporte antes de agregar cada nivel por separado (línea base)
+     */
+    private static final String LEGACY_SQL = """
+        SELECT
+            BIN_TO_UUID(a.AuthorId) as authorId,
+            a.FullName as fullName,
+            a.Pseudonym as pseudonym,
+            a.PhotoUrl as photoUrl,
+            c.CountryName as countryName,
+            COUNT(DISTINCT b.BookId) as totalBooks,
+            COUNT(DISTINCT bc.BookCopyId) as totalCopies,
+            SUM(CASE WHEN bcs.BookCopyStatusName = 'Disponible' THEN 1 ELSE 0 END) as availableCopies,
+            COUNT(r.RentalId) as totalRentals
+        FROM Author a
+        INNER JOIN Country c ON a.CountryId = c.CountryId
+        INNER JOIN Status s ON a.StatusId = s.StatusId
+        LEFT JOIN Book b ON a.AuthorId = b.AuthorId
+        LEFT JOIN BookCopy bc ON b.BookId = bc.BookId
+        LEFT JOIN BookCopyStatus bcs ON bc.BookCopyStatusId = bcs.BookCopyStatusId
+        LEFT JOIN Rental r ON bc.BookCopyId = r.BookCopyId
+        WHERE (:countryId IS NULL OR a.CountryId = UUID_TO_BIN(CAST(:countryId AS CHAR)))
+        AND (:statusId IS NULL OR a.StatusId = UUID_TO_BIN(CAST(:statusId AS CHAR)))
+        GROUP BY a.AuthorId, a.FullName, a.Pseudonym, a.PhotoUrl, c.CountryName
+        HAVING COUNT(r.RentalId) > 0
+        ORDER BY totalRentals DESC, a.FullName ASC
+        LIMIT :limit
+    """;
+
+    /**
+     * Conteos de referencia de un autor, uno por nivel y sin uniones que multipliquen filas
+     */
+    private static final String REFERENCE_SQL = """
+        SELECT
+            CAST(:authorId AS CHAR) AS authorId,
+            (SELECT COUNT(*) FROM Book b WHERE b.AuthorId = UUID_TO_BIN(:authorId)) AS totalBooks,
+            (SELECT COUNT(*) FROM BookCopy bc
+                INNER JOIN Book b ON b.BookId = bc.BookId
+                WHERE b.AuthorId = UUID_TO_BIN(:authorId)) AS totalCopies,
+            (SELECT COUNT(*) FROM BookCopy bc
+                INNER JOIN Book b ON b.BookId = bc.BookId
+                INNER JOIN BookCopyStatus bcs ON bcs.BookCopyStatusId = bc.BookCopyStatusId
+                WHERE b.AuthorId = UUID_TO_BIN(:authorId)
+                AND bcs.BookCopyStatusName = 'Disponible') AS availableCopies,
+            (SELECT COUNT(*) FROM Rental r
+                INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+                INNER JOIN Book b ON b.BookId = bc.BookId
+                WHERE b.AuthorId = UUID_TO_BIN(:authorId)) AS totalRentals
+    """;
+
+    private static final String[] COLUMNS = { "totalBooks", "totalCopies", "availableCopies", "totalRentals" };
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("datagen.url");
+        if (url == null || url.isBlank()) {
+            System.err.println("Falta -Ddatagen.url (y datagen.user / datagen.password)");
+            System.exit(2);
+        }
+
+        int limit = Integer.getInteger("bench.limit", 20);
+        int warmup = Integer.getInteger("bench.warmup", 2);
+        int runs = Integer.getInteger("bench.runs", 5);
+
+        String currentSql = RepositorySql.of(AuthorRepository.class, "getMostRequestedAuthors");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("countryId", null);
+        params.put("statusId", null);
+        params.put("limit", limit);
+
+        int mismatches = 0;
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("datagen.user"), System.getProperty("datagen.password"))) {
+            connection.setReadOnly(true);
+
+            double legacy = medianMillis(connection, LEGACY_SQL, params, warmup, runs);
+            double current = medianMillis(connection, currentSql, params, warmup, runs);
+            System.out.printf("Top %d autores: anterior %.1f ms, actual %.1f ms (x%.1f)%n%n",
+                    limit, legacy, current, legacy / current);
+
+            Map<String, long[]> legacyRows = fetch(connection, LEGACY_SQL, params);
+            Map<String, long[]> currentRows = fetch(connection, currentSql, params);
+
+            System.out.printf("%-36s %-16s %12s %12s %12s %s%n",
+                    "autor", "columna", "referencia", "actual", "anterior", "");
+            for (Map.Entry<String, long[]> entry : currentRows.entrySet()) {
+                long[] expected = reference(connection, entry.getKey());
+                long[] actual = entry.getValue();
+                long[] before = legacyRows.get(entry.getKey());
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    boolean ok = expected[i] == actual[i];
+                    if (!ok) {
+                        mismatches++;
+                    }
+                    System.out.printf("%-36s %-16s %,12d %,12d %12s %s%n", entry.getKey(), COLUMNS[i],
+                            expected[i], actual[i], before != null ? String.format("%,d", before[i]) : "-",
+                            ok ? "" : "DISTINTO");
+                }
+            }
+        }
+
+        System.out.println(mismatches == 0
+                ? "\nConsulta actual correcta para todos los autores"
+                : "\n" + mismatches + " valores distintos de la referencia");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    private static double medianMillis(Connection connection, String sql, Map<String, Object> params,
+                                       int warmup, int runs) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            fetch(connection, sql, params);
+        }
+        double[] samples = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            fetch(connection, sql, params);
+            samples[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+
+    /**
+     * authorId -> columnas (en el orden de COLUMNS), conservando el orden del reporte
+     */
+    private static Map<String, long[]> fetch(Connection connection, String sql, Map<String, Object> params)
+            throws SQLException {
+        Map<String, long[]> rows = new LinkedHashMap<>();
+        try (PreparedStatement statement = RepositorySql.prepare(connection, sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                long[] values = new long[COLUMNS.length];
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    values[i] = rs.getLong(COLUMNS[i]);
+                }
+                rows.put(rs.getString("authorId"), values);
+            }
+        }
+        return rows;
+    }
+
+    private static long[] reference(Connection connection, String authorId) throws SQLException {
+        return fetch(connection, REFERENCE_SQL, Map.of("authorId", authorId)).get(authorId);
+    }
+}
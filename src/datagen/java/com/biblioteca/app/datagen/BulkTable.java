@@ -0,0 +1,51 @@
+package com.biblioteca.app.datagen;
+
+import java.util.List;
+
+/**
+ * Tabla de carga masiva: nombre y columnas en el orden de los valores de cada fila.
+ * Las columnas terminadas en "Id" son UUID en BINARY(16), como en todo el esquema.
+ */
+public class BulkTable {
+
+    public static final BulkTable AUTHOR = new BulkTable("Author",
+            "AuthorId", "FullName", "CountryId", "StatusId", "BirthYear", "CreatedAt", "UpdatedAt");
+
+    public static final BulkTable BOOK = new BulkTable("Book",
+            "BookId", "ISBN", "Title", "AuthorId", "CategoryId", "PublicationYear", "Publisher", "Pages",
+            "Language", "BookStatusId", "CreatedAt", "UpdatedAt");
+
+    public static final BulkTable BOOK_COPY = new BulkTable("BookCopy",
+            "BookCopyId", "BookId", "BookCopyStatusId", "CreatedAt", "UpdatedAt");
+
+    public static final BulkTable USER = new BulkTable("User",
+            "UserId", "Email", "Password", "StatusId", "CreatedAt", "UpdatedAt");
+
+    public static final BulkTable USER_ROLE = new BulkTable("UserRole",
+            "UserRoleId", "UserId", "RoleId", "CreatedAt", "UpdatedAt");
+
+    public static final BulkTable RENTAL = new BulkTable("Rental",
+            "RentalId", "UserId", "BookCopyId", "RentalStatusId", "RentalDate", "DueDate", "ReturnDate",
+            "RentalDays", "DailyRate", "TotalCost", "IsOverdue", "PenaltyAmount", "PenaltyCalculatedAt",
+            "CreatedAt", "UpdatedAt");
+
+    private final String name;
+    private final List<String> columns;
+
+    public BulkTable(String name, String... columns) {
+        this.name = name;
+        this.columns = List.of(columns);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public boolean isUuidColumn(String column) {
+        return column.endsWith("Id");
+    }
+}
@@ -0,0 +1,27 @@
+package com.biblioteca.app.datagen;
+
+/**
+ * Destino de la carga masiva (JDBC por lotes o ficheros para LOAD DATA).
+ */
+public interface BulkTarget extends AutoCloseable {
+
+    /**
+     * Abre el escritor de una tabla; se cierra antes de pasar a la siguiente
+     */
+    TableWriter open(BulkTable table);
+
+    @Override
+    void close();
+
+    /**
+     * Filas de una tabla. Los valores van en el orden de BulkTable.getColumns();
+     * admite UUID, LocalDateTime, BigDecimal, Boolean, números y String.
+     */
+    interface TableWriter extends AutoCloseable {
+
+        void write(Object... values);
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.biblioteca.app.datagen;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.Map;
+
+import com.biblioteca.app.helper.PasswordUtil;
+
+/**
+ * Línea de comandos del generador (perfil Maven datagen).
+ *
+ * mvn -Pdatagen -DskipTests verify -Ddatagen.args="-Ddatagen.url=jdbc:mysql://localhost:3306/biblioteca_perf
+ *     -Ddatagen.user=root -Ddatagen.password=... -Ddatagen.rentals=5000000"
+ *
+ * Propiedades (-Ddatagen.*): url, user, password (obligatorias), mode (jdbc | tsv), out (directorio
+ * de los TSV), batch-size, seed, authors, books, users, rentals, active-rentals, history-days,
+ * overdue-ratio, late-return-ratio, cancelled-ratio, user-password, admin-email.
+ */
+public class DataGeneratorMain {
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("datagen.url");
+        if (url == null || url.isBlank()) {
+            System.err.println("Falta -Ddatagen.url (y datagen.user / datagen.password)");
+            System.exit(2);
+        }
+        // El driver de MySQL solo agrupa los INSERT de un lote con esta opción
+        if (url.startsWith("jdbc:mysql:") && !url.contains("rewriteBatchedStatements")) {
+            url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+        }
+
+        DatasetSpec spec = new DatasetSpec();
+        spec.setSeed(Long.getLong("datagen.seed", spec.getSeed()));
+        spec.setAuthors(Integer.getInteger("datagen.authors", spec.getAuthors()));
+        spec.setBooks(Integer.getInteger("datagen.books", spec.getBooks()));
+        spec.setUsers(Integer.getInteger("datagen.users", spec.getUsers()));
+        spec.setRentals(Long.getLong("datagen.rentals", spec.getRentals()));
+        spec.setActiveRentals(Integer.getInteger("datagen.active-rentals", spec.getActiveRentals()));
+        spec.setHistoryDays(Integer.getInteger("datagen.history-days", spec.getHistoryDays()));
+        spec.setOverdueRatio(doubleProperty("datagen.overdue-ratio", spec.getOverdueRatio()));
+        spec.setLateReturnRatio(doubleProperty("datagen.late-return-ratio", spec.getLateReturnRatio()));
+        spec.setCancelledRatio(doubleProperty("datagen.cancelled-ratio", spec.getCancelledRatio()));
+        spec.setPasswordHash(PasswordUtil.hashPassword(System.getProperty("datagen.user-password", "datagen123")));
+        spec.setAdminEmail(System.getProperty("datagen.admin-email"));
+
+        String mode = System.getProperty("datagen.mode", "jdbc");
+        int batchSize = Integer.getInteger("datagen.batch-size", 2000);
+        Path out = Path.of(System.getProperty("datagen.out", "target/datagen"));
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("datagen.user"), System.getProperty("datagen.password"))) {
+            connection.setAutoCommit(false);
+            BulkTarget target = "tsv".equals(mode) ? new TsvBulkTarget(out) : new JdbcBulkTarget(connection, batchSize);
+            GeneratedDataset dataset;
+            try (target) {
+                dataset = new LibraryDataGenerator(spec).generate(connection, target);
+            }
+
+            for (Map.Entry<String, Long> entry : dataset.getRowCounts().entrySet()) {
+                System.out.printf("%-12s %,14d%n", entry.getKey(), entry.getValue());
+            }
+        }
+        System.out.printf("Generado en %.1f s%n", (System.nanoTime() - start) / 1e9);
+        if ("tsv".equals(mode)) {
+            System.out.println("Ficheros y load-data.sql en " + out.toAbsolutePath());
+        }
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
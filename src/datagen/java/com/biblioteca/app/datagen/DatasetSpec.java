@@ -0,0 +1,241 @@
+package com.biblioteca.app.datagen;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Tamaño y distribuciones del conjunto de datos sintético.
+ * Los valores por defecto corresponden a una biblioteca mediana (2 M de alquileres).
+ */
+public class DatasetSpec {
+
+    // ====== VOLUMEN ======
+
+    private long seed = 42;
+    private int authors = 10_000;
+    private int books = 100_000;
+    private int users = 50_000;
+    private long rentals = 2_000_000;
+    private int activeRentals = 20_000;
+
+    // ====== DISTRIBUCIONES ======
+
+    /** Exponente de Zipf de la popularidad de los libros */
+    private double bookPopularityExponent = 1.07;
+    /** Exponente de Zipf de libros por autor */
+    private double authorProductivityExponent = 0.8;
+    /** Exponente de Zipf de alquileres por usuario */
+    private double userActivityExponent = 0.6;
+    /** Fracción de títulos fuera del top 10 % con un segundo ejemplar */
+    private double multiCopyRatio = 0.3;
+    private double discontinuedCopyRatio = 0.01;
+    /** Fracción de alquileres en curso que ya están vencidos */
+    private double overdueRatio = 0.15;
+    /** Fracción de alquileres cerrados devueltos con retraso */
+    private double lateReturnRatio = 0.12;
+    private double cancelledRatio = 0.03;
+    /** Días de historial hacia atrás desde now */
+    private int historyDays = 730;
+    /** Crecimiento de la actividad entre el inicio y el fin del historial */
+    private double growth = 0.2;
+
+    // ====== VALORES DE NEGOCIO ======
+
+    private int rentalDays = 5;
+    private BigDecimal dailyRate = new BigDecimal("10.00");
+    private BigDecimal dailyPenalty = new BigDecimal("12.50");
+    private LocalDateTime now;
+
+    // ====== CUENTAS ======
+
+    /** Hash (BCrypt) de la contraseña común de todos los usuarios generados */
+    private String passwordHash;
+    private String emailDomain = "datagen.local";
+    /** Si no es null se crea también un administrador con ese email */
+    private String adminEmail;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(int authors) {
+        this.authors = authors;
+    }
+
+    public int getBooks() {
+        return books;
+    }
+
+    public void setBooks(int books) {
+        this.books = books;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public long getRentals() {
+        return rentals;
+    }
+
+    public void setRentals(long rentals) {
+        this.rentals = rentals;
+    }
+
+    public int getActiveRentals() {
+        return activeRentals;
+    }
+
+    public void setActiveRentals(int activeRentals) {
+        this.activeRentals = activeRentals;
+    }
+
+    public double getBookPopularityExponent() {
+        return bookPopularityExponent;
+    }
+
+    public void setBookPopularityExponent(double bookPopularityExponent) {
+        this.bookPopularityExponent = bookPopularityExponent;
+    }
+
+    public double getAuthorProductivityExponent() {
+        return authorProductivityExponent;
+    }
+
+    public void setAuthorProductivityExponent(double authorProductivityExponent) {
+        this.authorProductivityExponent = authorProductivityExponent;
+    }
+
+    public double getUserActivityExponent() {
+        return userActivityExponent;
+    }
+
+    public void setUserActivityExponent(double userActivityExponent) {
+        this.userActivityExponent = userActivityExponent;
+    }
+
+    public double getMultiCopyRatio() {
+        return multiCopyRatio;
+    }
+
+    public void setMultiCopyRatio(double multiCopyRatio) {
+        this.multiCopyRatio = multiCopyRatio;
+    }
+
+    public double getDiscontinuedCopyRatio() {
+        return discontinuedCopyRatio;
+    }
+
+    public void setDiscontinuedCopyRatio(double discontinuedCopyRatio) {
+        this.discontinuedCopyRatio = discontinuedCopyRatio;
+    }
+
+    public double getOverdueRatio() {
+        return overdueRatio;
+    }
+
+    public void setOverdueRatio(double overdueRatio) {
+        this.overdueRatio = overdueRatio;
+    }
+
+    public double getLateReturnRatio() {
+        return lateReturnRatio;
+    }
+
+    public void setLateReturnRatio(double lateReturnRatio) {
+        this.lateReturnRatio = lateReturnRatio;
+    }
+
+    public double getCancelledRatio() {
+        return cancelledRatio;
+    }
+
+    public void setCancelledRatio(double cancelledRatio) {
+        this.cancelledRatio = cancelledRatio;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+
+    public double getGrowth() {
+        return growth;
+    }
+
+    public void setGrowth(double growth) {
+        this.growth = growth;
+    }
+
+    public int getRentalDays() {
+        return rentalDays;
+    }
+
+    public void setRentalDays(int rentalDays) {
+        this.rentalDays = rentalDays;
+    }
+
+    public BigDecimal getDailyRate() {
+        return dailyRate;
+    }
+
+    public void setDailyRate(BigDecimal dailyRate) {
+        this.dailyRate = dailyRate;
+    }
+
+    public BigDecimal getDailyPenalty() {
+        return dailyPenalty;
+    }
+
+    public void setDailyPenalty(BigDecimal dailyPenalty) {
+        this.dailyPenalty = dailyPenalty;
+    }
+
+    /** Instante de referencia; null = ahora */
+    public LocalDateTime getNow() {
+        return now;
+    }
+
+    public void setNow(LocalDateTime now) {
+        this.now = now;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+
+    public String getAdminEmail() {
+        return adminEmail;
+    }
+
+    public void setAdminEmail(String adminEmail) {
+        this.adminEmail = adminEmail;
+    }
+}
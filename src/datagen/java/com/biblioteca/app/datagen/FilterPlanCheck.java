@@ -0,0 +1,472 @@
+package com.biblioteca.app.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.biblioteca.app.BibliotecaVirtualApplication;
+import com.biblioteca.app.repository.AuthorRepository;
+import com.biblioteca.app.repository.BookRepository;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.repository.UserRepository;
+import com.biblioteca.app.repository.specification.AuthorSpecifications;
+import com.biblioteca.app.repository.specification.BookSpecifications;
+import com.biblioteca.app.repository.specification.RentalSpecifications;
+import com.biblioteca.app.repository.specification.UserSpecifications;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Comprobación de planes de los listados con filtros opcionales (repository/specification) sobre
+ * una base generada con DataGeneratorMain.
+ *
+ * mvn -Pdatagen -DskipTests verify -Ddatagen.main=com.biblioteca.app.datagen.FilterPlanCheck
+ *     -Ddatagen.args="-Ddatagen.url=jdbc:mysql://localhost:3306/biblioteca_perf -Ddatagen.user=root -Ddatagen.password=..."
+ *
+ * Arranca la aplicación contra esa base (jobs desactivados) y, para cada combinación de filtros
+ * de libros, autores, usuarios y alquileres, ejecuta la especificación a través del repositorio,
+ * captura las sentencias generadas (página y conteo) y muestra su EXPLAIN. Termina con código 1
+ * si alguna sentencia conserva un predicado "? is null or" o si el total difiere de la consulta
+ * JPQL anterior. Después repite los listados con términos UUID, ISBN y email (SearchTermUtil) y
+ * falla si no encuentran la fila buscada o si el plan recorre una tabla completa.
+ *
+ * Propiedades (-Dbench.*): page-size (20).
+ */
+public class FilterPlanCheck {
+
+    // ====== CONSULTAS ANTERIORES (referencia de totales) ======
+
+    private static final String LEGACY_BOOKS = """
+        SELECT COUNT(b) FROM Book b
+        WHERE (:search IS NULL OR :search = ''
+            OR LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%'))
+            OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:authorId IS NULL OR b.author.authorId = :authorId)
+        AND (:categoryId IS NULL OR b.category.categoryId = :categoryId)
+        AND (:bookStatusId IS NULL OR b.bookStatus.bookStatusId = :bookStatusId)
+    """;
+
+    private static final String LEGACY_AUTHORS = """
+        SELECT COUNT(a) FROM Author a
+        WHERE (:search IS NULL OR :search = ''
+            OR LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%'))
+            OR LOWER(a.pseudonym) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:countryId IS NULL OR a.country.countryId = :countryId)
+        AND (:statusId IS NULL OR a.status.statusId = :statusId)
+    """;
+
+    private static final String LEGACY_USERS = """
+        SELECT COUNT(DISTINCT u) FROM User u
+        LEFT JOIN u.userRoles ur
+        WHERE (:search IS NULL OR :search = '' OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:roleId IS NULL OR ur.role.roleId = :roleId)
+        AND (:statusId IS NULL OR u.status.statusId = :statusId)
+    """;
+
+    private static final String LEGACY_RENTALS = """
+        SELECT COUNT(r) FROM Rental r
+        LEFT JOIN r.user u
+        LEFT JOIN r.bookCopy bc
+        LEFT JOIN bc.book b
+        LEFT JOIN b.author a
+        LEFT JOIN r.rentalStatus rs
+        WHERE (:search IS NULL OR :search = '' OR
+               LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR
+               LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
+               LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')) OR
+               LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:userId IS NULL OR u.userId = :userId)
+        AND (:rentalStatusId IS NULL OR rs.rentalStatusId = :rentalStatusId)
+    """;
+
+    private static final String LEGACY_ACTIVE_RENTALS = """
+        SELECT COUNT(r) FROM Rental r
+        WHERE r.rentalStatus.rentalStatusName = 'En Proceso'
+        AND r.returnDate IS NULL
+        AND (:search IS NULL OR :search = '' OR
+            LOWER(r.bookCopy.book.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
+            LOWER(r.bookCopy.book.author.fullName) LIKE LOWER(CONCAT('%', :search, '%')) OR
+            LOWER(r.user.email) LIKE LOWER(CONCAT('%', :search, '%')) OR
+            CAST(r.rentalId AS string) LIKE CONCAT('%', :search, '%'))
+        AND (:dateFrom IS NULL OR r.rentalDate >= :dateFrom)
+        AND (:dateTo IS NULL OR r.rentalDate <= :dateTo)
+        AND (
+            :statusFilter IS NULL OR :statusFilter = '' OR
+            (:statusFilter = 'vencido' AND r.overdue = true) OR
+            (:statusFilter = 'vencer' AND r.overdue = false AND r.dueDate >= :now AND r.dueDate < :dueSoonThreshold)
+        )
+    """;
+
+    private final StatementCapture capture;
+    private final Connection connection;
+    private final EntityManager entityManager;
+    private int combinations;
+    private int failures;
+
+    private FilterPlanCheck(StatementCapture capture, Connection connection, EntityManager entityManager) {
+        this.capture = capture;
+        this.connection = connection;
+        this.entityManager = entityManager;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("datagen.url");
+        if (url == null || url.isBlank()) {
+            System.err.println("Falta -Ddatagen.url (y datagen.user / datagen.password)");
+            System.exit(2);
+        }
+        String user = System.getProperty("datagen.user");
+        String password = System.getProperty("datagen.password");
+        int pageSize = Integer.getInteger("bench.page-size", 20);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", url);
+        properties.put("spring.datasource.username", user);
+        properties.put("spring.datasource.password", password == null ? "" : password);
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        for (String job : List.of("archive", "outbox", "notification", "hold", "rollup", "analytics")) {
+            properties.put("biblioteca." + job + ".enabled", "false");
+        }
+        properties.put("biblioteca.penalty.initial-delay", "P1D");
+
+        StatementCapture capture = new StatementCapture();
+        int failures;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BibliotecaVirtualApplication.class)
+                .properties(properties)
+                .initializers(c -> c.getBeanFactory().addBeanPostProcessor(capture.postProcessor()))
+                .run();
+             Connection connection = DriverManager.getConnection(url, user, password)) {
+
+            connection.setReadOnly(true);
+            EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+            FilterPlanCheck check = new FilterPlanCheck(capture, connection, entityManager);
+
+            check.books(context.getBean(BookRepository.class), pageSize);
+            check.authors(context.getBean(AuthorRepository.class), pageSize);
+            check.users(context.getBean(UserRepository.class), pageSize);
+            check.rentals(context.getBean(RentalRepository.class), pageSize);
+            check.activeRentals(context.getBean(RentalRepository.class), pageSize);
+            check.exactSearches(context.getBean(BookRepository.class), context.getBean(AuthorRepository.class),
+                    context.getBean(UserRepository.class), context.getBean(RentalRepository.class), pageSize);
+
+            entityManager.close();
+            failures = check.failures;
+            System.out.println(failures == 0
+                    ? "\n" + check.combinations + " combinaciones sin predicados catch-all y con los mismos totales"
+                    : "\n" + failures + " problemas en " + check.combinations + " combinaciones");
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // ====== LISTADOS ======
+
+    private void books(BookRepository repository, int pageSize) throws SQLException {
+        String search = sampleString("SELECT SUBSTRING(Title, 1, 4) FROM Book ORDER BY Title LIMIT 1");
+        UUID authorId = sampleUuid("SELECT BIN_TO_UUID(AuthorId) FROM Book GROUP BY AuthorId ORDER BY COUNT(*) DESC LIMIT 1");
+        UUID categoryId = sampleUuid("SELECT BIN_TO_UUID(CategoryId) FROM Book GROUP BY CategoryId ORDER BY COUNT(*) DESC LIMIT 1");
+        UUID bookStatusId = sampleUuid("SELECT BIN_TO_UUID(BookStatusId) FROM Book GROUP BY BookStatusId ORDER BY COUNT(*) DESC LIMIT 1");
+
+        String[] filters = { "search", "authorId", "categoryId", "bookStatusId" };
+        for (int mask = 0; mask < 1 << filters.length; mask++) {
+            Object[] v = values(mask, search, authorId, categoryId, bookStatusId);
+            run("libros", filters, mask,
+                    () -> repository.findAll(
+                            BookSpecifications.withFilters((String) v[0], (UUID) v[1], (UUID) v[2], (UUID) v[3]),
+                            PageRequest.of(0, pageSize, Sort.by("title").ascending())),
+                    LEGACY_BOOKS, params(filters, v));
+        }
+    }
+
+    private void authors(AuthorRepository repository, int pageSize) throws SQLException {
+        String search = sampleString("SELECT SUBSTRING(FullName, 1, 4) FROM Author ORDER BY FullName LIMIT 1");
+        UUID countryId = sampleUuid("SELECT BIN_TO_UUID(CountryId) FROM Author GROUP BY CountryId ORDER BY COUNT(*) DESC LIMIT 1");
+        UUID statusId = sampleUuid("SELECT BIN_TO_UUID(StatusId) FROM Author GROUP BY StatusId ORDER BY COUNT(*) DESC LIMIT 1");
+
+        String[] filters = { "search", "countryId", "statusId" };
+        for (int mask = 0; mask < 1 << filters.length; mask++) {
+            Object[] v = values(mask, search, countryId, statusId);
+            run("autores", filters, mask,
+                    () -> repository.findAll(
+                            AuthorSpecifications.withFilters((String) v[0], (UUID) v[1], (UUID) v[2]),
+                            PageRequest.of(0, pageSize, Sort.by("fullName").ascending())),
+                    LEGACY_AUTHORS, params(filters, v));
+        }
+    }
+
+    private void users(UserRepository repository, int pageSize) throws SQLException {
+        String search = sampleString("SELECT SUBSTRING(Email, 1, 4) FROM `User` ORDER BY Email LIMIT 1");
+        UUID roleId = sampleUuid("SELECT BIN_TO_UUID(RoleId) FROM UserRole GROUP BY RoleId ORDER BY COUNT(*) DESC LIMIT 1");
+        UUID statusId = sampleUuid("SELECT BIN_TO_UUID(StatusId) FROM `User` GROUP BY StatusId ORDER BY COUNT(*) DESC LIMIT 1");
+
+        String[] filters = { "search", "roleId", "statusId" };
+        for (int mask = 0; mask < 1 << filters.length; mask++) {
+            Object[] v = values(mask, search, roleId, statusId);
+            run("usuarios", filters, mask,
+                    () -> repository.findAll(
+                            UserSpecifications.withFilters((String) v[0], (UUID) v[1], (UUID) v[2]),
+                            PageRequest.of(0, pageSize, Sort.by("createdAt").descending())),
+                    LEGACY_USERS, params(filters, v));
+        }
+    }
+
+    private void rentals(RentalRepository repository, int pageSize) throws SQLException {
+        String search = sampleString("SELECT SUBSTRING(Title, 1, 4) FROM Book ORDER BY Title LIMIT 1");
+        UUID userId = sampleUuid("SELECT BIN_TO_UUID(UserId) FROM Rental GROUP BY UserId ORDER BY COUNT(*) DESC LIMIT 1");
+        UUID rentalStatusId = sampleUuid("SELECT BIN_TO_UUID(RentalStatusId) FROM RentalStatus WHERE RentalStatusName = 'Devuelto'");
+
+        String[] filters = { "search", "userId", "rentalStatusId" };
+        for (int mask = 0; mask < 1 << filters.length; mask++) {
+            Object[] v = values(mask, search, userId, rentalStatusId);
+            run("alquileres", filters, mask,
+                    () -> repository.findAll(
+                            RentalSpecifications.withFilters((String) v[0], (UUID) v[1], (UUID) v[2]),
+                            PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "rentalDate"))),
+                    LEGACY_RENTALS, params(filters, v));
+        }
+    }
+
+    private void activeRentals(RentalRepository repository, int pageSize) throws SQLException {
+        String search = sampleString("SELECT SUBSTRING(Title, 1, 4) FROM Book ORDER BY Title LIMIT 1");
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueSoonThreshold = now.plusDays(3);
+        LocalDateTime dateFrom = now.minusDays(30);
+
+        String[] filters = { "search", "dateFrom", "dateTo", "statusFilter" };
+        for (String status : new String[] { RentalSpecifications.STATUS_OVERDUE, RentalSpecifications.STATUS_DUE_SOON }) {
+            for (int mask = 0; mask < 1 << filters.length; mask++) {
+                // Sin statusFilter solo se recorre una vez
+                if ((mask & 8) == 0 && status.equals(RentalSpecifications.STATUS_DUE_SOON)) {
+                    continue;
+                }
+                Object[] v = values(mask, search, dateFrom, now, status);
+                Map<String, Object> params = params(filters, v);
+                params.put("now", now);
+                params.put("dueSoonThreshold", dueSoonThreshold);
+                run("alquileres en proceso", filters, mask,
+                        () -> repository.findAll(
+                                RentalSpecifications.activeWithFilters((String) v[0], (LocalDateTime) v[1],
+                                        (LocalDateTime) v[2], (String) v[3], now, dueSoonThreshold),
+                                PageRequest.of(0, pageSize, Sort.by("dueDate").ascending())),
+                        LEGACY_ACTIVE_RENTALS, params);
+            }
+        }
+    }
+
+    // ====== BÚSQUEDAS POR UUID, ISBN Y EMAIL ======
+
+    private void exactSearches(BookRepository books, AuthorRepository authors, UserRepository users,
+                               RentalRepository rentals, int pageSize) throws SQLException {
+        String[] sample;
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT BIN_TO_UUID(r.RentalId), BIN_TO_UUID(r.UserId), BIN_TO_UUID(r.BookCopyId),
+                       BIN_TO_UUID(b.BookId), BIN_TO_UUID(b.AuthorId), b.ISBN, u.Email
+                FROM Rental r
+                INNER JOIN RentalStatus rs ON r.RentalStatusId = rs.RentalStatusId
+                INNER JOIN BookCopy bc ON r.BookCopyId = bc.BookCopyId
+                INNER JOIN Book b ON bc.BookId = b.BookId
+                INNER JOIN `User` u ON r.UserId = u.UserId
+                WHERE rs.RentalStatusName = 'En Proceso' AND r.ReturnDate IS NULL
+                LIMIT 1
+            """);
+             ResultSet rs = statement.executeQuery()) {
+            if (!rs.next()) {
+                System.out.println("\nSin alquileres en proceso: se omiten las búsquedas por UUID, ISBN y email");
+                return;
+            }
+            sample = new String[7];
+            for (int i = 0; i < sample.length; i++) {
+                sample[i] = rs.getString(i + 1);
+            }
+        }
+        String rentalId = sample[0], userId = sample[1], bookCopyId = sample[2], bookId = sample[3],
+                authorId = sample[4], isbn = sample[5], email = sample[6];
+
+        Sort byTitle = Sort.by("title").ascending();
+        exact("libros por UUID", () -> books.findAll(BookSpecifications.withFilters(bookId, null, null, null),
+                PageRequest.of(0, pageSize, byTitle)));
+        exact("libros por ISBN", () -> books.findAll(BookSpecifications.withFilters(isbn, null, null, null),
+                PageRequest.of(0, pageSize, byTitle)));
+        exact("autores por UUID", () -> authors.findAll(AuthorSpecifications.withFilters(authorId, null, null),
+                PageRequest.of(0, pageSize, Sort.by("fullName").ascending())));
+        Sort byCreatedAt = Sort.by("createdAt").descending();
+        exact("usuarios por UUID", () -> users.findAll(UserSpecifications.withFilters(userId, null, null),
+                PageRequest.of(0, pageSize, byCreatedAt)));
+        exact("usuarios por email", () -> users.findAll(UserSpecifications.withFilters(email, null, null),
+                PageRequest.of(0, pageSize, byCreatedAt)));
+
+        Sort byRentalDate = Sort.by(Sort.Direction.DESC, "rentalDate");
+        Sort byDueDate = Sort.by("dueDate").ascending();
+        LocalDateTime now = LocalDateTime.now();
+        for (String[] term : new String[][] { { "UUID de alquiler", rentalId }, { "UUID de usuario", userId },
+                { "UUID de ejemplar", bookCopyId }, { "ISBN", isbn }, { "email", email } }) {
+            exact("alquileres por " + term[0], () -> rentals.findAll(
+                    RentalSpecifications.withFilters(term[1], null, null), PageRequest.of(0, pageSize, byRentalDate)));
+            exact("alquileres en proceso por " + term[0], () -> rentals.findAll(
+                    RentalSpecifications.activeWithFilters(term[1], null, null, null, now, now.plusDays(3)),
+                    PageRequest.of(0, pageSize, byDueDate)));
+        }
+    }
+
+    /**
+     * La búsqueda debe devolver al menos la fila de muestra sin recorrer tablas completas
+     * (type ALL / index con más de 100 filas estimadas)
+     */
+    private void exact(String label, Supplier<Page<?>> search) throws SQLException {
+        combinations++;
+        capture.start();
+        Page<?> page = search.get();
+        List<StatementCapture.Captured> statements = capture.stop();
+
+        boolean found = page.getTotalElements() > 0;
+        System.out.printf("%n%-60s total %,d%s%n", label, page.getTotalElements(), found ? "" : " SIN RESULTADOS");
+        if (!found) {
+            failures++;
+        }
+        for (StatementCapture.Captured statement : statements) {
+            boolean fullScan = false;
+            List<String> rows = new ArrayList<>();
+            try (PreparedStatement explain = statement.prepare(connection, "EXPLAIN ");
+                 ResultSet rs = explain.executeQuery()) {
+                while (rs.next()) {
+                    String type = rs.getString("type");
+                    fullScan |= ("ALL".equals(type) || "index".equals(type)) && rs.getLong("rows") > 100;
+                    rows.add(String.format("%-14s %-12s %-32s %,10d", rs.getString("table"), type,
+                            rs.getString("key") != null ? rs.getString("key") : "-", rs.getLong("rows")));
+                }
+            }
+            if (fullScan) {
+                failures++;
+            }
+            System.out.printf("  %s%s%n", statement.sql.toLowerCase().startsWith("select count") ? "conteo" : "página",
+                    fullScan ? "  RECORRIDO COMPLETO" : "");
+            rows.forEach(row -> System.out.println("    " + row));
+        }
+    }
+
+    // ====== EJECUCIÓN ======
+
+    private void run(String listing, String[] filters, int mask, Supplier<Page<?>> specification,
+                     String legacyJpql, Map<String, Object> legacyParams) throws SQLException {
+        combinations++;
+        StringBuilder label = new StringBuilder(listing).append(" [");
+        for (int i = 0; i < filters.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                label.append(label.charAt(label.length() - 1) == '[' ? "" : ", ").append(filters[i]);
+                if (filters[i].equals("statusFilter")) {
+                    label.append('=').append(legacyParams.get("statusFilter"));
+                }
+            }
+        }
+        label.append(']');
+
+        capture.start();
+        Page<?> page = specification.get();
+        List<StatementCapture.Captured> statements = capture.stop();
+
+        TypedQuery<Long> legacy = entityManager.createQuery(legacyJpql, Long.class);
+        legacyParams.forEach(legacy::setParameter);
+        long expected = legacy.getSingleResult();
+
+        boolean sameTotal = expected == page.getTotalElements();
+        System.out.printf("%n%-60s total %,d%s%n", label, page.getTotalElements(),
+                sameTotal ? "" : " (anterior " + String.format("%,d", expected) + ") DISTINTO");
+        if (!sameTotal) {
+            failures++;
+        }
+
+        for (StatementCapture.Captured statement : statements) {
+            boolean catchAll = statement.sql.toLowerCase().matches("(?s).*\\?\\s+is\\s+null\\s+or.*");
+            if (catchAll) {
+                failures++;
+            }
+            System.out.printf("  %s%s%n", statement.sql.toLowerCase().startsWith("select count") ? "conteo" : "página",
+                    catchAll ? "  CATCH-ALL (? is null or ...)" : "");
+            for (String row : explain(statement)) {
+                System.out.println("    " + row);
+            }
+        }
+    }
+
+    /**
+     * Filas de EXPLAIN como "tabla tipo clave filas extra"
+     */
+    private List<String> explain(StatementCapture.Captured statement) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (PreparedStatement explain = statement.prepare(connection, "EXPLAIN ");
+             ResultSet rs = explain.executeQuery()) {
+            while (rs.next()) {
+                rows.add(String.format("%-14s %-8s %-32s %,10d  %s",
+                        rs.getString("table"), rs.getString("type"),
+                        rs.getString("key") != null ? rs.getString("key") : "-",
+                        rs.getLong("rows"),
+                        rs.getString("Extra") != null ? rs.getString("Extra") : ""));
+            }
+        }
+        return rows;
+    }
+
+    // ====== DATOS DE MUESTRA ======
+
+    private String sampleString(String sql) throws SQLException {
+        return sample(sql, rs -> {
+            try {
+                return rs.getString(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private UUID sampleUuid(String sql) throws SQLException {
+        String value = sampleString(sql);
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    private <T> T sample(String sql, Function<ResultSet, T> reader) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? reader.apply(rs) : null;
+        }
+    }
+
+    /**
+     * Valor de cada filtro si su bit está en la máscara; null si no
+     */
+    private static Object[] values(int mask, Object... all) {
+        Object[] values = new Object[all.length];
+        for (int i = 0; i < all.length; i++) {
+            values[i] = (mask & (1 << i)) != 0 ? all[i] : null;
+        }
+        return values;
+    }
+
+    private static Map<String, Object> params(String[] names, Object[] values) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            params.put(names[i], values[i]);
+        }
+        return params;
+    }
+}
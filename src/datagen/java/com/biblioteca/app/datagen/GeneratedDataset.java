@@ -0,0 +1,74 @@
+package com.biblioteca.app.datagen;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resultado del generador: filas por tabla y lo que necesitan pruebas y benchmarks
+ * (cuentas de usuario, libros y ejemplares libres). Los alquileres no se conservan en memoria.
+ */
+public class GeneratedDataset {
+
+    private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+    private final List<String> userEmails;
+    private final String adminEmail;
+    private final List<UUID> bookIds;
+    private final List<Copy> availableCopies;
+
+    GeneratedDataset(List<String> userEmails, String adminEmail, List<UUID> bookIds, List<Copy> availableCopies) {
+        this.userEmails = Collections.unmodifiableList(userEmails);
+        this.adminEmail = adminEmail;
+        this.bookIds = Collections.unmodifiableList(bookIds);
+        this.availableCopies = Collections.unmodifiableList(availableCopies);
+    }
+
+    void count(BulkTable table, long rows) {
+        rowCounts.merge(table.getName(), rows, Long::sum);
+    }
+
+    public Map<String, Long> getRowCounts() {
+        return Collections.unmodifiableMap(rowCounts);
+    }
+
+    public List<String> getUserEmails() {
+        return userEmails;
+    }
+
+    /** Email del administrador, o null si no se pidió */
+    public String getAdminEmail() {
+        return adminEmail;
+    }
+
+    public List<UUID> getBookIds() {
+        return bookIds;
+    }
+
+    /** Ejemplares en estado Disponible (sin alquiler en curso) */
+    public List<Copy> getAvailableCopies() {
+        return availableCopies;
+    }
+
+    /**
+     * Ejemplar de un libro
+     */
+    public static class Copy {
+        private final UUID bookId;
+        private final UUID copyId;
+
+        public Copy(UUID bookId, UUID copyId) {
+            this.bookId = bookId;
+            this.copyId = copyId;
+        }
+
+        public UUID getBookId() {
+            return bookId;
+        }
+
+        public UUID getCopyId() {
+            return copyId;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.biblioteca.app.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Inserta por JDBC en lotes (addBatch / executeBatch), con commit por lote si la conexión
+ * no está en autocommit. En MySQL conviene rewriteBatchedStatements=true en la URL:
+ * el driver convierte cada lote en un único INSERT multi-fila.
+ */
+public class JdbcBulkTarget implements BulkTarget {
+
+    private final Connection connection;
+    private final int batchSize;
+
+    public JdbcBulkTarget(Connection connection, int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public TableWriter open(BulkTable table) {
+        String columns = String.join(", ", table.getColumns());
+        String params = String.join(", ", Collections.nCopies(table.getColumns().size(), "?"));
+        String sql = "INSERT INTO `" + table.getName() + "` (" + columns + ") VALUES (" + params + ")";
+        try {
+            return new JdbcTableWriter(connection.prepareStatement(sql));
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo preparar la carga de " + table.getName(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // La conexión es del llamador
+    }
+
+    private class JdbcTableWriter implements TableWriter {
+
+        private final PreparedStatement statement;
+        private int pending;
+
+        JdbcTableWriter(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public void write(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, toJdbc(values[i]));
+                }
+                statement.addBatch();
+                if (++pending >= batchSize) {
+                    flush();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Error en la carga por lotes", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                flush();
+                statement.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Error en la carga por lotes", e);
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            statement.executeBatch();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            pending = 0;
+        }
+    }
+
+    private static Object toJdbc(Object value) {
+        if (value instanceof UUID uuid) {
+            return Uuids.toBytes(uuid);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,160 @@
+package com.biblioteca.app.datagen;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Resumen offline de una grabación JFR descargada de /admin/diagnostico: por endpoint, las
+ * llamadas a repositorio que más tiempo acumulan (biblioteca.RepositoryCall agrupadas por el
+ * handler que las originó) frente a la duración de sus peticiones (biblioteca.ControllerRequest).
+ * No necesita base de datos.
+ *
+ * mvn -Pdatagen -DskipTests verify -Ddatagen.main=com.biblioteca.app.datagen.JfrRepositoryReport
+ *     -Ddatagen.args="-Djfr.file=/tmp/biblioteca-20260101-120000.jfr"
+ *
+ * Endpoints ordenados por tiempo total en repositorios; las llamadas fuera de peticiones
+ * (jobs, suscriptores del outbox) aparecen como "(sin petición)".
+ *
+ * Propiedades (-Djfr.*): file (obligatoria), endpoints (15), top (10) llamadas por endpoint.
+ */
+public class JfrRepositoryReport {
+
+    private static final String REQUEST_EVENT = "biblioteca.ControllerRequest";
+    private static final String REPOSITORY_EVENT = "biblioteca.RepositoryCall";
+    private static final String NO_REQUEST = "(sin petición)";
+
+    /**
+     * Duraciones acumuladas de un endpoint o de un método de repositorio dentro de él
+     */
+    static final class Stats {
+
+        long count;
+        long totalNanos;
+        long maxNanos;
+        long rows;
+        long failures;
+
+        void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        double totalMs() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        double avgMs() {
+            return count == 0 ? 0 : totalMs() / count;
+        }
+    }
+
+    static final class Endpoint {
+
+        final String name;
+        final Stats requests = new Stats();
+        final Stats repository = new Stats();
+        final Map<String, Stats> calls = new HashMap<>();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String fileName = System.getProperty("jfr.file");
+        if (fileName == null || !Files.isRegularFile(Path.of(fileName))) {
+            System.err.println("Falta -Djfr.file con la grabación .jfr descargada de /admin/diagnostico");
+            System.exit(2);
+        }
+        int endpointLimit = Integer.getInteger("jfr.endpoints", 15);
+        int top = Integer.getInteger("jfr.top", 10);
+
+        Map<String, Endpoint> endpoints = read(Path.of(fileName));
+        if (endpoints.isEmpty()) {
+            System.out.println("La grabación no tiene eventos " + REQUEST_EVENT + " ni " + REPOSITORY_EVENT);
+            return;
+        }
+
+        List<Endpoint> ranked = new ArrayList<>(endpoints.values());
+        ranked.sort(Comparator.comparingLong((Endpoint endpoint) -> endpoint.repository.totalNanos).reversed());
+
+        for (Endpoint endpoint : ranked.subList(0, Math.min(endpointLimit, ranked.size()))) {
+            long requests = endpoint.requests.count;
+            System.out.printf("%s%n", endpoint.name);
+            if (requests > 0) {
+                System.out.printf("  %,d peticiones, %.2f ms de media (máx %.1f ms); repositorio %.2f ms y %.1f llamadas por petición (%.0f%%)%n",
+                        requests, endpoint.requests.avgMs(), endpoint.requests.maxNanos / 1_000_000.0,
+                        endpoint.repository.totalMs() / requests, (double) endpoint.repository.count / requests,
+                        endpoint.requests.totalNanos == 0 ? 0 : 100.0 * endpoint.repository.totalNanos / endpoint.requests.totalNanos);
+            } else {
+                System.out.printf("  %,d llamadas a repositorio, %.1f ms en total%n",
+                        endpoint.repository.count, endpoint.repository.totalMs());
+            }
+
+            if (endpoint.calls.isEmpty()) {
+                System.out.println();
+                continue;
+            }
+            System.out.printf("  %-60s %10s %12s %10s %10s %12s %8s%n",
+                    "Repositorio.método", "llamadas", "total ms", "media ms", "máx ms", "filas/llam.", "errores");
+            List<Map.Entry<String, Stats>> calls = new ArrayList<>(endpoint.calls.entrySet());
+            calls.sort(Comparator.comparingLong((Map.Entry<String, Stats> entry) -> entry.getValue().totalNanos).reversed());
+            for (Map.Entry<String, Stats> entry : calls.subList(0, Math.min(top, calls.size()))) {
+                Stats stats = entry.getValue();
+                System.out.printf("  %-60s %,10d %,12.1f %10.2f %10.1f %12.1f %8d%n",
+                        entry.getKey(), stats.count, stats.totalMs(), stats.avgMs(), stats.maxNanos / 1_000_000.0,
+                        (double) stats.rows / stats.count, stats.failures);
+            }
+            System.out.println();
+        }
+        if (ranked.size() > endpointLimit) {
+            System.out.printf("(%d endpoints más; -Djfr.endpoints para verlos)%n", ranked.size() - endpointLimit);
+        }
+    }
+
+    /**
+     * Agrupa los eventos de la grabación por endpoint (handler del controlador)
+     */
+    static Map<String, Endpoint> read(Path file) throws IOException {
+        Map<String, Endpoint> endpoints = new HashMap<>();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                long nanos = event.getDuration().toNanos();
+                if (REQUEST_EVENT.equals(type)) {
+                    endpoint(endpoints, event.getString("handler")).requests.add(nanos);
+                } else if (REPOSITORY_EVENT.equals(type)) {
+                    Endpoint endpoint = endpoint(endpoints, event.getString("endpoint"));
+                    endpoint.repository.add(nanos);
+                    Stats call = endpoint.calls.computeIfAbsent(
+                            event.getString("repository") + "." + event.getString("method"), key -> new Stats());
+                    call.add(nanos);
+                    long rows = event.getLong("rowCount");
+                    if (rows > 0) {
+                        call.rows += rows;
+                    }
+                    if (event.getBoolean("failed")) {
+                        call.failures++;
+                    }
+                }
+            }
+        }
+        return endpoints;
+    }
+
+    private static Endpoint endpoint(Map<String, Endpoint> endpoints, String name) {
+        String key = name == null || name.isEmpty() ? NO_REQUEST : name;
+        return endpoints.computeIfAbsent(key, Endpoint::new);
+    }
+}
@@ -0,0 +1,366 @@
+package com.biblioteca.app.datagen;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.biblioteca.app.datagen.BulkTarget.TableWriter;
+import com.biblioteca.app.helper.PenaltyUtil;
+
+/**
+ * Generador de una biblioteca sintética a escala de producción.
+ *
+ * - Popularidad de libros con distribución de Zipf (pocos títulos concentran la mayoría
+ *   de alquileres); autores y usuarios también con Zipf, más suave.
+ * - Títulos con varios ejemplares: más cuanto más populares.
+ * - Fechas de alquiler estacionales (SeasonalDateSampler).
+ * - Alquileres en curso (un ejemplar como máximo en uno) con una fracción vencida,
+ *   devoluciones tardías con penalidad congelada y cancelaciones.
+ *
+ * Escribe por un BulkTarget (JDBC por lotes o ficheros LOAD DATA), nunca por JPA.
+ * Los datos de referencia se leen o crean por la conexión. Con la misma semilla y el mismo
+ * now el resultado es idéntico. Se espera una base sin libros, usuarios ni alquileres.
+ */
+public class LibraryDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryDataGenerator.class);
+
+    private static final String[] COUNTRIES = {"Perú", "Argentina", "Colombia", "México", "España", "Chile"};
+    private static final String[] FIRST_NAMES = {"Ana", "Carlos", "Lucía", "Jorge", "María", "Pedro", "Sofía",
+            "Miguel", "Valeria", "Andrés", "Isabel", "Diego", "Camila", "Julio", "Elena", "Rosa"};
+    private static final String[] LAST_NAMES = {"García", "Vargas", "Rojas", "Quispe", "Torres", "Mendoza",
+            "Flores", "Castillo", "Ramírez", "Salazar", "Paredes", "Huamán", "Cárdenas", "Ortega"};
+    private static final String[] TITLE_NOUNS = {"Sombra", "Ciudad", "Memoria", "Río", "Jardín", "Silencio",
+            "Viaje", "Noche", "Casa", "Mar", "Tiempo", "Camino", "Espejo", "Laberinto", "Fuego", "Isla", "Puerta",
+            "Voz", "Árbol", "Sueño"};
+    private static final String[] TITLE_PHRASES = {"del norte", "de papel", "de los Andes", "sin nombre",
+            "de invierno", "del sur", "de la memoria", "en llamas", "de cristal", "al amanecer", "de medianoche",
+            "del olvido"};
+    private static final String[] PUBLISHERS = {"Editorial Andina", "Ediciones del Sur", "Planeta", "Alfaguara",
+            "Anagrama", "Fondo Editorial"};
+
+    private static final int PROGRESS_EVERY = 500_000;
+
+    private final DatasetSpec spec;
+
+    private Random random;
+    private LocalDateTime now;
+
+    public LibraryDataGenerator(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Genera el conjunto completo
+     *
+     * @param connection conexión para leer o crear los datos de referencia
+     * @param target destino de las tablas masivas
+     */
+    public GeneratedDataset generate(Connection connection, BulkTarget target) {
+        if (spec.getPasswordHash() == null) {
+            throw new IllegalArgumentException("passwordHash es obligatorio");
+        }
+        random = new Random(spec.getSeed());
+        now = (spec.getNow() != null ? spec.getNow() : LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS);
+
+        Reference ref = loadReference(connection);
+
+        UUID[] authorIds = writeAuthors(target, ref);
+        ZipfSampler bookPopularity = new ZipfSampler(spec.getBooks(), spec.getBookPopularityExponent(), random);
+        UUID[] bookIds = writeBooks(target, ref, authorIds);
+
+        // Ejemplares por libro: copyStart[b] .. copyStart[b + 1] - 1
+        int[] copyStart = copyLayout(bookPopularity);
+        UUID[] copyIds = new UUID[copyStart[bookIds.length]];
+        for (int i = 0; i < copyIds.length; i++) {
+            copyIds[i] = newUuid();
+        }
+
+        ZipfSampler userActivity = new ZipfSampler(spec.getUsers(), spec.getUserActivityExponent(), random);
+        UserAccounts users = writeUsers(target, ref);
+
+        // Alquileres en curso antes que los ejemplares, para escribir cada ejemplar con su estado final
+        BitSet rented = new BitSet(copyIds.length);
+        List<int[]> active = pickActiveRentals(bookPopularity, userActivity, copyStart, rented);
+        List<GeneratedDataset.Copy> available = writeCopies(target, ref, bookIds, copyIds, copyStart, rented);
+
+        GeneratedDataset dataset = new GeneratedDataset(users.emails, users.adminEmail, List.of(bookIds), available);
+        dataset.count(BulkTable.AUTHOR, authorIds.length);
+        dataset.count(BulkTable.BOOK, bookIds.length);
+        dataset.count(BulkTable.BOOK_COPY, copyIds.length);
+        dataset.count(BulkTable.USER, users.ids.length + (users.adminEmail != null ? 1 : 0));
+        dataset.count(BulkTable.USER_ROLE, users.ids.length + (users.adminEmail != null ? 1 : 0));
+
+        long rentals = writeRentals(target, ref, active, bookPopularity, userActivity, users.ids, copyIds, copyStart);
+        dataset.count(BulkTable.RENTAL, rentals);
+
+        log.info("Datos sintéticos generados: {}", dataset.getRowCounts());
+        return dataset;
+    }
+
+    // ====== REFERENCIA ======
+
+    private Reference loadReference(Connection connection) {
+        ReferenceData data = new ReferenceData(connection, random, now);
+        Reference ref = new Reference();
+        ref.activeStatus = data.named("Status", "StatusName", "Active");
+        ref.userRole = data.named("Role", "RoleName", "USER");
+        ref.adminRole = data.named("Role", "RoleName", "ADMIN");
+        ref.activeBook = data.named("BookStatus", "BookStatusName", "Activo");
+        ref.copyAvailable = data.named("BookCopyStatus", "BookCopyStatusName", "Disponible");
+        ref.copyRented = data.named("BookCopyStatus", "BookCopyStatusName", "Alquilado");
+        ref.copyDiscontinued = data.named("BookCopyStatus", "BookCopyStatusName", "Descontinuado");
+        // Solo lo usa la cola de reservas (BookHoldService); aquí no se generan reservas
+        data.named("BookCopyStatus", "BookCopyStatusName", "Reservado");
+        ref.rentalInProgress = data.named("RentalStatus", "RentalStatusName", "En Proceso");
+        ref.rentalReturned = data.named("RentalStatus", "RentalStatusName", "Devuelto");
+        ref.rentalCancelled = data.named("RentalStatus", "RentalStatusName", "Cancelado");
+        ref.countries = data.atLeast("Country", "CountryName", COUNTRIES.length, i -> COUNTRIES[i]);
+        ref.categories = data.atLeast("Category", "CategoryName", 20, i -> "Categoría " + (i + 1));
+
+        data.config("ItemsPerPage", "15", "INT", "Elementos por página");
+        data.config("RentalDailyRate", spec.getDailyRate().toPlainString(), "DECIMAL", "Tarifa diaria");
+        data.config("ReturnDelayDailyPenalty", spec.getDailyPenalty().toPlainString(), "DECIMAL", "Penalidad diaria");
+        data.config("RentalRiskDays", "1", "INT", "Días de riesgo");
+        data.commit();
+        return ref;
+    }
+
+    // ====== CATÁLOGO ======
+
+    private UUID[] writeAuthors(BulkTarget target, Reference ref) {
+        UUID[] ids = new UUID[spec.getAuthors()];
+        try (TableWriter writer = target.open(BulkTable.AUTHOR)) {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = newUuid();
+                String name = FIRST_NAMES[i % FIRST_NAMES.length] + " "
+                        + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                writer.write(ids[i], name, pick(ref.countries), ref.activeStatus, 1900 + random.nextInt(90), now, now);
+            }
+        }
+        return ids;
+    }
+
+    private UUID[] writeBooks(BulkTarget target, Reference ref, UUID[] authorIds) {
+        ZipfSampler authorProductivity = new ZipfSampler(authorIds.length, spec.getAuthorProductivityExponent(), random);
+        int combinations = TITLE_NOUNS.length * TITLE_PHRASES.length;
+
+        UUID[] ids = new UUID[spec.getBooks()];
+        try (TableWriter writer = target.open(BulkTable.BOOK)) {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = newUuid();
+                int combination = i % combinations;
+                String title = TITLE_NOUNS[combination % TITLE_NOUNS.length] + " "
+                        + TITLE_PHRASES[combination / TITLE_NOUNS.length]
+                        + (i >= combinations ? " (vol. " + (i / combinations + 1) + ")" : "");
+                writer.write(ids[i], String.format("978%010d", i), title,
+                        authorIds[authorProductivity.next(random)], pick(ref.categories),
+                        1950 + random.nextInt(75), PUBLISHERS[random.nextInt(PUBLISHERS.length)],
+                        80 + random.nextInt(900), "Español", ref.activeBook, now, now);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Top 1 %: 5 a 10 ejemplares; top 10 %: 2 a 4; resto: 1, o 2 con probabilidad multiCopyRatio
+     */
+    private int[] copyLayout(ZipfSampler bookPopularity) {
+        int books = bookPopularity.size();
+        int[] start = new int[books + 1];
+        for (int b = 0; b < books; b++) {
+            double percentile = (double) bookPopularity.rankOf(b) / books;
+            int copies;
+            if (percentile < 0.01) {
+                copies = 5 + random.nextInt(6);
+            } else if (percentile < 0.10) {
+                copies = 2 + random.nextInt(3);
+            } else {
+                copies = random.nextDouble() < spec.getMultiCopyRatio() ? 2 : 1;
+            }
+            start[b + 1] = start[b] + copies;
+        }
+        return start;
+    }
+
+    private List<GeneratedDataset.Copy> writeCopies(BulkTarget target, Reference ref, UUID[] bookIds,
+                                                    UUID[] copyIds, int[] copyStart, BitSet rented) {
+        List<GeneratedDataset.Copy> available = new ArrayList<>();
+        try (TableWriter writer = target.open(BulkTable.BOOK_COPY)) {
+            for (int b = 0; b < bookIds.length; b++) {
+                for (int c = copyStart[b]; c < copyStart[b + 1]; c++) {
+                    UUID status;
+                    if (rented.get(c)) {
+                        status = ref.copyRented;
+                    } else if (random.nextDouble() < spec.getDiscontinuedCopyRatio()) {
+                        status = ref.copyDiscontinued;
+                    } else {
+                        status = ref.copyAvailable;
+                        available.add(new GeneratedDataset.Copy(bookIds[b], copyIds[c]));
+                    }
+                    writer.write(copyIds[c], bookIds[b], status, now, now);
+                }
+            }
+        }
+        return available;
+    }
+
+    // ====== USUARIOS ======
+
+    private UserAccounts writeUsers(BulkTarget target, Reference ref) {
+        UserAccounts users = new UserAccounts();
+        users.ids = new UUID[spec.getUsers()];
+        users.emails = new ArrayList<>(spec.getUsers());
+
+        try (TableWriter userWriter = target.open(BulkTable.USER)) {
+            for (int i = 0; i < users.ids.length; i++) {
+                users.ids[i] = newUuid();
+                String email = String.format("lector%06d@%s", i, spec.getEmailDomain());
+                users.emails.add(email);
+                userWriter.write(users.ids[i], email, spec.getPasswordHash(), ref.activeStatus, now, now);
+            }
+            if (spec.getAdminEmail() != null) {
+                users.adminId = newUuid();
+                users.adminEmail = spec.getAdminEmail();
+                userWriter.write(users.adminId, users.adminEmail, spec.getPasswordHash(), ref.activeStatus, now, now);
+            }
+        }
+
+        try (TableWriter roleWriter = target.open(BulkTable.USER_ROLE)) {
+            for (UUID userId : users.ids) {
+                roleWriter.write(newUuid(), userId, ref.userRole, now, now);
+            }
+            if (users.adminId != null) {
+                roleWriter.write(newUuid(), users.adminId, ref.adminRole, now, now);
+            }
+        }
+        return users;
+    }
+
+    // ====== ALQUILERES ======
+
+    /**
+     * Elige ejemplares libres para los alquileres en curso: {usuario, ejemplar}
+     */
+    private List<int[]> pickActiveRentals(ZipfSampler bookPopularity, ZipfSampler userActivity, int[] copyStart,
+                                          BitSet rented) {
+        List<int[]> active = new ArrayList<>(spec.getActiveRentals());
+        for (int n = 0; n < spec.getActiveRentals(); n++) {
+            // Los títulos populares se agotan; tras 10 intentos se descarta el alquiler
+            for (int attempt = 0; attempt < 10; attempt++) {
+                int book = bookPopularity.next(random);
+                int copy = rented.nextClearBit(copyStart[book]);
+                if (copy < copyStart[book + 1]) {
+                    rented.set(copy);
+                    active.add(new int[]{userActivity.next(random), copy});
+                    break;
+                }
+            }
+        }
+        return active;
+    }
+
+    private long writeRentals(BulkTarget target, Reference ref, List<int[]> active, ZipfSampler bookPopularity,
+                              ZipfSampler userActivity, UUID[] userIds, UUID[] copyIds, int[] copyStart) {
+        BigDecimal totalCost = spec.getDailyRate().multiply(BigDecimal.valueOf(spec.getRentalDays()));
+        long written = 0;
+
+        try (TableWriter writer = target.open(BulkTable.RENTAL)) {
+            for (int[] rental : active) {
+                boolean overdue = random.nextDouble() < spec.getOverdueRatio();
+                LocalDateTime rentalDate = overdue
+                        ? now.minusDays(spec.getRentalDays() + 1 + random.nextInt(30)).minusHours(random.nextInt(24))
+                        : now.minusHours(random.nextInt(spec.getRentalDays() * 24));
+                LocalDateTime dueDate = rentalDate.plusDays(spec.getRentalDays());
+                BigDecimal penalty = overdue ? PenaltyUtil.penalty(dueDate, now, spec.getDailyPenalty()) : BigDecimal.ZERO;
+
+                writer.write(newUuid(), userIds[rental[0]], copyIds[rental[1]], ref.rentalInProgress, rentalDate,
+                        dueDate, null, spec.getRentalDays(), spec.getDailyRate(), totalCost, overdue, penalty,
+                        overdue ? now : null, rentalDate, now);
+                written++;
+            }
+
+            // Historial cerrado: termina rentalDays + 1 días atrás, así todo alquiler cerrado ya venció
+            SeasonalDateSampler dates = new SeasonalDateSampler(now.toLocalDate().minusDays(spec.getHistoryDays()),
+                    now.toLocalDate().minusDays(spec.getRentalDays() + 1), spec.getGrowth());
+            for (long n = 0; n < spec.getRentals(); n++) {
+                int book = bookPopularity.next(random);
+                int copy = copyStart[book] + random.nextInt(copyStart[book + 1] - copyStart[book]);
+                LocalDateTime rentalDate = dates.next(random);
+                LocalDateTime dueDate = rentalDate.plusDays(spec.getRentalDays());
+
+                double outcome = random.nextDouble();
+                UUID status;
+                LocalDateTime returnDate;
+                BigDecimal penalty = BigDecimal.ZERO;
+                if (outcome < spec.getCancelledRatio()) {
+                    status = ref.rentalCancelled;
+                    returnDate = null;
+                } else if (outcome < spec.getCancelledRatio() + spec.getLateReturnRatio()) {
+                    // Retraso con cola larga: la mayoría en pocos días
+                    status = ref.rentalReturned;
+                    returnDate = dueDate.plusHours(1 + (long) (-Math.log(1 - random.nextDouble()) * 72));
+                    if (returnDate.isAfter(now)) {
+                        returnDate = now;
+                    }
+                    penalty = PenaltyUtil.penalty(dueDate, returnDate, spec.getDailyPenalty());
+                } else {
+                    status = ref.rentalReturned;
+                    returnDate = rentalDate.plusHours(2 + random.nextInt(spec.getRentalDays() * 24 - 2));
+                }
+
+                writer.write(newUuid(), userIds[userActivity.next(random)], copyIds[copy], status, rentalDate,
+                        dueDate, returnDate, spec.getRentalDays(), spec.getDailyRate(), totalCost, false, penalty,
+                        returnDate != null && penalty.signum() > 0 ? returnDate : null, rentalDate,
+                        returnDate != null ? returnDate : dueDate);
+                written++;
+                if (written % PROGRESS_EVERY == 0) {
+                    log.info("{} alquileres generados", written);
+                }
+            }
+        }
+        return written;
+    }
+
+    // ====== UTILIDADES ======
+
+    private UUID newUuid() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private UUID pick(List<UUID> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static class Reference {
+        UUID activeStatus;
+        UUID userRole;
+        UUID adminRole;
+        UUID activeBook;
+        UUID copyAvailable;
+        UUID copyRented;
+        UUID copyDiscontinued;
+        UUID rentalInProgress;
+        UUID rentalReturned;
+        UUID rentalCancelled;
+        List<UUID> countries;
+        List<UUID> categories;
+    }
+
+    private static class UserAccounts {
+        UUID[] ids;
+        List<String> emails;
+        UUID adminId;
+        String adminEmail;
+    }
+}
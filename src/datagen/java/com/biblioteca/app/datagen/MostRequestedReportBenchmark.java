@@ -0,0 +1,167 @@
+package com.biblioteca.app.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.biblioteca.app.repository.RentalRepository;
+
+/**
+ * Benchmark antes / después del reporte de libros más pedidos (/admin/libros-pedidos) sobre una
+ * base generada con DataGeneratorMain (p. ej. -Ddatagen.rentals=5000000).
+ *
+ * mvn -Pdatagen -DskipTests verify -Ddatagen.main=com.biblioteca.app.datagen.MostRequestedReportBenchmark
+ *     -Ddatagen.args="-Ddatagen.url=jdbc:mysql://localhost:3306/biblioteca_perf -Ddatagen.user=root -Ddatagen.password=..."
+ *
+ * Compara, por página: la consulta anterior (DATE(RentalDate) = CURDATE(), OFFSET), la actual de
+ * RentalRepository paginando con OFFSET y la actual con cursor (keyset). La consulta actual se lee
+ * de la anotación @Query para medir exactamente lo que ejecuta la aplicación.
+ *
+ * Propiedades (-Dbench.*): pages (1,10,100,1000), size (20), warmup (2), runs (5), category (UUID).
+ */
+public class MostRequestedReportBenchmark {
+
+    /**
+     * Consulta del reporte antes de los buckets sargables y del total por ventana (línea base)
+     */
+    private static final String LEGACY_SQL = """
+        SELECT
+            BIN_TO_UUID(b.BookId) as bookId,
+            b.Title as title,
+            b.ISBN as isbn,
+            a.FullName as authorName,
+            c.CategoryName as categoryName,
+            COUNT(r.RentalId) as totalRentals,
+            SUM(CASE
+                WHEN DATE(r.RentalDate) = DATE(DATE_SUB(NOW(), INTERVAL 1 DAY))
+                THEN 1 ELSE 0
+            END) as yesterdayRentals,
+            SUM(CASE
+                WHEN DATE(r.RentalDate) = CURDATE()
+                THEN 1 ELSE 0
+            END) as todayRentals
+        FROM Book b
+        INNER JOIN Author a ON b.AuthorId = a.AuthorId
+        INNER JOIN Category c ON b.CategoryId = c.CategoryId
+        INNER JOIN BookCopy bc ON b.BookId = bc.BookId
+        INNER JOIN Rental r ON bc.BookCopyId = r.BookCopyId
+        WHERE (:categoryId IS NULL OR b.CategoryId = UUID_TO_BIN(:categoryId))
+        GROUP BY b.BookId, b.Title, b.ISBN, a.FullName, c.CategoryName
+        ORDER BY totalRentals DESC, b.Title ASC
+        LIMIT :limit OFFSET :offset
+    """;
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("datagen.url");
+        if (url == null || url.isBlank()) {
+            System.err.println("Falta -Ddatagen.url (y datagen.user / datagen.password)");
+            System.exit(2);
+        }
+
+        int[] pages = Arrays.stream(System.getProperty("bench.pages", "1,10,100,1000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int size = Integer.getInteger("bench.size", 20);
+        int warmup = Integer.getInteger("bench.warmup", 2);
+        int runs = Integer.getInteger("bench.runs", 5);
+        String category = System.getProperty("bench.category");
+
+        String currentSql = RepositorySql.of(RentalRepository.class, "findMostRequestedBooks");
+
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("datagen.user"), System.getProperty("datagen.password"))) {
+            connection.setReadOnly(true);
+
+            Map<String, Object> params = new HashMap<>();
+            LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+            params.put("categoryId", category);
+            params.put("yesterdayStart", todayStart.minusDays(1));
+            params.put("todayStart", todayStart);
+            params.put("tomorrowStart", todayStart.plusDays(1));
+            params.put("limit", size);
+
+            System.out.printf("%-8s %14s %14s %14s %10s%n", "página", "anterior (ms)", "offset (ms)", "cursor (ms)", "filas");
+            for (int page : pages) {
+                int offset = (page - 1) * size;
+
+                // Cursor = último libro de la página anterior (se obtiene fuera de la medición)
+                Object[] cursor = page > 1 ? rowAt(connection, currentSql, params, offset - 1) : null;
+                if (page > 1 && cursor == null) {
+                    System.out.printf("%-8d fuera de rango%n", page);
+                    continue;
+                }
+
+                Map<String, Object> offsetParams = new HashMap<>(params);
+                offsetParams.put("afterTotal", null);
+                offsetParams.put("afterBookId", null);
+                offsetParams.put("offset", offset);
+
+                Map<String, Object> keysetParams = new HashMap<>(offsetParams);
+                keysetParams.put("offset", 0);
+                if (cursor != null) {
+                    keysetParams.put("afterTotal", cursor[0]);
+                    keysetParams.put("afterBookId", cursor[1]);
+                }
+
+                double legacy = medianMillis(connection, LEGACY_SQL, offsetParams, warmup, runs);
+                double current = medianMillis(connection, currentSql, offsetParams, warmup, runs);
+                double keyset = medianMillis(connection, currentSql, keysetParams, warmup, runs);
+                int rows = execute(connection, currentSql, keysetParams);
+
+                System.out.printf("%-8d %14.1f %14.1f %14.1f %10d%n", page, legacy, current, keyset, rows);
+            }
+        }
+    }
+
+    private static double medianMillis(Connection connection, String sql, Map<String, Object> params,
+                                       int warmup, int runs) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            execute(connection, sql, params);
+        }
+        double[] samples = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            execute(connection, sql, params);
+            samples[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+
+    /**
+     * Ejecuta la consulta y recorre todas las filas (como haría la aplicación)
+     */
+    private static int execute(Connection connection, String sql, Map<String, Object> params) throws SQLException {
+        try (PreparedStatement statement = RepositorySql.prepare(connection, sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            int rows = 0;
+            while (rs.next()) {
+                rs.getString("bookId");
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * (totalRentals, bookId) de la fila en la posición indicada del reporte
+     */
+    private static Object[] rowAt(Connection connection, String sql, Map<String, Object> params,
+                                  int position) throws SQLException {
+        Map<String, Object> rowParams = new HashMap<>(params);
+        rowParams.put("afterTotal", null);
+        rowParams.put("afterBookId", null);
+        rowParams.put("limit", 1);
+        rowParams.put("offset", position);
+        try (PreparedStatement statement = RepositorySql.prepare(connection, sql, rowParams);
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? new Object[] { rs.getInt("totalRentals"), rs.getString("bookId") } : null;
+        }
+    }
+}
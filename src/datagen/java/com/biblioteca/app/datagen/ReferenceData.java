@@ -0,0 +1,115 @@
+package com.biblioteca.app.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Datos de referencia (estados, roles, países, categorías, configuración).
+ * Reutiliza las filas existentes por nombre y solo inserta las que faltan, así el
+ * generador sirve tanto para una base vacía como para una copia con catálogos cargados.
+ * La convención del esquema es tabla X con columnas XId y XName.
+ */
+class ReferenceData {
+
+    private final Connection connection;
+    private final Random random;
+    private final Timestamp now;
+
+    ReferenceData(Connection connection, Random random, LocalDateTime now) {
+        this.connection = connection;
+        this.random = random;
+        this.now = Timestamp.valueOf(now);
+    }
+
+    /**
+     * ID de la fila con ese nombre, creándola si no existe
+     */
+    UUID named(String table, String nameColumn, String name) {
+        String select = "SELECT " + table + "Id FROM `" + table + "` WHERE " + nameColumn + " = ?";
+        try (PreparedStatement statement = connection.prepareStatement(select)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return Uuids.fromBytes(rs.getBytes(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo leer " + table, e);
+        }
+
+        UUID id = new UUID(random.nextLong(), random.nextLong());
+        update("INSERT INTO `" + table + "` (" + table + "Id, " + nameColumn + ", CreatedAt, UpdatedAt) VALUES (?, ?, ?, ?)",
+                Uuids.toBytes(id), name, now, now);
+        return id;
+    }
+
+    /**
+     * IDs de la tabla; si hay menos de min filas crea las que faltan con nameFactory
+     */
+    List<UUID> atLeast(String table, String nameColumn, int min, IntFunction<String> nameFactory) {
+        List<UUID> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + table + "Id FROM `" + table + "`");
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(Uuids.fromBytes(rs.getBytes(1)));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo leer " + table, e);
+        }
+        for (int i = ids.size(); i < min; i++) {
+            ids.add(named(table, nameColumn, nameFactory.apply(i)));
+        }
+        return ids;
+    }
+
+    /**
+     * Clave de configuración, si no existe
+     */
+    void config(String key, String value, String type, String displayName) {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM `Configuration` WHERE ConfigKey = ?")) {
+            statement.setString(1, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo leer Configuration", e);
+        }
+        update("""
+                INSERT INTO `Configuration` (ConfigurationId, ConfigKey, ConfigValue, ConfigType, DisplayName, CreatedAt, UpdatedAt)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, Uuids.toBytes(new UUID(random.nextLong(), random.nextLong())), key, value, type, displayName, now, now);
+    }
+
+    void commit() {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void update(String sql, Object... params) {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error insertando datos de referencia", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.biblioteca.app.datagen;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Consultas nativas de los repositorios ejecutadas por JDBC desde los benchmarks de informes,
+ * sin levantar el contexto de Spring.
+ */
+final class RepositorySql {
+
+    private static final Pattern NAMED_PARAM = Pattern.compile(":(\\w+)");
+
+    private RepositorySql() {
+    }
+
+    /**
+     * SQL del método del repositorio tal como la declara @Query
+     */
+    static String of(Class<?> repository, String methodName) throws NoSuchMethodException {
+        for (Method method : repository.getMethods()) {
+            if (method.getName().equals(methodName)) {
+                return method.getAnnotation(Query.class).value();
+            }
+        }
+        throw new NoSuchMethodException(repository.getSimpleName() + "." + methodName);
+    }
+
+    /**
+     * Convierte los parámetros con nombre (:x) en posicionales y los asigna
+     */
+    static PreparedStatement prepare(Connection connection, String sql, Map<String, Object> params)
+            throws SQLException {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = NAMED_PARAM.matcher(sql);
+        StringBuilder jdbcSql = new StringBuilder();
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+            matcher.appendReplacement(jdbcSql, "?");
+        }
+        matcher.appendTail(jdbcSql);
+
+        PreparedStatement statement = connection.prepareStatement(jdbcSql.toString());
+        for (int i = 0; i < names.size(); i++) {
+            Object value = params.get(names.get(i));
+            if (value == null) {
+                statement.setNull(i + 1, Types.NULL);
+            } else if (value instanceof LocalDateTime dateTime) {
+                statement.setTimestamp(i + 1, Timestamp.valueOf(dateTime));
+            } else {
+                statement.setObject(i + 1, value);
+            }
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,63 @@
+package com.biblioteca.app.datagen;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Fechas de alquiler con estacionalidad: peso por mes (calendario escolar, menos
+ * actividad en enero, febrero y diciembre), por día de la semana y una tendencia
+ * de crecimiento a lo largo del período. La hora cae en el horario de atención.
+ */
+public class SeasonalDateSampler {
+
+    // Enero .. diciembre
+    private static final double[] MONTH_WEIGHTS = {0.7, 0.6, 1.1, 1.2, 1.2, 1.1, 0.9, 1.1, 1.2, 1.2, 1.1, 0.8};
+    // Lunes .. domingo
+    private static final double[] WEEKDAY_WEIGHTS = {1.1, 1.0, 1.0, 1.0, 1.1, 0.8, 0.4};
+
+    private static final int OPENING_HOUR = 9;
+    private static final int OPEN_HOURS = 12;
+
+    private final LocalDate start;
+    private final double[] cdf;
+
+    /**
+     * @param start primer día (incluido)
+     * @param end último día (incluido)
+     * @param growth crecimiento relativo entre el primer y el último día (0.2 = +20 %)
+     */
+    public SeasonalDateSampler(LocalDate start, LocalDate end, double growth) {
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        if (days <= 0) {
+            throw new IllegalArgumentException("El rango de fechas está vacío");
+        }
+        this.start = start;
+        this.cdf = new double[days];
+
+        double sum = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate day = start.plusDays(i);
+            double trend = 1 + growth * i / Math.max(1, days - 1);
+            sum += MONTH_WEIGHTS[day.getMonthValue() - 1] * weekdayWeight(day.getDayOfWeek()) * trend;
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < days; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public LocalDateTime next(Random random) {
+        int pos = Arrays.binarySearch(cdf, random.nextDouble());
+        int day = pos >= 0 ? pos : Math.min(-pos - 1, cdf.length - 1);
+        return start.plusDays(day)
+                .atTime(OPENING_HOUR + random.nextInt(OPEN_HOURS), random.nextInt(60), random.nextInt(60));
+    }
+
+    private static double weekdayWeight(DayOfWeek dayOfWeek) {
+        return WEEKDAY_WEIGHTS[dayOfWeek.getValue() - 1];
+    }
+}
@@ -0,0 +1,135 @@
+package com.biblioteca.app.datagen;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Captura las sentencias preparadas que ejecuta la aplicación (SQL y valores enlazados) para
+ * repetirlas con EXPLAIN. Envuelve el DataSource con proxies JDBC; solo registra mientras
+ * está activa (start / stop).
+ */
+final class StatementCapture {
+
+    /**
+     * Sentencia ejecutada: SQL y llamadas setXxx(índice, valor...) en orden
+     */
+    static final class Captured {
+
+        final String sql;
+        final List<Method> setters = new ArrayList<>();
+        final List<Object[]> arguments = new ArrayList<>();
+
+        Captured(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * Prepara sqlPrefix + sql en otra conexión con los mismos valores
+         */
+        PreparedStatement prepare(Connection connection, String sqlPrefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(sqlPrefix + sql);
+            try {
+                for (int i = 0; i < setters.size(); i++) {
+                    setters.get(i).invoke(statement, arguments.get(i));
+                }
+            } catch (ReflectiveOperationException e) {
+                statement.close();
+                throw new SQLException("No se pudieron repetir los valores de " + sql, e);
+            }
+            return statement;
+        }
+    }
+
+    private final List<Captured> captured = new ArrayList<>();
+    private volatile boolean active;
+
+    void start() {
+        synchronized (captured) {
+            captured.clear();
+        }
+        active = true;
+    }
+
+    List<Captured> stop() {
+        active = false;
+        synchronized (captured) {
+            return new ArrayList<>(captured);
+        }
+    }
+
+    /**
+     * Envuelve el bean "dataSource" de la aplicación
+     */
+    BeanPostProcessor postProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? wrap(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrapStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+        Captured current = new Captured(sql);
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                current.setters.add(method);
+                current.arguments.add(args.clone());
+            } else if (active && (name.equals("executeQuery") || name.equals("execute")) && args == null) {
+                synchronized (captured) {
+                    captured.add(current);
+                }
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Object target, Method method, Object[] args) throws ReflectiveOperationException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(),
+                new Class<?>[] { type }, invocationHandler);
+    }
+}
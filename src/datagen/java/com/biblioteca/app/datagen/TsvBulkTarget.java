@@ -0,0 +1,140 @@
+package com.biblioteca.app.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Escribe un fichero TSV por tabla con el formato por defecto de LOAD DATA (tabuladores,
+ * escape con barra invertida, \N para NULL) y un script load-data.sql que los carga en
+ * orden con las claves foráneas desactivadas. Los UUID van en hexadecimal y el script
+ * los convierte con UNHEX.
+ *
+ * mysql --local-infile=1 -h ... basedatos &lt; load-data.sql  (desde el directorio de salida)
+ */
+public class TsvBulkTarget implements BulkTarget {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path directory;
+    private final List<BulkTable> tables = new ArrayList<>();
+
+    public TsvBulkTarget(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public TableWriter open(BulkTable table) {
+        tables.add(table);
+        try {
+            return new TsvTableWriter(Files.newBufferedWriter(file(table), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Genera load-data.sql con las tablas en el orden en que se escribieron
+     */
+    @Override
+    public void close() {
+        List<String> script = new ArrayList<>();
+        script.add("SET foreign_key_checks = 0;");
+        script.add("SET unique_checks = 0;");
+        for (BulkTable table : tables) {
+            List<String> columns = new ArrayList<>();
+            List<String> conversions = new ArrayList<>();
+            for (String column : table.getColumns()) {
+                if (table.isUuidColumn(column)) {
+                    columns.add("@" + column);
+                    conversions.add(column + " = UNHEX(@" + column + ")");
+                } else {
+                    columns.add(column);
+                }
+            }
+            script.add("LOAD DATA LOCAL INFILE '" + file(table).getFileName() + "' INTO TABLE `" + table.getName()
+                    + "` CHARACTER SET utf8mb4 (" + String.join(", ", columns) + ")"
+                    + (conversions.isEmpty() ? "" : " SET " + String.join(", ", conversions)) + ";");
+        }
+        script.add("SET unique_checks = 1;");
+        script.add("SET foreign_key_checks = 1;");
+        try {
+            Files.write(directory.resolve("load-data.sql"), script, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path file(BulkTable table) {
+        return directory.resolve(table.getName() + ".tsv");
+    }
+
+    private static class TsvTableWriter implements TableWriter {
+
+        private final BufferedWriter writer;
+
+        TsvTableWriter(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write('\t');
+                    }
+                    writer.write(format(values[i]));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String format(Object value) {
+            if (value == null) {
+                return "\\N";
+            }
+            if (value instanceof UUID uuid) {
+                return Uuids.toHex(uuid);
+            }
+            if (value instanceof LocalDateTime dateTime) {
+                return DATE_TIME.format(dateTime);
+            }
+            if (value instanceof Boolean bool) {
+                return bool ? "1" : "0";
+            }
+            if (value instanceof BigDecimal decimal) {
+                return decimal.toPlainString();
+            }
+            return value.toString()
+                    .replace("\\", "\\\\")
+                    .replace("\t", "\\t")
+                    .replace("\n", "\\n");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.app.datagen;
+
+import java.nio.ByteBuffer;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * UUID en el formato BINARY(16) de las tablas (mismo orden de bytes que UUID_TO_BIN sin swap)
+ */
+final class Uuids {
+
+    private Uuids() {
+    }
+
+    static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static String toHex(UUID uuid) {
+        return HexFormat.of().formatHex(toBytes(uuid));
+    }
+}
@@ -0,0 +1,68 @@
+package com.biblioteca.app.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Muestreo de una distribución de Zipf sobre n elementos: el de rango k sale con
+ * probabilidad proporcional a 1 / k^s.
+ *
+ * Los rangos se asignan a índices con una permutación aleatoria, para que los elementos
+ * populares no sean siempre los primeros insertados (y los IDs consecutivos).
+ */
+public class ZipfSampler {
+
+    private final double[] cdf;
+    private final int[] indexByRank;
+    private final int[] rankByIndex;
+
+    public ZipfSampler(int n, double exponent, Random random) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n debe ser mayor que 0");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+
+        indexByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexByRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = indexByRank[i];
+            indexByRank[i] = indexByRank[j];
+            indexByRank[j] = tmp;
+        }
+        rankByIndex = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            rankByIndex[indexByRank[rank]] = rank;
+        }
+    }
+
+    /**
+     * Índice de un elemento según su popularidad
+     */
+    public int next(Random random) {
+        int pos = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = pos >= 0 ? pos : Math.min(-pos - 1, cdf.length - 1);
+        return indexByRank[rank];
+    }
+
+    /**
+     * Rango de popularidad de un índice (0 = el más popular)
+     */
+    public int rankOf(int index) {
+        return rankByIndex[index];
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
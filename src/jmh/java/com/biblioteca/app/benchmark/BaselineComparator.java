@@ -0,0 +1,136 @@
+package com.biblioteca.app.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara un resultado de JMH (CSV, -rf csv) con la línea base guardada en el repositorio.
+ *
+ * Uso: BaselineComparator &lt;baseline.csv&gt; &lt;resultado.csv&gt; [tolerancia]
+ * La tolerancia es relativa (0.15 = 15 %). En modo thrpt una puntuación menor es peor;
+ * en avgt, sample y ss una mayor es peor. Termina con código 1 si algún benchmark empeora
+ * más de la tolerancia; los benchmarks sin línea base solo se informan.
+ */
+public class BaselineComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BaselineComparator <baseline.csv> <resultado.csv> [tolerancia]");
+            System.exit(2);
+        }
+        Path baselinePath = Path.of(args[0]);
+        Path resultPath = Path.of(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+
+        Map<String, Row> baseline = Files.exists(baselinePath) ? read(baselinePath) : Map.of();
+        Map<String, Row> result = read(resultPath);
+
+        int regressions = 0;
+        for (Map.Entry<String, Row> entry : result.entrySet()) {
+            Row current = entry.getValue();
+            Row base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.printf("NUEVO      %-70s %12.3f %s%n", entry.getKey(), current.score, current.unit);
+                continue;
+            }
+            if (!base.unit.equals(current.unit)) {
+                System.out.printf("UNIDAD     %-70s %s -> %s (actualizar línea base)%n",
+                        entry.getKey(), base.unit, current.unit);
+                continue;
+            }
+
+            double change = (current.score - base.score) / base.score;
+            boolean worse = current.higherIsBetter() ? change < -tolerance : change > tolerance;
+            if (worse) {
+                regressions++;
+            }
+            System.out.printf("%-10s %-70s %12.3f -> %12.3f %s (%+.1f %%)%n",
+                    worse ? "REGRESIÓN" : "OK", entry.getKey(), base.score, current.score,
+                    current.unit, change * 100);
+        }
+
+        if (baseline.isEmpty()) {
+            System.out.println("Línea base vacía: copiar " + resultPath + " a " + baselinePath + " para fijarla.");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) empeoraron más de " + (tolerance * 100) + " %");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Lee el CSV de JMH. La clave es el nombre del benchmark más sus @Param.
+     */
+    private static Map<String, Row> read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Map<String, Row> rows = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return rows;
+        }
+
+        List<String> header = parse(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = parse(line);
+            StringBuilder key = new StringBuilder(values.get(benchmark));
+            for (int i = unit + 1; i < values.size(); i++) {
+                if (!values.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(values.get(i));
+                }
+            }
+            rows.put(key.toString(), new Row(values.get(mode), Double.parseDouble(values.get(score)), values.get(unit)));
+        }
+        return rows;
+    }
+
+    /**
+     * Separa una línea CSV con campos entre comillas (formato de JMH)
+     */
+    private static List<String> parse(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static class Row {
+        private final String mode;
+        private final double score;
+        private final String unit;
+
+        Row(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.biblioteca.app.helper;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biblioteca.app.dto.author.AuthorDTO;
+import com.biblioteca.app.dto.author.AuthorStatsDTO;
+import com.biblioteca.app.entity.Author;
+import com.biblioteca.app.entity.Country;
+import com.biblioteca.app.entity.Status;
+import com.biblioteca.app.repository.projection.AuthorStatsProjection;
+
+/**
+ * Conversiones de AuthorMapper (listado paginado y reporte de autores más pedidos de AuthorService)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorMapperBenchmark {
+
+    private Author author;
+    private AuthorStatsProjection stats;
+
+    @Setup
+    public void setup() {
+        Country country = new Country();
+        country.setCountryName("Perú");
+        country.setCountryCode("PE");
+
+        Status status = new Status();
+        status.setStatusName("Active");
+
+        author = new Author();
+        author.setAuthorId(UUID.randomUUID());
+        author.setFullName("Mario Vargas Llosa");
+        author.setCountry(country);
+        author.setStatus(status);
+
+        stats = new AuthorStatsProjection() {
+            private final String id = UUID.randomUUID().toString();
+
+            @Override public String getAuthorId() { return id; }
+            @Override public String getFullName() { return "Mario Vargas Llosa"; }
+            @Override public String getPseudonym() { return null; }
+            @Override public String getPhotoUrl() { return null; }
+            @Override public String getCountryName() { return "Perú"; }
+            @Override public Integer getTotalBooks() { return 12; }
+            @Override public Integer getTotalCopies() { return 40; }
+            @Override public Integer getAvailableCopies() { return 25; }
+            @Override public Integer getTotalRentals() { return 310; }
+        };
+    }
+
+    @Benchmark
+    public AuthorDTO toDTO() {
+        return AuthorMapper.toDTO(author);
+    }
+
+    @Benchmark
+    public AuthorStatsDTO toStatsDTO() {
+        return AuthorMapper.toStatsDTO(stats);
+    }
+}
@@ -0,0 +1,71 @@
+package com.biblioteca.app.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biblioteca.app.dto.rental.BookMostRequestedDTO;
+import com.biblioteca.app.repository.projection.BookMostRequestedProjection;
+
+/**
+ * Reporte de libros más pedidos: conversión de la proyección y cálculo de popularidad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MostRequestedBookMapperBenchmark {
+
+    @Param({"20", "100"})
+    private int rows;
+
+    private List<BookMostRequestedProjection> projections;
+
+    @Setup
+    public void setup() {
+        projections = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            projections.add(projection(UUID.randomUUID().toString(), "Libro " + i, 1000 - i * 7));
+        }
+    }
+
+    @Benchmark
+    public BookMostRequestedDTO toDTO() {
+        return MostRequestedBookMapper.toDTO(projections.get(0));
+    }
+
+    @Benchmark
+    public List<BookMostRequestedDTO> toDTOs() {
+        return MostRequestedBookMapper.toDTOs(projections);
+    }
+
+    private static BookMostRequestedProjection projection(String bookId, String title, int totalRentals) {
+        return new BookMostRequestedProjection() {
+            @Override public String getBookId() { return bookId; }
+            @Override public String getTitle() { return title; }
+            @Override public String getIsbn() { return "978-0000000000"; }
+            @Override public String getAuthorName() { return "Autor"; }
+            @Override public String getCategoryName() { return "Novela"; }
+            @Override public Integer getTotalRentals() { return totalRentals; }
+            @Override public Integer getYesterdayRentals() { return 3; }
+            @Override public Integer getTodayRentals() { return 1; }
+            @Override public Long getTotalItems() { return 200L; }
+            @Override public Integer getMaxRentals() { return 500; }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.biblioteca.app.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.biblioteca.app.dto.shared.PagedResult;
+
+/**
+ * PageMapper.toPagedResult con y sin conversión de elementos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageMapperBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private Page<Integer> page;
+
+    @Setup
+    public void setup() {
+        List<Integer> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(i);
+        }
+        page = new PageImpl<>(content, PageRequest.of(2, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public PagedResult<Integer> toPagedResult() {
+        return PageMapper.toPagedResult(page, 3);
+    }
+
+    @Benchmark
+    public PagedResult<String> toPagedResultWithConverter() {
+        return PageMapper.toPagedResult(page, 3, String::valueOf);
+    }
+}
@@ -0,0 +1,46 @@
+package com.biblioteca.app.helper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PasswordUtil (BCrypt). Es lento a propósito: sirve para detectar cambios de coste
+ * (strength) y dimensionar los hilos de login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordUtilBenchmark {
+
+    private static final String PASSWORD = "Biblioteca#2024";
+
+    private String hash;
+
+    @Setup
+    public void setup() {
+        hash = PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return PasswordUtil.verifyPassword(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,57 @@
+package com.biblioteca.app.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.biblioteca.app.entity.Role;
+import com.biblioteca.app.entity.User;
+import com.biblioteca.app.entity.UserRole;
+
+/**
+ * SecurityUtil.getAuthorities (se ejecuta en cada login)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityUtilBenchmark {
+
+    @Param({"1", "3"})
+    private int roles;
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        user = new User();
+        List<UserRole> userRoles = new ArrayList<>();
+        for (int i = 0; i < roles; i++) {
+            Role role = new Role();
+            role.setRoleName(i == 0 ? "Admin" : "Role" + i);
+            userRoles.add(new UserRole(user, role));
+        }
+        user.setUserRoles(userRoles);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return SecurityUtil.getAuthorities(user);
+    }
+}
@@ -0,0 +1,88 @@
+package com.biblioteca.app.service;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.biblioteca.app.entity.Configuration;
+import com.biblioteca.app.entity.enums.ConfigType;
+import com.biblioteca.app.repository.ConfigurationRepository;
+
+/**
+ * Lectura y conversión de valores de ConfigurationService.
+ * El repositorio se sustituye por un mapa en memoria: solo se mide el parseo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationServiceBenchmark {
+
+    private ConfigurationService configurationService;
+
+    @Setup
+    public void setup() {
+        Map<String, Configuration> values = Map.of(
+                "ItemsPerPage", config("ItemsPerPage", "20", ConfigType.INT),
+                "ReturnDelayDailyPenalty", config("ReturnDelayDailyPenalty", "12.5", ConfigType.DECIMAL),
+                "AllowRenewals", config("AllowRenewals", "yes", ConfigType.BOOLEAN),
+                "LibraryName", config("LibraryName", "Biblioteca Virtual", ConfigType.STRING));
+
+        ConfigurationRepository repository = (ConfigurationRepository) Proxy.newProxyInstance(
+                ConfigurationRepository.class.getClassLoader(),
+                new Class<?>[] { ConfigurationRepository.class },
+                (proxy, method, args) -> {
+                    if ("findByConfigKey".equals(method.getName())) {
+                        return Optional.ofNullable(values.get((String) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        configurationService = new ConfigurationService(repository);
+    }
+
+    @Benchmark
+    public int getIntValue() {
+        return configurationService.getIntValue("ItemsPerPage", 10);
+    }
+
+    @Benchmark
+    public double getDecimalValue() {
+        return configurationService.getDecimalValue("ReturnDelayDailyPenalty", 12.5);
+    }
+
+    @Benchmark
+    public BigDecimal getBigDecimalValue() {
+        return configurationService.getBigDecimalValue("ReturnDelayDailyPenalty", BigDecimal.TEN);
+    }
+
+    @Benchmark
+    public boolean getBooleanValue() {
+        return configurationService.getBooleanValue("AllowRenewals", false);
+    }
+
+    @Benchmark
+    public String getStringValue() {
+        return configurationService.getStringValue("LibraryName", "");
+    }
+
+    private static Configuration config(String key, String value, ConfigType type) {
+        return new Configuration(UUID.randomUUID(), key, value, type, key, null);
+    }
+}
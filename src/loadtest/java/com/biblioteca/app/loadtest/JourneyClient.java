@@ -0,0 +1,104 @@
+package com.biblioteca.app.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Navegador mínimo de un usuario virtual: cookies propias (sesión), sin seguir redirecciones
+ * y con el token CSRF de la última página que lo incluya.
+ *
+ * Cada petición se mide y se registra en el LatencyRecorder con el nombre del paso,
+ * que también viaja en la cabecera X-Load-Step para el conteo de SQL del servidor.
+ */
+public class JourneyClient {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+
+    private String csrfToken;
+
+    public JourneyClient(String baseUrl, LatencyRecorder recorder) {
+        this.httpClient = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TIMEOUT)
+                .build();
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+    }
+
+    /**
+     * GET que espera un 200
+     */
+    public HttpResponse<String> get(String step, String path) {
+        HttpRequest request = request(step, path).GET().build();
+        return send(step, request, response -> response.statusCode() == 200);
+    }
+
+    /**
+     * POST de formulario (con el token CSRF) que espera una redirección a expectedLocation
+     */
+    public HttpResponse<String> post(String step, String path, Map<String, String> form, String expectedLocation) {
+        Map<String, String> body = new LinkedHashMap<>(form);
+        if (csrfToken != null) {
+            body.put("_csrf", csrfToken);
+        }
+        String encoded = body.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+
+        HttpRequest request = request(step, path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(encoded))
+                .build();
+        return send(step, request, response -> response.statusCode() == 302
+                && response.headers().firstValue("Location").orElse("").endsWith(expectedLocation));
+    }
+
+    private HttpRequest.Builder request(String step, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header(SqlStatementCounter.STEP_HEADER, step);
+    }
+
+    private HttpResponse<String> send(String step, HttpRequest request, Predicate<HttpResponse<String>> success) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(step, System.nanoTime() - start, success.test(response));
+
+            Matcher matcher = CSRF.matcher(response.body());
+            if (matcher.find()) {
+                csrfToken = matcher.group(1);
+            }
+            return response;
+        } catch (IOException e) {
+            recorder.record(step, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,107 @@
+package com.biblioteca.app.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencias por paso del recorrido, medidas en el cliente (nanosegundos).
+ * Guarda todas las muestras: con los tamaños de una prueba local caben en memoria
+ * y los percentiles son exactos.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> steps = new ConcurrentHashMap<>();
+
+    public void record(String step, long nanos, boolean ok) {
+        steps.computeIfAbsent(step, key -> new Samples()).add(nanos, ok);
+    }
+
+    public Set<String> getSteps() {
+        return steps.keySet();
+    }
+
+    public Summary summary(String step) {
+        return steps.get(step).summary();
+    }
+
+    /**
+     * Muestras de un paso
+     */
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean ok) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Summary summary() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new Summary(size, errors, percentile(sorted, 0.50), percentile(sorted, 0.95),
+                    percentile(sorted, 0.99), size > 0 ? sorted[size - 1] : 0);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+
+    /**
+     * Resumen de un paso (latencias en nanosegundos)
+     */
+    public static class Summary {
+        private final long count;
+        private final long errors;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+        private final long max;
+
+        Summary(long count, long errors, long p50, long p95, long p99, long max) {
+            this.count = count;
+            this.errors = errors;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+}
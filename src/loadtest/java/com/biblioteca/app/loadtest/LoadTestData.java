@@ -0,0 +1,49 @@
+package com.biblioteca.app.loadtest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.biblioteca.app.datagen.GeneratedDataset;
+
+/**
+ * Datos generados por LoadTestDataSeeder que usan los recorridos: cuentas de usuario y de
+ * administrador y ejemplares disponibles para alquilar (cada ejemplar se entrega una sola vez).
+ */
+public class LoadTestData {
+
+    private final List<String> userEmails;
+    private final List<String> adminEmails;
+    private final String password;
+    private final Queue<GeneratedDataset.Copy> availableCopies;
+
+    public LoadTestData(List<String> userEmails, List<String> adminEmails, String password,
+                        List<GeneratedDataset.Copy> availableCopies) {
+        this.userEmails = List.copyOf(userEmails);
+        this.adminEmails = List.copyOf(adminEmails);
+        this.password = password;
+        this.availableCopies = new ConcurrentLinkedQueue<>(availableCopies);
+    }
+
+    public List<String> getUserEmails() {
+        return userEmails;
+    }
+
+    /**
+     * Una cuenta por recorrido de admin concurrente
+     */
+    public List<String> getAdminEmails() {
+        return adminEmails;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Siguiente ejemplar libre, o null si ya se alquilaron todos
+     */
+    public GeneratedDataset.Copy nextAvailableCopy() {
+        return availableCopies.poll();
+    }
+}
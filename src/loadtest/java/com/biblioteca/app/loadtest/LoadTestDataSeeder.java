@@ -0,0 +1,127 @@
+package com.biblioteca.app.loadtest;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.app.datagen.DatasetSpec;
+import com.biblioteca.app.datagen.GeneratedDataset;
+import com.biblioteca.app.datagen.JdbcBulkTarget;
+import com.biblioteca.app.datagen.LibraryDataGenerator;
+
+/**
+ * Carga una biblioteca sintética en la base embebida del perfil loadtest
+ * con LibraryDataGenerator (JDBC por lotes, sin pasar por JPA).
+ * La semilla es fija: dos ejecuciones con la misma configuración generan los mismos datos.
+ *
+ * Cada recorrido de admin necesita su propia cuenta (la sesión de admin es única por usuario):
+ * además del administrador del generador, las últimas cuentas de lector reciben el rol ADMIN.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String GRANT_ADMIN = """
+        INSERT INTO UserRole (UserRoleId, UserId, RoleId, CreatedAt, UpdatedAt)
+        SELECT ?, u.UserId, r.RoleId, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+        FROM `User` u, `Role` r
+        WHERE u.Email = ? AND r.RoleName = 'ADMIN'
+        """;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.books:20000}")
+    private int books;
+
+    @Value("${loadtest.authors:2000}")
+    private int authors;
+
+    @Value("${loadtest.users:2000}")
+    private int users;
+
+    @Value("${loadtest.rentals:50000}")
+    private long rentals;
+
+    @Value("${loadtest.active-rentals:1000}")
+    private int activeRentals;
+
+    @Value("${loadtest.admin-concurrency:2}")
+    private int adminAccounts;
+
+    @Value("${loadtest.password:loadtest123}")
+    private String password;
+
+    @Value("${loadtest.seed:42}")
+    private long seed;
+
+    public LoadTestDataSeeder(DataSource dataSource, PasswordEncoder passwordEncoder) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Genera todos los datos y devuelve lo que necesitan los recorridos
+     */
+    public LoadTestData seed() throws SQLException {
+        DatasetSpec spec = new DatasetSpec();
+        spec.setSeed(seed);
+        spec.setBooks(books);
+        spec.setAuthors(authors);
+        spec.setUsers(users);
+        spec.setRentals(rentals);
+        spec.setActiveRentals(activeRentals);
+        spec.setPasswordHash(passwordEncoder.encode(password));
+        spec.setEmailDomain("loadtest.local");
+        spec.setAdminEmail("admin@loadtest.local");
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            GeneratedDataset dataset;
+            try (JdbcBulkTarget target = new JdbcBulkTarget(connection, BATCH_SIZE)) {
+                dataset = new LibraryDataGenerator(spec).generate(connection, target);
+            }
+            List<String> adminEmails = grantAdminAccounts(connection, dataset);
+            connection.commit();
+            return new LoadTestData(dataset.getUserEmails(), adminEmails, password,
+                    dataset.getAvailableCopies());
+        }
+    }
+
+    /**
+     * Administrador del generador más adminAccounts - 1 lectores del final de la lista
+     * (los recorridos de usuario toman los primeros)
+     */
+    private List<String> grantAdminAccounts(Connection connection, GeneratedDataset dataset) throws SQLException {
+        List<String> adminEmails = new ArrayList<>();
+        adminEmails.add(dataset.getAdminEmail());
+        List<String> userEmails = dataset.getUserEmails();
+        try (PreparedStatement statement = connection.prepareStatement(GRANT_ADMIN)) {
+            for (int i = 1; i < adminAccounts && i < userEmails.size(); i++) {
+                String email = userEmails.get(userEmails.size() - i);
+                UUID userRoleId = UUID.randomUUID();
+                statement.setBytes(1, ByteBuffer.allocate(16)
+                        .putLong(userRoleId.getMostSignificantBits())
+                        .putLong(userRoleId.getLeastSignificantBits())
+                        .array());
+                statement.setString(2, email);
+                statement.executeUpdate();
+                adminEmails.add(email);
+            }
+        }
+        return adminEmails;
+    }
+}
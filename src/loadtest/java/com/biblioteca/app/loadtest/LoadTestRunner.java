@@ -0,0 +1,189 @@
+package com.biblioteca.app.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.biblioteca.app.BibliotecaVirtualApplication;
+import com.biblioteca.app.datagen.GeneratedDataset;
+
+/**
+ * Prueba de carga de extremo a extremo.
+ *
+ * Arranca la aplicación con el perfil loadtest (H2 embebida, puerto aleatorio), genera la
+ * biblioteca sintética y recorre con usuarios virtuales concurrentes:
+ * - lector: login, catálogo, detalle de libro, nuevo alquiler, /user/alquiler/crear e historial
+ * - admin: login y reporte de libros en alquiler (/admin/libros-alquiler)
+ *
+ * Informa p50 / p95 / p99 por paso y sentencias SQL por petición (SqlStatementCounter).
+ * Configuración en application-loadtest.properties (loadtest.*), sobreescribible con -D.
+ * Termina con código 1 si algún paso supera loadtest.max-error-rate.
+ */
+public class LoadTestRunner {
+
+    private static final List<String> STEPS = List.of(
+            "login-page", "login", "catalogo", "catalogo-detalle", "alquiler-nuevo", "alquiler-crear", "historial",
+            "admin-login-page", "admin-login", "admin-libros-alquiler");
+
+    private static final int CATALOG_PAGE_SIZE = 12;
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BibliotecaVirtualApplication.class)
+                .profiles("loadtest")
+                .run(args);
+
+        int exitCode;
+        try {
+            exitCode = run(context);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(ConfigurableApplicationContext context) throws Exception {
+        Environment env = context.getEnvironment();
+        int concurrency = env.getProperty("loadtest.concurrency", Integer.class, 16);
+        int adminConcurrency = env.getProperty("loadtest.admin-concurrency", Integer.class, 2);
+        int warmup = env.getProperty("loadtest.warmup-iterations", Integer.class, 5);
+        int iterations = env.getProperty("loadtest.iterations", Integer.class, 50);
+        double maxErrorRate = env.getProperty("loadtest.max-error-rate", Double.class, 0.01);
+        Path report = Path.of(env.getProperty("loadtest.report", "target/loadtest-report.csv"));
+        String baseUrl = "http://localhost:" + env.getRequiredProperty("local.server.port");
+
+        long seedStart = System.nanoTime();
+        LoadTestData data = context.getBean(LoadTestDataSeeder.class).seed();
+        System.out.printf("Datos sintéticos generados en %.1f s%n", (System.nanoTime() - seedStart) / 1e9);
+
+        int catalogPages = Math.max(1, env.getProperty("loadtest.books", Integer.class, 20000) / CATALOG_PAGE_SIZE);
+        SqlStatementCounter sqlCounter = context.getBean(SqlStatementCounter.class);
+
+        // Calentamiento: JIT, cachés y pool de conexiones; sus números se descartan
+        drive(baseUrl, data, new LatencyRecorder(), concurrency, adminConcurrency, warmup, catalogPages);
+        sqlCounter.reset();
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long start = System.nanoTime();
+        drive(baseUrl, data, recorder, concurrency, adminConcurrency, iterations, catalogPages);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        return report(recorder, sqlCounter, elapsedSeconds, maxErrorRate, report);
+    }
+
+    // ====== RECORRIDOS ======
+
+    private static void drive(String baseUrl, LoadTestData data, LatencyRecorder recorder, int concurrency,
+                              int adminConcurrency, int iterations, int catalogPages) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency + adminConcurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                String email = data.getUserEmails().get(i % data.getUserEmails().size());
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < iterations; n++) {
+                        userJourney(new JourneyClient(baseUrl, recorder), email, data, catalogPages);
+                    }
+                }));
+            }
+            for (int i = 0; i < adminConcurrency; i++) {
+                String adminEmail = data.getAdminEmails().get(i % data.getAdminEmails().size());
+                futures.add(executor.submit(() -> {
+                    for (int n = 0; n < iterations; n++) {
+                        adminJourney(new JourneyClient(baseUrl, recorder), adminEmail, data);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void userJourney(JourneyClient client, String email, LoadTestData data, int catalogPages) {
+        client.get("login-page", "/user/login");
+        client.post("login", "/login", Map.of("email", email, "password", data.getPassword()), "/user/dashboard");
+        client.get("catalogo", "/user/catalogo?page=" + (1 + ThreadLocalRandom.current().nextInt(catalogPages)));
+
+        GeneratedDataset.Copy copy = data.nextAvailableCopy();
+        if (copy != null) {
+            client.get("catalogo-detalle", "/user/catalogo/" + copy.getBookId());
+            client.get("alquiler-nuevo", "/user/alquiler/nuevo/" + copy.getBookId());
+            client.post("alquiler-crear", "/user/alquiler/crear",
+                    Map.of("bookCopyId", copy.getCopyId().toString()), "/user/historial");
+        }
+
+        client.get("historial", "/user/historial");
+    }
+
+    private static void adminJourney(JourneyClient client, String email, LoadTestData data) {
+        client.get("admin-login-page", "/admin/login");
+        client.post("admin-login", "/admin/login",
+                Map.of("email", email, "password", data.getPassword()), "/admin/dashboard");
+        client.get("admin-libros-alquiler", "/admin/libros-alquiler");
+        client.get("admin-libros-alquiler", "/admin/libros-alquiler?p=2");
+        client.get("admin-libros-alquiler", "/admin/libros-alquiler?status=vencido");
+    }
+
+    // ====== REPORTE ======
+
+    private static int report(LatencyRecorder recorder, SqlStatementCounter sqlCounter, double elapsedSeconds,
+                              double maxErrorRate, Path report) throws IOException {
+        List<String> csv = new ArrayList<>();
+        csv.add("step,requests,errors,p50_ms,p95_ms,p99_ms,max_ms,sql_per_request");
+
+        System.out.printf("%n%-24s %9s %7s %9s %9s %9s %9s %9s%n",
+                "paso", "peticiones", "errores", "p50 ms", "p95 ms", "p99 ms", "max ms", "SQL/pet");
+
+        long totalRequests = 0;
+        boolean failed = false;
+        for (String step : STEPS) {
+            if (!recorder.getSteps().contains(step)) {
+                continue;
+            }
+            LatencyRecorder.Summary summary = recorder.summary(step);
+            double sql = sqlCounter.averagePerRequest(step);
+            totalRequests += summary.getCount();
+            failed |= summary.getErrors() > summary.getCount() * maxErrorRate;
+
+            System.out.printf("%-24s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", step, summary.getCount(),
+                    summary.getErrors(), millis(summary.getP50()), millis(summary.getP95()),
+                    millis(summary.getP99()), millis(summary.getMax()), sql);
+            csv.add(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.2f", step, summary.getCount(),
+                    summary.getErrors(), millis(summary.getP50()), millis(summary.getP95()),
+                    millis(summary.getP99()), millis(summary.getMax()), sql));
+        }
+
+        System.out.printf("%n%d peticiones en %.1f s (%.1f pet/s)%n", totalRequests, elapsedSeconds,
+                totalRequests / elapsedSeconds);
+
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(report, csv);
+        System.out.println("Reporte: " + report.toAbsolutePath());
+
+        if (failed) {
+            System.out.printf("Algún paso supera la tasa de errores permitida (%.1f %%)%n", maxErrorRate * 100);
+        }
+        return failed ? 1 : 0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,155 @@
+package com.biblioteca.app.loadtest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Cuenta las sentencias SQL que ejecuta cada petición HTTP en el perfil loadtest.
+ *
+ * Envuelve el DataSource para contar prepareStatement / prepareCall y las ejecuciones de
+ * Statement; un filtro, antes que el de Spring Session, agrupa el total por el paso del
+ * recorrido (cabecera X-Load-Step). Así también cuentan las lecturas y escrituras de sesión.
+ */
+@Configuration
+@Profile("loadtest")
+public class SqlStatementCounter {
+
+    public static final String STEP_HEADER = "X-Load-Step";
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    // paso -> [peticiones, sentencias]
+    private final Map<String, LongAdder[]> totals = new ConcurrentHashMap<>();
+
+    @Bean
+    static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? countingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> sqlCountingFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                long[] counter = new long[1];
+                CURRENT.set(counter);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    CURRENT.remove();
+                    String step = request.getHeader(STEP_HEADER);
+                    if (step != null) {
+                        LongAdder[] adders = totals.computeIfAbsent(step, key -> new LongAdder[]{new LongAdder(), new LongAdder()});
+                        adders[0].increment();
+                        adders[1].add(counter[0]);
+                    }
+                }
+            }
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Media de sentencias por petición de un paso (NaN si no hubo peticiones)
+     */
+    public double averagePerRequest(String step) {
+        LongAdder[] adders = totals.get(step);
+        if (adders == null || adders[0].sum() == 0) {
+            return Double.NaN;
+        }
+        return (double) adders[1].sum() / adders[0].sum();
+    }
+
+    /**
+     * Descarta lo acumulado (tras el calentamiento)
+     */
+    public void reset() {
+        totals.clear();
+    }
+
+    // ====== PROXIES JDBC ======
+
+    private static DataSource countingDataSource(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) ->
+                result instanceof Connection connection && method.getName().equals("getConnection")
+                        ? countingConnection(connection) : result);
+    }
+
+    private static Connection countingConnection(Connection target) {
+        return proxy(Connection.class, target, (method, result) -> {
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                count();
+                return result;
+            }
+            if (name.equals("createStatement") && result instanceof Statement statement) {
+                return countingStatement(statement);
+            }
+            return result;
+        });
+    }
+
+    private static Statement countingStatement(Statement target) {
+        return proxy(Statement.class, target, (method, result) -> {
+            if (method.getName().startsWith("execute")) {
+                count();
+            }
+            return result;
+        });
+    }
+
+    private static void count() {
+        long[] counter = CURRENT.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+
+    private interface ResultHandler {
+        Object handle(Method method, Object result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args != null && args[0] instanceof Class<?> iface
+                    && iface.isInstance(target)) {
+                return target;
+            }
+            try {
+                return handler.handle(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+}
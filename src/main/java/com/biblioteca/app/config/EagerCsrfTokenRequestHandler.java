@@ -0,0 +1,47 @@
+package com.biblioteca.app.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.CsrfTokenRequestHandler;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Carga el token CSRF al empezar la petición en las páginas públicas con formulario POST
+ * (login y registro).
+ *
+ * Por defecto el token, y con él la sesión de Spring Session, se crea cuando la vista lo pide.
+ * En estas páginas el formulario queda al final de una plantilla grande: para entonces parte
+ * de la respuesta ya se ha enviado y la sesión no puede crearse. El resto de páginas mantiene
+ * la carga diferida, así las visitas anónimas al catálogo no crean sesiones.
+ */
+final class EagerCsrfTokenRequestHandler implements CsrfTokenRequestHandler {
+
+    /**
+     * Manejador por defecto de Spring Security (token enmascarado contra BREACH)
+     */
+    private final CsrfTokenRequestHandler delegate = new XorCsrfTokenRequestAttributeHandler();
+    private final RequestMatcher formPages;
+
+    EagerCsrfTokenRequestHandler(RequestMatcher formPages) {
+        this.formPages = formPages;
+    }
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response,
+                       Supplier<CsrfToken> deferredCsrfToken) {
+        delegate.handle(request, response, deferredCsrfToken);
+        if (formPages.matches(request)) {
+            deferredCsrfToken.get();
+        }
+    }
+
+    @Override
+    public String resolveCsrfTokenValue(HttpServletRequest request, CsrfToken csrfToken) {
+        return delegate.resolveCsrfTokenValue(request, csrfToken);
+    }
+}
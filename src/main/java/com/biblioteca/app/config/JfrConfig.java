@@ -0,0 +1,65 @@
+package com.biblioteca.app.config;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.biblioteca.app.service.jfr.JfrRequestInterceptor;
+import com.biblioteca.app.service.jfr.RepositoryCallInterceptor;
+
+/**
+ * Instrumentación para Java Flight Recorder: eventos por petición a controlador y por
+ * llamada a repositorio (service/jfr). La grabación la gestiona JfrRecordingService.
+ */
+@Configuration
+public class JfrConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new JfrRequestInterceptor())
+            .excludePathPatterns("/css/**", "/js/**", "/images/**", "/fonts/**",
+                    "/admin/css/**", "/admin/js/**", "/admin/images/**");
+    }
+
+    /**
+     * Añade RepositoryCallInterceptor a todos los repositorios Spring Data antes de que
+     * sus factory beans creen el proxy. Estático para registrarse antes que los repositorios.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryJfrPostProcessor(
+            @Value("${biblioteca.jfr.repository-events:true}") boolean repositoryEvents) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (repositoryEvents && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(transactionAdvicePosition(proxyFactory), new RepositoryCallInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Posición delante del TransactionInterceptor del repositorio, para que la duración incluya
+     * el commit de sus transacciones propias (save fuera de un servicio); al final si no hay
+     */
+    private static int transactionAdvicePosition(ProxyFactory proxyFactory) {
+        Advisor[] advisors = proxyFactory.getAdvisors();
+        for (int i = 0; i < advisors.length; i++) {
+            if (advisors[i].getAdvice() instanceof TransactionInterceptor) {
+                return i;
+            }
+        }
+        return advisors.length;
+    }
+}
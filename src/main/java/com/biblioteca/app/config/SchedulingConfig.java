@@ -0,0 +1,13 @@
+package com.biblioteca.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled) de la aplicación.
+ * El pool se configura con spring.task.scheduling.* en application.properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -4,18 +4,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 
 import com.biblioteca.app.helper.PasswordUtil;
 import com.biblioteca.app.service.CustomUserDetailsService;
 
 /**
  * Configuración de seguridad de Spring Security.
- * Define dos cadenas de filtros: una para admin y otra para clientes.
+ * Define tres cadenas de filtros: actuator (scraper de métricas), admin y clientes.
  */
 @Configuration
 @EnableWebSecurity
@@ -25,6 +31,9 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
     /**
      * Password encoder para BCrypt
      */
@@ -33,9 +42,33 @@ public class SecurityConfig {
         return PasswordUtil.getPasswordEncoder();
     }
 
+    /**
+     * Security Filter Chain para los endpoints de ACTUATOR (/admin/actuator)
+     * Tiene la mayor prioridad (Order 0): health es público y el resto exige ROLE_ADMIN por
+     * HTTP Basic (scraper de Prometheus). Sin sesión, ni formulario ni CSRF.
+     */
+    @Bean
+    @Order(0)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/admin/actuator/**")
+                .userDetailsService(userDetailsService)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/admin/actuator/health", "/admin/actuator/health/**").permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .httpBasic(Customizer.withDefaults())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                );
+
+        return http.build();
+    }
+
     /**
      * Security Filter Chain para el área de ADMINISTRACIÓN
-     * Tiene mayor prioridad (Order 1)
+     * Tiene mayor prioridad que la de clientes (Order 1); solo login por formulario
      */
     @Bean
     @Order(1)
@@ -57,6 +90,10 @@ public class SecurityConfig {
                         .passwordParameter("password")
                         .permitAll()
                 )
+                .csrf(csrf -> csrf
+                        .csrfTokenRequestHandler(new EagerCsrfTokenRequestHandler(
+                                PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/admin/login")))
+                )
                 .logout(logout -> logout
                         .logoutUrl("/admin/logout")
                         .logoutSuccessUrl("/admin/login?logout=success")
@@ -73,6 +110,7 @@ public class SecurityConfig {
                         .sessionConcurrency(concurrency -> concurrency
                                 .maximumSessions(1)
                                 .maxSessionsPreventsLogin(false)
+                                .sessionRegistry(sessionRegistry)
                         )
                 );
 
@@ -94,7 +132,7 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/", "/login", "/user/login",
                                 "/register", "/registro", "/user/registro", "/user/register",
-                                "/css/**", "/js/**", "/images/**", "/webjars/**"
+                                "/css/**", "/js/**", "/images/**", "/fonts/**", "/webjars/**"
                         ).permitAll()
                         .requestMatchers("/books/**", "/authors/**", "/catalogo/**").permitAll()
 
@@ -114,6 +152,11 @@ public class SecurityConfig {
                         .passwordParameter("password")
                         .permitAll()
                 )
+                .csrf(csrf -> csrf
+                        .csrfTokenRequestHandler(new EagerCsrfTokenRequestHandler(new OrRequestMatcher(
+                                PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/user/login"),
+                                PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/user/registro"))))
+                )
                 .logout(logout -> logout
                         .logoutUrl("/logout")
                         .logoutSuccessUrl("/user/login?logout=success")
@@ -125,6 +168,7 @@ public class SecurityConfig {
                         .sessionConcurrency(concurrency -> concurrency
                                 .maximumSessions(2)
                                 .maxSessionsPreventsLogin(false)
+                                .sessionRegistry(sessionRegistry)
                         )
                 );
 
@@ -0,0 +1,97 @@
+package com.biblioteca.app.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+/**
+ * Configuración de sesiones HTTP compartidas.
+ * Las sesiones se guardan en la base de datos (Spring Session JDBC) para que
+ * admin y clientes conserven su sesión entre nodos y tras un reinicio.
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Registro de sesiones respaldado por el repositorio de Spring Session.
+     * Permite que maximumSessions() funcione aunque las sesiones vivan en otro nodo.
+     */
+    @Bean
+    public <S extends Session> SpringSessionBackedSessionRegistry<S> sessionRegistry(
+            FindByIndexNameSessionRepository<S> sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+
+    /**
+     * Conversión de atributos de sesión a bytes.
+     * Usa serialización Java comprimida con Deflate para reducir el tamaño de SPRING_SESSION_ATTRIBUTES.
+     */
+    @Bean("springSessionConversionService")
+    public ConversionService springSessionConversionService() {
+        CompactSessionSerializer serializer = new CompactSessionSerializer();
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(serializer));
+        conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(serializer));
+        return conversionService;
+    }
+
+    /**
+     * Serializador que comprime la salida de ObjectOutputStream.
+     * Lee también atributos antiguos sin comprimir (cabecera de serialización Java 0xACED).
+     */
+    static class CompactSessionSerializer implements Serializer<Object>, Deserializer<Object> {
+
+        private static final int JAVA_STREAM_MAGIC = 0xACED;
+
+        private final ClassLoader classLoader = CompactSessionSerializer.class.getClassLoader();
+
+        @Override
+        public void serialize(Object object, OutputStream outputStream) throws IOException {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream compressed = new DeflaterOutputStream(outputStream, deflater);
+                ObjectOutputStream out = new ObjectOutputStream(compressed);
+                out.writeObject(object);
+                out.flush();
+                compressed.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public Object deserialize(InputStream inputStream) throws IOException {
+            byte[] bytes = inputStream.readAllBytes();
+            InputStream source = new ByteArrayInputStream(bytes);
+            boolean plain = bytes.length >= 2
+                    && (((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF)) == JAVA_STREAM_MAGIC;
+            if (!plain) {
+                source = new InflaterInputStream(source);
+            }
+            try (ObjectInputStream in = new ConfigurableObjectInputStream(source, classLoader)) {
+                return in.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("No se pudo deserializar el atributo de sesión", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.biblioteca.app.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.biblioteca.app.service.slowquery.SlowQueryDataSource;
+import com.biblioteca.app.service.slowquery.SlowQueryRecorder;
+
+/**
+ * Captura de consultas lentas: envuelve el bean "dataSource" (el único de Spring Boot o el
+ * LazyConnectionDataSourceProxy de ReplicaDataSourceConfig) con SlowQueryDataSource
+ */
+@Configuration
+public class SlowQueryConfig {
+
+    /**
+     * Estático para registrarse antes que el DataSource; el recorder se resuelve al envolverlo
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            @Value("${biblioteca.slow-query.enabled:true}") boolean enabled,
+            ObjectProvider<SlowQueryRecorder> slowQueryRecorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return SlowQueryDataSource.wrap(dataSource, slowQueryRecorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,46 +1,75 @@
 package com.biblioteca.app.config;
 
+import java.time.Duration;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import com.biblioteca.app.service.metrics.BusinessMetrics;
+import com.biblioteca.app.service.metrics.ReportMetricsInterceptor;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
 
 /**
  * Configuración de Spring MVC.
- * Define rutas de recursos estáticos y view controllers.
+ * Define rutas de recursos estáticos, view controllers y la medición de reportes.
+ * Sin @EnableWebMvc para conservar la autoconfiguración de Spring Boot.
  */
 @Configuration
-@EnableWebMvc
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    /**
+     * Los recursos se sirven con URL versionada por contenido, así que nunca cambian
+     */
+    private static final CacheControl STATIC_CACHE = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
+    private final BusinessMetrics businessMetrics;
+
+    public WebMvcConfig(BusinessMetrics businessMetrics) {
+        this.businessMetrics = businessMetrics;
+    }
+
     /**
      * Configura manejadores de recursos estáticos (CSS, JS, imágenes)
+     * con hash de contenido en la URL, caché de un año y variantes .br/.gz precomprimidas
      */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Recursos estáticos generales
-        registry.addResourceHandler("/css/**")
-            .addResourceLocations("classpath:/static/css/");
+        versioned(registry.addResourceHandler("/css/**")
+            .addResourceLocations("classpath:/static/css/"));
         
-        registry.addResourceHandler("/js/**")
-            .addResourceLocations("classpath:/static/js/");
+        versioned(registry.addResourceHandler("/js/**")
+            .addResourceLocations("classpath:/static/js/"));
         
-        registry.addResourceHandler("/images/**")
-            .addResourceLocations("classpath:/static/images/");
+        versioned(registry.addResourceHandler("/images/**")
+            .addResourceLocations("classpath:/static/images/"));
         
-        registry.addResourceHandler("/fonts/**")
-            .addResourceLocations("classpath:/static/fonts/");
+        versioned(registry.addResourceHandler("/fonts/**")
+            .addResourceLocations("classpath:/static/fonts/"));
         
         // Recursos estáticos del admin
-        registry.addResourceHandler("/admin/css/**")
-            .addResourceLocations("classpath:/static/admin/css/");
+        versioned(registry.addResourceHandler("/admin/css/**")
+            .addResourceLocations("classpath:/static/admin/css/"));
         
-        registry.addResourceHandler("/admin/js/**")
-            .addResourceLocations("classpath:/static/admin/js/");
+        versioned(registry.addResourceHandler("/admin/js/**")
+            .addResourceLocations("classpath:/static/admin/js/"));
         
-        registry.addResourceHandler("/admin/images/**")
-            .addResourceLocations("classpath:/static/admin/images/");
+        versioned(registry.addResourceHandler("/admin/images/**")
+            .addResourceLocations("classpath:/static/admin/images/"));
     }
 
     /**
@@ -56,4 +85,51 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addViewController("/error/404").setViewName("error/404");
         registry.addViewController("/error/500").setViewName("error/500");
     }
-}
\ No newline at end of file
+
+    /**
+     * Mide los reportes del panel (handlers con @AdminReport)
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReportMetricsInterceptor(businessMetrics))
+            .addPathPatterns("/admin/**");
+    }
+
+    /**
+     * Aplica la cadena de recursos: variantes precomprimidas y versión por hash de contenido.
+     * La cadena se cachea en memoria, por lo que el hash se calcula una sola vez por recurso.
+     */
+    private static void versioned(ResourceHandlerRegistration registration) {
+        registration
+            .setCacheControl(STATIC_CACHE)
+            .resourceChain(true)
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * Reescribe las URLs de @{...} en Thymeleaf a su versión con hash
+     * (por ejemplo /css/user.css -> /css/user-3f2a...c1.css)
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /**
+     * En el dispatch de error limpia el Content-Type que dejó la petición fallida (por ejemplo
+     * text/html de una plantilla que falló a medias); si no, BasicErrorController no puede
+     * escribir la respuesta JSON y el error original queda tapado por HttpMessageNotWritableException
+     */
+    @Bean
+    public FilterRegistrationBean<Filter> errorContentTypeFilter() {
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+            if (!response.isCommitted()) {
+                response.setContentType(null);
+            }
+            chain.doFilter(request, response);
+        });
+        registration.setDispatcherTypes(DispatcherType.ERROR);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.biblioteca.app.config.replica;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replicación simulada para el perfil replica-local (dos bases H2 embebidas).
+ *
+ * Copia periódicamente el primario completo a cada réplica con SCRIPT / RUNSCRIPT de H2.
+ * El intervalo (biblioteca.datasource.replica.simulated-lag) hace de retraso de replicación:
+ * el heartbeat viaja con los datos, así que el control de lag y la lectura de las propias
+ * escrituras se comportan como con réplicas reales. Solo para pruebas locales.
+ */
+@Component
+@Profile("replica-local")
+public class LocalReplicaSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicaSimulator.class);
+
+    private final ReplicaRoutingDataSource routing;
+
+    public LocalReplicaSimulator(ReplicaRoutingDataSource routing) {
+        this.routing = routing;
+    }
+
+    @Scheduled(initialDelayString = "${biblioteca.datasource.replica.simulated-lag:PT3S}",
+               fixedDelayString = "${biblioteca.datasource.replica.simulated-lag:PT3S}")
+    public void replicate() {
+        List<String> script = new JdbcTemplate(routing.getPrimary()).queryForList("SCRIPT DROP", String.class);
+
+        for (Map.Entry<String, DataSource> replica : routing.getReplicas().entrySet()) {
+            try {
+                new JdbcTemplate(replica.getValue()).execute((ConnectionCallback<Void>) connection -> {
+                    // El pool de réplicas es de solo lectura; la copia necesita escribir
+                    boolean readOnly = connection.isReadOnly();
+                    connection.setReadOnly(false);
+                    try (Statement statement = connection.createStatement()) {
+                        for (String sql : script) {
+                            statement.execute(sql);
+                        }
+                    } finally {
+                        connection.setReadOnly(readOnly);
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.warn("No se pudo copiar el primario a {}: {}", replica.getKey(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.biblioteca.app.config.replica;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplicas de lectura (biblioteca.datasource.replica.enabled=true).
+ *
+ * El primario se construye con spring.datasource.*; cada URL de
+ * biblioteca.datasource.replica.urls es una réplica (mismo usuario y clave salvo que se indiquen).
+ * Todos los pools toman spring.datasource.hikari.* como el DataSource de Spring Boot; las réplicas
+ * además biblioteca.datasource.replica.hikari.*, que tiene prioridad.
+ * Los servicios con @Transactional(readOnly = true) leen de las réplicas; el resto usa el primario.
+ * Sin la propiedad se mantiene el DataSource único de Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "biblioteca.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String REPLICA_HIKARI_PREFIX = "biblioteca.datasource.replica.hikari";
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${biblioteca.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${biblioteca.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${biblioteca.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+
+        Binder binder = Binder.get(environment);
+        // Con Binder también vale la forma indexada (urls[0]=...), necesaria si una URL lleva comas
+        List<String> urls = binder.bind("biblioteca.datasource.replica.urls", Bindable.listOf(String.class))
+                .orElse(List.of());
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String key = "replica-" + (i + 1);
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            binder.bind(REPLICA_HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName(key);
+            replica.setReadOnly(true);
+            replicas.put(key, replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag.toMillis());
+    }
+
+    /**
+     * DataSource de la aplicación (JPA, Spring Session, JdbcTemplate)
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry);
+    }
+}
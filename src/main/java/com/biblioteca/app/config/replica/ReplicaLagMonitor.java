@@ -0,0 +1,82 @@
+package com.biblioteca.app.config.replica;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mide el retraso de replicación con un heartbeat (tabla ReplicaHeartbeat, ver db/007).
+ *
+ * En cada ciclo escribe el instante actual en el primario y lee el último valor replicado en
+ * cada réplica. No depende de SHOW REPLICA STATUS, así funciona con cualquier motor y con
+ * las bases embebidas del perfil replica-local.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String UPDATE_BEAT = "UPDATE ReplicaHeartbeat SET BeatAt = ? WHERE Id = 1";
+    private static final String INSERT_BEAT = "INSERT INTO ReplicaHeartbeat (Id, BeatAt) VALUES (1, ?)";
+    private static final String SELECT_BEAT = "SELECT BeatAt FROM ReplicaHeartbeat WHERE Id = 1";
+
+    private final ReplicaRoutingDataSource routing;
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routing, MeterRegistry meterRegistry) {
+        this.routing = routing;
+        this.primary = new JdbcTemplate(routing.getPrimary());
+        for (Map.Entry<String, DataSource> replica : routing.getReplicas().entrySet()) {
+            JdbcTemplate template = new JdbcTemplate(replica.getValue());
+            template.setQueryTimeout(2);
+            replicas.put(replica.getKey(), template);
+
+            String key = replica.getKey();
+            Gauge.builder("biblioteca.datasource.replica.lag.seconds", routing, r -> {
+                        long lag = r.getLagMillis(key);
+                        return lag < 0 ? Double.NaN : lag / 1000.0;
+                    })
+                    .description("Retraso de replicación estimado por heartbeat (NaN = no disponible)")
+                    .tag("replica", key)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Ciclo de heartbeat; intervalo en biblioteca.datasource.replica.heartbeat-interval
+     */
+    @Scheduled(fixedDelayString = "${biblioteca.datasource.replica.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update(UPDATE_BEAT, now) == 0) {
+                primary.update(INSERT_BEAT, now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo escribir el heartbeat de replicación: {}", e.getMessage());
+        }
+
+        for (Map.Entry<String, JdbcTemplate> replica : replicas.entrySet()) {
+            try {
+                Long beat = replica.getValue().queryForObject(SELECT_BEAT, Long.class);
+                if (beat != null) {
+                    routing.updateReplicatedUpTo(replica.getKey(), beat);
+                } else {
+                    routing.markUnavailable(replica.getKey());
+                }
+            } catch (RuntimeException e) {
+                routing.markUnavailable(replica.getKey());
+                log.warn("Réplica {} no disponible: {}", replica.getKey(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.biblioteca.app.config.replica;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.app.helper.ReadYourWritesUtil;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a una réplica.
+ *
+ * Una réplica es elegible si su último heartbeat replicado (ver ReplicaLagMonitor) no es
+ * más antiguo que maxLag y, para la sesión actual, es posterior a su última escritura
+ * (ReadYourWritesUtil). Si no hay réplica elegible se usa el primario.
+ *
+ * Debe envolverse en LazyConnectionDataSourceProxy: así la conexión se pide después de que
+ * la transacción marque readOnly y no al iniciarla.
+ *
+ * Final: el constructor fija los destinos e inicializa el enrutado, y ninguna subclase
+ * debe verlo a medio construir.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final long maxLagMillis;
+
+    // Último heartbeat (epoch millis del primario) leído en cada réplica
+    private final Map<String, Long> replicatedUpTo = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.maxLagMillis = maxLagMillis;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String replica = selectReplica(ReadYourWritesUtil.lastWriteMillis(), System.currentTimeMillis());
+        return replica != null ? replica : PRIMARY;
+    }
+
+    /**
+     * Elige una réplica por turnos entre las elegibles.
+     *
+     * @param requiredMillis La réplica debe haber replicado al menos hasta este instante (0 = sin requisito)
+     * @param now Instante actual
+     * @return Clave de la réplica o null si ninguna es elegible
+     */
+    String selectReplica(long requiredMillis, long now) {
+        int count = replicaKeys.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            String key = replicaKeys.get((start + i) % count);
+            Long upTo = replicatedUpTo.get(key);
+            if (upTo != null && now - upTo <= maxLagMillis && upTo >= requiredMillis) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    // ====== ESTADO DE RÉPLICAS ======
+
+    /**
+     * Registra el heartbeat leído en una réplica
+     */
+    public void updateReplicatedUpTo(String key, long beatMillis) {
+        replicatedUpTo.put(key, beatMillis);
+    }
+
+    /**
+     * Excluye una réplica hasta el próximo heartbeat leído correctamente
+     */
+    public void markUnavailable(String key) {
+        replicatedUpTo.remove(key);
+    }
+
+    /**
+     * Retraso estimado de una réplica en milisegundos (-1 si no disponible)
+     */
+    public long getLagMillis(String key) {
+        Long upTo = replicatedUpTo.get(key);
+        return upTo != null ? Math.max(0, System.currentTimeMillis() - upTo) : -1;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Cierra los pools; se invoca al detener el contexto
+     */
+    @Override
+    public void close() {
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            closePool(replica.getKey(), replica.getValue());
+        }
+        closePool(PRIMARY, primary);
+    }
+
+    private static void closePool(String key, DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.warn("No se pudo cerrar el pool {}: {}", key, e.getMessage());
+            }
+        }
+    }
+}
@@ -14,7 +14,6 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -61,9 +60,6 @@ public class AdminAuthorController {
             PagedResult<AuthorDTO> authorsResult = authorService.findAllPaginated(
                 page, itemsPerPage, search, countryUuid, statusUuid);
             
-            List<Country> countries = countryService.findAll();
-            List<Status> statuses = statusService.findAll();
-            
             long totalAuthors = authorService.count();
             // Contar autores con estado "Active"
             Status activeStatus = statusService.findByName("Active").orElse(null);
@@ -72,8 +68,6 @@ public class AdminAuthorController {
             long authorsWithBooksCount = authorService.countAuthorsWithBooks();
             
             model.addAttribute("authorsResult", authorsResult);
-            model.addAttribute("countries", countries);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("totalAuthors", totalAuthors);
             model.addAttribute("activeAuthorsCount", activeAuthorsCount);
             model.addAttribute("authorsWithBooksCount", authorsWithBooksCount);
@@ -99,12 +93,7 @@ public class AdminAuthorController {
         try {
             Author author = new Author();
             
-            List<Country> countries = countryService.findAll();
-            List<Status> statuses = statusService.findAll();
-            
             model.addAttribute("author", author);
-            model.addAttribute("countries", countries);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("isNew", true);
             model.addAttribute("isReadOnly", false);
             
@@ -126,14 +115,9 @@ public class AdminAuthorController {
             Author author = authorService.findById(authorId)
                 .orElseThrow(() -> new IllegalArgumentException("Autor no encontrado"));
             
-            List<Country> countries = countryService.findAll();
-            List<Status> statuses = statusService.findAll();
-            
             int bookCount = authorService.countAuthorBooks(authorId);
             
             model.addAttribute("author", author);
-            model.addAttribute("countries", countries);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("bookCount", bookCount);
             model.addAttribute("isNew", false);
             model.addAttribute("isReadOnly", false);
@@ -159,14 +143,9 @@ public class AdminAuthorController {
             Author author = authorService.findById(authorId)
                 .orElseThrow(() -> new IllegalArgumentException("Autor no encontrado"));
             
-            List<Country> countries = countryService.findAll();
-            List<Status> statuses = statusService.findAll();
-            
             int bookCount = authorService.countAuthorBooks(authorId);
             
             model.addAttribute("author", author);
-            model.addAttribute("countries", countries);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("bookCount", bookCount);
             model.addAttribute("isNew", false);
             model.addAttribute("isReadOnly", true);
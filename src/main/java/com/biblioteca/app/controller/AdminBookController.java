@@ -16,7 +16,6 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -68,18 +67,11 @@ public class AdminBookController {
             PagedResult<Book> booksResult = bookService.findAllPaginated(
                 page, itemsPerPage, search, authorUuid, categoryUuid, bookStatusUuid);
             
-            List<Author> authors = authorService.findAll();
-            List<Category> categories = categoryService.findAll();
-            List<BookStatus> bookStatuses = statusService.findAllBookStatuses();
-            
             long totalBooks = bookService.count();
             long activeBooksCount = bookService.countActiveBooks();
             long booksWithActiveRentals = bookService.countBooksWithActiveRentals();
             
             model.addAttribute("booksResult", booksResult);
-            model.addAttribute("authors", authors);
-            model.addAttribute("categories", categories);
-            model.addAttribute("bookStatuses", bookStatuses);
             model.addAttribute("totalBooks", totalBooks);
             model.addAttribute("activeBooksCount", activeBooksCount);
             model.addAttribute("booksWithActiveRentals", booksWithActiveRentals);
@@ -106,14 +98,7 @@ public class AdminBookController {
         try {
             Book book = new Book();
             
-            List<Author> authors = authorService.findAll();
-            List<Category> categories = categoryService.findAll();
-            List<BookStatus> bookStatuses = statusService.findAllBookStatuses();
-            
             model.addAttribute("book", book);
-            model.addAttribute("authors", authors);
-            model.addAttribute("categories", categories);
-            model.addAttribute("bookStatuses", bookStatuses);
             model.addAttribute("isNew", true);
             model.addAttribute("isReadOnly", false);
             
@@ -135,14 +120,7 @@ public class AdminBookController {
             Book book = bookService.findById(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Libro no encontrado"));
             
-            List<Author> authors = authorService.findAll();
-            List<Category> categories = categoryService.findAll();
-            List<BookStatus> bookStatuses = statusService.findAllBookStatuses();
-            
             model.addAttribute("book", book);
-            model.addAttribute("authors", authors);
-            model.addAttribute("categories", categories);
-            model.addAttribute("bookStatuses", bookStatuses);
             model.addAttribute("isNew", false);
             model.addAttribute("isReadOnly", false);
             
@@ -167,14 +145,7 @@ public class AdminBookController {
             Book book = bookService.findById(bookId)
                 .orElseThrow(() -> new IllegalArgumentException("Libro no encontrado"));
             
-            List<Author> authors = authorService.findAll();
-            List<Category> categories = categoryService.findAll();
-            List<BookStatus> bookStatuses = statusService.findAllBookStatuses();
-            
             model.addAttribute("book", book);
-            model.addAttribute("authors", authors);
-            model.addAttribute("categories", categories);
-            model.addAttribute("bookStatuses", bookStatuses);
             model.addAttribute("isNew", false);
             model.addAttribute("isReadOnly", true);
             
@@ -1,9 +1,10 @@
 package com.biblioteca.app.controller;
 
 import com.biblioteca.app.dto.shared.PagedResult;
-import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.BookCopy;
 import com.biblioteca.app.entity.BookCopyStatus;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
 import com.biblioteca.app.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -35,6 +36,9 @@ public class AdminBookCopyController {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
     /**
      * Muestra el listado de ejemplares con filtros y paginación.
      */
@@ -52,8 +56,11 @@ public class AdminBookCopyController {
         PagedResult<BookCopy> copiesResult = bookCopyService.getRegisteredBookCopies(
                 page, itemsPerPage, search, bookId, statusId);
 
-        List<Book> books = bookService.findAll();
-        List<BookCopyStatus> bookCopyStatuses = bookCopyStatusService.findAll();
+        // Solo el libro filtrado; el resto se busca con /admin/api/books
+        SelectOption selectedBook = parseUuid(bookId)
+                .flatMap(bookService::findOptionById)
+                .orElse(null);
+        List<SelectOption> bookCopyStatuses = referenceDataService.getOptions(ReferenceDataType.BOOK_COPY_STATUS);
 
         // Obtener contadores de estados
         String availableStatusId = bookCopyService.getAvailableStatusId();
@@ -65,7 +72,7 @@ public class AdminBookCopyController {
         int maintenanceCopiesCount = bookCopyService.findByStatus(maintenanceStatusId).size();
 
         model.addAttribute("copiesResult", copiesResult);
-        model.addAttribute("books", books);
+        model.addAttribute("selectedBook", selectedBook);
         model.addAttribute("bookCopyStatuses", bookCopyStatuses);
         model.addAttribute("availableCopiesCount", availableCopiesCount);
         model.addAttribute("rentedCopiesCount", rentedCopiesCount);
@@ -91,7 +98,7 @@ public class AdminBookCopyController {
                 return "redirect:/admin/ejemplares";
             }
 
-            List<BookCopyStatus> bookCopyStatuses = bookCopyStatusService.findAll();
+            List<SelectOption> bookCopyStatuses = referenceDataService.getOptions(ReferenceDataType.BOOK_COPY_STATUS);
 
             model.addAttribute("bookCopy", bookCopy);
             model.addAttribute("bookCopyStatuses", bookCopyStatuses);
@@ -112,8 +119,6 @@ public class AdminBookCopyController {
      */
     @GetMapping("/nuevo")
     public String showAddForm(Model model) {
-        List<Book> books = bookService.findAll();
-        model.addAttribute("books", books);
         model.addAttribute("isEdit", false);
         model.addAttribute("isReadOnly", false);
         model.addAttribute("isNew", true);
@@ -170,7 +175,7 @@ public class AdminBookCopyController {
             return "redirect:/admin/ejemplares";
         }
 
-        List<BookCopyStatus> bookCopyStatuses = bookCopyStatusService.findAll();
+        List<SelectOption> bookCopyStatuses = referenceDataService.getOptions(ReferenceDataType.BOOK_COPY_STATUS);
 
         model.addAttribute("bookCopy", bookCopy);
         model.addAttribute("bookCopyStatuses", bookCopyStatuses);
@@ -290,4 +295,18 @@ public class AdminBookCopyController {
             return "redirect:/admin/ejemplares";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Convierte un parámetro opcional a UUID (vacío si no es válido)
+     */
+    private Optional<UUID> parseUuid(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
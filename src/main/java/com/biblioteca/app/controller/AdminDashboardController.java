@@ -1,33 +1,40 @@
 package com.biblioteca.app.controller;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.biblioteca.app.dto.author.AuthorStatsDTO;
 import com.biblioteca.app.dto.rental.BookMostRequestedDTO;
 import com.biblioteca.app.dto.rental.BookRentalStatsDTO;
+import com.biblioteca.app.dto.rental.RentalTrendPointDTO;
 import com.biblioteca.app.dto.shared.PagedResult;
-import com.biblioteca.app.entity.Category;
-import com.biblioteca.app.entity.Country;
 import com.biblioteca.app.entity.Rental;
-import com.biblioteca.app.entity.Status;
+import com.biblioteca.app.entity.enums.RollupGranularity;
 import com.biblioteca.app.service.AuthorService;
 import com.biblioteca.app.service.BookCopyService;
 import com.biblioteca.app.service.BookService;
-import com.biblioteca.app.service.CategoryService;
 import com.biblioteca.app.service.ConfigurationService;
-import com.biblioteca.app.service.CountryService;
+import com.biblioteca.app.service.DashboardStreamService;
+import com.biblioteca.app.service.RentalRollupService;
 import com.biblioteca.app.service.RentalService;
-import com.biblioteca.app.service.StatusService;
+import com.biblioteca.app.service.metrics.AdminReport;
 
 /**
  * Controlador para el dashboard del panel de administración
@@ -50,21 +57,19 @@ public class AdminDashboardController {
     private RentalService rentalService;
 
     @Autowired
-    private CategoryService categoryService;
+    private ConfigurationService configurationService;
 
     @Autowired
-    private CountryService countryService;
+    private RentalRollupService rentalRollupService;
 
     @Autowired
-    private StatusService statusService;
-
-    @Autowired
-    private ConfigurationService configurationService;
+    private DashboardStreamService dashboardStreamService;
 
     /**
      * Muestra el dashboard principal del admin
      */
     @GetMapping("/dashboard")
+    @AdminReport("dashboard")
     public String showDashboard(Model model) {
         long totalBooks = bookService.count();
         long totalAuthors = authorService.count();
@@ -80,14 +85,28 @@ public class AdminDashboardController {
         model.addAttribute("availableCopies", availableCopies);
         model.addAttribute("recentRentals", recentRentals);
         model.addAttribute("topBooks", topBooks);
+        model.addAttribute("dashboardStreamEnabled", dashboardStreamService.isEnabled());
 
         return "admin/dashboard";
     }
 
+    /**
+     * Stream (Server-Sent Events) con los cambios de los contadores del dashboard y del
+     * reporte de libros en alquiler
+     */
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardCounters() {
+        if (!dashboardStreamService.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return dashboardStreamService.subscribe();
+    }
+
     /**
      * Muestra el reporte de libros actualmente en alquiler
      */
     @GetMapping("/libros-alquiler")
+    @AdminReport("libros_alquiler")
     public String showActiveRentalsReport(
             @RequestParam(value = "p", defaultValue = "1") int page,
             @RequestParam(value = "size", required = false) Integer size,
@@ -115,6 +134,7 @@ public class AdminDashboardController {
             model.addAttribute("dueSoonRentals", dueSoonRentals);
             model.addAttribute("overdueRentals", overdueRentals);
             model.addAttribute("dueSoonDays", dueSoonDays);
+            model.addAttribute("dashboardStreamEnabled", dashboardStreamService.isEnabled());
 
             model.addAttribute("searchValue", search != null ? search : "");
             model.addAttribute("statusValue", statusFilter != null ? statusFilter : "");
@@ -164,37 +184,44 @@ public class AdminDashboardController {
      * Muestra el reporte de libros más pedidos
      */
     @GetMapping("/libros-pedidos")
+    @AdminReport("libros_pedidos")
     public String showMostRequestedBooksReport(
             @RequestParam(value = "p", defaultValue = "1") int page,
             @RequestParam(value = "size", required = false) Integer size,
             @RequestParam(value = "categoryId", required = false) String categoryId,
+            @RequestParam(value = "afterTotal", required = false) Integer afterTotal,
+            @RequestParam(value = "afterBook", required = false) String afterBook,
             Model model) {
 
-        try {
-            page = 1;
+        int pageSize = (size == null || size < 1) ? 20 : Math.min(size, 100);
 
+        try {
             String categoryFilter = (categoryId != null && !categoryId.trim().isEmpty()) ? categoryId : null;
+            String afterBookFilter = (afterBook != null && !afterBook.trim().isEmpty()) ? afterBook : null;
 
             PagedResult<BookMostRequestedDTO> booksStats = rentalService.getMostRequestedBooks(
-                    page, size, categoryFilter);
-
-            List<Category> categories = categoryService.findAll();
+                    page, pageSize, categoryFilter, afterTotal, afterBookFilter);
 
             model.addAttribute("booksStats", booksStats);
-            model.addAttribute("categories", categories);
             model.addAttribute("categoryIdValue", categoryId != null ? categoryId : "");
-            model.addAttribute("pageSizeValue", size);
+            model.addAttribute("pageSizeValue", pageSize);
+
+            // Cursor de la página siguiente: último libro de la actual
+            if (booksStats.hasNextPage() && !booksStats.getItems().isEmpty()) {
+                BookMostRequestedDTO last = booksStats.getItems().get(booksStats.getItems().size() - 1);
+                model.addAttribute("nextAfterTotal", last.getTotalRentals());
+                model.addAttribute("nextAfterBook", last.getBookId());
+            }
 
             return "admin/libros-pedidos";
 
         } catch (Exception e) {
             PagedResult<BookMostRequestedDTO> emptyResult =
-                    new PagedResult<>(new ArrayList<>(), 1, size != null ? size : 20, 0);
+                    new PagedResult<>(new ArrayList<>(), 1, pageSize, 0);
 
             model.addAttribute("booksStats", emptyResult);
-            model.addAttribute("categories", new ArrayList<Category>());
             model.addAttribute("categoryIdValue", categoryId != null ? categoryId : "");
-            model.addAttribute("pageSizeValue", size != null ? size : 20);
+            model.addAttribute("pageSizeValue", pageSize);
             model.addAttribute("error", "Error al cargar el reporte: " + e.getMessage());
 
             return "admin/libros-pedidos";
@@ -205,6 +232,7 @@ public class AdminDashboardController {
      * Muestra el reporte de autores más pedidos
      */
     @GetMapping("/autores-pedidos")
+    @AdminReport("autores_pedidos")
     public String showMostRequestedAuthorsReport(
             @RequestParam(value = "countryId", required = false) String countryId,
             @RequestParam(value = "statusId", required = false) String statusId,
@@ -229,9 +257,6 @@ public class AdminDashboardController {
             List<AuthorStatsDTO> topAuthors =
                     authorService.getMostRequestedAuthors(countryUuid, statusUuid, top);
 
-            List<Country> countries = countryService.findAll();
-            List<Status> statuses = statusService.findAll();
-
             long totalAuthorsWithRentals = authorService.countAuthorsWithRentals();
             long totalRentals = authorService.getTotalAuthorsRentals();
             long totalAuthors = authorService.count();
@@ -241,8 +266,6 @@ public class AdminDashboardController {
                     : 0.0;
 
             model.addAttribute("topAuthors", topAuthors);
-            model.addAttribute("countries", countries);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("totalAuthorsWithRentals", totalAuthorsWithRentals);
             model.addAttribute("totalRentals", totalRentals);
             model.addAttribute("totalAuthors", totalAuthors);
@@ -255,8 +278,6 @@ public class AdminDashboardController {
 
         } catch (Exception e) {
             model.addAttribute("topAuthors", new ArrayList<>());
-            model.addAttribute("countries", new ArrayList<>());
-            model.addAttribute("statuses", new ArrayList<>());
             model.addAttribute("totalAuthorsWithRentals", 0L);
             model.addAttribute("totalRentals", 0L);
             model.addAttribute("totalAuthors", 0L);
@@ -269,4 +290,94 @@ public class AdminDashboardController {
             return "admin/autores-pedidos";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Muestra las tendencias de alquileres (solo lee los agregados de RentalRollup)
+     */
+    @GetMapping("/tendencias")
+    @AdminReport("tendencias")
+    public String showRentalTrends(
+            @RequestParam(value = "granularity", defaultValue = "DAY") String granularity,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "categoryId", required = false) String categoryId,
+            @RequestParam(value = "authorId", required = false) String authorId,
+            Model model) {
+
+        RollupGranularity period = "WEEK".equals(granularity) || "MONTH".equals(granularity)
+                ? RollupGranularity.valueOf(granularity)
+                : RollupGranularity.DAY;
+        LocalDate today = LocalDate.now();
+        LocalDate toDate = to != null && !to.isAfter(today) ? to : today;
+        LocalDate fromDate = from != null && from.isBefore(toDate) ? from : switch (period) {
+            case DAY -> toDate.minusDays(29);
+            case WEEK -> toDate.minusWeeks(25);
+            case MONTH -> toDate.minusMonths(11);
+        };
+
+        model.addAttribute("granularityValue", period.name());
+        model.addAttribute("fromValue", fromDate);
+        model.addAttribute("toValue", toDate);
+        model.addAttribute("categoryIdValue", categoryId != null ? categoryId : "");
+        model.addAttribute("authorIdValue", authorId != null ? authorId : "");
+        model.addAttribute("dailyHorizon", rentalRollupService.getDailyHorizon(today));
+
+        try {
+            UUID categoryUuid = (categoryId != null && !categoryId.trim().isEmpty()) ? UUID.fromString(categoryId) : null;
+            UUID authorUuid = (authorId != null && !authorId.trim().isEmpty()) ? UUID.fromString(authorId) : null;
+
+            List<RentalTrendPointDTO> trend =
+                    rentalRollupService.getTrend(period, fromDate, toDate, categoryUuid, authorUuid);
+
+            model.addAttribute("trend", trend);
+            model.addAttribute("trendLabels", trend.stream().map(p -> p.getBucketStart().toString()).toList());
+            model.addAttribute("trendRentals", trend.stream().map(RentalTrendPointDTO::getRentals).toList());
+            model.addAttribute("trendReturns", trend.stream().map(RentalTrendPointDTO::getReturns).toList());
+            model.addAttribute("trendCancellations", trend.stream().map(RentalTrendPointDTO::getCancellations).toList());
+            model.addAttribute("totalRentals", trend.stream().mapToLong(RentalTrendPointDTO::getRentals).sum());
+            model.addAttribute("totalReturns", trend.stream().mapToLong(RentalTrendPointDTO::getReturns).sum());
+            model.addAttribute("totalCancellations", trend.stream().mapToLong(RentalTrendPointDTO::getCancellations).sum());
+            model.addAttribute("topCategories",
+                    rentalRollupService.getCategoryBreakdown(period, fromDate, toDate, authorUuid, 10));
+            model.addAttribute("topAuthors",
+                    rentalRollupService.getAuthorBreakdown(period, fromDate, toDate, categoryUuid, 10));
+
+        } catch (Exception e) {
+            model.addAttribute("trend", new ArrayList<>());
+            model.addAttribute("trendLabels", new ArrayList<>());
+            model.addAttribute("trendRentals", new ArrayList<>());
+            model.addAttribute("trendReturns", new ArrayList<>());
+            model.addAttribute("trendCancellations", new ArrayList<>());
+            model.addAttribute("totalRentals", 0L);
+            model.addAttribute("totalReturns", 0L);
+            model.addAttribute("totalCancellations", 0L);
+            model.addAttribute("topCategories", new ArrayList<>());
+            model.addAttribute("topAuthors", new ArrayList<>());
+            model.addAttribute("error", "Error al cargar las tendencias: " + e.getMessage());
+        }
+
+        return "admin/tendencias";
+    }
+
+    /**
+     * Reconstruye desde Rental los agregados diarios de un rango (días sin eventos del outbox)
+     */
+    @PostMapping("/tendencias/reconstruir")
+    public String rebuildRentalTrends(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            RedirectAttributes redirectAttributes) {
+
+        try {
+            int rows = rentalRollupService.backfill(from, to.plusDays(1));
+            redirectAttributes.addFlashAttribute("success",
+                    "Agregados reconstruidos del " + from + " al " + to + " (" + rows + " filas)");
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("error", "Error de validación: " + e.getMessage());
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error al reconstruir los agregados: " + e.getMessage());
+        }
+
+        return "redirect:/admin/tendencias";
+    }
+}
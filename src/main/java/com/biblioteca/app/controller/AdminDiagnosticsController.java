@@ -0,0 +1,111 @@
+package com.biblioteca.app.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import com.biblioteca.app.service.jfr.JfrRecordingService;
+import com.biblioteca.app.service.slowquery.SlowQueryRecorder;
+
+/**
+ * Controlador de diagnóstico del panel de administración
+ * (grabación Java Flight Recorder y consultas lentas)
+ */
+@Controller
+@RequestMapping("/admin/diagnostico")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminDiagnosticsController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final DateTimeFormatter DISPLAY_TIMESTAMP = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private final JfrRecordingService jfrRecordingService;
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    public AdminDiagnosticsController(JfrRecordingService jfrRecordingService,
+                                      SlowQueryRecorder slowQueryRecorder) {
+        this.jfrRecordingService = jfrRecordingService;
+        this.slowQueryRecorder = slowQueryRecorder;
+    }
+
+    /**
+     * Muestra el estado de la grabación JFR y las últimas consultas lentas con su EXPLAIN
+     */
+    @GetMapping
+    public String diagnostics(Model model) {
+        model.addAttribute("jfrAvailable", jfrRecordingService.isAvailable());
+        model.addAttribute("jfrEnabled", jfrRecordingService.isEnabled());
+        model.addAttribute("jfrRecording", jfrRecordingService.isRecording());
+        Instant startedAt = jfrRecordingService.getStartedAt();
+        model.addAttribute("jfrStartedAt", startedAt != null
+                ? LocalDateTime.ofInstant(startedAt, ZoneId.systemDefault()).format(DISPLAY_TIMESTAMP)
+                : null);
+        model.addAttribute("jfrMaxAge", jfrRecordingService.getMaxAge());
+        model.addAttribute("jfrMaxSize", jfrRecordingService.getMaxSize());
+
+        model.addAttribute("slowQueryEnabled", slowQueryRecorder.isEnabled());
+        model.addAttribute("slowQueryThresholdMs", slowQueryRecorder.getThreshold().toMillis());
+        model.addAttribute("slowQueryCapacity", slowQueryRecorder.getCapacity());
+        model.addAttribute("slowQueries", slowQueryRecorder.getRecent());
+        return "admin/diagnostico";
+    }
+
+    /**
+     * Vacía el buffer de consultas lentas (y los EXPLAIN reutilizables)
+     */
+    @PostMapping("/consultas-lentas/vaciar")
+    public String clearSlowQueries(RedirectAttributes redirectAttributes) {
+        slowQueryRecorder.clear();
+        redirectAttributes.addFlashAttribute("success", "Consultas lentas vaciadas");
+        return "redirect:/admin/diagnostico";
+    }
+
+    /**
+     * Descarga lo grabado hasta ahora (ventana de max-age) como fichero .jfr,
+     * para abrirlo con JDK Mission Control o con JfrRepositoryReport
+     */
+    @PostMapping("/jfr")
+    public ResponseEntity<StreamingResponseBody> downloadRecording() {
+        Path file;
+        try {
+            file = jfrRecordingService.dump();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo volcar la grabación JFR", e);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (InputStream in = Files.newInputStream(file)) {
+                in.transferTo(out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        String fileName = "biblioteca-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+}
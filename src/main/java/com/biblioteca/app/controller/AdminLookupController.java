@@ -0,0 +1,48 @@
+package com.biblioteca.app.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.biblioteca.app.dto.shared.SelectOption;
+import com.biblioteca.app.service.BookService;
+import com.biblioteca.app.service.UserService;
+
+/**
+ * Endpoints JSON de autocompletado para los formularios del panel de administración.
+ * Devuelven pocas filas y solo ID / texto, en lugar de cargar catálogos completos en la página.
+ */
+@RestController
+@RequestMapping("/admin/api")
+public class AdminLookupController {
+
+    private final BookService bookService;
+    private final UserService userService;
+
+    public AdminLookupController(BookService bookService, UserService userService) {
+        this.bookService = bookService;
+        this.userService = userService;
+    }
+
+    /**
+     * Libros por prefijo de título o ISBN.
+     * Con available=true solo devuelve libros con ejemplares disponibles (formulario de alquiler).
+     */
+    @GetMapping("/books")
+    public List<SelectOption> searchBooks(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "available", defaultValue = "false") boolean available) {
+        return available ? bookService.searchAvailableOptions(query) : bookService.searchOptions(query);
+    }
+
+    /**
+     * Usuarios activos por prefijo de email
+     */
+    @GetMapping("/users")
+    public List<SelectOption> searchUsers(@RequestParam(value = "q", required = false) String query) {
+        return userService.searchActiveOptions(query);
+    }
+}
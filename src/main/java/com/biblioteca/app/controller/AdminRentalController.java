@@ -1,11 +1,9 @@
 package com.biblioteca.app.controller;
 
 import com.biblioteca.app.dto.shared.PagedResult;
-import com.biblioteca.app.dto.user.UserData;
-import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Rental;
 import com.biblioteca.app.entity.RentalStatus;
-import com.biblioteca.app.service.BookCopyService;
 import com.biblioteca.app.service.ConfigurationService;
 import com.biblioteca.app.service.RentalService;
 import com.biblioteca.app.service.UserService;
@@ -35,9 +33,6 @@ public class AdminRentalController {
     @Autowired
     private UserService userService;
     
-    @Autowired
-    private BookCopyService bookCopyService;
-    
     @Autowired
     private ConfigurationService configurationService;
     
@@ -63,8 +58,10 @@ public class AdminRentalController {
             PagedResult<Rental> rentalsResult = rentalService.getRegisteredRentals(
                 page, itemsPerPage, search, userUuid, statusUuid);
             
-            List<UserData> users = userService.getAllActiveUsers();
-            List<Book> availableBooks = bookCopyService.findAvailableBooks();
+            // Solo el usuario filtrado; usuarios y libros se buscan con /admin/api/*
+            SelectOption selectedUser = userUuid != null
+                ? userService.findOptionById(userUuid).orElse(null)
+                : null;
             List<RentalStatus> rentalStatuses = rentalService.getAllRentalStatuses();
             
             long totalRentals = rentalService.count();
@@ -73,8 +70,7 @@ public class AdminRentalController {
             BigDecimal defaultDailyRate = BigDecimal.valueOf(rentalService.getDefaultDailyRate());
             
             model.addAttribute("rentalsResult", rentalsResult);
-            model.addAttribute("users", users);
-            model.addAttribute("availableBooks", availableBooks);
+            model.addAttribute("selectedUser", selectedUser);
             model.addAttribute("rentalStatuses", rentalStatuses);
             model.addAttribute("totalRentals", totalRentals);
             model.addAttribute("activeRentals", activeRentals);
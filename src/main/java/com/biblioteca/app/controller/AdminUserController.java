@@ -1,13 +1,15 @@
 package com.biblioteca.app.controller;
 
 import com.biblioteca.app.dto.shared.PagedResult;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.dto.user.UserData;
 import com.biblioteca.app.dto.user.UserDTO;
 import com.biblioteca.app.entity.Role;
 import com.biblioteca.app.entity.Status;
 import com.biblioteca.app.entity.User;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
 import com.biblioteca.app.service.ConfigurationService;
-import com.biblioteca.app.service.RoleService;
+import com.biblioteca.app.service.ReferenceDataService;
 import com.biblioteca.app.service.StatusService;
 import com.biblioteca.app.service.UserService;
 import com.biblioteca.app.helper.PasswordUtil;
@@ -28,18 +30,18 @@ import java.util.UUID;
 public class AdminUserController {
     
     private final UserService userService;
-    private final RoleService roleService;
     private final StatusService statusService;
     private final ConfigurationService configurationService;
+    private final ReferenceDataService referenceDataService;
     
     public AdminUserController(UserService userService, 
-                              RoleService roleService,
                               StatusService statusService,
-                              ConfigurationService configurationService) {
+                              ConfigurationService configurationService,
+                              ReferenceDataService referenceDataService) {
         this.userService = userService;
-        this.roleService = roleService;
         this.statusService = statusService;
         this.configurationService = configurationService;
+        this.referenceDataService = referenceDataService;
     }
     
     /**
@@ -63,16 +65,11 @@ public class AdminUserController {
             PagedResult<UserData> usersResult = userService.getRegisteredUsers(
                 page, itemsPerPage, search, roleUuid, statusUuid);
             
-            List<Role> roles = roleService.findAll();
-            List<Status> statuses = statusService.findAll();
-            
             long totalUsers = userService.getTotalUsersCount();
             long activeUsersCount = userService.getActiveUsersCount();            
             long adminCount = userService.getActiveAdminsCount();
             
             model.addAttribute("usersResult", usersResult);
-            model.addAttribute("roles", roles);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("totalUsers", totalUsers);
             model.addAttribute("activeUsersCount", activeUsersCount);
             model.addAttribute("adminCount", adminCount);
@@ -98,12 +95,10 @@ public class AdminUserController {
         try {
             UserDTO userDTO = new UserDTO();
             
-            List<Role> roles = roleService.findAll();
-            List<Status> statuses = statusService.findAll();
+            List<SelectOption> roles = referenceDataService.getOptions(ReferenceDataType.ROLE);
             
             model.addAttribute("user", userDTO);
             model.addAttribute("roles", roles);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("isNew", true);
             model.addAttribute("isReadOnly", false);
             
@@ -127,8 +122,7 @@ public class AdminUserController {
             
             UserDTO userDTO = userService.mapToDTO(user);
             
-            List<Role> roles = roleService.findAll();
-            List<Status> statuses = statusService.findAll();
+            List<SelectOption> roles = referenceDataService.getOptions(ReferenceDataType.ROLE);
             
             List<UUID> assignedRoleIds = user.getRoles().stream()
                 .map(Role::getRoleId)
@@ -137,7 +131,6 @@ public class AdminUserController {
             model.addAttribute("user", userDTO);
             model.addAttribute("userEntity", user);
             model.addAttribute("roles", roles);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("assignedRoleIds", assignedRoleIds);
             model.addAttribute("isNew", false);
             model.addAttribute("isReadOnly", false);
@@ -165,8 +158,7 @@ public class AdminUserController {
             
             UserDTO userDTO = userService.mapToDTO(user);
             
-            List<Role> roles = roleService.findAll();
-            List<Status> statuses = statusService.findAll();
+            List<SelectOption> roles = referenceDataService.getOptions(ReferenceDataType.ROLE);
             
             List<UUID> assignedRoleIds = user.getRoles().stream()
                 .map(Role::getRoleId)
@@ -175,7 +167,6 @@ public class AdminUserController {
             model.addAttribute("user", userDTO);
             model.addAttribute("userEntity", user);
             model.addAttribute("roles", roles);
-            model.addAttribute("statuses", statuses);
             model.addAttribute("assignedRoleIds", assignedRoleIds);
             model.addAttribute("isNew", false);
             model.addAttribute("isReadOnly", true);
@@ -5,22 +5,30 @@ import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import com.biblioteca.app.dto.author.AuthorActiveDTO;
+import com.biblioteca.app.helper.HttpCacheUtil;
 import com.biblioteca.app.service.AuthorService;
+import com.biblioteca.app.service.CatalogVersionService;
 
 @RestController
 @RequestMapping("/api/authors")
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final CatalogVersionService catalogVersionService;
 
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, CatalogVersionService catalogVersionService) {
         this.authorService = authorService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @GetMapping("/active")
-    public List<AuthorActiveDTO> getActiveAuthors() {
+    public List<AuthorActiveDTO> getActiveAuthors(NativeWebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
         return authorService.getActiveAuthors();
     }
 }
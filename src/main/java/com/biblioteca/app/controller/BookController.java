@@ -5,22 +5,30 @@ import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import com.biblioteca.app.dto.BookActiveDTO;
+import com.biblioteca.app.helper.HttpCacheUtil;
 import com.biblioteca.app.service.BookService;
+import com.biblioteca.app.service.CatalogVersionService;
 
 @RestController
 @RequestMapping("/api/books")
 public class BookController {
 
     private final BookService bookService;
+    private final CatalogVersionService catalogVersionService;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, CatalogVersionService catalogVersionService) {
         this.bookService = bookService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @GetMapping("/active")
-    public List<BookActiveDTO> getActiveBooks() {
+    public List<BookActiveDTO> getActiveBooks(NativeWebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
         return bookService.getActiveBooks();
     }
 }
\ No newline at end of file
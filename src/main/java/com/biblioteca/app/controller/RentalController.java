@@ -5,9 +5,12 @@ import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import com.biblioteca.app.dto.RentalActiveDTO;
 import com.biblioteca.app.dto.RentalCompleteDTO;
+import com.biblioteca.app.helper.HttpCacheUtil;
+import com.biblioteca.app.service.CatalogVersionService;
 import com.biblioteca.app.service.RentalService;
 
 @RestController
@@ -15,13 +18,18 @@ import com.biblioteca.app.service.RentalService;
 public class RentalController {
 
     private final RentalService rentalService;
+    private final CatalogVersionService catalogVersionService;
 
-    public RentalController(RentalService rentalService) {
+    public RentalController(RentalService rentalService, CatalogVersionService catalogVersionService) {
         this.rentalService = rentalService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @GetMapping("/active")
-    public List<RentalActiveDTO> getActiveRentals() {
+    public List<RentalActiveDTO> getActiveRentals(NativeWebRequest webRequest) {
+        if (HttpCacheUtil.checkNotModified(webRequest, catalogVersionService.getRentalVersion())) {
+            return null;
+        }
         return rentalService.getActiveRentals();
     }
 
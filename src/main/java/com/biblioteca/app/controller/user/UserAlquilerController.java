@@ -1,7 +1,9 @@
 package com.biblioteca.app.controller.user;
 
 import java.security.Principal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.stereotype.Controller;
@@ -16,9 +18,11 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.biblioteca.app.entity.Book;
 import com.biblioteca.app.entity.BookCopy;
+import com.biblioteca.app.entity.BookHold;
 import com.biblioteca.app.entity.Rental;
 import com.biblioteca.app.entity.User;
 import com.biblioteca.app.service.BookCopyService;
+import com.biblioteca.app.service.BookHoldService;
 import com.biblioteca.app.service.BookService;
 import com.biblioteca.app.service.RentalService;
 import com.biblioteca.app.service.UserService;
@@ -31,20 +35,23 @@ public class UserAlquilerController {
     private final UserService userService;
     private final BookCopyService bookCopyService;
     private final BookService bookService;  // ✅ AGREGADO
+    private final BookHoldService bookHoldService;
     
     public UserAlquilerController(
             RentalService rentalService, 
             UserService userService, 
             BookCopyService bookCopyService,
-            BookService bookService) {  // ✅ AGREGADO EN CONSTRUCTOR
+            BookService bookService,  // ✅ AGREGADO EN CONSTRUCTOR
+            BookHoldService bookHoldService) {
         this.rentalService = rentalService;
         this.userService = userService;
         this.bookCopyService = bookCopyService;
         this.bookService = bookService;
+        this.bookHoldService = bookHoldService;
     }
     
     @GetMapping("/nuevo/{bookId}")
-    public String nuevoAlquilerForm(@PathVariable UUID bookId, Model model) {
+    public String nuevoAlquilerForm(@PathVariable UUID bookId, Principal principal, Model model) {
         // Buscar el libro
         Book libro = bookService.findById(bookId)
             .orElseThrow(() -> new IllegalArgumentException("Libro no encontrado"));
@@ -59,9 +66,75 @@ public class UserAlquilerController {
         model.addAttribute("libro", libro);
         model.addAttribute("ejemplaresDisponibles", ejemplaresDisponibles);
         
+        // Sin ejemplares: ofrecer la cola de reservas en lugar de volver al catálogo
+        if (ejemplaresDisponibles.isEmpty()) {
+            User user = userService.getUserByEmail(principal.getName())
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+            model.addAttribute("reservasEnEspera", bookHoldService.countWaiting(bookId));
+            model.addAttribute("tieneReserva", bookHoldService.hasActiveHold(user.getUserId(), bookId));
+        }
+        
         return "user/alquiler/nuevo";
     }
     
+    // ===== RESERVAS =====
+    
+    @PostMapping("/reservar/{bookId}")
+    public String reservar(@PathVariable UUID bookId, Principal principal, RedirectAttributes redirectAttributes) {
+        try {
+            User user = userService.getUserByEmail(principal.getName())
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+            bookHoldService.placeHold(user, bookId);
+            redirectAttributes.addFlashAttribute("success", "Reserva registrada. Te avisaremos cuando haya un ejemplar para ti");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/user/alquiler/reservas";
+    }
+    
+    @GetMapping("/reservas")
+    public String reservas(Principal principal, Model model) {
+        User user = userService.getUserByEmail(principal.getName())
+            .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+        
+        List<BookHold> reservas = bookHoldService.getActiveHolds(user.getUserId());
+        Map<UUID, Long> posiciones = new HashMap<>();
+        for (BookHold reserva : reservas) {
+            posiciones.put(reserva.getHoldId(), bookHoldService.getQueuePosition(reserva));
+        }
+        
+        model.addAttribute("reservas", reservas);
+        model.addAttribute("posiciones", posiciones);
+        return "user/alquiler/reservas";
+    }
+    
+    @PostMapping("/reservas/{holdId}/recoger")
+    public String recogerReserva(@PathVariable UUID holdId, Principal principal, RedirectAttributes redirectAttributes) {
+        try {
+            User user = userService.getUserByEmail(principal.getName())
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+            rentalService.createRentalFromHold(user, holdId);
+            redirectAttributes.addFlashAttribute("success", "Alquiler realizado correctamente");
+            return "redirect:/user/historial";
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/user/alquiler/reservas";
+        }
+    }
+    
+    @PostMapping("/reservas/{holdId}/cancelar")
+    public String cancelarReserva(@PathVariable UUID holdId, Principal principal, RedirectAttributes redirectAttributes) {
+        try {
+            User user = userService.getUserByEmail(principal.getName())
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+            bookHoldService.cancelHold(user, holdId);
+            redirectAttributes.addFlashAttribute("success", "Reserva cancelada");
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        return "redirect:/user/alquiler/reservas";
+    }
+    
     
     @GetMapping("/test/{bookCopyId}")
     @ResponseBody
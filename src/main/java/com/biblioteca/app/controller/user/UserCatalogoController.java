@@ -11,11 +11,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import com.biblioteca.app.dto.shared.VersionStamp;
 import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.helper.HttpCacheUtil;
 import com.biblioteca.app.service.BookCopyService;
 import com.biblioteca.app.service.BookService;
-import com.biblioteca.app.service.CategoryService;
+import com.biblioteca.app.service.CatalogVersionService;
 
 @Controller
 @RequestMapping("/user/catalogo")
@@ -23,12 +26,13 @@ public class UserCatalogoController {
     
     private final BookService bookService;
     private final BookCopyService bookCopyService;
-    private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
     
-    public UserCatalogoController(BookService bookService, BookCopyService bookCopyService, CategoryService categoryService) {
+    public UserCatalogoController(BookService bookService, BookCopyService bookCopyService,
+            CatalogVersionService catalogVersionService) {
         this.bookService = bookService;
         this.bookCopyService = bookCopyService;
-        this.categoryService = categoryService;
+        this.catalogVersionService = catalogVersionService;
     }
     
     @GetMapping
@@ -37,13 +41,18 @@ public class UserCatalogoController {
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) UUID categoryId,
+            NativeWebRequest webRequest,
             Model model) {
         
+        // 304 si el catálogo no cambió desde la última visita
+        if (HttpCacheUtil.checkNotModified(webRequest, catalogVersionService.getCatalogVersion())) {
+            return null;
+        }
+        
         Pageable pageable = PageRequest.of(page - 1, size);
         Page<Book> librosPage = bookService.findAvailableBooks(search, categoryId, pageable);
         
         model.addAttribute("libros", librosPage.getContent());
-        model.addAttribute("categorias", categoryService.findAll());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", librosPage.getTotalPages());
         model.addAttribute("totalItems", librosPage.getTotalElements());
@@ -54,7 +63,12 @@ public class UserCatalogoController {
     }
     
     @GetMapping("/{id}")
-    public String verLibro(@PathVariable UUID id, Model model) {
+    public String verLibro(@PathVariable UUID id, NativeWebRequest webRequest, Model model) {
+        VersionStamp version = catalogVersionService.getBookVersion(id);
+        if (HttpCacheUtil.checkNotModified(webRequest, version)) {
+            return null;
+        }
+        
         Book libro = bookService.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Libro no encontrado"));
         
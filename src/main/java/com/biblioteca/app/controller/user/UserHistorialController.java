@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import com.biblioteca.app.entity.Rental;
 import com.biblioteca.app.entity.User;
+import com.biblioteca.app.service.RentalArchiveService;
 import com.biblioteca.app.service.RentalService;
 import com.biblioteca.app.service.UserService;
 
@@ -23,10 +24,13 @@ import com.biblioteca.app.service.UserService;
 public class UserHistorialController {
 
     private final RentalService rentalService;
+    private final RentalArchiveService rentalArchiveService;
     private final UserService userService;
 
-    public UserHistorialController(RentalService rentalService, UserService userService) {
+    public UserHistorialController(RentalService rentalService, RentalArchiveService rentalArchiveService,
+                                   UserService userService) {
         this.rentalService = rentalService;
+        this.rentalArchiveService = rentalArchiveService;
         this.userService = userService;
     }
 
@@ -40,7 +44,8 @@ public class UserHistorialController {
         User user = userService.getUserByEmail(principal.getName()).orElseThrow();
         Pageable pageable = PageRequest.of(page - 1, size);
 
-        Page<Rental> historial = rentalService.findByUser(user.getUserId(), pageable);
+        // Recientes + archivados (el archivo solo se lee si la página llega a él)
+        Page<Rental> historial = rentalArchiveService.findUserHistory(user.getUserId(), pageable);
 
         long totalItems   = historial.getTotalElements();
         long activosCount = rentalService.countActiveByUser(user.getUserId());
@@ -59,7 +64,7 @@ public class UserHistorialController {
     @GetMapping("/{id}")
     public String verDetalle(@PathVariable UUID id, Principal principal, Model model) {
         User user = userService.getUserByEmail(principal.getName()).orElseThrow();
-        Rental rental = rentalService.findById(id).orElseThrow();
+        Rental rental = rentalArchiveService.findRental(id).orElseThrow();
 
         // Verificar que el alquiler pertenezca al usuario
         if (!rental.getUser().getUserId().equals(user.getUserId())) {
@@ -0,0 +1,44 @@
+package com.biblioteca.app.dto.dashboard;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores de /admin/dashboard y /admin/libros-alquiler en un instante.
+ *
+ * Las claves de getCounters() coinciden con los atributos data-counter de las plantillas.
+ */
+public class DashboardCountersDTO {
+
+    public static final String RENTED_COPIES = "rentedCopies";
+    public static final String AVAILABLE_COPIES = "availableCopies";
+    public static final String ACTIVE_RENTALS = "activeRentals";
+    public static final String ON_TIME_RENTALS = "onTimeRentals";
+    public static final String DUE_SOON_RENTALS = "dueSoonRentals";
+    public static final String OVERDUE_RENTALS = "overdueRentals";
+
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private final List<DashboardRecentRentalDTO> recentRentals;
+
+    public DashboardCountersDTO(long rentedCopies, long availableCopies, long activeRentals,
+                                long onTimeRentals, long dueSoonRentals, long overdueRentals,
+                                List<DashboardRecentRentalDTO> recentRentals) {
+        counters.put(RENTED_COPIES, rentedCopies);
+        counters.put(AVAILABLE_COPIES, availableCopies);
+        counters.put(ACTIVE_RENTALS, activeRentals);
+        counters.put(ON_TIME_RENTALS, onTimeRentals);
+        counters.put(DUE_SOON_RENTALS, dueSoonRentals);
+        counters.put(OVERDUE_RENTALS, overdueRentals);
+        this.recentRentals = List.copyOf(recentRentals);
+    }
+
+    // Getters
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public List<DashboardRecentRentalDTO> getRecentRentals() {
+        return recentRentals;
+    }
+}
@@ -0,0 +1,65 @@
+package com.biblioteca.app.dto.dashboard;
+
+import java.util.Objects;
+
+/**
+ * Fila de "Alquileres Recientes" del dashboard enviada por el stream de contadores
+ */
+public class DashboardRecentRentalDTO {
+
+    private final String rentalId;
+    private final String bookTitle;
+    private final String userEmail;
+    private final String rentalDate;
+    private final String rentalStatusName;
+
+    public DashboardRecentRentalDTO(String rentalId, String bookTitle, String userEmail,
+                                    String rentalDate, String rentalStatusName) {
+        this.rentalId = rentalId;
+        this.bookTitle = bookTitle;
+        this.userEmail = userEmail;
+        this.rentalDate = rentalDate;
+        this.rentalStatusName = rentalStatusName;
+    }
+
+    // Getters
+    public String getRentalId() {
+        return rentalId;
+    }
+
+    public String getBookTitle() {
+        return bookTitle;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    /**
+     * Fecha ya formateada (dd/MM/yyyy HH:mm), igual que la tabla del dashboard
+     */
+    public String getRentalDate() {
+        return rentalDate;
+    }
+
+    public String getRentalStatusName() {
+        return rentalStatusName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DashboardRecentRentalDTO other)) {
+            return false;
+        }
+        return Objects.equals(rentalId, other.rentalId)
+                && Objects.equals(rentalStatusName, other.rentalStatusName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rentalId, rentalStatusName);
+    }
+}
@@ -0,0 +1,47 @@
+package com.biblioteca.app.dto.notification;
+
+import java.util.UUID;
+
+import com.biblioteca.app.entity.enums.NotificationType;
+
+/**
+ * Aviso listo para enviar a un usuario
+ */
+public class NotificationMessage {
+
+    private final NotificationType type;
+    private final UUID rentalId;
+    private final String recipient;
+    private final String subject;
+    private final String body;
+
+    public NotificationMessage(NotificationType type, UUID rentalId, String recipient,
+                               String subject, String body) {
+        this.type = type;
+        this.rentalId = rentalId;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    // Getters
+    public NotificationType getType() {
+        return type;
+    }
+
+    public UUID getRentalId() {
+        return rentalId;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,78 @@
+package com.biblioteca.app.dto.rental;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.biblioteca.app.entity.OutboxEvent;
+import com.biblioteca.app.entity.enums.RentalEventType;
+
+/**
+ * Evento de alquiler entregado a los suscriptores (RentalEventSubscriber)
+ */
+public class RentalEvent {
+
+    private final Long eventId;
+    private final RentalEventType eventType;
+    private final UUID rentalId;
+    private final UUID bookCopyId;
+    private final UUID bookId;
+    private final UUID userId;
+    private final String rentalStatusName;
+    private final LocalDateTime occurredAt;
+
+    public RentalEvent(Long eventId, RentalEventType eventType, UUID rentalId, UUID bookCopyId,
+                       UUID bookId, UUID userId, String rentalStatusName, LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.rentalId = rentalId;
+        this.bookCopyId = bookCopyId;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.rentalStatusName = rentalStatusName;
+        this.occurredAt = occurredAt;
+    }
+
+    public static RentalEvent from(OutboxEvent event) {
+        return new RentalEvent(event.getEventId(), event.getEventType(), event.getRentalId(),
+                event.getBookCopyId(), event.getBookId(), event.getUserId(),
+                event.getRentalStatusName(), event.getOccurredAt());
+    }
+
+    // Getters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public RentalEventType getEventType() {
+        return eventType;
+    }
+
+    public UUID getRentalId() {
+        return rentalId;
+    }
+
+    public UUID getBookCopyId() {
+        return bookCopyId;
+    }
+
+    public UUID getBookId() {
+        return bookId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getRentalStatusName() {
+        return rentalStatusName;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return eventType + "#" + eventId + " (rental " + rentalId + ", copy " + bookCopyId + ")";
+    }
+}
@@ -0,0 +1,41 @@
+package com.biblioteca.app.dto.rental;
+
+/**
+ * Alquileres de un periodo para una categoría o un autor
+ */
+public class RentalTrendBreakdownDTO {
+
+    private final String id;
+    private final String label;
+    private final long rentals;
+    private final double percentage;
+
+    public RentalTrendBreakdownDTO(String id, String label, long rentals, double percentage) {
+        this.id = id;
+        this.label = label;
+        this.rentals = rentals;
+        this.percentage = percentage;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getRentals() {
+        return rentals;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    @Override
+    public String toString() {
+        return label + ": " + rentals;
+    }
+}
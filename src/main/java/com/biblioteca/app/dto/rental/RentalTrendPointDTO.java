@@ -0,0 +1,43 @@
+package com.biblioteca.app.dto.rental;
+
+import java.time.LocalDate;
+
+/**
+ * Alquileres, devoluciones y cancelaciones de un periodo (día, semana o mes)
+ */
+public class RentalTrendPointDTO {
+
+    private final LocalDate bucketStart;
+    private final long rentals;
+    private final long returns;
+    private final long cancellations;
+
+    public RentalTrendPointDTO(LocalDate bucketStart, long rentals, long returns, long cancellations) {
+        this.bucketStart = bucketStart;
+        this.rentals = rentals;
+        this.returns = returns;
+        this.cancellations = cancellations;
+    }
+
+    // Getters
+    public LocalDate getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getRentals() {
+        return rentals;
+    }
+
+    public long getReturns() {
+        return returns;
+    }
+
+    public long getCancellations() {
+        return cancellations;
+    }
+
+    @Override
+    public String toString() {
+        return bucketStart + ": " + rentals + " alquileres";
+    }
+}
@@ -0,0 +1,30 @@
+package com.biblioteca.app.dto.shared;
+
+import java.util.UUID;
+
+/**
+ * Opción de un selector: solo el ID y el texto visible.
+ */
+public class SelectOption {
+
+    private final UUID id;
+    private final String label;
+
+    public SelectOption(UUID id, String label) {
+        this.id = id;
+        this.label = label;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return "SelectOption{" + id + ", " + label + '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.biblioteca.app.dto.shared;
+
+/**
+ * Marca de versión de un recurso para peticiones condicionales (ETag / Last-Modified).
+ */
+public class VersionStamp {
+
+    private final String tag;
+    private final long lastModified;
+
+    public VersionStamp(String tag, long lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Valor opaco que cambia cuando cambian los datos
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Última modificación en milisegundos epoch (-1 si no se conoce)
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String toString() {
+        return "VersionStamp{" + tag + ", " + lastModified + '}';
+    }
+}
@@ -0,0 +1,166 @@
+package com.biblioteca.app.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import com.biblioteca.app.entity.enums.HoldStatus;
+
+import jakarta.persistence.*;
+
+/**
+ * Reserva de un libro sin ejemplares disponibles.
+ * Al liberarse un ejemplar se asigna (BookCopy) a la reserva en espera más antigua del libro.
+ */
+@Entity
+@Table(name = "BookHold")
+public class BookHold {
+
+	@Id
+	@UuidGenerator
+	@Column(name = "HoldId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID holdId;
+
+	@ManyToOne(fetch = FetchType.EAGER)
+	@JoinColumn(name = "BookId", nullable = false, foreignKey = @ForeignKey(name = "fk_bookhold_book"))
+	private Book book;
+
+	@ManyToOne(fetch = FetchType.EAGER)
+	@JoinColumn(name = "UserId", nullable = false, foreignKey = @ForeignKey(name = "fk_bookhold_user"))
+	private User user;
+
+	@ManyToOne(fetch = FetchType.EAGER)
+	@JoinColumn(name = "BookCopyId", foreignKey = @ForeignKey(name = "fk_bookhold_bookcopy"))
+	private BookCopy bookCopy;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "HoldStatus", length = 20, nullable = false)
+	private HoldStatus holdStatus = HoldStatus.WAITING;
+
+	@Column(name = "RequestedAt", nullable = false)
+	private LocalDateTime requestedAt;
+
+	@Column(name = "ReadyAt")
+	private LocalDateTime readyAt;
+
+	@Column(name = "ExpiresAt")
+	private LocalDateTime expiresAt;
+
+	@Column(name = "ClosedAt")
+	private LocalDateTime closedAt;
+
+	@Column(name = "CreatedAt", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "UpdatedAt")
+	private LocalDateTime updatedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		createdAt = LocalDateTime.now();
+		updatedAt = LocalDateTime.now();
+		if (requestedAt == null) {
+			requestedAt = createdAt;
+		}
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+
+	// Getters y Setters
+	public UUID getHoldId() {
+		return holdId;
+	}
+
+	public void setHoldId(UUID holdId) {
+		this.holdId = holdId;
+	}
+
+	public Book getBook() {
+		return book;
+	}
+
+	public void setBook(Book book) {
+		this.book = book;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public void setUser(User user) {
+		this.user = user;
+	}
+
+	public BookCopy getBookCopy() {
+		return bookCopy;
+	}
+
+	public void setBookCopy(BookCopy bookCopy) {
+		this.bookCopy = bookCopy;
+	}
+
+	public HoldStatus getHoldStatus() {
+		return holdStatus;
+	}
+
+	public void setHoldStatus(HoldStatus holdStatus) {
+		this.holdStatus = holdStatus;
+	}
+
+	public LocalDateTime getRequestedAt() {
+		return requestedAt;
+	}
+
+	public void setRequestedAt(LocalDateTime requestedAt) {
+		this.requestedAt = requestedAt;
+	}
+
+	public LocalDateTime getReadyAt() {
+		return readyAt;
+	}
+
+	public void setReadyAt(LocalDateTime readyAt) {
+		this.readyAt = readyAt;
+	}
+
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(LocalDateTime expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public LocalDateTime getClosedAt() {
+		return closedAt;
+	}
+
+	public void setClosedAt(LocalDateTime closedAt) {
+		this.closedAt = closedAt;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "BookHold #" + holdId;
+	}
+}
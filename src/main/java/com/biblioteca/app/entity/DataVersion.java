@@ -0,0 +1,59 @@
+package com.biblioteca.app.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contador de versión de un conjunto de datos, compartido por todos los nodos.
+ * Se incrementa con una suma atómica desde DataVersionRepository en la transacción
+ * que modifica los datos.
+ */
+@Entity
+@Table(name = "DataVersion")
+public class DataVersion {
+
+	@Id
+	@Column(name = "Name", length = 40, nullable = false)
+	private String name;
+
+	@Column(name = "Version", nullable = false)
+	private long version;
+
+	@Column(name = "UpdatedAt", nullable = false)
+	private LocalDateTime updatedAt;
+
+	public DataVersion() {
+	}
+
+	public DataVersion(String name, long version, LocalDateTime updatedAt) {
+		this.name = name;
+		this.version = version;
+		this.updatedAt = updatedAt;
+	}
+
+	// Getters y Setters
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
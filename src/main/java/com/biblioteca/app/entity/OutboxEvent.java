@@ -0,0 +1,174 @@
+package com.biblioteca.app.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.biblioteca.app.entity.enums.RentalEventType;
+
+/**
+ * Evento de alquiler pendiente de entregar (patrón outbox).
+ * Se inserta en la misma transacción que el cambio en Rental / BookCopy y lo entrega
+ * OutboxDispatcher. Guarda los IDs como valores, no como relaciones: es una foto del momento.
+ */
+@Entity
+@Table(name = "OutboxEvent")
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "EventId", nullable = false)
+	private Long eventId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "EventType", length = 40, nullable = false)
+	private RentalEventType eventType;
+
+	@Column(name = "RentalId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID rentalId;
+
+	@Column(name = "BookCopyId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID bookCopyId;
+
+	@Column(name = "BookId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID bookId;
+
+	@Column(name = "UserId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID userId;
+
+	@Column(name = "RentalStatusName", length = 50, nullable = false)
+	private String rentalStatusName;
+
+	@Column(name = "OccurredAt", nullable = false)
+	private LocalDateTime occurredAt;
+
+	// ====== ENTREGA ======
+
+	@Column(name = "Attempts", nullable = false)
+	private int attempts = 0;
+
+	@Column(name = "NextAttemptAt")
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "LastError", length = 500)
+	private String lastError;
+
+	@Column(name = "DispatchedAt")
+	private LocalDateTime dispatchedAt;
+
+	@Column(name = "FailedAt")
+	private LocalDateTime failedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		if (occurredAt == null) {
+			occurredAt = LocalDateTime.now();
+		}
+	}
+
+	// Getters y Setters
+	public Long getEventId() {
+		return eventId;
+	}
+
+	public void setEventId(Long eventId) {
+		this.eventId = eventId;
+	}
+
+	public RentalEventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(RentalEventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public UUID getRentalId() {
+		return rentalId;
+	}
+
+	public void setRentalId(UUID rentalId) {
+		this.rentalId = rentalId;
+	}
+
+	public UUID getBookCopyId() {
+		return bookCopyId;
+	}
+
+	public void setBookCopyId(UUID bookCopyId) {
+		this.bookCopyId = bookCopyId;
+	}
+
+	public UUID getBookId() {
+		return bookId;
+	}
+
+	public void setBookId(UUID bookId) {
+		this.bookId = bookId;
+	}
+
+	public UUID getUserId() {
+		return userId;
+	}
+
+	public void setUserId(UUID userId) {
+		this.userId = userId;
+	}
+
+	public String getRentalStatusName() {
+		return rentalStatusName;
+	}
+
+	public void setRentalStatusName(String rentalStatusName) {
+		this.rentalStatusName = rentalStatusName;
+	}
+
+	public LocalDateTime getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(LocalDateTime occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public LocalDateTime getDispatchedAt() {
+		return dispatchedAt;
+	}
+
+	public void setDispatchedAt(LocalDateTime dispatchedAt) {
+		this.dispatchedAt = dispatchedAt;
+	}
+
+	public LocalDateTime getFailedAt() {
+		return failedAt;
+	}
+
+	public void setFailedAt(LocalDateTime failedAt) {
+		this.failedAt = failedAt;
+	}
+}
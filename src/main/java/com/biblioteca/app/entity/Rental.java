@@ -50,6 +50,23 @@ public class Rental {
 	@Column(name = "Notes", columnDefinition = "TEXT")
 	private String notes;
 
+	// Calculados por RentalPenaltyService (job programado)
+	@Column(name = "IsOverdue", nullable = false)
+	private boolean overdue = false;
+
+	@Column(name = "PenaltyAmount", precision = 10, scale = 2, nullable = false)
+	private BigDecimal penaltyAmount = BigDecimal.ZERO;
+
+	@Column(name = "PenaltyCalculatedAt")
+	private LocalDateTime penaltyCalculatedAt;
+
+	// Marcas de RentalNotificationService (job programado)
+	@Column(name = "DueReminderSentAt")
+	private LocalDateTime dueReminderSentAt;
+
+	@Column(name = "OverdueNoticeSentAt")
+	private LocalDateTime overdueNoticeSentAt;
+
 	@Column(name = "CreatedAt", updatable = false)
 	private LocalDateTime createdAt;
 
@@ -69,6 +86,9 @@ public class Rental {
 		if (totalCost == null) {
 			totalCost = BigDecimal.ZERO;
 		}
+		if (penaltyAmount == null) {
+			penaltyAmount = BigDecimal.ZERO;
+		}
 	}
 
 	@PreUpdate
@@ -183,6 +203,46 @@ public class Rental {
 		this.notes = notes;
 	}
 
+	public boolean isOverdue() {
+		return overdue;
+	}
+
+	public void setOverdue(boolean overdue) {
+		this.overdue = overdue;
+	}
+
+	public BigDecimal getPenaltyAmount() {
+		return penaltyAmount;
+	}
+
+	public void setPenaltyAmount(BigDecimal penaltyAmount) {
+		this.penaltyAmount = penaltyAmount;
+	}
+
+	public LocalDateTime getPenaltyCalculatedAt() {
+		return penaltyCalculatedAt;
+	}
+
+	public void setPenaltyCalculatedAt(LocalDateTime penaltyCalculatedAt) {
+		this.penaltyCalculatedAt = penaltyCalculatedAt;
+	}
+
+	public LocalDateTime getDueReminderSentAt() {
+		return dueReminderSentAt;
+	}
+
+	public void setDueReminderSentAt(LocalDateTime dueReminderSentAt) {
+		this.dueReminderSentAt = dueReminderSentAt;
+	}
+
+	public LocalDateTime getOverdueNoticeSentAt() {
+		return overdueNoticeSentAt;
+	}
+
+	public void setOverdueNoticeSentAt(LocalDateTime overdueNoticeSentAt) {
+		this.overdueNoticeSentAt = overdueNoticeSentAt;
+	}
+
 	public LocalDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -0,0 +1,152 @@
+package com.biblioteca.app.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Alquiler cerrado movido fuera de la tabla Rental por RentalArchiveService.
+ * Solo lectura: las filas se insertan desde Rental con INSERT ... SELECT.
+ */
+@Entity
+@Immutable
+@Table(name = "RentalArchive")
+public class RentalArchive {
+
+	@Id
+	@Column(name = "RentalId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID rentalId;
+
+	@ManyToOne(fetch = FetchType.EAGER)
+	@JoinColumn(name = "UserId", nullable = false, foreignKey = @ForeignKey(name = "fk_rentalarchive_user"))
+	private User user;
+
+	@ManyToOne(fetch = FetchType.EAGER)
+	@JoinColumn(name = "BookCopyId", nullable = false, foreignKey = @ForeignKey(name = "fk_rentalarchive_bookcopy"))
+	private BookCopy bookCopy;
+
+	@ManyToOne(fetch = FetchType.EAGER)
+	@JoinColumn(name = "RentalStatusId", nullable = false, foreignKey = @ForeignKey(name = "fk_rentalarchive_status"))
+	private RentalStatus rentalStatus;
+
+	@Column(name = "RentalDate", nullable = false)
+	private LocalDateTime rentalDate;
+
+	@Column(name = "DueDate", nullable = false)
+	private LocalDateTime dueDate;
+
+	@Column(name = "ReturnDate")
+	private LocalDateTime returnDate;
+
+	@Column(name = "RentalDays", nullable = false)
+	private Integer rentalDays;
+
+	@Column(name = "DailyRate", precision = 10, scale = 2, nullable = false)
+	private BigDecimal dailyRate;
+
+	@Column(name = "TotalCost", precision = 10, scale = 2, nullable = false)
+	private BigDecimal totalCost;
+
+	@Column(name = "PenaltyAmount", precision = 10, scale = 2, nullable = false)
+	private BigDecimal penaltyAmount;
+
+	@Column(name = "Notes", columnDefinition = "TEXT")
+	private String notes;
+
+	@Column(name = "CreatedAt")
+	private LocalDateTime createdAt;
+
+	@Column(name = "UpdatedAt")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "ArchivedAt", nullable = false)
+	private LocalDateTime archivedAt;
+
+	// Constructores
+	public RentalArchive() {
+	}
+
+	// Getters
+	public UUID getRentalId() {
+		return rentalId;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public BookCopy getBookCopy() {
+		return bookCopy;
+	}
+
+	public RentalStatus getRentalStatus() {
+		return rentalStatus;
+	}
+
+	public LocalDateTime getRentalDate() {
+		return rentalDate;
+	}
+
+	public LocalDateTime getDueDate() {
+		return dueDate;
+	}
+
+	public LocalDateTime getReturnDate() {
+		return returnDate;
+	}
+
+	public Integer getRentalDays() {
+		return rentalDays;
+	}
+
+	public BigDecimal getDailyRate() {
+		return dailyRate;
+	}
+
+	public BigDecimal getTotalCost() {
+		return totalCost;
+	}
+
+	public BigDecimal getPenaltyAmount() {
+		return penaltyAmount;
+	}
+
+	public String getNotes() {
+		return notes;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+
+	/**
+	 * Copia no persistida como Rental, para reutilizar las vistas del historial
+	 */
+	public Rental toRental() {
+		Rental rental = new Rental(rentalId, user, bookCopy, rentalStatus,
+				rentalDate, dueDate, rentalDays, dailyRate, totalCost);
+		rental.setReturnDate(returnDate);
+		rental.setPenaltyAmount(penaltyAmount);
+		rental.setNotes(notes);
+		rental.setCreatedAt(createdAt);
+		rental.setUpdatedAt(updatedAt);
+		return rental;
+	}
+
+	@Override
+	public String toString() {
+		return "RentalArchive #" + rentalId;
+	}
+}
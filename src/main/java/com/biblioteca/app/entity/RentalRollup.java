@@ -0,0 +1,127 @@
+package com.biblioteca.app.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.biblioteca.app.entity.enums.RollupGranularity;
+
+/**
+ * Contadores de alquileres de un periodo (día, semana o mes) por categoría y autor.
+ * Las filas se actualizan con sumas atómicas desde RentalRollupRepository; la entidad
+ * solo se usa para lectura.
+ */
+@Entity
+@Table(name = "RentalRollup")
+public class RentalRollup {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "RollupId", nullable = false)
+	private Long rollupId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "Granularity", length = 10, nullable = false)
+	private RollupGranularity granularity;
+
+	@Column(name = "BucketStart", nullable = false)
+	private LocalDate bucketStart;
+
+	@Column(name = "CategoryId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID categoryId;
+
+	@Column(name = "AuthorId", columnDefinition = "BINARY(16)", nullable = false)
+	private UUID authorId;
+
+	@Column(name = "Rentals", nullable = false)
+	private int rentals = 0;
+
+	@Column(name = "Returns", nullable = false)
+	private int returns = 0;
+
+	@Column(name = "Cancellations", nullable = false)
+	private int cancellations = 0;
+
+	@Column(name = "UpdatedAt", nullable = false)
+	private LocalDateTime updatedAt;
+
+	// Getters y Setters
+	public Long getRollupId() {
+		return rollupId;
+	}
+
+	public void setRollupId(Long rollupId) {
+		this.rollupId = rollupId;
+	}
+
+	public RollupGranularity getGranularity() {
+		return granularity;
+	}
+
+	public void setGranularity(RollupGranularity granularity) {
+		this.granularity = granularity;
+	}
+
+	public LocalDate getBucketStart() {
+		return bucketStart;
+	}
+
+	public void setBucketStart(LocalDate bucketStart) {
+		this.bucketStart = bucketStart;
+	}
+
+	public UUID getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(UUID categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public UUID getAuthorId() {
+		return authorId;
+	}
+
+	public void setAuthorId(UUID authorId) {
+		this.authorId = authorId;
+	}
+
+	public int getRentals() {
+		return rentals;
+	}
+
+	public void setRentals(int rentals) {
+		this.rentals = rentals;
+	}
+
+	public int getReturns() {
+		return returns;
+	}
+
+	public void setReturns(int returns) {
+		this.returns = returns;
+	}
+
+	public int getCancellations() {
+		return cancellations;
+	}
+
+	public void setCancellations(int cancellations) {
+		this.cancellations = cancellations;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "RentalRollup " + granularity + " " + bucketStart;
+	}
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.app.entity.enums;
+
+/**
+ * Estados de una reserva (BookHold)
+ * WAITING: en cola; READY: ejemplar apartado hasta ExpiresAt; el resto son estados cerrados
+ */
+public enum HoldStatus {
+    WAITING,
+    READY,
+    FULFILLED,
+    EXPIRED,
+    CANCELLED
+}
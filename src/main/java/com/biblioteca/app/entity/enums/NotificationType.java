@@ -0,0 +1,10 @@
+package com.biblioteca.app.entity.enums;
+
+/**
+ * Avisos enviados a los lectores (RentalNotificationService, BookHoldService)
+ */
+public enum NotificationType {
+    DUE_REMINDER,
+    OVERDUE_NOTICE,
+    HOLD_READY
+}
@@ -0,0 +1,14 @@
+package com.biblioteca.app.entity.enums;
+
+/**
+ * Tablas de referencia usadas en selectores y cacheadas en memoria
+ */
+public enum ReferenceDataType {
+    CATEGORY,
+    AUTHOR,
+    COUNTRY,
+    STATUS,
+    BOOK_STATUS,
+    BOOK_COPY_STATUS,
+    ROLE
+}
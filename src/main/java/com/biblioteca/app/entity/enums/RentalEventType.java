@@ -0,0 +1,10 @@
+package com.biblioteca.app.entity.enums;
+
+/**
+ * Eventos del ciclo de vida de un alquiler publicados por el outbox
+ */
+public enum RentalEventType {
+    RENTAL_CREATED,
+    RENTAL_RETURNED,
+    RENTAL_CANCELLED
+}
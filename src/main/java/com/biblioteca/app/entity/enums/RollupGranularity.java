@@ -0,0 +1,10 @@
+package com.biblioteca.app.entity.enums;
+
+/**
+ * Periodo de un agregado de RentalRollup (las semanas empiezan en lunes)
+ */
+public enum RollupGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
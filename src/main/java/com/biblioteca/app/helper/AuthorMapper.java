@@ -0,0 +1,60 @@
+package com.biblioteca.app.helper;
+
+import com.biblioteca.app.dto.author.AuthorDTO;
+import com.biblioteca.app.dto.author.AuthorStatsDTO;
+import com.biblioteca.app.entity.Author;
+import com.biblioteca.app.repository.projection.AuthorStatsProjection;
+
+/**
+ * Conversiones de autores a DTO (listados de AuthorService y reporte de autores más pedidos).
+ * 
+ * Funciones puras, sin repositorios: se pueden medir por separado (benchmarks JMH).
+ */
+public final class AuthorMapper {
+
+    private AuthorMapper() {
+    }
+
+    /**
+     * Convierte una entidad Author a AuthorDTO.
+     * 
+     * @param author Entidad autor (con país y estado cargados)
+     * @return AuthorDTO
+     */
+    public static AuthorDTO toDTO(Author author) {
+        AuthorDTO dto = new AuthorDTO();
+        dto.setAuthorId(author.getAuthorId().toString());
+        dto.setFullName(author.getFullName());
+        dto.setPseudonym(author.getPseudonym());
+        dto.setCountryName(author.getCountry().getCountryName());
+        dto.setCountryCode(author.getCountry().getCountryCode());
+        dto.setStatusName(author.getStatus().getStatusName());
+        dto.setBirthYear(author.getBirthYear());
+        dto.setDeathYear(author.getDeathYear());
+        dto.setPhotoUrl(author.getPhotoUrl());
+        dto.setEmail(author.getEmail());
+        dto.setWebsite(author.getWebsite());
+        dto.setBiography(author.getBiography());
+        return dto;
+    }
+
+    /**
+     * Convierte una proyección de estadísticas a AuthorStatsDTO.
+     * 
+     * @param projection Proyección de estadísticas
+     * @return AuthorStatsDTO
+     */
+    public static AuthorStatsDTO toStatsDTO(AuthorStatsProjection projection) {
+        return new AuthorStatsDTO(
+            projection.getAuthorId(),
+            projection.getFullName(),
+            projection.getPseudonym(),
+            projection.getPhotoUrl(),
+            projection.getCountryName(),
+            projection.getTotalBooks(),
+            projection.getTotalCopies(),
+            projection.getAvailableCopies(),
+            projection.getTotalRentals()
+        );
+    }
+}
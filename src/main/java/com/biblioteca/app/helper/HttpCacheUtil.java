@@ -0,0 +1,67 @@
+package com.biblioteca.app.helper;
+
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import com.biblioteca.app.dto.shared.VersionStamp;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Utilidades para peticiones GET condicionales (ETag / Last-Modified).
+ *
+ * Las páginas del catálogo dependen de la sesión (usuario, token CSRF), por eso
+ * las respuestas se marcan como privadas: el navegador revalida en cada visita
+ * y un proxy inverso no comparte la copia entre usuarios.
+ */
+public class HttpCacheUtil {
+
+    /**
+     * Cache-Control para páginas y JSON autenticados: revalidar siempre, solo caché privada
+     */
+    private static final String PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    /**
+     * Aplica las cabeceras de caché y comprueba si el cliente ya tiene la versión actual.
+     * Si devuelve true la respuesta ya es 304 y el controlador debe retornar null.
+     *
+     * @param webRequest Petición actual
+     * @param version Marca de versión de los datos mostrados (null = sin caché)
+     * @return true si el contenido no cambió
+     */
+    public static boolean checkNotModified(NativeWebRequest webRequest, VersionStamp version) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse response = webRequest.getNativeResponse(HttpServletResponse.class);
+        if (request == null || response == null || version == null) {
+            return false;
+        }
+
+        // Mensajes flash de una redirección: la página no es reutilizable
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            return false;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, PRIVATE_REVALIDATE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.COOKIE);
+
+        String etag = "W/\"" + version.getTag() + "-" + sessionFingerprint(request) + "\"";
+        return webRequest.checkNotModified(etag, version.getLastModified());
+    }
+
+    /**
+     * Huella de la sesión: el HTML incluye datos del usuario y el token CSRF,
+     * así que una versión cacheada solo es válida para la misma sesión.
+     */
+    private static String sessionFingerprint(HttpServletRequest request) {
+        String sessionId = request.getRequestedSessionId();
+        String user = request.getRemoteUser();
+        return Integer.toHexString(((sessionId != null ? sessionId : "") + "|" + (user != null ? user : "")).hashCode());
+    }
+}
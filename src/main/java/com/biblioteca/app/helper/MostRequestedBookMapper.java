@@ -0,0 +1,50 @@
+package com.biblioteca.app.helper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.biblioteca.app.dto.rental.BookMostRequestedDTO;
+import com.biblioteca.app.repository.projection.BookMostRequestedProjection;
+
+/**
+ * Conversión del reporte de libros más pedidos (RentalService.getMostRequestedBooks) a DTO,
+ * con la popularidad relativa de cada libro.
+ * 
+ * Funciones puras, sin repositorios: se pueden medir por separado (benchmarks JMH).
+ */
+public final class MostRequestedBookMapper {
+
+    private MostRequestedBookMapper() {
+    }
+
+    /**
+     * Convierte la página del reporte y calcula la popularidad relativa al libro más pedido
+     * del reporte completo (no al primero de la página)
+     */
+    public static List<BookMostRequestedDTO> toDTOs(List<BookMostRequestedProjection> projections) {
+        List<BookMostRequestedDTO> items = projections.stream()
+                .map(MostRequestedBookMapper::toDTO)
+                .collect(Collectors.toList());
+
+        if (!items.isEmpty()) {
+            Integer maxRentals = projections.get(0).getMaxRentals() != null
+                    ? projections.get(0).getMaxRentals()
+                    : items.get(0).getTotalRentals();
+            items.forEach(item -> item.setPopularityPercentage(maxRentals));
+        }
+        return items;
+    }
+
+    public static BookMostRequestedDTO toDTO(BookMostRequestedProjection projection) {
+        return new BookMostRequestedDTO(
+                projection.getBookId(),
+                projection.getTitle(),
+                projection.getIsbn(),
+                projection.getAuthorName(),
+                projection.getCategoryName(),
+                projection.getTotalRentals(),
+                projection.getYesterdayRentals(),
+                projection.getTodayRentals()
+        );
+    }
+}
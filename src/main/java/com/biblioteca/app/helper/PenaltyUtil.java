@@ -0,0 +1,55 @@
+package com.biblioteca.app.helper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Cálculo de vencimiento y penalidad por retraso de un alquiler.
+ *
+ * Un alquiler está vencido desde que pasa la fecha/hora de vencimiento.
+ * Cada día de calendario iniciado después del vencimiento cuenta como un día
+ * de retraso (mínimo 1), igual que los badges de "dias atrasado" del admin.
+ */
+public class PenaltyUtil {
+
+    public static final int SCALE = 2;
+
+    /**
+     * @param dueDate Fecha de vencimiento
+     * @param now Momento de evaluación
+     * @return true si el alquiler está vencido
+     */
+    public static boolean isOverdue(LocalDateTime dueDate, LocalDateTime now) {
+        return dueDate != null && dueDate.isBefore(now);
+    }
+
+    /**
+     * @param dueDate Fecha de vencimiento
+     * @param now Momento de evaluación
+     * @return Días de retraso (0 si no está vencido)
+     */
+    public static long overdueDays(LocalDateTime dueDate, LocalDateTime now) {
+        if (!isOverdue(dueDate, now)) {
+            return 0;
+        }
+        return Math.max(1, ChronoUnit.DAYS.between(dueDate.toLocalDate(), now.toLocalDate()));
+    }
+
+    /**
+     * Penalidad acumulada: días de retraso × penalidad diaria, redondeada a céntimos.
+     *
+     * @param dueDate Fecha de vencimiento
+     * @param now Momento de evaluación
+     * @param dailyPenalty Penalidad diaria (ReturnDelayDailyPenalty)
+     * @return Importe de la penalidad (0.00 si no está vencido)
+     */
+    public static BigDecimal penalty(LocalDateTime dueDate, LocalDateTime now, BigDecimal dailyPenalty) {
+        long days = overdueDays(dueDate, now);
+        if (days == 0 || dailyPenalty == null || dailyPenalty.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(SCALE);
+        }
+        return dailyPenalty.multiply(BigDecimal.valueOf(days)).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
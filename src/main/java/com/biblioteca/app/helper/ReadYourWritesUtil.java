@@ -0,0 +1,56 @@
+package com.biblioteca.app.helper;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Lectura de las propias escrituras cuando hay réplicas de lectura.
+ *
+ * Tras una escritura relevante (p. ej. crear un alquiler) se guarda en la sesión el instante
+ * del commit. ReplicaRoutingDataSource solo envía las lecturas de esa sesión a una réplica
+ * cuyo heartbeat replicado sea posterior a ese instante; si ninguna lo es, lee del primario.
+ * Sin réplicas configuradas no tiene efecto.
+ */
+public class ReadYourWritesUtil {
+
+    public static final String SESSION_ATTRIBUTE = "READ_YOUR_WRITES_AT";
+
+    /**
+     * Registra una escritura de la sesión actual (sin petición HTTP no hace nada).
+     * Dentro de una transacción el instante se toma tras el commit, para que un heartbeat
+     * posterior garantice que la réplica ya aplicó la escritura.
+     */
+    public static void markWrite() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(System.currentTimeMillis());
+                }
+            });
+        } else {
+            record(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Instante (epoch millis) de la última escritura de la sesión actual, o 0 si no hay
+     */
+    public static long lastWriteMillis() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return 0L;
+        }
+        Object value = attributes.getAttribute(SESSION_ATTRIBUTE, RequestAttributes.SCOPE_SESSION);
+        return value instanceof Long millis ? millis : 0L;
+    }
+
+    private static void record(long millis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(SESSION_ATTRIBUTE, millis, RequestAttributes.SCOPE_SESSION);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.biblioteca.app.helper;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades para términos de búsqueda escritos por el usuario.
+ */
+public class SearchTermUtil {
+
+    /**
+     * Longitud mínima para lanzar una búsqueda por prefijo
+     */
+    public static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * Máximo de filas devueltas por un typeahead
+     */
+    public static final int TYPEAHEAD_LIMIT = 20;
+
+    /**
+     * Forma de un término de las búsquedas del panel de administración
+     */
+    public enum TermType {
+        /** UUID completo: búsqueda por clave primaria (BINARY(16)) */
+        UUID,
+        /** ISBN-10 o ISBN-13, con o sin guiones: búsqueda por el índice único de ISBN */
+        ISBN,
+        /** Email completo: búsqueda por el índice único de Email */
+        EMAIL,
+        /** Cualquier otro texto: búsqueda LIKE '%texto%' */
+        TEXT
+    }
+
+    private static final Pattern UUID_PATTERN = Pattern.compile(
+            "[0-9a-fA-F]{8}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{4}-?[0-9a-fA-F]{12}");
+
+    private static final Pattern ISBN_PATTERN = Pattern.compile("97[89]\\d{10}|\\d{9}[\\dXx]");
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    /**
+     * Convierte un término en prefijo para LIKE (sin comodín final).
+     * Escapa %, _ y \ para que el usuario no pueda forzar un recorrido completo de la tabla.
+     *
+     * @param term Texto escrito por el usuario
+     * @return Prefijo escapado o null si es demasiado corto
+     */
+    public static String toLikePrefix(String term) {
+        if (term == null) {
+            return null;
+        }
+        String trimmed = term.trim();
+        if (trimmed.length() < MIN_PREFIX_LENGTH) {
+            return null;
+        }
+        return trimmed
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Clasifica un término de búsqueda para usar un índice en lugar de un LIKE sobre toda la tabla.
+     * No se valida el dígito de control del ISBN: el catálogo guarda el ISBN tal como se escribió.
+     *
+     * @param term Texto escrito por el usuario (no vacío)
+     * @return Tipo del término
+     */
+    public static TermType classify(String term) {
+        String trimmed = term.trim();
+        if (UUID_PATTERN.matcher(trimmed).matches()) {
+            return TermType.UUID;
+        }
+        if (ISBN_PATTERN.matcher(compactIsbn(trimmed)).matches()) {
+            return TermType.ISBN;
+        }
+        if (EMAIL_PATTERN.matcher(trimmed).matches()) {
+            return TermType.EMAIL;
+        }
+        return TermType.TEXT;
+    }
+
+    /**
+     * UUID de un término clasificado como TermType.UUID (con o sin guiones)
+     */
+    public static UUID toUuid(String term) {
+        String hex = term.trim().replace("-", "");
+        return new UUID(Long.parseUnsignedLong(hex.substring(0, 16), 16),
+                Long.parseUnsignedLong(hex.substring(16), 16));
+    }
+
+    /**
+     * Formas de un ISBN con las que puede estar guardado: tal como se escribió y sin guiones ni espacios
+     */
+    public static List<String> toIsbnCandidates(String term) {
+        String trimmed = term.trim();
+        String compact = compactIsbn(trimmed).toUpperCase();
+        return trimmed.equals(compact) ? List.of(trimmed) : List.of(trimmed, compact);
+    }
+
+    private static String compactIsbn(String term) {
+        return term.replace("-", "").replace(" ", "");
+    }
+}
@@ -1,11 +1,10 @@
 package com.biblioteca.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -13,7 +12,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.biblioteca.app.dto.author.AuthorActiveDTO;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Author;
+import com.biblioteca.app.repository.projection.AuthorCatalogStatsProjection;
 import com.biblioteca.app.repository.projection.AuthorStatsProjection;
 
 @Repository
@@ -46,71 +47,118 @@ public interface AuthorRepository extends JpaRepository<Author, UUID>, JpaSpecif
     int countBooksByAuthorId(@Param("authorId") UUID authorId);
 
     /**
-     * Búsqueda con filtros opcionales y paginación
-     * Busca por nombre o pseudónimo, país y estado
+     * Obtiene los autores más solicitados con estadísticas completas.
+     *
+     * Cada nivel se agrega por separado antes de unirse (ejemplares y alquileres por libro,
+     * libros por autor): las uniones son 1:1 y no multiplican filas, así que availableCopies
+     * no se cuenta una vez por alquiler y el coste crece linealmente con el tamaño de las tablas.
      */
-    @Query("""
-        SELECT a FROM Author a
-        WHERE (:search IS NULL OR :search = '' 
-            OR LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%'))
-            OR LOWER(a.pseudonym) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:countryId IS NULL OR a.country.countryId = :countryId)
-        AND (:statusId IS NULL OR a.status.statusId = :statusId)
-        ORDER BY a.fullName ASC
-    """)
-    Page<Author> findAllWithFilters(
-        @Param("search") String search,
-        @Param("countryId") UUID countryId,
-        @Param("statusId") UUID statusId,
-        Pageable pageable
-    );
-
-    /**
-     * Cuenta autores con filtros opcionales
-     */
-    @Query("""
-        SELECT COUNT(a) FROM Author a
-        WHERE (:search IS NULL OR :search = '' 
-            OR LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%'))
-            OR LOWER(a.pseudonym) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:countryId IS NULL OR a.country.countryId = :countryId)
-        AND (:statusId IS NULL OR a.status.statusId = :statusId)
-    """)
-    long countWithFilters(
-        @Param("search") String search,
-        @Param("countryId") UUID countryId,
-        @Param("statusId") UUID statusId
+    @Query(value = """
+        WITH copy_stats AS (
+            SELECT bc.BookId,
+                COUNT(*) AS totalCopies,
+                SUM(CASE WHEN bcs.BookCopyStatusName = 'Disponible' THEN 1 ELSE 0 END) AS availableCopies
+            FROM BookCopy bc
+            INNER JOIN BookCopyStatus bcs ON bc.BookCopyStatusId = bcs.BookCopyStatusId
+            GROUP BY bc.BookId
+        ),
+        rental_stats AS (
+            SELECT bc.BookId, COUNT(*) AS totalRentals
+            FROM Rental r
+            INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+            GROUP BY bc.BookId
+        ),
+        author_stats AS (
+            SELECT b.AuthorId,
+                COUNT(*) AS totalBooks,
+                SUM(COALESCE(cs.totalCopies, 0)) AS totalCopies,
+                SUM(COALESCE(cs.availableCopies, 0)) AS availableCopies,
+                SUM(COALESCE(rs.totalRentals, 0)) AS totalRentals
+            FROM Book b
+            LEFT JOIN copy_stats cs ON cs.BookId = b.BookId
+            LEFT JOIN rental_stats rs ON rs.BookId = b.BookId
+            GROUP BY b.AuthorId
+        )
+        SELECT 
+            BIN_TO_UUID(a.AuthorId) as authorId,
+            a.FullName as fullName,
+            a.Pseudonym as pseudonym,
+            a.PhotoUrl as photoUrl,
+            c.CountryName as countryName,
+            st.totalBooks,
+            st.totalCopies,
+            st.availableCopies,
+            st.totalRentals
+        FROM author_stats st
+        INNER JOIN Author a ON a.AuthorId = st.AuthorId
+        INNER JOIN Country c ON a.CountryId = c.CountryId
+        INNER JOIN Status s ON a.StatusId = s.StatusId
+        WHERE st.totalRentals > 0
+        AND (:countryId IS NULL OR a.CountryId = UUID_TO_BIN(CAST(:countryId AS CHAR)))
+        AND (:statusId IS NULL OR a.StatusId = UUID_TO_BIN(CAST(:statusId AS CHAR)))
+        ORDER BY st.totalRentals DESC, a.FullName ASC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<AuthorStatsProjection> getMostRequestedAuthors(
+        @Param("countryId") String countryId,
+        @Param("statusId") String statusId,
+        @Param("limit") int limit
     );
 
     /**
-     * Obtiene los autores más solicitados con estadísticas completas
+     * Igual que getMostRequestedAuthors, sumando los alquileres archivados
      */
     @Query(value = """
+        WITH copy_stats AS (
+            SELECT bc.BookId,
+                COUNT(*) AS totalCopies,
+                SUM(CASE WHEN bcs.BookCopyStatusName = 'Disponible' THEN 1 ELSE 0 END) AS availableCopies
+            FROM BookCopy bc
+            INNER JOIN BookCopyStatus bcs ON bc.BookCopyStatusId = bcs.BookCopyStatusId
+            GROUP BY bc.BookId
+        ),
+        rental_stats AS (
+            SELECT bc.BookId, COUNT(*) AS totalRentals
+            FROM (
+                SELECT BookCopyId FROM Rental
+                UNION ALL
+                SELECT BookCopyId FROM RentalArchive
+            ) r
+            INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+            GROUP BY bc.BookId
+        ),
+        author_stats AS (
+            SELECT b.AuthorId,
+                COUNT(*) AS totalBooks,
+                SUM(COALESCE(cs.totalCopies, 0)) AS totalCopies,
+                SUM(COALESCE(cs.availableCopies, 0)) AS availableCopies,
+                SUM(COALESCE(rs.totalRentals, 0)) AS totalRentals
+            FROM Book b
+            LEFT JOIN copy_stats cs ON cs.BookId = b.BookId
+            LEFT JOIN rental_stats rs ON rs.BookId = b.BookId
+            GROUP BY b.AuthorId
+        )
         SELECT 
             BIN_TO_UUID(a.AuthorId) as authorId,
             a.FullName as fullName,
             a.Pseudonym as pseudonym,
             a.PhotoUrl as photoUrl,
             c.CountryName as countryName,
-            COUNT(DISTINCT b.BookId) as totalBooks,
-            COUNT(DISTINCT bc.BookCopyId) as totalCopies,
-            SUM(CASE WHEN bcs.BookCopyStatusName = 'Disponible' THEN 1 ELSE 0 END) as availableCopies,
-            COUNT(r.RentalId) as totalRentals
-        FROM Author a
+            st.totalBooks,
+            st.totalCopies,
+            st.availableCopies,
+            st.totalRentals
+        FROM author_stats st
+        INNER JOIN Author a ON a.AuthorId = st.AuthorId
         INNER JOIN Country c ON a.CountryId = c.CountryId
         INNER JOIN Status s ON a.StatusId = s.StatusId
-        LEFT JOIN Book b ON a.AuthorId = b.AuthorId
-        LEFT JOIN BookCopy bc ON b.BookId = bc.BookId
-        LEFT JOIN BookCopyStatus bcs ON bc.BookCopyStatusId = bcs.BookCopyStatusId
-        LEFT JOIN Rental r ON bc.BookCopyId = r.BookCopyId
-        WHERE (:countryId IS NULL OR a.CountryId = UUID_TO_BIN(CAST(:countryId AS CHAR)))
+        WHERE st.totalRentals > 0
+        AND (:countryId IS NULL OR a.CountryId = UUID_TO_BIN(CAST(:countryId AS CHAR)))
         AND (:statusId IS NULL OR a.StatusId = UUID_TO_BIN(CAST(:statusId AS CHAR)))
-        GROUP BY a.AuthorId, a.FullName, a.Pseudonym, a.PhotoUrl, c.CountryName
-        HAVING COUNT(r.RentalId) > 0
-        ORDER BY totalRentals DESC, a.FullName ASC
+        ORDER BY st.totalRentals DESC, a.FullName ASC
         LIMIT :limit
     """, nativeQuery = true)
-    List<AuthorStatsProjection> getMostRequestedAuthors(
+    List<AuthorStatsProjection> getMostRequestedAuthorsWithArchive(
         @Param("countryId") String countryId,
         @Param("statusId") String statusId,
         @Param("limit") int limit
@@ -127,6 +175,21 @@ public interface AuthorRepository extends JpaRepository<Author, UUID>, JpaSpecif
     """)
     long countAuthorsWithRentals();
 
+    /**
+     * Cuenta autores con al menos un alquiler, activo o archivado
+     */
+    @Query(value = """
+        SELECT COUNT(DISTINCT b.AuthorId)
+        FROM Book b
+        INNER JOIN BookCopy bc ON b.BookId = bc.BookId
+        INNER JOIN (
+            SELECT BookCopyId FROM Rental
+            UNION ALL
+            SELECT BookCopyId FROM RentalArchive
+        ) r ON bc.BookCopyId = r.BookCopyId
+    """, nativeQuery = true)
+    long countAuthorsWithRentalsWithArchive();
+
     /**
      * Obtiene el total de alquileres de todos los autores
      */
@@ -162,4 +225,30 @@ public interface AuthorRepository extends JpaRepository<Author, UUID>, JpaSpecif
 		    ORDER BY a.FullName
 		""", nativeQuery = true)
 		List<AuthorActiveDTO> findActiveAuthors();
+
+    /**
+     * Lista de autores como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(a.authorId, a.fullName) FROM Author a ORDER BY a.fullName")
+    List<SelectOption> findAllOptions();
+
+    /**
+     * Datos y catálogo de los autores de un reporte calculado en memoria (RentalAnalyticsEngine).
+     * Solo une libros y ejemplares, sin alquileres: COUNT(DISTINCT) cubre la repetición del libro.
+     */
+    @Query("""
+        SELECT a.authorId AS authorId, a.fullName AS fullName, a.pseudonym AS pseudonym,
+               a.photoUrl AS photoUrl, c.countryName AS countryName,
+               COUNT(DISTINCT b.bookId) AS totalBooks,
+               COUNT(bc.bookCopyId) AS totalCopies,
+               COALESCE(SUM(CASE WHEN bcs.bookCopyStatusName = 'Disponible' THEN 1 ELSE 0 END), 0) AS availableCopies
+        FROM Author a
+        JOIN a.country c
+        LEFT JOIN Book b ON b.author = a
+        LEFT JOIN BookCopy bc ON bc.book = b
+        LEFT JOIN bc.bookCopyStatus bcs
+        WHERE a.authorId IN :authorIds
+        GROUP BY a.authorId, a.fullName, a.pseudonym, a.photoUrl, c.countryName
+    """)
+    List<AuthorCatalogStatsProjection> findCatalogStats(@Param("authorIds") Collection<UUID> authorIds);
 }
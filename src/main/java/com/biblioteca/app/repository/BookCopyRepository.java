@@ -6,13 +6,18 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.biblioteca.app.entity.Book;
 import com.biblioteca.app.entity.BookCopy;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BookCopyRepository extends JpaRepository<BookCopy, UUID> {
 
@@ -87,6 +92,16 @@ public interface BookCopyRepository extends JpaRepository<BookCopy, UUID> {
      */
     @Query("SELECT bc FROM BookCopy bc WHERE bc.book.bookId = :bookId AND bc.bookCopyStatus.bookCopyStatusName = 'Disponible' ORDER BY bc.createdAt ASC")
     List<BookCopy> findAvailableByBook(@Param("bookId") UUID bookId);
+
+    /**
+     * Ejemplares de un libro en el estado indicado, bloqueados (SKIP LOCKED: se saltan los que
+     * otra transacción está alquilando o asignando). Filtra por el id del estado para no unir
+     * BookCopyStatus y no bloquear también su fila.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT bc FROM BookCopy bc WHERE bc.book.bookId = :bookId AND bc.bookCopyStatus.bookCopyStatusId = :statusId ORDER BY bc.createdAt ASC")
+    List<BookCopy> lockByBookAndStatus(@Param("bookId") UUID bookId, @Param("statusId") UUID statusId, Pageable pageable);
     
     /**
      * Busca libros que tienen al menos un ejemplar disponible
@@ -1,11 +1,14 @@
 package com.biblioteca.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.BookCopyStatus;
 
 @Repository
@@ -13,4 +16,9 @@ public interface BookCopyStatusRepository extends JpaRepository<BookCopyStatus,
 
     Optional<BookCopyStatus> findByBookCopyStatusName(String statusName);
 
-}
\ No newline at end of file
+    /**
+     * Lista de estados de ejemplar como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(s.bookCopyStatusId, s.bookCopyStatusName) FROM BookCopyStatus s ORDER BY s.bookCopyStatusName")
+    List<SelectOption> findAllOptions();
+}
@@ -0,0 +1,92 @@
+package com.biblioteca.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.biblioteca.app.entity.BookHold;
+import com.biblioteca.app.entity.enums.HoldStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface BookHoldRepository extends JpaRepository<BookHold, UUID> {
+
+    // ====== COLA ======
+
+    /**
+     * Reserva en espera más antigua del libro, bloqueada (SKIP LOCKED: dos devoluciones
+     * simultáneas del mismo libro reciben lectores distintos). Usa IX_BookHold_Queue.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT h FROM BookHold h
+        WHERE h.book.bookId = :bookId
+        AND h.holdStatus = com.biblioteca.app.entity.enums.HoldStatus.WAITING
+        ORDER BY h.requestedAt ASC, h.holdId ASC
+    """)
+    List<BookHold> lockNextWaiting(@Param("bookId") UUID bookId, Pageable pageable);
+
+    /**
+     * Posición en la cola: reservas en espera del libro anteriores a la indicada
+     */
+    @Query("""
+        SELECT COUNT(h) FROM BookHold h
+        WHERE h.book.bookId = :bookId
+        AND h.holdStatus = com.biblioteca.app.entity.enums.HoldStatus.WAITING
+        AND h.requestedAt < :requestedAt
+    """)
+    long countWaitingBefore(@Param("bookId") UUID bookId, @Param("requestedAt") LocalDateTime requestedAt);
+
+    long countByBook_BookIdAndHoldStatus(UUID bookId, HoldStatus holdStatus);
+
+    boolean existsByBook_BookIdAndUser_UserIdAndHoldStatusIn(UUID bookId, UUID userId, Collection<HoldStatus> statuses);
+
+    // ====== USUARIO ======
+
+    @Query("""
+        SELECT h FROM BookHold h
+        WHERE h.user.userId = :userId
+        AND h.holdStatus IN :statuses
+        ORDER BY h.requestedAt ASC
+    """)
+    List<BookHold> findByUserAndStatuses(@Param("userId") UUID userId, @Param("statuses") Collection<HoldStatus> statuses);
+
+    // ====== BARRIDO (JOB) ======
+
+    /**
+     * Reservas listas cuyo plazo de recogida venció, bloqueadas para el barrido
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT h FROM BookHold h
+        WHERE h.holdStatus = com.biblioteca.app.entity.enums.HoldStatus.READY
+        AND h.expiresAt < :now
+        ORDER BY h.expiresAt ASC
+    """)
+    List<BookHold> lockExpiredReady(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Libros con lectores en espera y algún ejemplar disponible (p. ej. ejemplar nuevo o
+     * devuelto a 'Disponible' desde la administración)
+     */
+    @Query("""
+        SELECT DISTINCT h.book.bookId FROM BookHold h
+        WHERE h.holdStatus = com.biblioteca.app.entity.enums.HoldStatus.WAITING
+        AND EXISTS (
+            SELECT 1 FROM BookCopy bc
+            WHERE bc.book = h.book
+            AND bc.bookCopyStatus.bookCopyStatusName = 'Disponible')
+    """)
+    List<UUID> findWaitingBooksWithAvailableCopies(Pageable pageable);
+}
@@ -1,5 +1,6 @@
 package com.biblioteca.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,7 +14,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.biblioteca.app.dto.BookActiveDTO;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.repository.projection.BookReportLabelProjection;
+import com.biblioteca.app.repository.projection.BookVersionProjection;
+import com.biblioteca.app.repository.projection.CatalogVersionProjection;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book> {
@@ -54,47 +59,6 @@ public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificat
      */
     long count();
 
-    /**
-     * Búsqueda con filtros opcionales y paginación
-     * Busca por título o ISBN, autor, categoría y estado del libro
-     */
-    @Query("""
-        SELECT b FROM Book b
-        WHERE (:search IS NULL OR :search = '' 
-            OR LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%'))
-            OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:authorId IS NULL OR b.author.authorId = :authorId)
-        AND (:categoryId IS NULL OR b.category.categoryId = :categoryId)
-        AND (:bookStatusId IS NULL OR b.bookStatus.bookStatusId = :bookStatusId)
-        ORDER BY b.title ASC
-    """)
-    Page<Book> findAllWithFilters(
-            @Param("search") String search,
-            @Param("authorId") UUID authorId,
-            @Param("categoryId") UUID categoryId,
-            @Param("bookStatusId") UUID bookStatusId,
-            Pageable pageable
-    );
-
-    /**
-     * Cuenta libros con filtros
-     */
-    @Query("""
-        SELECT COUNT(b) FROM Book b
-        WHERE (:search IS NULL OR :search = '' 
-            OR LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%'))
-            OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:authorId IS NULL OR b.author.authorId = :authorId)
-        AND (:categoryId IS NULL OR b.category.categoryId = :categoryId)
-        AND (:bookStatusId IS NULL OR b.bookStatus.bookStatusId = :bookStatusId)
-    """)
-    long countWithFilters(
-            @Param("search") String search,
-            @Param("authorId") UUID authorId,
-            @Param("categoryId") UUID categoryId,
-            @Param("bookStatusId") UUID bookStatusId
-    );
-
     /**
      * Cuenta libros que tienen alquileres activos
      */
@@ -133,4 +97,90 @@ public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificat
      * Busca libros por título (búsqueda parcial)
      */
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
-}
\ No newline at end of file
+
+    // ====== VERSIONES PARA HTTP CACHING ======
+
+    /**
+     * Obtiene la marca de versión del catálogo completo.
+     * El contador CATALOG de DataVersion cubre altas, cambios y bajas del panel (una lectura
+     * por clave primaria); MAX(UpdatedAt) de BookCopy, con su índice, los cambios de estado
+     * de los ejemplares por alquileres y reservas, que no pasan por el contador.
+     */
+    @Query(value = """
+        SELECT
+            (SELECT Version FROM DataVersion WHERE Name = 'CATALOG') AS catalogVersion,
+            (SELECT UpdatedAt FROM DataVersion WHERE Name = 'CATALOG') AS catalogUpdatedAt,
+            (SELECT MAX(UpdatedAt) FROM BookCopy) AS copiesUpdatedAt
+    """, nativeQuery = true)
+    CatalogVersionProjection getCatalogVersion();
+
+    /**
+     * Obtiene la marca de versión de un libro, su autor y sus ejemplares.
+     */
+    @Query(value = """
+        SELECT
+            b.UpdatedAt AS bookUpdatedAt,
+            a.UpdatedAt AS authorUpdatedAt,
+            MAX(bc.UpdatedAt) AS copiesUpdatedAt,
+            COUNT(bc.BookCopyId) AS copyCount
+        FROM Book b
+        INNER JOIN Author a ON b.AuthorId = a.AuthorId
+        LEFT JOIN BookCopy bc ON bc.BookId = b.BookId
+        WHERE b.BookId = UUID_TO_BIN(:bookId)
+        GROUP BY b.BookId, b.UpdatedAt, a.UpdatedAt
+    """, nativeQuery = true)
+    Optional<BookVersionProjection> getBookVersion(@Param("bookId") String bookId);
+
+    // ====== TYPEAHEAD ======
+
+    /**
+     * Busca libros cuyo título o ISBN empieza por el prefijo.
+     * LIKE 'prefijo%' permite usar los índices de Title e ISBN; la collation ya es insensible a mayúsculas.
+     */
+    @Query("""
+        SELECT new com.biblioteca.app.dto.shared.SelectOption(b.bookId, CONCAT(b.title, ' - ', b.isbn))
+        FROM Book b
+        WHERE b.title LIKE CONCAT(:prefix, '%')
+           OR b.isbn LIKE CONCAT(:prefix, '%')
+        ORDER BY b.title
+    """)
+    List<SelectOption> findOptionsByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    /**
+     * Igual que findOptionsByPrefix, pero solo libros con al menos un ejemplar disponible.
+     * El EXISTS se resuelve con el índice (BookId, BookCopyStatusId) de BookCopy.
+     */
+    @Query("""
+        SELECT new com.biblioteca.app.dto.shared.SelectOption(b.bookId, CONCAT(b.title, ' - ', b.isbn))
+        FROM Book b
+        WHERE (b.title LIKE CONCAT(:prefix, '%') OR b.isbn LIKE CONCAT(:prefix, '%'))
+          AND EXISTS (
+              SELECT 1 FROM BookCopy bc
+              WHERE bc.book = b
+                AND bc.bookCopyStatus.bookCopyStatusName = 'Disponible'
+          )
+        ORDER BY b.title
+    """)
+    List<SelectOption> findAvailableOptionsByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    /**
+     * Obtiene un libro como opción de selector
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(b.bookId, CONCAT(b.title, ' - ', b.isbn)) FROM Book b WHERE b.bookId = :bookId")
+    Optional<SelectOption> findOptionById(@Param("bookId") UUID bookId);
+
+    // ====== REPORTES EN MEMORIA ======
+
+    /**
+     * Textos de los libros de una página de reporte (RentalAnalyticsEngine solo devuelve ids)
+     */
+    @Query("""
+        SELECT b.bookId AS bookId, b.title AS title, b.isbn AS isbn,
+               a.fullName AS authorName, c.categoryName AS categoryName
+        FROM Book b
+        JOIN b.author a
+        JOIN b.category c
+        WHERE b.bookId IN :bookIds
+    """)
+    List<BookReportLabelProjection> findReportLabels(@Param("bookIds") Collection<UUID> bookIds);
+}
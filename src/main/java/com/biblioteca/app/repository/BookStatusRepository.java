@@ -1,9 +1,12 @@
 package com.biblioteca.app.repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.BookStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,4 +32,10 @@ public interface BookStatusRepository extends JpaRepository<BookStatus, UUID> {
      * @return true si existe, false si no
      */
     boolean existsByBookStatusName(String bookStatusName);
-}
\ No newline at end of file
+
+    /**
+     * Lista de estados de libro como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(s.bookStatusId, s.bookStatusName) FROM BookStatus s ORDER BY s.bookStatusName")
+    List<SelectOption> findAllOptions();
+}
@@ -1,9 +1,12 @@
 package com.biblioteca.app.repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,4 +32,10 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
      * @return true si existe, false si no
      */
     boolean existsByCategoryName(String categoryName);
-}
\ No newline at end of file
+
+    /**
+     * Lista de categorías como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(c.categoryId, c.categoryName) FROM Category c ORDER BY c.categoryName")
+    List<SelectOption> findAllOptions();
+}
@@ -1,9 +1,12 @@
 package com.biblioteca.app.repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Country;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -45,4 +48,10 @@ public interface CountryRepository extends JpaRepository<Country, UUID> {
      * @return true si existe, false si no
      */
     boolean existsByCountryCode(String countryCode);
-}
\ No newline at end of file
+
+    /**
+     * Lista de países como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(c.countryId, c.countryName) FROM Country c ORDER BY c.countryName")
+    List<SelectOption> findAllOptions();
+}
@@ -0,0 +1,28 @@
+package com.biblioteca.app.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.app.entity.DataVersion;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, String> {
+
+    /**
+     * Incrementa la versión; devuelve 0 si la fila no existe
+     */
+    @Modifying
+    @Query("UPDATE DataVersion v SET v.version = v.version + 1, v.updatedAt = :now WHERE v.name = :name")
+    int increment(@Param("name") String name, @Param("now") LocalDateTime now);
+
+    /**
+     * Versión actual, leída en la transacción en curso (tras increment, la que se confirmará)
+     */
+    @Query("SELECT v.version FROM DataVersion v WHERE v.name = :name")
+    Long findVersion(@Param("name") String name);
+}
@@ -0,0 +1,96 @@
+package com.biblioteca.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.app.entity.OutboxEvent;
+import com.biblioteca.app.repository.projection.OutboxBacklogProjection;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // ====== ENTREGA ======
+
+    /**
+     * Bloquea el siguiente lote de eventos entregables.
+     * Solo toma el primer evento pendiente de cada ejemplar (orden por ejemplar) y salta
+     * las filas bloqueadas por otro nodo. Los eventos con NextAttemptAt futuro están en
+     * entrega (lease) o esperando reintento.
+     */
+    @Query(value = """
+        SELECT o.*
+        FROM OutboxEvent o
+        WHERE o.DispatchedAt IS NULL
+          AND o.FailedAt IS NULL
+          AND (o.NextAttemptAt IS NULL OR o.NextAttemptAt <= :now)
+          AND NOT EXISTS (
+              SELECT 1 FROM OutboxEvent p
+              WHERE p.BookCopyId = o.BookCopyId
+                AND p.EventId < o.EventId
+                AND p.DispatchedAt IS NULL
+                AND p.FailedAt IS NULL)
+        ORDER BY o.EventId
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Reserva los eventos hasta leaseUntil; si el nodo cae se vuelven a entregar al vencer
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :leaseUntil WHERE e.eventId IN :ids")
+    int lease(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.dispatchedAt = :dispatchedAt, e.nextAttemptAt = null, e.attempts = e.attempts + 1
+        WHERE e.eventId IN :ids
+    """)
+    int markDispatched(@Param("ids") List<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    /**
+     * Registra un intento fallido: reintento en retryAt, o aparcado si failedAt no es null
+     */
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.attempts = :attempts, e.lastError = :error, e.nextAttemptAt = :retryAt, e.failedAt = :failedAt
+        WHERE e.eventId = :id
+    """)
+    int markFailed(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("error") String error,
+                   @Param("retryAt") LocalDateTime retryAt,
+                   @Param("failedAt") LocalDateTime failedAt);
+
+    // ====== MÉTRICAS Y LIMPIEZA ======
+
+    @Query("""
+        SELECT COUNT(e) AS pending, MIN(e.occurredAt) AS oldestOccurredAt
+        FROM OutboxEvent e
+        WHERE e.dispatchedAt IS NULL AND e.failedAt IS NULL
+    """)
+    OutboxBacklogProjection getBacklog();
+
+    long countByFailedAtIsNotNull();
+
+    /**
+     * Borra un bloque de eventos ya entregados
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM OutboxEvent
+        WHERE DispatchedAt < :cutoff
+        ORDER BY EventId
+        LIMIT :limit
+    """, nativeQuery = true)
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,78 @@
+package com.biblioteca.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.app.entity.RentalArchive;
+
+@Repository
+public interface RentalArchiveRepository extends JpaRepository<RentalArchive, UUID> {
+
+    // ====== HISTORIAL DEL USUARIO ======
+
+    Page<RentalArchive> findByUser_UserId(UUID userId, Pageable pageable);
+
+    long countByUser_UserId(UUID userId);
+
+    /**
+     * RentalDate del alquiler archivado más reciente del usuario (IX_RentalArchive_User_Date)
+     */
+    @Query("SELECT MAX(ra.rentalDate) FROM RentalArchive ra WHERE ra.user.userId = :userId")
+    LocalDateTime findNewestRentalDate(@Param("userId") UUID userId);
+
+    /**
+     * IDs de una página del historial con Rental y RentalArchive ordenados juntos
+     * (RentalDate DESC, RentalId DESC): un alquiler que sigue en Rental puede ser más antiguo
+     * que otros ya archivados
+     */
+    @Query(value = """
+        SELECT BIN_TO_UUID(h.RentalId)
+        FROM (
+            SELECT RentalId, RentalDate FROM Rental WHERE UserId = UUID_TO_BIN(:userId)
+            UNION ALL
+            SELECT RentalId, RentalDate FROM RentalArchive WHERE UserId = UUID_TO_BIN(:userId)
+        ) h
+        ORDER BY h.RentalDate DESC, h.RentalId DESC
+        LIMIT :limit OFFSET :offset
+    """, nativeQuery = true)
+    List<String> findUserHistoryIds(@Param("userId") String userId,
+                                    @Param("limit") int limit,
+                                    @Param("offset") long offset);
+
+    /**
+     * Comprueba si hay alquileres archivados (lee una sola fila)
+     */
+    boolean existsByRentalIdIsNotNull();
+
+    // ====== ARCHIVADO ======
+
+    /**
+     * Copia un lote de alquileres de Rental al archivo.
+     * Se ejecuta junto con RentalRepository.deleteByRentalIdIn en la misma transacción.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO RentalArchive (
+            RentalId, UserId, BookCopyId, RentalStatusId,
+            RentalDate, DueDate, ReturnDate, RentalDays,
+            DailyRate, TotalCost, PenaltyAmount, Notes,
+            CreatedAt, UpdatedAt, ArchivedAt)
+        SELECT
+            r.RentalId, r.UserId, r.BookCopyId, r.RentalStatusId,
+            r.RentalDate, r.DueDate, r.ReturnDate, r.RentalDays,
+            r.DailyRate, r.TotalCost, r.PenaltyAmount, r.Notes,
+            r.CreatedAt, r.UpdatedAt, :archivedAt
+        FROM Rental r
+        WHERE r.RentalId IN (:ids)
+    """, nativeQuery = true)
+    int copyFromRental(@Param("ids") List<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,5 +1,6 @@
 package com.biblioteca.app.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -7,16 +8,21 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.biblioteca.app.dto.RentalActiveDTO;
 import com.biblioteca.app.dto.RentalCompleteDTO;
 import com.biblioteca.app.entity.Rental;
+import com.biblioteca.app.entity.RentalStatus;
 import com.biblioteca.app.repository.projection.BookMostRequestedProjection;
 import com.biblioteca.app.repository.projection.BookRentalStatsProjection;
+import com.biblioteca.app.repository.projection.RentalNotificationProjection;
+import com.biblioteca.app.repository.projection.RentalPenaltyProjection;
 
-public interface RentalRepository extends JpaRepository<Rental, UUID> {
+public interface RentalRepository extends JpaRepository<Rental, UUID>, JpaSpecificationExecutor<Rental> {
 
     // ====== BÚSQUEDAS BÁSICAS ======
 
@@ -63,6 +69,34 @@ public interface RentalRepository extends JpaRepository<Rental, UUID> {
     """, nativeQuery = true)
     List<BookRentalStatsProjection> getTopRequestedBooks(@Param("limit") int limit);
 
+    /**
+     * Igual que getTopRequestedBooks, sumando los alquileres archivados
+     */
+    @Query(value = """
+        SELECT 
+            BIN_TO_UUID(b.BookId) as bookId,
+            b.Title as title,
+            b.ISBN as isbn,
+            a.FullName as authorName,
+            c.CategoryName as categoryName,
+            COUNT(r.RentalId) as rentalCount,
+            SUM(CASE WHEN rs.RentalStatusName = 'En Proceso' THEN 1 ELSE 0 END) as activeRentals
+        FROM Book b
+        INNER JOIN Author a ON b.AuthorId = a.AuthorId
+        INNER JOIN Category c ON b.CategoryId = c.CategoryId
+        INNER JOIN BookCopy bc ON b.BookId = bc.BookId
+        INNER JOIN (
+            SELECT RentalId, BookCopyId, RentalStatusId, RentalDate FROM Rental
+            UNION ALL
+            SELECT RentalId, BookCopyId, RentalStatusId, RentalDate FROM RentalArchive
+        ) r ON bc.BookCopyId = r.BookCopyId
+        INNER JOIN RentalStatus rs ON r.RentalStatusId = rs.RentalStatusId
+        GROUP BY b.BookId, b.Title, b.ISBN, a.FullName, c.CategoryName
+        ORDER BY rentalCount DESC, b.Title ASC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<BookRentalStatsProjection> getTopRequestedBooksWithArchive(@Param("limit") int limit);
+
     // ====== COUNTS GENERALES ======
 
     @Query("SELECT COUNT(r) FROM Rental r WHERE r.rentalStatus.rentalStatusName = 'En Proceso'")
@@ -112,36 +146,6 @@ public interface RentalRepository extends JpaRepository<Rental, UUID> {
     """, nativeQuery = true)
     List<RentalCompleteDTO> findAllRentals();
 
-    // ====== FILTROS ACTIVOS CON PAGINACIÓN ======
-
-    @Query(value = """
-        SELECT r FROM Rental r
-        WHERE r.rentalStatus.rentalStatusName = 'En Proceso'
-        AND r.returnDate IS NULL
-        AND (:search IS NULL OR :search = '' OR 
-            LOWER(r.bookCopy.book.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
-            LOWER(r.bookCopy.book.author.fullName) LIKE LOWER(CONCAT('%', :search, '%')) OR
-            LOWER(r.user.email) LIKE LOWER(CONCAT('%', :search, '%')) OR
-            CAST(r.rentalId AS string) LIKE CONCAT('%', :search, '%'))
-        AND (:dateFrom IS NULL OR r.rentalDate >= :dateFrom)
-        AND (:dateTo IS NULL OR r.rentalDate <= :dateTo)
-        AND (
-            :statusFilter IS NULL OR :statusFilter = '' OR
-            (:statusFilter = 'vencido' AND r.dueDate < :now) OR
-            (:statusFilter = 'vencer' AND r.dueDate >= :now AND r.dueDate < :dueSoonThreshold)
-        )
-        ORDER BY r.dueDate ASC
-    """)
-    Page<Rental> findActiveRentalsWithFilters(
-            @Param("search") String search,
-            @Param("dateFrom") LocalDateTime dateFrom,
-            @Param("dateTo") LocalDateTime dateTo,
-            @Param("statusFilter") String statusFilter,
-            @Param("now") LocalDateTime now,
-            @Param("dueSoonThreshold") LocalDateTime dueSoonThreshold,
-            Pageable pageable
-    );
-
     // ====== COUNTS PARA DASHBOARD (ACTIVOS) ======
 
     @Query(value = """
@@ -166,24 +170,162 @@ public interface RentalRepository extends JpaRepository<Rental, UUID> {
 
     @Query(value = """
         SELECT COUNT(r) FROM Rental r
-        WHERE r.rentalStatus.rentalStatusName = 'En Proceso'
-        AND r.returnDate IS NULL
-        AND r.dueDate < :now
+        WHERE r.overdue = true
+        AND r.rentalStatus.rentalStatusName = 'En Proceso'
     """)
-    long countOverdueRentals(@Param("now") LocalDateTime now);
+    long countOverdueRentals();
 
     // ====== MÉTRICAS USUARIO ======
 
     long countByUser_UserId(UUID userId);
 
+    long countByUser_UserIdAndRentalDateAfter(UUID userId, LocalDateTime rentalDate);
+
     @Query("SELECT COUNT(r) FROM Rental r WHERE r.user.userId = :userId AND r.rentalStatus.rentalStatusName = 'En Proceso'")
     long countActiveByUser(@Param("userId") UUID userId);
 
-    @Query("SELECT COUNT(r) FROM Rental r WHERE r.user.userId = :userId AND r.rentalStatus.rentalStatusName = 'En Proceso' AND r.dueDate < CURRENT_TIMESTAMP")
+    @Query("SELECT COUNT(r) FROM Rental r WHERE r.user.userId = :userId AND r.rentalStatus.rentalStatusName = 'En Proceso' AND r.overdue = true")
     long countOverdueByUser(@Param("userId") UUID userId);
 
+    // ====== PENALIDADES (JOB) ======
+
+    /**
+     * Siguiente bloque de alquileres de un estado, recorrido por keyset sobre RentalId.
+     * Usa el índice (RentalStatusId, RentalId); el primer bloque parte de un UUID nulo (todo ceros).
+     */
+    @Query("""
+        SELECT r.rentalId AS rentalId, r.dueDate AS dueDate,
+               r.overdue AS overdue, r.penaltyAmount AS penaltyAmount
+        FROM Rental r
+        WHERE r.rentalStatus = :status
+        AND r.rentalId > :lastId
+        ORDER BY r.rentalId ASC
+    """)
+    List<RentalPenaltyProjection> findPenaltyChunk(
+            @Param("status") RentalStatus status,
+            @Param("lastId") UUID lastId,
+            Pageable pageable);
+
+    /**
+     * Guarda el vencimiento y la penalidad calculados.
+     * Solo afecta al alquiler si sigue en el estado leído (no pisa una devolución concurrente).
+     */
+    @Modifying
+    @Query("""
+        UPDATE Rental r
+        SET r.overdue = :overdue,
+            r.penaltyAmount = :penaltyAmount,
+            r.penaltyCalculatedAt = :calculatedAt,
+            r.updatedAt = :calculatedAt
+        WHERE r.rentalId = :rentalId
+        AND r.rentalStatus = :status
+    """)
+    int updatePenalty(
+            @Param("rentalId") UUID rentalId,
+            @Param("status") RentalStatus status,
+            @Param("overdue") boolean overdue,
+            @Param("penaltyAmount") BigDecimal penaltyAmount,
+            @Param("calculatedAt") LocalDateTime calculatedAt);
+
+    // ====== NOTIFICACIONES (JOB) ======
+
+    /**
+     * Siguiente bloque de alquileres que vencen entre from y to sin recordatorio enviado.
+     * Keyset sobre (DueDate, RentalId) con el índice (RentalStatusId, DueDate, RentalId).
+     */
+    @Query("""
+        SELECT r.rentalId AS rentalId, r.dueDate AS dueDate, r.penaltyAmount AS penaltyAmount,
+               u.email AS email, b.title AS title
+        FROM Rental r
+        JOIN r.user u
+        JOIN r.bookCopy bc
+        JOIN bc.book b
+        WHERE r.rentalStatus = :status
+        AND r.dueReminderSentAt IS NULL
+        AND r.dueDate >= :from AND r.dueDate < :to
+        AND (r.dueDate > :lastDueDate OR (r.dueDate = :lastDueDate AND r.rentalId > :lastId))
+        ORDER BY r.dueDate ASC, r.rentalId ASC
+    """)
+    List<RentalNotificationProjection> findDueReminderChunk(
+            @Param("status") RentalStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("lastDueDate") LocalDateTime lastDueDate,
+            @Param("lastId") UUID lastId,
+            Pageable pageable);
+
+    /**
+     * Igual que findDueReminderChunk para los alquileres vencidos sin aviso de vencido enviado
+     */
+    @Query("""
+        SELECT r.rentalId AS rentalId, r.dueDate AS dueDate, r.penaltyAmount AS penaltyAmount,
+               u.email AS email, b.title AS title
+        FROM Rental r
+        JOIN r.user u
+        JOIN r.bookCopy bc
+        JOIN bc.book b
+        WHERE r.rentalStatus = :status
+        AND r.overdueNoticeSentAt IS NULL
+        AND r.dueDate >= :from AND r.dueDate < :to
+        AND (r.dueDate > :lastDueDate OR (r.dueDate = :lastDueDate AND r.rentalId > :lastId))
+        ORDER BY r.dueDate ASC, r.rentalId ASC
+    """)
+    List<RentalNotificationProjection> findOverdueNoticeChunk(
+            @Param("status") RentalStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("lastDueDate") LocalDateTime lastDueDate,
+            @Param("lastId") UUID lastId,
+            Pageable pageable);
+
+    /**
+     * Marca los alquileres con recordatorio enviado.
+     * No toca UpdatedAt: el aviso no cambia el alquiler (ni la caché HTTP ni el archivado).
+     */
+    @Modifying
+    @Query("""
+        UPDATE Rental r
+        SET r.dueReminderSentAt = :sentAt
+        WHERE r.rentalId IN :rentalIds
+        AND r.dueReminderSentAt IS NULL
+    """)
+    int markDueReminderSent(@Param("rentalIds") List<UUID> rentalIds, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("""
+        UPDATE Rental r
+        SET r.overdueNoticeSentAt = :sentAt
+        WHERE r.rentalId IN :rentalIds
+        AND r.overdueNoticeSentAt IS NULL
+    """)
+    int markOverdueNoticeSent(@Param("rentalIds") List<UUID> rentalIds, @Param("sentAt") LocalDateTime sentAt);
+
+    // ====== ARCHIVADO ======
+
+    /**
+     * Lote de alquileres cerrados sin cambios desde antes del corte.
+     * UpdatedAt ya no cambia tras devolver o cancelar; usa el índice (RentalStatusId, UpdatedAt).
+     */
+    @Query("""
+        SELECT r.rentalId FROM Rental r
+        WHERE r.rentalStatus IN :statuses
+        AND r.updatedAt < :cutoff
+        ORDER BY r.updatedAt ASC
+    """)
+    List<UUID> findArchiveCandidates(
+            @Param("statuses") List<RentalStatus> statuses,
+            @Param("cutoff") LocalDateTime cutoff,
+            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Rental r WHERE r.rentalId IN :ids")
+    int deleteByRentalIdIn(@Param("ids") List<UUID> ids);
+
     // ====== MOST REQUESTED (PAGINADO) ======
 
+    /**
+     * Libros con al menos un alquiler; solo para páginas vacías (el total viene en findMostRequestedBooks)
+     */
     @Query(value = """
         SELECT COUNT(DISTINCT b.BookId) 
         FROM Book b
@@ -195,61 +337,168 @@ public interface RentalRepository extends JpaRepository<Rental, UUID> {
     """, nativeQuery = true)
     long countMostRequestedBooks(@Param("categoryId") String categoryId);
 
+    /**
+     * Igual que countMostRequestedBooks, contando también los libros con alquileres archivados
+     * (páginas vacías de findMostRequestedBooksWithArchive)
+     */
     @Query(value = """
-        SELECT 
-            BIN_TO_UUID(b.BookId) as bookId,
-            b.Title as title,
-            b.ISBN as isbn,
-            a.FullName as authorName,
-            c.CategoryName as categoryName,
-            COUNT(r.RentalId) as totalRentals,
-            SUM(CASE 
-                WHEN DATE(r.RentalDate) = DATE(DATE_SUB(NOW(), INTERVAL 1 DAY)) 
-                THEN 1 ELSE 0 
-            END) as yesterdayRentals,
-            SUM(CASE 
-                WHEN DATE(r.RentalDate) = CURDATE() 
-                THEN 1 ELSE 0 
-            END) as todayRentals
+        SELECT COUNT(DISTINCT b.BookId) 
         FROM Book b
         INNER JOIN Author a ON b.AuthorId = a.AuthorId
         INNER JOIN Category c ON b.CategoryId = c.CategoryId
         INNER JOIN BookCopy bc ON b.BookId = bc.BookId
-        INNER JOIN Rental r ON bc.BookCopyId = r.BookCopyId
+        INNER JOIN (
+            SELECT BookCopyId FROM Rental
+            UNION ALL
+            SELECT BookCopyId FROM RentalArchive
+        ) r ON bc.BookCopyId = r.BookCopyId
         WHERE (:categoryId IS NULL OR b.CategoryId = UUID_TO_BIN(:categoryId))
-        GROUP BY b.BookId, b.Title, b.ISBN, a.FullName, c.CategoryName
-        ORDER BY totalRentals DESC, b.Title ASC
-        LIMIT :limit OFFSET :offset
+    """, nativeQuery = true)
+    long countMostRequestedBooksWithArchive(@Param("categoryId") String categoryId);
+
+    /**
+     * Página del reporte de libros más pedidos, ordenada por (totalRentals DESC, BookId ASC).
+     *
+     * - totals agrupa por libro solo BookCopyId (índice de la FK) y ya filtra por categoría.
+     * - page calcula totalItems y maxRentals con funciones de ventana sobre el ranking completo
+     *   (no hace falta un COUNT aparte) y después aplica el cursor y el LIMIT: Book, Author y
+     *   Category solo se leen para los libros de la página.
+     * - recent cuenta ayer y hoy con un rango sobre RentalDate (IX_Rental_RentalDate_Copy) en
+     *   lugar de DATE(RentalDate) = ...
+     * - Con cursor (afterTotal, afterBookId = último libro de la página anterior) la página se
+     *   lee por keyset y offset debe ser 0; sin cursor se pagina con OFFSET.
+     */
+    @Query(value = """
+        WITH totals AS (
+            SELECT bc.BookId, COUNT(*) AS totalRentals
+            FROM Rental r
+            INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+            INNER JOIN Book b ON b.BookId = bc.BookId
+            WHERE (:categoryId IS NULL OR b.CategoryId = UUID_TO_BIN(:categoryId))
+            GROUP BY bc.BookId
+        ),
+        page AS (
+            SELECT w.BookId, w.totalRentals, w.totalItems, w.maxRentals
+            FROM (
+                SELECT t.BookId, t.totalRentals,
+                    COUNT(*) OVER () AS totalItems,
+                    MAX(t.totalRentals) OVER () AS maxRentals
+                FROM totals t
+            ) w
+            WHERE (:afterTotal IS NULL
+                   OR w.totalRentals < :afterTotal
+                   OR (w.totalRentals = :afterTotal AND w.BookId > UUID_TO_BIN(:afterBookId)))
+            ORDER BY w.totalRentals DESC, w.BookId ASC
+            LIMIT :limit OFFSET :offset
+        ),
+        recent AS (
+            SELECT bc.BookId,
+                SUM(CASE WHEN r.RentalDate < :todayStart THEN 1 ELSE 0 END) AS yesterdayRentals,
+                SUM(CASE WHEN r.RentalDate >= :todayStart THEN 1 ELSE 0 END) AS todayRentals
+            FROM Rental r
+            INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+            WHERE r.RentalDate >= :yesterdayStart AND r.RentalDate < :tomorrowStart
+            GROUP BY bc.BookId
+        )
+        SELECT 
+            BIN_TO_UUID(p.BookId) as bookId,
+            b.Title AS title,
+            b.ISBN AS isbn,
+            a.FullName AS authorName,
+            c.CategoryName AS categoryName,
+            p.totalRentals,
+            COALESCE(rc.yesterdayRentals, 0) AS yesterdayRentals,
+            COALESCE(rc.todayRentals, 0) AS todayRentals,
+            p.totalItems, p.maxRentals
+        FROM page p
+        INNER JOIN Book b ON b.BookId = p.BookId
+        INNER JOIN Author a ON b.AuthorId = a.AuthorId
+        INNER JOIN Category c ON b.CategoryId = c.CategoryId
+        LEFT JOIN recent rc ON rc.BookId = p.BookId
+        ORDER BY p.totalRentals DESC, p.BookId ASC
     """, nativeQuery = true)
     List<BookMostRequestedProjection> findMostRequestedBooks(
             @Param("categoryId") String categoryId,
+            @Param("yesterdayStart") LocalDateTime yesterdayStart,
+            @Param("todayStart") LocalDateTime todayStart,
+            @Param("tomorrowStart") LocalDateTime tomorrowStart,
+            @Param("afterTotal") Integer afterTotal,
+            @Param("afterBookId") String afterBookId,
             @Param("limit") int limit,
             @Param("offset") int offset
     );
 
     /**
-     * Busca alquileres con filtros para el panel de administración
+     * Igual que findMostRequestedBooks, sumando los alquileres archivados al total
+     * (el archivo solo tiene alquileres antiguos: ayer y hoy se cuentan solo en Rental)
      */
     @Query(value = """
-        SELECT r FROM Rental r
-        LEFT JOIN r.user u
-        LEFT JOIN r.bookCopy bc
-        LEFT JOIN bc.book b
-        LEFT JOIN b.author a
-        LEFT JOIN r.rentalStatus rs
-        WHERE (:search IS NULL OR :search = '' OR 
-               LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR
-               LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
-               LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')) OR
-               LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:userId IS NULL OR u.userId = :userId)
-        AND (:rentalStatusId IS NULL OR rs.rentalStatusId = :rentalStatusId)
-        ORDER BY r.rentalDate DESC
-    """)
-    Page<Rental> findAllWithFilters(
-            @Param("search") String search,
-            @Param("userId") UUID userId,
-            @Param("rentalStatusId") UUID rentalStatusId,
-            Pageable pageable
+        WITH totals AS (
+            SELECT bc.BookId, COUNT(*) AS totalRentals
+            FROM (
+                SELECT BookCopyId FROM Rental
+                UNION ALL
+                SELECT BookCopyId FROM RentalArchive
+            ) r
+            INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+            INNER JOIN Book b ON b.BookId = bc.BookId
+            WHERE (:categoryId IS NULL OR b.CategoryId = UUID_TO_BIN(:categoryId))
+            GROUP BY bc.BookId
+        ),
+        page AS (
+            SELECT w.BookId, w.totalRentals, w.totalItems, w.maxRentals
+            FROM (
+                SELECT t.BookId, t.totalRentals,
+                    COUNT(*) OVER () AS totalItems,
+                    MAX(t.totalRentals) OVER () AS maxRentals
+                FROM totals t
+            ) w
+            WHERE (:afterTotal IS NULL
+                   OR w.totalRentals < :afterTotal
+                   OR (w.totalRentals = :afterTotal AND w.BookId > UUID_TO_BIN(:afterBookId)))
+            ORDER BY w.totalRentals DESC, w.BookId ASC
+            LIMIT :limit OFFSET :offset
+        ),
+        recent AS (
+            SELECT bc.BookId,
+                SUM(CASE WHEN r.RentalDate < :todayStart THEN 1 ELSE 0 END) AS yesterdayRentals,
+                SUM(CASE WHEN r.RentalDate >= :todayStart THEN 1 ELSE 0 END) AS todayRentals
+            FROM Rental r
+            INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+            WHERE r.RentalDate >= :yesterdayStart AND r.RentalDate < :tomorrowStart
+            GROUP BY bc.BookId
+        )
+        SELECT 
+            BIN_TO_UUID(p.BookId) as bookId,
+            b.Title AS title,
+            b.ISBN AS isbn,
+            a.FullName AS authorName,
+            c.CategoryName AS categoryName,
+            p.totalRentals,
+            COALESCE(rc.yesterdayRentals, 0) AS yesterdayRentals,
+            COALESCE(rc.todayRentals, 0) AS todayRentals,
+            p.totalItems, p.maxRentals
+        FROM page p
+        INNER JOIN Book b ON b.BookId = p.BookId
+        INNER JOIN Author a ON b.AuthorId = a.AuthorId
+        INNER JOIN Category c ON b.CategoryId = c.CategoryId
+        LEFT JOIN recent rc ON rc.BookId = p.BookId
+        ORDER BY p.totalRentals DESC, p.BookId ASC
+    """, nativeQuery = true)
+    List<BookMostRequestedProjection> findMostRequestedBooksWithArchive(
+            @Param("categoryId") String categoryId,
+            @Param("yesterdayStart") LocalDateTime yesterdayStart,
+            @Param("todayStart") LocalDateTime todayStart,
+            @Param("tomorrowStart") LocalDateTime tomorrowStart,
+            @Param("afterTotal") Integer afterTotal,
+            @Param("afterBookId") String afterBookId,
+            @Param("limit") int limit,
+            @Param("offset") int offset
     );
+
+    /**
+     * Última modificación de alquileres (marca de versión para HTTP caching)
+     */
+    @Query("SELECT MAX(r.updatedAt) FROM Rental r")
+    LocalDateTime findLastUpdatedAt();
 }
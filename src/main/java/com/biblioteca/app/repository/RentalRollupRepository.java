@@ -0,0 +1,286 @@
+package com.biblioteca.app.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.biblioteca.app.entity.RentalRollup;
+import com.biblioteca.app.entity.enums.RollupGranularity;
+import com.biblioteca.app.repository.projection.RentalTrendBreakdownProjection;
+import com.biblioteca.app.repository.projection.RentalTrendPointProjection;
+
+@Repository
+public interface RentalRollupRepository extends JpaRepository<RentalRollup, Long> {
+
+    // ====== MANTENIMIENTO INCREMENTAL ======
+
+    /**
+     * Registra el evento como sumado; devuelve 0 si ya lo estaba (entrega repetida)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO RentalRollupEvent (EventId, AppliedAt) VALUES (:eventId, :appliedAt)
+    """, nativeQuery = true)
+    int markEventApplied(@Param("eventId") Long eventId, @Param("appliedAt") LocalDateTime appliedAt);
+
+    /**
+     * Suma los contadores al día indicado (crea la fila si no existe)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO RentalRollup
+            (Granularity, BucketStart, CategoryId, AuthorId, Rentals, Returns, Cancellations, UpdatedAt)
+        VALUES
+            ('DAY', :day, UUID_TO_BIN(:categoryId), UUID_TO_BIN(:authorId), :rentals, :returns, :cancellations, :now)
+        AS n
+        ON DUPLICATE KEY UPDATE
+            Rentals = RentalRollup.Rentals + n.Rentals,
+            Returns = RentalRollup.Returns + n.Returns,
+            Cancellations = RentalRollup.Cancellations + n.Cancellations,
+            UpdatedAt = n.UpdatedAt
+    """, nativeQuery = true)
+    int addToDay(
+            @Param("day") LocalDate day,
+            @Param("categoryId") String categoryId,
+            @Param("authorId") String authorId,
+            @Param("rentals") int rentals,
+            @Param("returns") int returns,
+            @Param("cancellations") int cancellations,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Registra como sumados los eventos del outbox ocurridos en [from, to): el backfill ya los
+     * cuenta desde Rental y su entrega posterior no debe sumarlos otra vez
+     */
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO RentalRollupEvent (EventId, AppliedAt)
+        SELECT o.EventId, :appliedAt
+        FROM OutboxEvent o
+        WHERE o.OccurredAt >= :from AND o.OccurredAt < :to
+    """, nativeQuery = true)
+    int markEventsAppliedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                 @Param("appliedAt") LocalDateTime appliedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM RentalRollupEvent WHERE AppliedAt < :cutoff", nativeQuery = true)
+    int deleteAppliedEventsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // ====== COMPACTACIÓN ======
+
+    /**
+     * Suma los días anteriores a cutoff a sus semanas (lunes)
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO RentalRollup
+            (Granularity, BucketStart, CategoryId, AuthorId, Rentals, Returns, Cancellations, UpdatedAt)
+        SELECT * FROM (
+            SELECT 'WEEK' AS Granularity,
+                DATE_SUB(d.BucketStart, INTERVAL WEEKDAY(d.BucketStart) DAY) AS BucketStart,
+                d.CategoryId, d.AuthorId,
+                SUM(d.Rentals) AS Rentals, SUM(d.Returns) AS Returns, SUM(d.Cancellations) AS Cancellations,
+                :now AS UpdatedAt
+            FROM RentalRollup d
+            WHERE d.Granularity = 'DAY' AND d.BucketStart < :cutoff
+            GROUP BY DATE_SUB(d.BucketStart, INTERVAL WEEKDAY(d.BucketStart) DAY), d.CategoryId, d.AuthorId
+        ) n
+        ON DUPLICATE KEY UPDATE
+            Rentals = RentalRollup.Rentals + n.Rentals,
+            Returns = RentalRollup.Returns + n.Returns,
+            Cancellations = RentalRollup.Cancellations + n.Cancellations,
+            UpdatedAt = n.UpdatedAt
+    """, nativeQuery = true)
+    int compactDaysIntoWeeks(@Param("cutoff") LocalDate cutoff, @Param("now") LocalDateTime now);
+
+    /**
+     * Suma los días anteriores a cutoff a sus meses
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO RentalRollup
+            (Granularity, BucketStart, CategoryId, AuthorId, Rentals, Returns, Cancellations, UpdatedAt)
+        SELECT * FROM (
+            SELECT 'MONTH' AS Granularity,
+                DATE_SUB(d.BucketStart, INTERVAL DAYOFMONTH(d.BucketStart) - 1 DAY) AS BucketStart,
+                d.CategoryId, d.AuthorId,
+                SUM(d.Rentals) AS Rentals, SUM(d.Returns) AS Returns, SUM(d.Cancellations) AS Cancellations,
+                :now AS UpdatedAt
+            FROM RentalRollup d
+            WHERE d.Granularity = 'DAY' AND d.BucketStart < :cutoff
+            GROUP BY DATE_SUB(d.BucketStart, INTERVAL DAYOFMONTH(d.BucketStart) - 1 DAY), d.CategoryId, d.AuthorId
+        ) n
+        ON DUPLICATE KEY UPDATE
+            Rentals = RentalRollup.Rentals + n.Rentals,
+            Returns = RentalRollup.Returns + n.Returns,
+            Cancellations = RentalRollup.Cancellations + n.Cancellations,
+            UpdatedAt = n.UpdatedAt
+    """, nativeQuery = true)
+    int compactDaysIntoMonths(@Param("cutoff") LocalDate cutoff, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RentalRollup r WHERE r.granularity = :granularity AND r.bucketStart < :cutoff")
+    int deleteBefore(@Param("granularity") RollupGranularity granularity, @Param("cutoff") LocalDate cutoff);
+
+    @Modifying
+    @Query("""
+        DELETE FROM RentalRollup r
+        WHERE r.granularity = com.biblioteca.app.entity.enums.RollupGranularity.DAY
+        AND r.bucketStart >= :from AND r.bucketStart < :to
+    """)
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Recalcula los días de [from, to) desde Rental (días anteriores a activar los eventos).
+     * Alquileres por RentalDate, devoluciones por ReturnDate y cancelaciones por UpdatedAt.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO RentalRollup
+            (Granularity, BucketStart, CategoryId, AuthorId, Rentals, Returns, Cancellations, UpdatedAt)
+        SELECT * FROM (
+            SELECT 'DAY' AS Granularity, e.day AS BucketStart, b.CategoryId, b.AuthorId,
+                SUM(e.rentals) AS Rentals, SUM(e.returns) AS Returns, SUM(e.cancellations) AS Cancellations,
+                :now AS UpdatedAt
+            FROM (
+                SELECT DATE(r.RentalDate) AS day, r.BookCopyId, 1 AS rentals, 0 AS returns, 0 AS cancellations
+                FROM Rental r
+                WHERE r.RentalDate >= :from AND r.RentalDate < :to
+                UNION ALL
+                SELECT DATE(r.ReturnDate), r.BookCopyId, 0, 1, 0
+                FROM Rental r
+                INNER JOIN RentalStatus rs ON rs.RentalStatusId = r.RentalStatusId
+                WHERE rs.RentalStatusName = 'Devuelto'
+                AND r.ReturnDate >= :from AND r.ReturnDate < :to
+                UNION ALL
+                SELECT DATE(r.UpdatedAt), r.BookCopyId, 0, 0, 1
+                FROM Rental r
+                INNER JOIN RentalStatus rs ON rs.RentalStatusId = r.RentalStatusId
+                WHERE rs.RentalStatusName = 'Cancelado'
+                AND r.UpdatedAt >= :from AND r.UpdatedAt < :to
+            ) e
+            INNER JOIN BookCopy bc ON bc.BookCopyId = e.BookCopyId
+            INNER JOIN Book b ON b.BookId = bc.BookId
+            GROUP BY e.day, b.CategoryId, b.AuthorId
+        ) n
+        ON DUPLICATE KEY UPDATE
+            Rentals = RentalRollup.Rentals + n.Rentals,
+            Returns = RentalRollup.Returns + n.Returns,
+            Cancellations = RentalRollup.Cancellations + n.Cancellations,
+            UpdatedAt = n.UpdatedAt
+    """, nativeQuery = true)
+    int backfillDays(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("now") LocalDateTime now);
+
+    // ====== CONSULTAS ======
+
+    /**
+     * Serie de [from, to) en el periodo indicado: filas compactadas de ese periodo más los
+     * días aún sin compactar agrupados al mismo periodo. from y to deben estar alineados.
+     */
+    @Query(value = """
+        SELECT t.bucketStart AS bucketStart,
+            SUM(t.Rentals) AS rentals,
+            SUM(t.Returns) AS returns,
+            SUM(t.Cancellations) AS cancellations
+        FROM (
+            SELECT r.BucketStart AS bucketStart, r.Rentals, r.Returns, r.Cancellations
+            FROM RentalRollup r
+            WHERE r.Granularity = :granularity
+            AND r.BucketStart >= :from AND r.BucketStart < :to
+            AND (:categoryId IS NULL OR r.CategoryId = UUID_TO_BIN(:categoryId))
+            AND (:authorId IS NULL OR r.AuthorId = UUID_TO_BIN(:authorId))
+            UNION ALL
+            SELECT CASE :granularity
+                    WHEN 'WEEK' THEN DATE_SUB(d.BucketStart, INTERVAL WEEKDAY(d.BucketStart) DAY)
+                    ELSE DATE_SUB(d.BucketStart, INTERVAL DAYOFMONTH(d.BucketStart) - 1 DAY)
+                END,
+                d.Rentals, d.Returns, d.Cancellations
+            FROM RentalRollup d
+            WHERE :granularity <> 'DAY'
+            AND d.Granularity = 'DAY'
+            AND d.BucketStart >= :from AND d.BucketStart < :to
+            AND (:categoryId IS NULL OR d.CategoryId = UUID_TO_BIN(:categoryId))
+            AND (:authorId IS NULL OR d.AuthorId = UUID_TO_BIN(:authorId))
+        ) t
+        GROUP BY t.bucketStart
+        ORDER BY t.bucketStart
+    """, nativeQuery = true)
+    List<RentalTrendPointProjection> findTrend(
+            @Param("granularity") String granularity,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("categoryId") String categoryId,
+            @Param("authorId") String authorId
+    );
+
+    /**
+     * Alquileres de [from, to) por categoría (mismas reglas de periodo que findTrend)
+     */
+    @Query(value = """
+        SELECT BIN_TO_UUID(c.CategoryId) AS id, c.CategoryName AS label, SUM(t.Rentals) AS rentals
+        FROM (
+            SELECT r.CategoryId, r.Rentals
+            FROM RentalRollup r
+            WHERE r.Granularity = :granularity
+            AND r.BucketStart >= :from AND r.BucketStart < :to
+            AND (:authorId IS NULL OR r.AuthorId = UUID_TO_BIN(:authorId))
+            UNION ALL
+            SELECT d.CategoryId, d.Rentals
+            FROM RentalRollup d
+            WHERE :granularity <> 'DAY'
+            AND d.Granularity = 'DAY'
+            AND d.BucketStart >= :from AND d.BucketStart < :to
+            AND (:authorId IS NULL OR d.AuthorId = UUID_TO_BIN(:authorId))
+        ) t
+        INNER JOIN Category c ON c.CategoryId = t.CategoryId
+        GROUP BY c.CategoryId, c.CategoryName
+        ORDER BY rentals DESC, c.CategoryName
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<RentalTrendBreakdownProjection> findCategoryBreakdown(
+            @Param("granularity") String granularity,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("authorId") String authorId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Alquileres de [from, to) por autor (mismas reglas de periodo que findTrend)
+     */
+    @Query(value = """
+        SELECT BIN_TO_UUID(a.AuthorId) AS id, a.FullName AS label, SUM(t.Rentals) AS rentals
+        FROM (
+            SELECT r.AuthorId, r.Rentals
+            FROM RentalRollup r
+            WHERE r.Granularity = :granularity
+            AND r.BucketStart >= :from AND r.BucketStart < :to
+            AND (:categoryId IS NULL OR r.CategoryId = UUID_TO_BIN(:categoryId))
+            UNION ALL
+            SELECT d.AuthorId, d.Rentals
+            FROM RentalRollup d
+            WHERE :granularity <> 'DAY'
+            AND d.Granularity = 'DAY'
+            AND d.BucketStart >= :from AND d.BucketStart < :to
+            AND (:categoryId IS NULL OR d.CategoryId = UUID_TO_BIN(:categoryId))
+        ) t
+        INNER JOIN Author a ON a.AuthorId = t.AuthorId
+        GROUP BY a.AuthorId, a.FullName
+        ORDER BY rentals DESC, a.FullName
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<RentalTrendBreakdownProjection> findAuthorBreakdown(
+            @Param("granularity") String granularity,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("categoryId") String categoryId,
+            @Param("limit") int limit
+    );
+}
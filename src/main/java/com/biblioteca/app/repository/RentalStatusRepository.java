@@ -1,5 +1,7 @@
 package com.biblioteca.app.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +15,9 @@ public interface RentalStatusRepository extends JpaRepository<RentalStatus, UUID
      * Busca estado de alquiler por nombre
      */
     Optional<RentalStatus> findByRentalStatusName(String name);
+
+    /**
+     * Busca estados de alquiler por nombre
+     */
+    List<RentalStatus> findByRentalStatusNameIn(Collection<String> names);
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.biblioteca.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Role;
 
 /**
@@ -29,4 +32,10 @@ public interface RoleRepository extends JpaRepository<Role, UUID> {
      * @return true si existe, false si no
      */
     boolean existsByRoleName(String roleName);
-}
\ No newline at end of file
+
+    /**
+     * Lista de roles como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(r.roleId, r.roleName) FROM Role r ORDER BY r.roleName")
+    List<SelectOption> findAllOptions();
+}
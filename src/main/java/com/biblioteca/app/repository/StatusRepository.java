@@ -1,11 +1,14 @@
 package com.biblioteca.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Status;
 
 /**
@@ -29,4 +32,10 @@ public interface StatusRepository extends JpaRepository<Status, UUID> {
      * @return true si existe, false si no
      */
     boolean existsByStatusName(String statusName);
+
+    /**
+     * Lista de estados como pares ID / nombre para selectores
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(s.statusId, s.statusName) FROM Status s ORDER BY s.statusName")
+    List<SelectOption> findAllOptions();
 }
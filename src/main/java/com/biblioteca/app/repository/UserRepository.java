@@ -4,13 +4,14 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.User;
 
 /**
@@ -18,7 +19,7 @@ import com.biblioteca.app.entity.User;
  * Proporciona métodos CRUD y consultas personalizadas.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
 
     /**
      * Busca un usuario por email
@@ -52,51 +53,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.status.statusName = 'Active' ORDER BY u.createdAt DESC")
     List<User> findAllActive();
 
-    /**
-     * Búsqueda paginada con filtros
-     * 
-     * @param search Texto de búsqueda (email)
-     * @param roleId Filtro por rol (opcional)
-     * @param statusId Filtro por estado (opcional)
-     * @param pageable Parámetros de paginación
-     * @return Página de usuarios
-     */
-    @Query("""
-        SELECT DISTINCT u FROM User u
-        LEFT JOIN u.userRoles ur
-        WHERE (:search IS NULL OR :search = '' OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:roleId IS NULL OR ur.role.roleId = :roleId)
-        AND (:statusId IS NULL OR u.status.statusId = :statusId)
-        ORDER BY u.createdAt DESC
-    """)
-    Page<User> findAllWithFilters(
-        @Param("search") String search,
-        @Param("roleId") UUID roleId,
-        @Param("statusId") UUID statusId,
-        Pageable pageable
-    );
-
-    /**
-     * Cuenta usuarios con filtros
-     * 
-     * @param search Texto de búsqueda
-     * @param roleId Filtro por rol
-     * @param statusId Filtro por estado
-     * @return Cantidad de usuarios que coinciden
-     */
-    @Query("""
-        SELECT COUNT(DISTINCT u) FROM User u
-        LEFT JOIN u.userRoles ur
-        WHERE (:search IS NULL OR :search = '' OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
-        AND (:roleId IS NULL OR ur.role.roleId = :roleId)
-        AND (:statusId IS NULL OR u.status.statusId = :statusId)
-    """)
-    long countWithFilters(
-        @Param("search") String search,
-        @Param("roleId") UUID roleId,
-        @Param("statusId") UUID statusId
-    );
-
     /**
      * Cuenta usuarios activos
      * 
@@ -135,4 +91,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.userRoles ur LEFT JOIN FETCH ur.role WHERE u.userId = :userId")
     Optional<User> findByIdWithRoles(@Param("userId") UUID userId);
-}
\ No newline at end of file
+
+    // ====== TYPEAHEAD ======
+
+    /**
+     * Busca usuarios activos cuyo email empieza por el prefijo.
+     * Usa el índice único de Email (LIKE 'prefijo%').
+     */
+    @Query("""
+        SELECT new com.biblioteca.app.dto.shared.SelectOption(u.userId, u.email)
+        FROM User u
+        WHERE u.email LIKE CONCAT(:prefix, '%')
+          AND u.status.statusName = 'Active'
+        ORDER BY u.email
+    """)
+    List<SelectOption> findActiveOptionsByEmailPrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    /**
+     * Obtiene un usuario como opción de selector
+     */
+    @Query("SELECT new com.biblioteca.app.dto.shared.SelectOption(u.userId, u.email) FROM User u WHERE u.userId = :userId")
+    Optional<SelectOption> findOptionById(@Param("userId") UUID userId);
+}
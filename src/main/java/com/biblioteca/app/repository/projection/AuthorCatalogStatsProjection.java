@@ -0,0 +1,25 @@
+package com.biblioteca.app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Proyección con los datos y el catálogo (libros y ejemplares) de un autor, sin alquileres
+ */
+public interface AuthorCatalogStatsProjection {
+
+    UUID getAuthorId();
+
+    String getFullName();
+
+    String getPseudonym();
+
+    String getPhotoUrl();
+
+    String getCountryName();
+
+    Long getTotalBooks();
+
+    Long getTotalCopies();
+
+    Long getAvailableCopies();
+}
@@ -20,4 +20,14 @@ public interface BookMostRequestedProjection {
     Integer getYesterdayRentals();
     
     Integer getTodayRentals();
+    
+    /**
+     * Libros del reporte completo (no solo de la página)
+     */
+    Long getTotalItems();
+    
+    /**
+     * Alquileres del libro más pedido del reporte
+     */
+    Integer getMaxRentals();
 }
\ No newline at end of file
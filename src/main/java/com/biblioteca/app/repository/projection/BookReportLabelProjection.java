@@ -0,0 +1,19 @@
+package com.biblioteca.app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Proyección con los textos de un libro para los reportes calculados en memoria
+ */
+public interface BookReportLabelProjection {
+
+    UUID getBookId();
+
+    String getTitle();
+
+    String getIsbn();
+
+    String getAuthorName();
+
+    String getCategoryName();
+}
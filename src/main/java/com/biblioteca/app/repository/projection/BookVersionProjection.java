@@ -0,0 +1,17 @@
+package com.biblioteca.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con la marca de versión de un libro y sus ejemplares
+ */
+public interface BookVersionProjection {
+
+    LocalDateTime getBookUpdatedAt();
+
+    LocalDateTime getAuthorUpdatedAt();
+
+    LocalDateTime getCopiesUpdatedAt();
+
+    Long getCopyCount();
+}
@@ -0,0 +1,16 @@
+package com.biblioteca.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con la marca de versión del catálogo
+ * Contador de escrituras del catálogo (DataVersion) y última modificación de ejemplares
+ */
+public interface CatalogVersionProjection {
+
+    Long getCatalogVersion();
+
+    LocalDateTime getCatalogUpdatedAt();
+
+    LocalDateTime getCopiesUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.biblioteca.app.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Eventos del outbox pendientes de entregar y el instante del más antiguo
+ */
+public interface OutboxBacklogProjection {
+
+    Long getPending();
+
+    LocalDateTime getOldestOccurredAt();
+}
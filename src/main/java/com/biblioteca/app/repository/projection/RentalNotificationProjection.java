@@ -0,0 +1,21 @@
+package com.biblioteca.app.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Datos de un alquiler necesarios para redactar un aviso de vencimiento
+ */
+public interface RentalNotificationProjection {
+
+    UUID getRentalId();
+
+    LocalDateTime getDueDate();
+
+    BigDecimal getPenaltyAmount();
+
+    String getEmail();
+
+    String getTitle();
+}
@@ -0,0 +1,19 @@
+package com.biblioteca.app.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección ligera de un alquiler en proceso para el cálculo de penalidades
+ */
+public interface RentalPenaltyProjection {
+
+    UUID getRentalId();
+
+    LocalDateTime getDueDate();
+
+    Boolean getOverdue();
+
+    BigDecimal getPenaltyAmount();
+}
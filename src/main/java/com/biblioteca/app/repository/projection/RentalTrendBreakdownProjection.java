@@ -0,0 +1,13 @@
+package com.biblioteca.app.repository.projection;
+
+/**
+ * Alquileres de un periodo agrupados por categoría o autor
+ */
+public interface RentalTrendBreakdownProjection {
+
+    String getId();
+
+    String getLabel();
+
+    Long getRentals();
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.app.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Punto de la serie de tendencias de alquileres (RentalRollupRepository.findTrend)
+ */
+public interface RentalTrendPointProjection {
+
+    LocalDate getBucketStart();
+
+    Long getRentals();
+
+    Long getReturns();
+
+    Long getCancellations();
+}
@@ -0,0 +1,51 @@
+package com.biblioteca.app.repository.specification;
+
+import static com.biblioteca.app.repository.specification.SpecificationSupport.allOf;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.containsIgnoreCase;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.hasText;
+
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.biblioteca.app.entity.Author;
+import com.biblioteca.app.helper.SearchTermUtil;
+
+/**
+ * Filtros del listado de autores (AuthorService.findAllPaginated); solo se generan los
+ * predicados de los filtros indicados. Un UUID completo se busca por clave primaria.
+ */
+public final class AuthorSpecifications {
+
+    private AuthorSpecifications() {
+    }
+
+    /**
+     * @param search Texto en nombre o pseudónimo, o UUID del autor (opcional)
+     * @param countryId Filtro por país (opcional)
+     * @param statusId Filtro por estado (opcional)
+     */
+    public static Specification<Author> withFilters(String search, UUID countryId, UUID statusId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(search)) {
+                predicates.add(SearchTermUtil.classify(search) == SearchTermUtil.TermType.UUID
+                        ? cb.equal(root.get("authorId"), SearchTermUtil.toUuid(search))
+                        : cb.or(
+                                containsIgnoreCase(cb, root.get("fullName"), search),
+                                containsIgnoreCase(cb, root.get("pseudonym"), search)));
+            }
+            if (countryId != null) {
+                predicates.add(cb.equal(root.get("country").get("countryId"), countryId));
+            }
+            if (statusId != null) {
+                predicates.add(cb.equal(root.get("status").get("statusId"), statusId));
+            }
+            return allOf(cb, predicates);
+        };
+    }
+}
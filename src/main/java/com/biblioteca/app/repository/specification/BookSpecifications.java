@@ -0,0 +1,61 @@
+package com.biblioteca.app.repository.specification;
+
+import static com.biblioteca.app.repository.specification.SpecificationSupport.allOf;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.containsIgnoreCase;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.hasText;
+
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.helper.SearchTermUtil;
+
+/**
+ * Filtros del listado de libros (BookService.findAllPaginated).
+ *
+ * Solo se generan los predicados de los filtros indicados, así cada combinación es una
+ * consulta distinta y MySQL elige el índice adecuado (AuthorId, CategoryId...) en lugar de
+ * planificar una sola vez un WHERE con (:x IS NULL OR ...). Un UUID o un ISBN completos se
+ * buscan por igualdad (clave primaria / índice único de ISBN) en lugar de con LIKE.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /**
+     * @param search Texto en título o ISBN, UUID del libro o ISBN completo (opcional)
+     * @param authorId Filtro por autor (opcional)
+     * @param categoryId Filtro por categoría (opcional)
+     * @param bookStatusId Filtro por estado del libro (opcional)
+     */
+    public static Specification<Book> withFilters(String search, UUID authorId, UUID categoryId, UUID bookStatusId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(search)) {
+                predicates.add(switch (SearchTermUtil.classify(search)) {
+                    case UUID -> cb.equal(root.get("bookId"), SearchTermUtil.toUuid(search));
+                    case ISBN -> root.get("isbn").in(SearchTermUtil.toIsbnCandidates(search));
+                    default -> cb.or(
+                            containsIgnoreCase(cb, root.get("title"), search),
+                            containsIgnoreCase(cb, root.get("isbn"), search));
+                });
+            }
+            if (authorId != null) {
+                predicates.add(cb.equal(root.get("author").get("authorId"), authorId));
+            }
+            if (categoryId != null) {
+                predicates.add(cb.equal(root.get("category").get("categoryId"), categoryId));
+            }
+            if (bookStatusId != null) {
+                predicates.add(cb.equal(root.get("bookStatus").get("bookStatusId"), bookStatusId));
+            }
+            return allOf(cb, predicates);
+        };
+    }
+}
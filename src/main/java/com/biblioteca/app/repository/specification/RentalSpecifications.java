@@ -0,0 +1,152 @@
+package com.biblioteca.app.repository.specification;
+
+import static com.biblioteca.app.repository.specification.SpecificationSupport.allOf;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.containsIgnoreCase;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.hasText;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.entity.BookCopy;
+import com.biblioteca.app.entity.Rental;
+import com.biblioteca.app.entity.User;
+import com.biblioteca.app.helper.SearchTermUtil;
+
+/**
+ * Filtros de los listados de alquileres; solo se generan los predicados (y las uniones con
+ * libro, autor y usuario) de los filtros indicados.
+ *
+ * La búsqueda se clasifica con SearchTermUtil: un UUID completo se compara con RentalId,
+ * UserId y BookCopyId (clave primaria e índices de las FK), un ISBN con el índice único de
+ * Book.ISBN y un email con el de User.Email; solo el texto libre usa LIKE '%texto%'.
+ */
+public final class RentalSpecifications {
+
+    public static final String STATUS_OVERDUE = "vencido";
+    public static final String STATUS_DUE_SOON = "vencer";
+
+    private RentalSpecifications() {
+    }
+
+    /**
+     * Alquileres en proceso (RentalService.findActiveRentals).
+     *
+     * @param search Texto en título, autor o email; UUID de alquiler, usuario o ejemplar; ISBN o email (opcional)
+     * @param dateFrom Alquilados desde (opcional)
+     * @param dateTo Alquilados hasta (opcional)
+     * @param statusFilter "vencido", "vencer" o null; cualquier otro valor no devuelve filas
+     * @param now Instante de referencia para "vencer"
+     * @param dueSoonThreshold Límite de "vencer" (now + días de aviso)
+     */
+    public static Specification<Rental> activeWithFilters(String search,
+                                                          LocalDateTime dateFrom,
+                                                          LocalDateTime dateTo,
+                                                          String statusFilter,
+                                                          LocalDateTime now,
+                                                          LocalDateTime dueSoonThreshold) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("rentalStatus").get("rentalStatusName"), "En Proceso"));
+            predicates.add(cb.isNull(root.get("returnDate")));
+
+            if (hasText(search)) {
+                Predicate exact = exactSearch(root, cb, search);
+                if (exact != null) {
+                    predicates.add(exact);
+                } else {
+                    Join<Rental, BookCopy> bookCopy = root.join("bookCopy");
+                    Join<BookCopy, Book> book = bookCopy.join("book");
+                    Join<Rental, User> user = root.join("user");
+                    predicates.add(cb.or(
+                            containsIgnoreCase(cb, book.get("title"), search),
+                            containsIgnoreCase(cb, book.join("author").get("fullName"), search),
+                            containsIgnoreCase(cb, user.get("email"), search)));
+                }
+            }
+            if (dateFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("rentalDate"), dateFrom));
+            }
+            if (dateTo != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("rentalDate"), dateTo));
+            }
+            if (hasText(statusFilter)) {
+                switch (statusFilter) {
+                    case STATUS_OVERDUE -> predicates.add(cb.isTrue(root.get("overdue")));
+                    case STATUS_DUE_SOON -> {
+                        predicates.add(cb.isFalse(root.get("overdue")));
+                        predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), now));
+                        predicates.add(cb.lessThan(root.get("dueDate"), dueSoonThreshold));
+                    }
+                    default -> predicates.add(cb.disjunction());
+                }
+            }
+            return allOf(cb, predicates);
+        };
+    }
+
+    /**
+     * Todos los alquileres del panel de administración (RentalService.getRegisteredRentals).
+     *
+     * @param search Texto en email, título, ISBN o autor; UUID de alquiler, usuario o ejemplar; ISBN o email (opcional)
+     * @param userId Filtro por usuario (opcional)
+     * @param rentalStatusId Filtro por estado del alquiler (opcional)
+     */
+    public static Specification<Rental> withFilters(String search, UUID userId, UUID rentalStatusId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(search)) {
+                Predicate exact = exactSearch(root, cb, search);
+                if (exact != null) {
+                    predicates.add(exact);
+                } else {
+                    Join<Rental, User> user = root.join("user", JoinType.LEFT);
+                    Join<Rental, BookCopy> bookCopy = root.join("bookCopy", JoinType.LEFT);
+                    Join<BookCopy, Book> book = bookCopy.join("book", JoinType.LEFT);
+                    predicates.add(cb.or(
+                            containsIgnoreCase(cb, user.get("email"), search),
+                            containsIgnoreCase(cb, book.get("title"), search),
+                            containsIgnoreCase(cb, book.get("isbn"), search),
+                            containsIgnoreCase(cb, book.join("author", JoinType.LEFT).get("fullName"), search)));
+                }
+            }
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("user").get("userId"), userId));
+            }
+            if (rentalStatusId != null) {
+                predicates.add(cb.equal(root.get("rentalStatus").get("rentalStatusId"), rentalStatusId));
+            }
+            return allOf(cb, predicates);
+        };
+    }
+
+    /**
+     * Predicado por igualdad para un UUID, ISBN o email; null si el término es texto libre.
+     * Las columnas FK (UserId, BookCopyId) se comparan sin unir User ni BookCopy.
+     */
+    private static Predicate exactSearch(Root<Rental> root, CriteriaBuilder cb, String search) {
+        return switch (SearchTermUtil.classify(search)) {
+            case UUID -> {
+                UUID id = SearchTermUtil.toUuid(search);
+                yield cb.or(
+                        cb.equal(root.get("rentalId"), id),
+                        cb.equal(root.get("user").get("userId"), id),
+                        cb.equal(root.get("bookCopy").get("bookCopyId"), id));
+            }
+            case ISBN -> root.join("bookCopy").join("book").get("isbn")
+                    .in(SearchTermUtil.toIsbnCandidates(search));
+            case EMAIL -> cb.equal(root.join("user").get("email"), search.trim());
+            case TEXT -> null;
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.biblioteca.app.repository.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.List;
+
+/**
+ * Utilidades comunes de las especificaciones de filtros
+ */
+final class SpecificationSupport {
+
+    private SpecificationSupport() {
+    }
+
+    static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * LOWER(columna) LIKE '%texto%' (mismo criterio que las consultas JPQL anteriores)
+     */
+    static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> column, String search) {
+        return cb.like(cb.lower(column), "%" + search.toLowerCase() + "%");
+    }
+
+    /**
+     * AND de los predicados recibidos; sin predicados no añade WHERE
+     */
+    static Predicate allOf(CriteriaBuilder cb, List<Predicate> predicates) {
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+}
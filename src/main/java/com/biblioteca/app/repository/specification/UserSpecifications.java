@@ -0,0 +1,63 @@
+package com.biblioteca.app.repository.specification;
+
+import static com.biblioteca.app.repository.specification.SpecificationSupport.allOf;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.containsIgnoreCase;
+import static com.biblioteca.app.repository.specification.SpecificationSupport.hasText;
+
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.biblioteca.app.entity.User;
+import com.biblioteca.app.entity.UserRole;
+import com.biblioteca.app.helper.SearchTermUtil;
+
+/**
+ * Filtros del listado de usuarios (UserService.getRegisteredUsers); solo se generan los
+ * predicados de los filtros indicados. Un UUID o un email completos se buscan por igualdad
+ * (clave primaria / índice único de Email).
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * El filtro por rol es un EXISTS sobre UserRole: no multiplica filas, así que no hace falta
+     * el DISTINCT de la consulta anterior (LEFT JOIN u.userRoles)
+     *
+     * @param search Texto en el email, UUID del usuario o email completo (opcional)
+     * @param roleId Filtro por rol (opcional)
+     * @param statusId Filtro por estado (opcional)
+     */
+    public static Specification<User> withFilters(String search, UUID roleId, UUID statusId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(search)) {
+                predicates.add(switch (SearchTermUtil.classify(search)) {
+                    case UUID -> cb.equal(root.get("userId"), SearchTermUtil.toUuid(search));
+                    case EMAIL -> cb.equal(root.get("email"), search.trim());
+                    default -> containsIgnoreCase(cb, root.get("email"), search);
+                });
+            }
+            if (roleId != null) {
+                Subquery<UUID> roles = query.subquery(UUID.class);
+                Root<UserRole> userRole = roles.from(UserRole.class);
+                roles.select(userRole.get("userRoleId"))
+                        .where(cb.equal(userRole.get("user"), root),
+                               cb.equal(userRole.get("role").get("roleId"), roleId));
+                predicates.add(cb.exists(roles));
+            }
+            if (statusId != null) {
+                predicates.add(cb.equal(root.get("status").get("statusId"), statusId));
+            }
+            return allOf(cb, predicates);
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package com.biblioteca.app.service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,9 +21,15 @@ import com.biblioteca.app.dto.author.AuthorDTO;
 import com.biblioteca.app.dto.author.AuthorStatsDTO;
 import com.biblioteca.app.dto.shared.PagedResult;
 import com.biblioteca.app.entity.Author;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
+import com.biblioteca.app.helper.AuthorMapper;
 import com.biblioteca.app.helper.PageMapper;
 import com.biblioteca.app.repository.AuthorRepository;
+import com.biblioteca.app.repository.projection.AuthorCatalogStatsProjection;
 import com.biblioteca.app.repository.projection.AuthorStatsProjection;
+import com.biblioteca.app.repository.specification.AuthorSpecifications;
+import com.biblioteca.app.service.analytics.AuthorRentalTally;
+import com.biblioteca.app.service.analytics.RentalAnalyticsEngine;
 
 /**
  * Servicio para la gestión de autores.
@@ -33,6 +42,18 @@ public class AuthorService {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private ReferenceDataVersionService referenceDataVersionService;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private RentalArchiveService rentalArchiveService;
+
+    @Autowired
+    private RentalAnalyticsEngine rentalAnalyticsEngine;
+
     /**
      * Búsqueda paginada de autores con filtros.
      * Retorna PagedResult con DTOs para optimizar transferencia.
@@ -50,11 +71,11 @@ public class AuthorService {
         
         Pageable pageable = PageRequest.of(springPage, size, Sort.by("fullName").ascending());
         
-        Page<Author> springPageResult = authorRepository.findAllWithFilters(
-            search, countryId, statusId, pageable
+        Page<Author> springPageResult = authorRepository.findAll(
+            AuthorSpecifications.withFilters(search, countryId, statusId), pageable
         );
         
-        return PageMapper.toPagedResult(springPageResult, page, this::toDTO);
+        return PageMapper.toPagedResult(springPageResult, page, AuthorMapper::toDTO);
     }
 
     /**
@@ -74,7 +95,7 @@ public class AuthorService {
      * @return Optional con AuthorDTO si existe
      */
     public Optional<AuthorDTO> findDTOById(UUID authorId) {
-        return authorRepository.findById(authorId).map(this::toDTO);
+        return authorRepository.findById(authorId).map(AuthorMapper::toDTO);
     }
 
     /**
@@ -106,7 +127,7 @@ public class AuthorService {
     public List<AuthorDTO> findAllForSelector() {
         return authorRepository.findAllByOrderByFullNameAsc()
             .stream()
-            .map(this::toDTO)
+            .map(AuthorMapper::toDTO)
             .collect(Collectors.toList());
     }
 
@@ -119,7 +140,7 @@ public class AuthorService {
     public List<AuthorDTO> findByCountry(UUID countryId) {
         return authorRepository.findByCountry_CountryIdOrderByFullNameAsc(countryId)
             .stream()
-            .map(this::toDTO)
+            .map(AuthorMapper::toDTO)
             .collect(Collectors.toList());
     }
 
@@ -132,7 +153,7 @@ public class AuthorService {
     public List<AuthorDTO> findByStatus(UUID statusId) {
         return authorRepository.findByStatus_StatusIdOrderByFullNameAsc(statusId)
             .stream()
-            .map(this::toDTO)
+            .map(AuthorMapper::toDTO)
             .collect(Collectors.toList());
     }
 
@@ -144,7 +165,10 @@ public class AuthorService {
      */
     @Transactional
     public Author save(Author author) {
-        return authorRepository.save(author);
+        Author saved = authorRepository.save(author);
+        referenceDataVersionService.invalidate(ReferenceDataType.AUTHOR);
+        catalogVersionService.markCatalogChanged();
+        return saved;
     }
 
     /**
@@ -155,6 +179,8 @@ public class AuthorService {
     @Transactional
     public void delete(UUID authorId) {
         authorRepository.deleteById(authorId);
+        referenceDataVersionService.invalidate(ReferenceDataType.AUTHOR);
+        catalogVersionService.markCatalogChanged();
     }
 
     /**
@@ -186,7 +212,7 @@ public class AuthorService {
      * @return Total de autores que coinciden con los filtros
      */
     public long countWithFilters(String search, UUID countryId, UUID statusId) {
-        return authorRepository.countWithFilters(search, countryId, statusId);
+        return authorRepository.count(AuthorSpecifications.withFilters(search, countryId, statusId));
     }
 
     /**
@@ -207,15 +233,57 @@ public class AuthorService {
      * @return Lista de AuthorStatsDTOs
      */
     public List<AuthorStatsDTO> getMostRequestedAuthors(UUID countryId, UUID statusId, int limit) {
+        if (rentalAnalyticsEngine.isReady()) {
+            return getMostRequestedAuthorsFromEngine(countryId, statusId, limit);
+        }
+
         String countryIdStr = countryId != null ? countryId.toString() : null;
         String statusIdStr = statusId != null ? statusId.toString() : null;
         
-        List<AuthorStatsProjection> projections = authorRepository.getMostRequestedAuthors(
-            countryIdStr, statusIdStr, limit
-        );
+        List<AuthorStatsProjection> projections = rentalArchiveService.hasArchivedRentals()
+            ? authorRepository.getMostRequestedAuthorsWithArchive(countryIdStr, statusIdStr, limit)
+            : authorRepository.getMostRequestedAuthors(countryIdStr, statusIdStr, limit);
         
         return projections.stream()
-            .map(this::toStatsDTO)
+            .map(AuthorMapper::toStatsDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Igual que getMostRequestedAuthors con los alquileres del motor en memoria: el catálogo
+     * (libros, ejemplares) se lee solo para los autores candidatos y el desempate por nombre
+     * se hace aquí.
+     */
+    private List<AuthorStatsDTO> getMostRequestedAuthorsFromEngine(UUID countryId, UUID statusId, int limit) {
+        List<AuthorRentalTally> candidates = rentalAnalyticsEngine.topAuthors(countryId, statusId, limit);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, AuthorCatalogStatsProjection> catalog = authorRepository
+            .findCatalogStats(candidates.stream().map(AuthorRentalTally::getAuthorId).toList())
+            .stream()
+            .collect(Collectors.toMap(AuthorCatalogStatsProjection::getAuthorId, Function.identity()));
+
+        return candidates.stream()
+            .filter(tally -> catalog.containsKey(tally.getAuthorId()))
+            .map(tally -> {
+                AuthorCatalogStatsProjection author = catalog.get(tally.getAuthorId());
+                return new AuthorStatsDTO(
+                    tally.getAuthorId().toString(),
+                    author.getFullName(),
+                    author.getPseudonym(),
+                    author.getPhotoUrl(),
+                    author.getCountryName(),
+                    author.getTotalBooks().intValue(),
+                    author.getTotalCopies().intValue(),
+                    author.getAvailableCopies().intValue(),
+                    tally.getTotalRentals()
+                );
+            })
+            .sorted(Comparator.comparing(AuthorStatsDTO::getTotalRentals).reversed()
+                .thenComparing(AuthorStatsDTO::getFullName, String.CASE_INSENSITIVE_ORDER))
+            .limit(limit)
             .collect(Collectors.toList());
     }
 
@@ -225,7 +293,9 @@ public class AuthorService {
      * @return Cantidad de autores con alquileres
      */
     public long countAuthorsWithRentals() {
-        return authorRepository.countAuthorsWithRentals();
+        return rentalArchiveService.hasArchivedRentals()
+            ? authorRepository.countAuthorsWithRentalsWithArchive()
+            : authorRepository.countAuthorsWithRentals();
     }
 
     /**
@@ -234,7 +304,7 @@ public class AuthorService {
      * @return Total de alquileres
      */
     public long getTotalAuthorsRentals() {
-        return authorRepository.getTotalAuthorsRentals();
+        return authorRepository.getTotalAuthorsRentals() + rentalArchiveService.countArchived();
     }
 
     /**
@@ -249,49 +319,4 @@ public class AuthorService {
     public List<AuthorActiveDTO> getActiveAuthors() {
         return authorRepository.findActiveAuthors();
     }
-
-    // ========== MÉTODOS PRIVADOS DE CONVERSIÓN ==========
-
-    /**
-     * Convierte una entidad Author a AuthorDTO.
-     * 
-     * @param author Entidad autor
-     * @return AuthorDTO
-     */
-    private AuthorDTO toDTO(Author author) {
-        AuthorDTO dto = new AuthorDTO();
-        dto.setAuthorId(author.getAuthorId().toString());
-        dto.setFullName(author.getFullName());
-        dto.setPseudonym(author.getPseudonym());
-        dto.setCountryName(author.getCountry().getCountryName());
-        dto.setCountryCode(author.getCountry().getCountryCode());
-        dto.setStatusName(author.getStatus().getStatusName());
-        dto.setBirthYear(author.getBirthYear());
-        dto.setDeathYear(author.getDeathYear());
-        dto.setPhotoUrl(author.getPhotoUrl());
-        dto.setEmail(author.getEmail());
-        dto.setWebsite(author.getWebsite());
-        dto.setBiography(author.getBiography());
-        return dto;
-    }
-
-    /**
-     * Convierte una proyección de estadísticas a AuthorStatsDTO.
-     * 
-     * @param projection Proyección de estadísticas
-     * @return AuthorStatsDTO
-     */
-    private AuthorStatsDTO toStatsDTO(AuthorStatsProjection projection) {
-        return new AuthorStatsDTO(
-            projection.getAuthorId(),
-            projection.getFullName(),
-            projection.getPseudonym(),
-            projection.getPhotoUrl(),
-            projection.getCountryName(),
-            projection.getTotalBooks(),
-            projection.getTotalCopies(),
-            projection.getAvailableCopies(),
-            projection.getTotalRentals()
-        );
-    }
-}
\ No newline at end of file
+}
@@ -37,6 +37,12 @@ public class BookCopyService {
     @Autowired
     private BookCopyStatusService bookCopyStatusService;
 
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
     /**
      * Obtiene un ejemplar por ID (String)
      */
@@ -150,6 +156,8 @@ public class BookCopyService {
      */
     @Transactional
     public BookCopy save(BookCopy bookCopy) {
+        dashboardStreamService.markChanged();
+        catalogVersionService.markCatalogChanged();
         return bookCopyRepository.save(bookCopy);
     }
 
@@ -160,6 +168,8 @@ public class BookCopyService {
     public void update(BookCopy bookCopy) {
         bookCopy.setUpdatedAt(LocalDateTime.now());
         bookCopyRepository.save(bookCopy);
+        dashboardStreamService.markChanged();
+        catalogVersionService.markCatalogChanged();
     }
 
     /**
@@ -186,6 +196,8 @@ public class BookCopyService {
             bookCopy.setUpdatedAt(LocalDateTime.now());
             bookCopyRepository.save(bookCopy);
         }
+        dashboardStreamService.markChanged();
+        catalogVersionService.markCatalogChanged();
     }
 
     /**
@@ -206,9 +218,10 @@ public class BookCopyService {
                 if (bookCopyOpt.isPresent()) {
                     BookCopy bookCopy = bookCopyOpt.get();
                     
-                    // No actualizar si está alquilado
+                    // No actualizar si está alquilado o apartado para una reserva
                     boolean isRented = bookCopy.getBookCopyStatus() != null &&
-                            "Alquilado".equals(bookCopy.getBookCopyStatus().getBookCopyStatusName());
+                            ("Alquilado".equals(bookCopy.getBookCopyStatus().getBookCopyStatusName())
+                            || "Reservado".equals(bookCopy.getBookCopyStatus().getBookCopyStatusName()));
                     
                     if (!isRented) {
                         bookCopy.setBookCopyStatus(newStatus);
@@ -221,6 +234,8 @@ public class BookCopyService {
                 continue;
             }
         }
+        dashboardStreamService.markChanged();
+        catalogVersionService.markCatalogChanged();
     }
 
     /**
@@ -231,6 +246,8 @@ public class BookCopyService {
         try {
             UUID uuid = UUID.fromString(bookCopyId);
             bookCopyRepository.deleteById(uuid);
+            dashboardStreamService.markChanged();
+            catalogVersionService.markCatalogChanged();
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("ID de ejemplar inválido");
         }
@@ -242,6 +259,8 @@ public class BookCopyService {
     @Transactional
     public void delete(UUID bookCopyId) {
         bookCopyRepository.deleteById(bookCopyId);
+        dashboardStreamService.markChanged();
+        catalogVersionService.markCatalogChanged();
     }
 
     /**
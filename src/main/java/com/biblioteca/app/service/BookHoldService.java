@@ -0,0 +1,352 @@
+package com.biblioteca.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.dto.notification.NotificationMessage;
+import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.entity.BookCopy;
+import com.biblioteca.app.entity.BookCopyStatus;
+import com.biblioteca.app.entity.BookHold;
+import com.biblioteca.app.entity.User;
+import com.biblioteca.app.entity.enums.HoldStatus;
+import com.biblioteca.app.entity.enums.NotificationType;
+import com.biblioteca.app.helper.ReadYourWritesUtil;
+import com.biblioteca.app.repository.BookCopyRepository;
+import com.biblioteca.app.repository.BookHoldRepository;
+import com.biblioteca.app.repository.BookRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cola de reservas por libro (FIFO).
+ *
+ * Un lector reserva un libro sin ejemplares disponibles. Cuando RentalService libera un
+ * ejemplar (devolución o cancelación) llama a releaseCopy en la misma transacción: el ejemplar
+ * pasa a 'Reservado' para la reserva en espera más antigua, que queda lista (READY) hasta
+ * ExpiresAt. El lector recibe un aviso y recoge el ejemplar con RentalService.createRentalFromHold,
+ * sin volver a consultar el catálogo. Un barrido periódico vence las reservas no recogidas y
+ * pasa su ejemplar al siguiente de la cola.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookHoldService.class);
+
+    private static final Set<HoldStatus> ACTIVE_STATUSES = EnumSet.of(HoldStatus.WAITING, HoldStatus.READY);
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final BookHoldRepository bookHoldRepository;
+    private final BookRepository bookRepository;
+    private final BookCopyRepository bookCopyRepository;
+    private final BookCopyStatusService bookCopyStatusService;
+    private final NotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final Duration pickupWindow;
+    private final int sweepBatchSize;
+
+    private final Counter placedCounter;
+    private final Counter assignedCounter;
+    private final Counter expiredCounter;
+
+    public BookHoldService(BookHoldRepository bookHoldRepository,
+                           BookRepository bookRepository,
+                           BookCopyRepository bookCopyRepository,
+                           BookCopyStatusService bookCopyStatusService,
+                           NotificationSender notificationSender,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${biblioteca.hold.enabled:true}") boolean enabled,
+                           @Value("${biblioteca.hold.pickup-window:PT48H}") Duration pickupWindow,
+                           @Value("${biblioteca.hold.sweep-batch-size:200}") int sweepBatchSize) {
+        this.bookHoldRepository = bookHoldRepository;
+        this.bookRepository = bookRepository;
+        this.bookCopyRepository = bookCopyRepository;
+        this.bookCopyStatusService = bookCopyStatusService;
+        this.notificationSender = notificationSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.pickupWindow = pickupWindow;
+        this.sweepBatchSize = sweepBatchSize;
+
+        this.placedCounter = Counter.builder("biblioteca.hold.placed")
+                .description("Reservas creadas")
+                .register(meterRegistry);
+        this.assignedCounter = Counter.builder("biblioteca.hold.assigned")
+                .description("Ejemplares asignados a una reserva en espera")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("biblioteca.hold.expired")
+                .description("Reservas listas vencidas sin recoger")
+                .register(meterRegistry);
+    }
+
+    // ====== RESERVAS DEL USUARIO ======
+
+    /**
+     * Pone al usuario en la cola del libro
+     *
+     * @throws IllegalStateException si hay ejemplares disponibles o ya tiene una reserva activa
+     */
+    @Transactional
+    public BookHold placeHold(User user, UUID bookId) {
+        Book book = bookRepository.findById(bookId)
+            .orElseThrow(() -> new IllegalArgumentException("Libro no encontrado"));
+
+        if (bookCopyRepository.countAvailableCopiesByBookId(bookId) > 0) {
+            throw new IllegalStateException("El libro tiene ejemplares disponibles, puedes alquilarlo directamente");
+        }
+        if (bookHoldRepository.existsByBook_BookIdAndUser_UserIdAndHoldStatusIn(bookId, user.getUserId(), ACTIVE_STATUSES)) {
+            throw new IllegalStateException("Ya tienes una reserva activa para este libro");
+        }
+
+        BookHold hold = new BookHold();
+        hold.setBook(book);
+        hold.setUser(user);
+        hold.setHoldStatus(HoldStatus.WAITING);
+        hold.setRequestedAt(LocalDateTime.now());
+        try {
+            // UX_BookHold_Active (016): dos peticiones simultáneas pasan la comprobación anterior
+            hold = bookHoldRepository.saveAndFlush(hold);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Ya tienes una reserva activa para este libro");
+        }
+        placedCounter.increment();
+
+        ReadYourWritesUtil.markWrite();
+        return hold;
+    }
+
+    /**
+     * Cancela una reserva del usuario; si estaba lista su ejemplar pasa al siguiente de la cola
+     */
+    @Transactional
+    public void cancelHold(User user, UUID holdId) {
+        BookHold hold = findOwnHold(user, holdId);
+        if (!ACTIVE_STATUSES.contains(hold.getHoldStatus())) {
+            throw new IllegalStateException("La reserva ya está cerrada");
+        }
+
+        BookCopy copy = hold.getHoldStatus() == HoldStatus.READY ? hold.getBookCopy() : null;
+        close(hold, HoldStatus.CANCELLED);
+        if (copy != null) {
+            releaseCopy(copy);
+        }
+
+        ReadYourWritesUtil.markWrite();
+    }
+
+    /**
+     * Reservas en espera y listas del usuario, por antigüedad
+     */
+    public List<BookHold> getActiveHolds(UUID userId) {
+        return bookHoldRepository.findByUserAndStatuses(userId, ACTIVE_STATUSES);
+    }
+
+    /**
+     * Posición en la cola de una reserva en espera (1 = la siguiente); 0 si no está en espera
+     */
+    public long getQueuePosition(BookHold hold) {
+        if (hold.getHoldStatus() != HoldStatus.WAITING) {
+            return 0;
+        }
+        return bookHoldRepository.countWaitingBefore(hold.getBook().getBookId(), hold.getRequestedAt()) + 1;
+    }
+
+    public long countWaiting(UUID bookId) {
+        return bookHoldRepository.countByBook_BookIdAndHoldStatus(bookId, HoldStatus.WAITING);
+    }
+
+    public boolean hasActiveHold(UUID userId, UUID bookId) {
+        return bookHoldRepository.existsByBook_BookIdAndUser_UserIdAndHoldStatusIn(bookId, userId, ACTIVE_STATUSES);
+    }
+
+    /**
+     * Cierra una reserva lista al recogerla y devuelve su ejemplar (sigue 'Reservado';
+     * el alquiler lo pasa a 'Alquilado'). Lo usa RentalService.createRentalFromHold.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BookCopy fulfill(User user, UUID holdId) {
+        BookHold hold = findOwnHold(user, holdId);
+        if (hold.getHoldStatus() != HoldStatus.READY) {
+            throw new IllegalStateException("La reserva no tiene un ejemplar listo para recoger");
+        }
+        if (hold.getExpiresAt() != null && hold.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("El plazo para recoger la reserva ha vencido");
+        }
+
+        BookCopy copy = hold.getBookCopy();
+        close(hold, HoldStatus.FULFILLED);
+        return copy;
+    }
+
+    // ====== ENTREGA DE EJEMPLARES ======
+
+    /**
+     * Libera un ejemplar dentro de la transacción que lo devuelve o cancela: lo aparta para
+     * la reserva en espera más antigua del libro o, si no hay cola, lo deja 'Disponible'.
+     *
+     * @return true si el ejemplar se asignó a una reserva
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean releaseCopy(BookCopy copy) {
+        List<BookHold> next = bookHoldRepository.lockNextWaiting(copy.getBook().getBookId(), PageRequest.of(0, 1));
+        if (next.isEmpty()) {
+            copy.setBookCopyStatus(findStatus("Disponible"));
+            bookCopyRepository.save(copy);
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BookHold hold = next.get(0);
+        hold.setHoldStatus(HoldStatus.READY);
+        hold.setBookCopy(copy);
+        hold.setReadyAt(now);
+        hold.setExpiresAt(now.plus(pickupWindow));
+        bookHoldRepository.save(hold);
+
+        copy.setBookCopyStatus(findStatus("Reservado"));
+        bookCopyRepository.save(copy);
+
+        assignedCounter.increment();
+        notifyReadyAfterCommit(hold);
+        return true;
+    }
+
+    // ====== BARRIDO (JOB) ======
+
+    /**
+     * Pasada programada; el intervalo se configura con biblioteca.hold.sweep-interval
+     */
+    @Scheduled(initialDelayString = "${biblioteca.hold.initial-delay:PT1M}",
+               fixedDelayString = "${biblioteca.hold.sweep-interval:PT5M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledSweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Error en el barrido de reservas", e);
+        }
+    }
+
+    /**
+     * Vence las reservas listas no recogidas (su ejemplar pasa al siguiente de la cola) y
+     * asigna los ejemplares disponibles de libros con lectores en espera. Un lote por transacción.
+     *
+     * @return Número de reservas vencidas
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int sweep() {
+        int expired = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> expireBatch());
+            expired += batch;
+        } while (batch == sweepBatchSize);
+
+        List<UUID> books = bookHoldRepository.findWaitingBooksWithAvailableCopies(PageRequest.of(0, sweepBatchSize));
+        for (UUID bookId : books) {
+            transactionTemplate.executeWithoutResult(status -> assignAvailableCopies(bookId));
+        }
+
+        if (expired > 0 || !books.isEmpty()) {
+            log.info("Barrido de reservas: {} vencidas, {} libros con cola atendidos", expired, books.size());
+        }
+        return expired;
+    }
+
+    private int expireBatch() {
+        List<BookHold> holds = bookHoldRepository.lockExpiredReady(LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+        for (BookHold hold : holds) {
+            BookCopy copy = hold.getBookCopy();
+            close(hold, HoldStatus.EXPIRED);
+            releaseCopy(copy);
+        }
+        expiredCounter.increment(holds.size());
+        return holds.size();
+    }
+
+    /**
+     * Los ejemplares se bloquean con SKIP LOCKED: un alquiler o una devolución en curso del
+     * mismo ejemplar no se pisa con la asignación, y ese ejemplar queda para la siguiente pasada
+     */
+    private void assignAvailableCopies(UUID bookId) {
+        UUID availableId = findStatus("Disponible").getBookCopyStatusId();
+        List<BookCopy> copies = bookCopyRepository.lockByBookAndStatus(bookId, availableId,
+                PageRequest.of(0, sweepBatchSize));
+        for (BookCopy copy : copies) {
+            if (!releaseCopy(copy)) {
+                break;
+            }
+        }
+    }
+
+    // ====== AUXILIARES ======
+
+    private BookHold findOwnHold(User user, UUID holdId) {
+        BookHold hold = bookHoldRepository.findById(holdId)
+            .orElseThrow(() -> new IllegalArgumentException("Reserva no encontrada"));
+        if (!hold.getUser().getUserId().equals(user.getUserId())) {
+            throw new IllegalArgumentException("Reserva no encontrada");
+        }
+        return hold;
+    }
+
+    private void close(BookHold hold, HoldStatus status) {
+        hold.setHoldStatus(status);
+        hold.setClosedAt(LocalDateTime.now());
+        bookHoldRepository.save(hold);
+    }
+
+    private BookCopyStatus findStatus(String name) {
+        return bookCopyStatusService.findByName(name)
+            .orElseThrow(() -> new RuntimeException("Estado '" + name + "' no encontrado"));
+    }
+
+    /**
+     * Avisa al lector tras el commit; un fallo del envío no deshace la asignación
+     */
+    private void notifyReadyAfterCommit(BookHold hold) {
+        NotificationMessage message = new NotificationMessage(NotificationType.HOLD_READY, null,
+                hold.getUser().getEmail(),
+                "Tu reserva está lista",
+                "El libro «" + hold.getBook().getTitle() + "» te espera hasta el "
+                        + hold.getExpiresAt().format(DATE_TIME_FORMAT) + ". Recógelo desde Mis Reservas.");
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    notificationSender.send(List.of(message));
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo avisar de la reserva {}: {}", hold.getHoldId(), e.toString());
+                }
+            }
+        });
+    }
+}
@@ -13,9 +13,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.biblioteca.app.dto.BookActiveDTO;
 import com.biblioteca.app.dto.shared.PagedResult;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.entity.Book;
 import com.biblioteca.app.helper.PageMapper;
+import com.biblioteca.app.helper.SearchTermUtil;
 import com.biblioteca.app.repository.BookRepository;
+import com.biblioteca.app.repository.specification.BookSpecifications;
+import com.biblioteca.app.service.metrics.BusinessMetrics;
 
 /**
  * Servicio para la gestión de libros
@@ -25,10 +29,15 @@ import com.biblioteca.app.repository.BookRepository;
 public class BookService {
 
     private final BookRepository bookRepository;
+    private final BusinessMetrics businessMetrics;
+    private final CatalogVersionService catalogVersionService;
 
     // ✅ Solo una forma de inyección (constructor): más limpio y testeable
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, BusinessMetrics businessMetrics,
+                       CatalogVersionService catalogVersionService) {
         this.bookRepository = bookRepository;
+        this.businessMetrics = businessMetrics;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
@@ -48,9 +57,10 @@ public class BookService {
         int springPage = PageMapper.toSpringPageNumber(page);
         Pageable pageable = PageRequest.of(springPage, size, Sort.by("title").ascending());
 
-        Page<Book> springPageResult = bookRepository.findAllWithFilters(
-                search, authorId, categoryId, bookStatusId, pageable
-        );
+        Page<Book> springPageResult = businessMetrics.timeSearch("admin_books",
+                () -> bookRepository.findAll(
+                        BookSpecifications.withFilters(search, authorId, categoryId, bookStatusId), pageable),
+                Page::getTotalElements);
 
         return PageMapper.toPagedResult(springPageResult, page);
     }
@@ -102,7 +112,9 @@ public class BookService {
      */
     @Transactional
     public Book save(Book book) {
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        catalogVersionService.markCatalogChanged();
+        return saved;
     }
 
     /**
@@ -111,6 +123,7 @@ public class BookService {
     @Transactional
     public void delete(UUID bookId) {
         bookRepository.deleteById(bookId);
+        catalogVersionService.markCatalogChanged();
     }
 
     /**
@@ -138,7 +151,7 @@ public class BookService {
      * Cuenta libros con filtros
      */
     public long countWithFilters(String search, UUID authorId, UUID categoryId, UUID bookStatusId) {
-        return bookRepository.countWithFilters(search, authorId, categoryId, bookStatusId);
+        return bookRepository.count(BookSpecifications.withFilters(search, authorId, categoryId, bookStatusId));
     }
 
     /**
@@ -176,13 +189,15 @@ public class BookService {
      * Nota: implementación temporal.
      */
     public Page<Book> findAvailableBooks(String search, UUID categoryId, Pageable pageable) {
-        if (categoryId != null) {
-            return bookRepository.findByCategory_CategoryId(categoryId, pageable);
-        }
-        if (search != null && !search.isEmpty()) {
-            return bookRepository.findByTitleContainingIgnoreCase(search, pageable);
-        }
-        return bookRepository.findAll(pageable);
+        return businessMetrics.timeSearch("catalog", () -> {
+            if (categoryId != null) {
+                return bookRepository.findByCategory_CategoryId(categoryId, pageable);
+            }
+            if (search != null && !search.isEmpty()) {
+                return bookRepository.findByTitleContainingIgnoreCase(search, pageable);
+            }
+            return bookRepository.findAll(pageable);
+        }, Page::getTotalElements);
     }
 
     /**
@@ -192,4 +207,45 @@ public class BookService {
     public long countAvailableCopies(UUID bookId) {
         return 5; // Placeholder
     }
+
+    // ====== TYPEAHEAD ======
+
+    /**
+     * Busca libros por prefijo de título o ISBN para selectores con autocompletado.
+     *
+     * @param term Texto escrito por el usuario
+     * @return Como máximo 20 opciones (vacío si el término es demasiado corto)
+     */
+    public List<SelectOption> searchOptions(String term) {
+        String prefix = SearchTermUtil.toLikePrefix(term);
+        if (prefix == null) {
+            return List.of();
+        }
+        return businessMetrics.timeSearch("typeahead",
+                () -> bookRepository.findOptionsByPrefix(prefix, PageRequest.of(0, SearchTermUtil.TYPEAHEAD_LIMIT)),
+                List::size);
+    }
+
+    /**
+     * Busca libros con ejemplares disponibles por prefijo de título o ISBN.
+     *
+     * @param term Texto escrito por el usuario
+     * @return Como máximo 20 opciones (vacío si el término es demasiado corto)
+     */
+    public List<SelectOption> searchAvailableOptions(String term) {
+        String prefix = SearchTermUtil.toLikePrefix(term);
+        if (prefix == null) {
+            return List.of();
+        }
+        return businessMetrics.timeSearch("typeahead_available",
+                () -> bookRepository.findAvailableOptionsByPrefix(prefix, PageRequest.of(0, SearchTermUtil.TYPEAHEAD_LIMIT)),
+                List::size);
+    }
+
+    /**
+     * Obtiene un libro como opción de selector (para mostrar el valor ya seleccionado)
+     */
+    public Optional<SelectOption> findOptionById(UUID bookId) {
+        return bookRepository.findOptionById(bookId);
+    }
 }
@@ -0,0 +1,120 @@
+package com.biblioteca.app.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.app.dto.shared.VersionStamp;
+import com.biblioteca.app.entity.DataVersion;
+import com.biblioteca.app.repository.BookRepository;
+import com.biblioteca.app.repository.DataVersionRepository;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.repository.projection.BookVersionProjection;
+import com.biblioteca.app.repository.projection.CatalogVersionProjection;
+
+/**
+ * Servicio que calcula marcas de versión baratas para el catálogo.
+ * Se usan para responder 304 Not Modified sin consultar datos ni renderizar plantillas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogVersionService {
+
+    /**
+     * Fila de DataVersion del catálogo (db/014-data-version.sql)
+     */
+    static final String CATALOG = "CATALOG";
+
+    private final BookRepository bookRepository;
+    private final RentalRepository rentalRepository;
+    private final DataVersionRepository dataVersionRepository;
+
+    public CatalogVersionService(BookRepository bookRepository, RentalRepository rentalRepository,
+                                 DataVersionRepository dataVersionRepository) {
+        this.bookRepository = bookRepository;
+        this.rentalRepository = rentalRepository;
+        this.dataVersionRepository = dataVersionRepository;
+    }
+
+    /**
+     * Versión del catálogo completo (libros, ejemplares, autores y categorías).
+     * El contador detecta también las eliminaciones, que no dejan UpdatedAt.
+     */
+    public VersionStamp getCatalogVersion() {
+        CatalogVersionProjection version = bookRepository.getCatalogVersion();
+
+        LocalDateTime lastModified = latest(version.getCatalogUpdatedAt(), version.getCopiesUpdatedAt());
+
+        String tag = "c" + Objects.hash(
+                version.getCatalogVersion(), version.getCatalogUpdatedAt(), version.getCopiesUpdatedAt());
+
+        return new VersionStamp(tag, toEpochMillis(lastModified));
+    }
+
+    /**
+     * Incrementa la versión del catálogo en la transacción de la escritura: se confirma
+     * o se deshace con ella y todos los nodos la ven a la vez que los datos.
+     * Crea la fila si falta (esquemas generados por Hibernate, sin db/014).
+     */
+    @Transactional
+    public void markCatalogChanged() {
+        LocalDateTime now = LocalDateTime.now();
+        if (dataVersionRepository.increment(CATALOG, now) == 0) {
+            dataVersionRepository.save(new DataVersion(CATALOG, 1, now));
+        }
+    }
+
+    /**
+     * Versión de un libro, su autor y sus ejemplares.
+     *
+     * @param bookId UUID del libro
+     * @return VersionStamp o null si el libro no existe
+     */
+    public VersionStamp getBookVersion(UUID bookId) {
+        return bookRepository.getBookVersion(bookId.toString())
+                .map(this::toStamp)
+                .orElse(null);
+    }
+
+    /**
+     * Versión de los alquileres.
+     * Incluye la fecha actual porque los listados calculan días para vencer.
+     */
+    public VersionStamp getRentalVersion() {
+        LocalDateTime lastModified = rentalRepository.findLastUpdatedAt();
+        String tag = "r" + Objects.hash(lastModified, LocalDate.now());
+        return new VersionStamp(tag, toEpochMillis(lastModified));
+    }
+
+    private VersionStamp toStamp(BookVersionProjection version) {
+        LocalDateTime lastModified = latest(
+                version.getBookUpdatedAt(),
+                version.getAuthorUpdatedAt(),
+                version.getCopiesUpdatedAt());
+
+        String tag = "b" + Objects.hash(
+                version.getBookUpdatedAt(), version.getAuthorUpdatedAt(),
+                version.getCopiesUpdatedAt(), version.getCopyCount());
+
+        return new VersionStamp(tag, toEpochMillis(lastModified));
+    }
+
+    private static LocalDateTime latest(LocalDateTime... values) {
+        LocalDateTime result = null;
+        for (LocalDateTime value : values) {
+            if (value != null && (result == null || value.isAfter(result))) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value != null ? value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
@@ -1,6 +1,7 @@
 package com.biblioteca.app.service;
 
 import com.biblioteca.app.entity.Category;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
 import com.biblioteca.app.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,12 @@ public class CategoryService {
     
     @Autowired
     private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReferenceDataVersionService referenceDataVersionService;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
     
     /**
      * Obtiene todas las categorías.
@@ -68,7 +75,10 @@ public class CategoryService {
      */
     @Transactional
     public Category save(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        referenceDataVersionService.invalidate(ReferenceDataType.CATEGORY);
+        catalogVersionService.markCatalogChanged();
+        return saved;
     }
     
     /**
@@ -79,6 +89,8 @@ public class CategoryService {
     @Transactional
     public void delete(UUID categoryId) {
         categoryRepository.deleteById(categoryId);
+        referenceDataVersionService.invalidate(ReferenceDataType.CATEGORY);
+        catalogVersionService.markCatalogChanged();
     }
     
     /**
@@ -6,6 +6,7 @@ import com.biblioteca.app.repository.ConfigurationRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -163,6 +164,24 @@ public class ConfigurationService {
         }
     }
     
+    /**
+     * Obtiene un valor decimal exacto de configuración con valor por defecto.
+     * Usar para importes (tarifas, penalidades) en lugar de getDecimalValue.
+     *
+     * @param configKey La clave de configuración
+     * @param defaultValue El valor por defecto si no se encuentra o hay error
+     * @return El valor decimal de la configuración
+     */
+    public BigDecimal getBigDecimalValue(String configKey, BigDecimal defaultValue) {
+        try {
+            return configurationRepository.findByConfigKey(configKey)
+                    .map(config -> new BigDecimal(config.getConfigValue().trim()))
+                    .orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+    
     /**
      * Verifica si existe una configuración con la clave dada.
      *
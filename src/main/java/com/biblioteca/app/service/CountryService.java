@@ -1,6 +1,7 @@
 package com.biblioteca.app.service;
 
 import com.biblioteca.app.entity.Country;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
 import com.biblioteca.app.repository.CountryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
@@ -21,6 +22,9 @@ public class CountryService {
     
     @Autowired
     private CountryRepository countryRepository;
+
+    @Autowired
+    private ReferenceDataVersionService referenceDataVersionService;
     
     /**
      * Obtiene todos los países ordenados por nombre.
@@ -89,7 +93,9 @@ public class CountryService {
      */
     @Transactional
     public Country save(Country country) {
-        return countryRepository.save(country);
+        Country saved = countryRepository.save(country);
+        referenceDataVersionService.invalidate(ReferenceDataType.COUNTRY);
+        return saved;
     }
     
     /**
@@ -100,6 +106,7 @@ public class CountryService {
     @Transactional
     public void delete(UUID countryId) {
         countryRepository.deleteById(countryId);
+        referenceDataVersionService.invalidate(ReferenceDataType.COUNTRY);
     }
     
     /**
@@ -0,0 +1,270 @@
+package com.biblioteca.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.biblioteca.app.dto.dashboard.DashboardCountersDTO;
+import com.biblioteca.app.dto.dashboard.DashboardRecentRentalDTO;
+import com.biblioteca.app.repository.BookCopyRepository;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.service.stream.SseBroadcaster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Contadores en vivo de /admin/dashboard y /admin/libros-alquiler por Server-Sent Events.
+ *
+ * RentalService y BookCopyService llaman a markChanged() al cambiar alquileres o ejemplares;
+ * tras el commit solo se marca el estado como pendiente. Una pasada programada
+ * (biblioteca.dashboard-stream.publish-interval) recalcula los contadores una sola vez, sin
+ * importar cuántos cambios o navegadores haya, y difunde a todos solo los que cambiaron
+ * (evento "delta" con valor y diferencia). Al conectarse, un navegador recibe el estado
+ * completo (evento "snapshot").
+ *
+ * "Por vencer" y "vencidos" también cambian con el paso del tiempo y con el job de
+ * penalidades, sin pasar por estos servicios: por eso se recalcula además cada
+ * refresh-interval mientras haya alguien conectado. Sin suscriptores no se consulta nada.
+ *
+ * Con réplicas de lectura, el recálculo provocado por un cambio lee del primario: una réplica
+ * con retraso devolvería los contadores anteriores al commit y el cambio no llegaría a los
+ * navegadores hasta el siguiente refresh-interval. El resto de recálculos pueden ir a réplica.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private static final int RECENT_RENTALS = 10;
+    private static final DateTimeFormatter RENTAL_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final RentalRepository rentalRepository;
+    private final BookCopyRepository bookCopyRepository;
+    private final ConfigurationService configurationService;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final SseBroadcaster broadcaster;
+
+    private final boolean enabled;
+    private final long refreshIntervalNanos;
+
+    private final AtomicBoolean changed = new AtomicBoolean();
+
+    /**
+     * Último estado calculado y su evento "snapshot"; null sin suscriptores
+     */
+    private volatile DashboardCountersDTO current;
+    private volatile Set<DataWithMediaType> currentSnapshotEvent;
+    private long lastRefreshNanos;
+
+    // ====== MÉTRICAS ======
+
+    private final Counter deltaCounter;
+    private final Counter failedRunsCounter;
+    private final Timer refreshTimer;
+
+    public DashboardStreamService(RentalRepository rentalRepository,
+                                  BookCopyRepository bookCopyRepository,
+                                  ConfigurationService configurationService,
+                                  JsonMapper jsonMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${biblioteca.dashboard-stream.enabled:true}") boolean enabled,
+                                  @Value("${biblioteca.dashboard-stream.refresh-interval:PT1M}") Duration refreshInterval,
+                                  @Value("${biblioteca.dashboard-stream.emitter-timeout:PT30M}") Duration emitterTimeout,
+                                  @Value("${biblioteca.dashboard-stream.max-queued-events:16}") int maxQueuedEvents,
+                                  @Value("${biblioteca.dashboard-stream.max-overflows:3}") int maxOverflows,
+                                  @Value("${biblioteca.dashboard-stream.sender-threads:2}") int senderThreads) {
+        this.rentalRepository = rentalRepository;
+        this.bookCopyRepository = bookCopyRepository;
+        this.configurationService = configurationService;
+        this.jsonMapper = jsonMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.broadcaster = new SseBroadcaster("dashboard", emitterTimeout, maxQueuedEvents, maxOverflows,
+                senderThreads, () -> currentSnapshotEvent, meterRegistry);
+
+        this.deltaCounter = Counter.builder("biblioteca.dashboard.stream.deltas")
+                .description("Eventos delta difundidos a los navegadores del dashboard")
+                .register(meterRegistry);
+        this.failedRunsCounter = Counter.builder("biblioteca.dashboard.stream.failed")
+                .description("Recálculos de contadores del dashboard con error")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("biblioteca.dashboard.stream.refresh.duration")
+                .description("Duración del recálculo de los contadores del dashboard")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ====== SUSCRIPCIÓN ======
+
+    /**
+     * Conecta un navegador; el primer evento es el estado completo
+     */
+    public synchronized SseEmitter subscribe() {
+        if (currentSnapshotEvent == null) {
+            refresh(readOnlyTransaction);
+        }
+        return broadcaster.subscribe(currentSnapshotEvent);
+    }
+
+    // ====== CAMBIOS ======
+
+    /**
+     * Marca los contadores como desactualizados. Dentro de una transacción se aplica tras el
+     * commit, para que el recálculo ya vea el cambio. No consulta nada en el hilo que llama.
+     */
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changed.set(true);
+                }
+            });
+        } else {
+            changed.set(true);
+        }
+    }
+
+    // ====== PUBLICACIÓN (JOB) ======
+
+    /**
+     * Recalcula y difunde si hubo cambios o venció refresh-interval; sin suscriptores
+     * descarta el estado para no servir datos antiguos al próximo que se conecte
+     */
+    @Scheduled(initialDelayString = "${biblioteca.dashboard-stream.publish-interval:PT1S}",
+               fixedDelayString = "${biblioteca.dashboard-stream.publish-interval:PT1S}")
+    public void scheduledPublish() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            publish();
+        } catch (Exception e) {
+            failedRunsCounter.increment();
+            log.error("Error al publicar los contadores del dashboard", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${biblioteca.dashboard-stream.heartbeat:PT15S}",
+               fixedDelayString = "${biblioteca.dashboard-stream.heartbeat:PT15S}")
+    public void scheduledHeartbeat() {
+        if (enabled && broadcaster.size() > 0) {
+            broadcaster.heartbeat();
+        }
+    }
+
+    synchronized void publish() {
+        if (broadcaster.size() == 0) {
+            current = null;
+            currentSnapshotEvent = null;
+            return;
+        }
+        boolean stale = System.nanoTime() - lastRefreshNanos >= refreshIntervalNanos;
+        boolean changedSinceRefresh = changed.getAndSet(false);
+        if (!changedSinceRefresh && !stale) {
+            return;
+        }
+
+        DashboardCountersDTO previous = current;
+        refresh(changedSinceRefresh ? primaryTransaction : readOnlyTransaction);
+        Map<String, Object> delta = delta(previous, current);
+        if (!delta.isEmpty()) {
+            broadcaster.broadcast(SseBroadcaster.event("delta", jsonMapper.writeValueAsString(delta)));
+            deltaCounter.increment();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        broadcaster.close();
+    }
+
+    // ====== CONTADORES ======
+
+    /**
+     * Recalcula todos los contadores (mismas consultas que las páginas) y el evento "snapshot"
+     * @param transaction readOnlyTransaction (puede ir a réplica) o primaryTransaction
+     */
+    private void refresh(TransactionTemplate transaction) {
+        int dueSoonDays = configurationService.getIntValue("RentalRiskDays", 1);
+        DashboardCountersDTO counters = refreshTimer.record(() -> transaction.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime dueSoonThreshold = now.plusDays(dueSoonDays);
+            List<DashboardRecentRentalDTO> recentRentals = rentalRepository
+                    .findRecentRentals(PageRequest.of(0, RECENT_RENTALS)).stream()
+                    .map(rental -> new DashboardRecentRentalDTO(
+                            rental.getRentalId().toString(),
+                            rental.getBookCopy().getBook().getTitle(),
+                            rental.getUser().getEmail(),
+                            rental.getRentalDate().format(RENTAL_DATE_FORMAT),
+                            rental.getRentalStatus().getRentalStatusName()))
+                    .toList();
+
+            return new DashboardCountersDTO(
+                    bookCopyRepository.countRentedCopies(),
+                    bookCopyRepository.countAvailableCopies(),
+                    rentalRepository.countActiveRentals(),
+                    rentalRepository.countOnTimeRentals(dueSoonThreshold),
+                    rentalRepository.countDueSoonRentals(now, dueSoonThreshold),
+                    rentalRepository.countOverdueRentals(),
+                    recentRentals);
+        }));
+
+        current = counters;
+        currentSnapshotEvent = SseBroadcaster.event("snapshot", jsonMapper.writeValueAsString(counters));
+        lastRefreshNanos = System.nanoTime();
+    }
+
+    /**
+     * Contadores que cambiaron, como {"counters": {clave: {"value", "delta"}}, "recentRentals": [...]};
+     * la lista de recientes solo se incluye si cambió
+     */
+    static Map<String, Object> delta(DashboardCountersDTO previous, DashboardCountersDTO current) {
+        Map<String, Object> delta = new LinkedHashMap<>();
+        Map<String, Object> counters = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : current.getCounters().entrySet()) {
+            long before = previous != null ? previous.getCounters().get(entry.getKey()) : 0L;
+            if (previous == null || before != entry.getValue()) {
+                counters.put(entry.getKey(), Map.of("value", entry.getValue(), "delta", entry.getValue() - before));
+            }
+        }
+        if (!counters.isEmpty()) {
+            delta.put("counters", counters);
+        }
+        if (previous == null || !previous.getRecentRentals().equals(current.getRecentRentals())) {
+            delta.put("recentRentals", current.getRecentRentals());
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,56 @@
+package com.biblioteca.app.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.app.dto.notification.NotificationMessage;
+
+/**
+ * Envío de avisos a un fichero local, una línea por mensaje separada por tabuladores
+ * (fecha, tipo, destinatario, asunto, cuerpo). Sustituye al correo en desarrollo y pruebas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "biblioteca.notification", name = "sender", havingValue = "file", matchIfMissing = true)
+public class FileNotificationSender implements NotificationSender {
+
+    private final Path path;
+
+    public FileNotificationSender(@Value("${biblioteca.notification.file.path:logs/notifications.log}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void send(List<NotificationMessage> messages) {
+        String sentAt = LocalDateTime.now().toString();
+        List<String> lines = new ArrayList<>(messages.size());
+        for (NotificationMessage message : messages) {
+            lines.add(String.join("\t", sentAt, message.getType().name(), message.getRecipient(),
+                    flatten(message.getSubject()), flatten(message.getBody())));
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(path, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en " + path, e);
+        }
+    }
+
+    private static String flatten(String text) {
+        return text.replace('\t', ' ').replace('\n', ' ');
+    }
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.app.service;
+
+import java.util.List;
+
+import com.biblioteca.app.dto.notification.NotificationMessage;
+
+/**
+ * Canal de envío de avisos usado por RentalNotificationService.
+ *
+ * Recibe lotes de mensajes; si lanza una excepción se reintenta el lote completo, por lo
+ * que un envío parcial puede repetir mensajes. Para otro canal (SMTP, API de correo)
+ * basta registrar otra implementación y elegirla con biblioteca.notification.sender.
+ */
+public interface NotificationSender {
+
+    void send(List<NotificationMessage> messages);
+}
@@ -0,0 +1,288 @@
+package com.biblioteca.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.dto.rental.RentalEvent;
+import com.biblioteca.app.entity.OutboxEvent;
+import com.biblioteca.app.repository.OutboxEventRepository;
+import com.biblioteca.app.repository.projection.OutboxBacklogProjection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Entrega de los eventos del outbox a los RentalEventSubscriber.
+ *
+ * Cada pasada toma lotes de eventos pendientes con FOR UPDATE SKIP LOCKED y los reserva
+ * (NextAttemptAt = ahora + lease) en una transacción corta; luego los entrega fuera de
+ * transacción y en otra transacción los marca como entregados o programa el reintento con
+ * espera exponencial. Tras max-attempts el evento queda aparcado (FailedAt) y deja de
+ * bloquear a los siguientes eventos de su ejemplar.
+ *
+ * Garantías: al menos una vez (un nodo que cae tras entregar y antes de marcar provoca una
+ * segunda entrega al vencer el lease) y orden por ejemplar (solo se toma el primer evento
+ * pendiente de cada BookCopyId). Varios nodos pueden ejecutar el job a la vez.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_BACKOFF_SHIFT = 10;
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+    private static final long BACKLOG_REFRESH_MILLIS = 15_000L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<RentalEventSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    // ====== MÉTRICAS ======
+
+    private final Counter dispatchedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final Timer batchTimer;
+    private final Timer deliveryLagTimer;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPendingAt = new AtomicReference<>();
+    private volatile long backlogRefreshedAt = 0L;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ObjectProvider<RentalEventSubscriber> subscribers,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${biblioteca.outbox.enabled:true}") boolean enabled,
+                            @Value("${biblioteca.outbox.batch-size:200}") int batchSize,
+                            @Value("${biblioteca.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll,
+                            @Value("${biblioteca.outbox.lease:PT1M}") Duration lease,
+                            @Value("${biblioteca.outbox.retry-backoff:PT5S}") Duration retryBackoff,
+                            @Value("${biblioteca.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${biblioteca.outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+
+        this.dispatchedCounter = Counter.builder("biblioteca.outbox.events.dispatched")
+                .description("Eventos de alquiler entregados a todos los suscriptores")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("biblioteca.outbox.events.failed")
+                .description("Intentos de entrega fallidos (se reintentan)")
+                .register(meterRegistry);
+        this.parkedCounter = Counter.builder("biblioteca.outbox.events.parked")
+                .description("Eventos aparcados tras agotar los reintentos")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("biblioteca.outbox.batch.duration")
+                .description("Duración de un lote: reserva, entrega y marcado")
+                .register(meterRegistry);
+        this.deliveryLagTimer = Timer.builder("biblioteca.outbox.delivery.lag")
+                .description("Tiempo entre el commit del evento y su entrega")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("biblioteca.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Eventos pendientes de entregar")
+                .register(meterRegistry);
+        Gauge.builder("biblioteca.outbox.lag.seconds", oldestPendingAt,
+                        oldest -> oldest.get() == null ? 0.0
+                                : Duration.between(oldest.get(), LocalDateTime.now()).toMillis() / 1000.0)
+                .description("Antigüedad en segundos del evento pendiente más antiguo")
+                .register(meterRegistry);
+    }
+
+    // ====== JOB ======
+
+    /**
+     * Pasada programada; el intervalo se configura con biblioteca.outbox.poll-interval
+     */
+    @Scheduled(initialDelayString = "${biblioteca.outbox.initial-delay:PT10S}",
+               fixedDelayString = "${biblioteca.outbox.poll-interval:PT1S}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            dispatchPending();
+            refreshBacklog(false);
+        } catch (RuntimeException e) {
+            log.error("Error en la entrega de eventos del outbox", e);
+        }
+    }
+
+    /**
+     * Entrega lotes hasta vaciar la cola o llegar a max-batches-per-poll.
+     *
+     * @return Número de eventos entregados
+     */
+    public int dispatchPending() {
+        int dispatched = 0;
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            BatchResult batch = batchTimer.record(this::dispatchBatch);
+            dispatched += batch.dispatched;
+            if (batch.claimed < batchSize) {
+                break;
+            }
+        }
+        if (dispatched > 0) {
+            refreshBacklog(true);
+        }
+        return dispatched;
+    }
+
+    private BatchResult dispatchBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        List<Long> delivered = new ArrayList<>(events.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                deliver(RentalEvent.from(event));
+                delivered.add(event.getEventId());
+                deliveryLagTimer.record(Duration.between(event.getOccurredAt(), LocalDateTime.now()));
+            } catch (RuntimeException e) {
+                log.warn("Fallo al entregar el evento {} (intento {}): {}",
+                        event.getEventId(), event.getAttempts() + 1, e.toString());
+                failed.add(event);
+                errors.add(e.toString());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepository.markDispatched(delivered, now);
+            }
+            for (int i = 0; i < failed.size(); i++) {
+                recordFailure(failed.get(i), errors.get(i), now);
+            }
+        });
+
+        dispatchedCounter.increment(delivered.size());
+        return new BatchResult(events.size(), delivered.size());
+    }
+
+    /**
+     * Bloquea y reserva el siguiente lote; el lease evita que otro nodo lo tome mientras se entrega
+     */
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(now, batchSize);
+        if (!events.isEmpty()) {
+            List<Long> ids = events.stream().map(OutboxEvent::getEventId).toList();
+            outboxEventRepository.lease(ids, now.plus(lease));
+        }
+        return events;
+    }
+
+    /**
+     * Entrega a todos los suscriptores en su orden (@Order); el primer error corta la entrega
+     */
+    private void deliver(RentalEvent event) {
+        subscribers.orderedStream().forEach(subscriber -> subscriber.onEvent(event));
+    }
+
+    private void recordFailure(OutboxEvent event, String error, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        failedCounter.increment();
+
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.markFailed(event.getEventId(), attempts, lastError, null, now);
+            parkedCounter.increment();
+            log.error("Evento {} aparcado tras {} intentos: {}", event.getEventId(), attempts, lastError);
+            return;
+        }
+
+        // Espera exponencial: backoff, 2 x backoff, 4 x backoff... con tope
+        Duration wait = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+        outboxEventRepository.markFailed(event.getEventId(), attempts, lastError, now.plus(wait), null);
+    }
+
+    // ====== LIMPIEZA ======
+
+    /**
+     * Borra los eventos entregados hace más de biblioteca.outbox.retention, por bloques
+     */
+    @Scheduled(cron = "${biblioteca.outbox.cleanup-cron:0 15 4 * * *}")
+    public void cleanup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            long deleted = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(
+                        status -> outboxEventRepository.deleteDispatchedBefore(cutoff, CLEANUP_BATCH_SIZE));
+                deleted += batch;
+            } while (batch == CLEANUP_BATCH_SIZE);
+            log.info("Outbox: {} eventos entregados eliminados", deleted);
+        } catch (RuntimeException e) {
+            log.error("Error en la limpieza del outbox", e);
+        }
+    }
+
+    // ====== BACKLOG ======
+
+    /**
+     * Actualiza los gauges de pendientes y antigüedad; sin entregas, como mucho cada 15 s
+     */
+    private void refreshBacklog(boolean force) {
+        long now = System.currentTimeMillis();
+        if (!force && now - backlogRefreshedAt < BACKLOG_REFRESH_MILLIS) {
+            return;
+        }
+        OutboxBacklogProjection backlog = outboxEventRepository.getBacklog();
+        pendingEvents.set(backlog.getPending() == null ? 0L : backlog.getPending());
+        oldestPendingAt.set(backlog.getOldestOccurredAt());
+        backlogRefreshedAt = now;
+    }
+
+    /**
+     * Resultado de un lote: eventos reservados y eventos entregados
+     */
+    private static class BatchResult {
+        private final int claimed;
+        private final int dispatched;
+
+        BatchResult(int claimed, int dispatched) {
+            this.claimed = claimed;
+            this.dispatched = dispatched;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.biblioteca.app.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.app.entity.OutboxEvent;
+import com.biblioteca.app.entity.Rental;
+import com.biblioteca.app.entity.enums.RentalEventType;
+import com.biblioteca.app.repository.OutboxEventRepository;
+
+/**
+ * Escritura de eventos de alquiler en el outbox.
+ *
+ * Exige una transacción activa: el evento se confirma o se descarta junto con el cambio
+ * en Rental / BookCopy que lo produce. La entrega la hace OutboxDispatcher después del commit.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    /**
+     * Registra un evento con el estado actual del alquiler
+     *
+     * @param type Tipo de evento
+     * @param rental Alquiler ya guardado (con RentalId)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(RentalEventType type, Rental rental) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setRentalId(rental.getRentalId());
+        event.setBookCopyId(rental.getBookCopy().getBookCopyId());
+        event.setBookId(rental.getBookCopy().getBook().getBookId());
+        event.setUserId(rental.getUser().getUserId());
+        event.setRentalStatusName(rental.getRentalStatus().getRentalStatusName());
+        outboxEventRepository.save(event);
+    }
+}
@@ -0,0 +1,126 @@
+package com.biblioteca.app.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.dto.shared.SelectOption;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
+import com.biblioteca.app.repository.AuthorRepository;
+import com.biblioteca.app.repository.BookCopyStatusRepository;
+import com.biblioteca.app.repository.BookStatusRepository;
+import com.biblioteca.app.repository.CategoryRepository;
+import com.biblioteca.app.repository.CountryRepository;
+import com.biblioteca.app.repository.RoleRepository;
+import com.biblioteca.app.repository.StatusRepository;
+
+/**
+ * Caché en memoria de las tablas de referencia como pares ID / nombre.
+ * Cada lista se consulta una vez por versión; al guardar o eliminar en el servicio
+ * dueño de la tabla la versión cambia y la siguiente lectura vuelve a la base de datos.
+ * Además se recarga tras max-age, para las tablas que solo cambian por SQL (por ejemplo
+ * BookCopyStatus, sin pantalla de mantenimiento).
+ *
+ * Con réplicas de lectura, la carga tras un cambio de versión va al primario: una réplica
+ * atrasada devolvería la lista anterior y quedaría cacheada con la versión nueva hasta
+ * max-age. La recarga por max-age, sin cambio de versión, puede leer de una réplica.
+ */
+@Service
+public class ReferenceDataService {
+
+    private final ReferenceDataVersionService referenceDataVersionService;
+    private final CategoryRepository categoryRepository;
+    private final AuthorRepository authorRepository;
+    private final CountryRepository countryRepository;
+    private final StatusRepository statusRepository;
+    private final BookStatusRepository bookStatusRepository;
+    private final BookCopyStatusRepository bookCopyStatusRepository;
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final long maxAgeNanos;
+
+    private final Map<ReferenceDataType, CachedOptions> cache = new ConcurrentHashMap<>();
+
+    public ReferenceDataService(ReferenceDataVersionService referenceDataVersionService,
+                                CategoryRepository categoryRepository,
+                                AuthorRepository authorRepository,
+                                CountryRepository countryRepository,
+                                StatusRepository statusRepository,
+                                BookStatusRepository bookStatusRepository,
+                                BookCopyStatusRepository bookCopyStatusRepository,
+                                RoleRepository roleRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${biblioteca.reference-data.max-age:PT10M}") Duration maxAge) {
+        this.referenceDataVersionService = referenceDataVersionService;
+        this.categoryRepository = categoryRepository;
+        this.authorRepository = authorRepository;
+        this.countryRepository = countryRepository;
+        this.statusRepository = statusRepository;
+        this.bookStatusRepository = bookStatusRepository;
+        this.bookCopyStatusRepository = bookCopyStatusRepository;
+        this.roleRepository = roleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Transacción propia: no se une a una de solo lectura que ya esté en una réplica
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /**
+     * Obtiene las opciones de una tabla de referencia, ordenadas por nombre.
+     * Devuelve la misma instancia mientras no se recargue (las cachés derivadas se apoyan en ello).
+     *
+     * @param type Tabla de referencia
+     * @return Lista inmutable de opciones
+     */
+    public List<SelectOption> getOptions(ReferenceDataType type) {
+        long version = referenceDataVersionService.getVersion(type);
+
+        CachedOptions cached = cache.get(type);
+        if (cached != null && cached.version == version && System.nanoTime() - cached.loadedAt < maxAgeNanos) {
+            return cached.options;
+        }
+
+        TransactionTemplate transaction = cached != null && cached.version == version
+                ? readOnlyTransaction
+                : primaryTransaction;
+        List<SelectOption> options = transaction.execute(tx -> List.copyOf(load(type)));
+        cache.put(type, new CachedOptions(version, options));
+        return options;
+    }
+
+    private List<SelectOption> load(ReferenceDataType type) {
+        return switch (type) {
+            case CATEGORY -> categoryRepository.findAllOptions();
+            case AUTHOR -> authorRepository.findAllOptions();
+            case COUNTRY -> countryRepository.findAllOptions();
+            case STATUS -> statusRepository.findAllOptions();
+            case BOOK_STATUS -> bookStatusRepository.findAllOptions();
+            case BOOK_COPY_STATUS -> bookCopyStatusRepository.findAllOptions();
+            case ROLE -> roleRepository.findAllOptions();
+        };
+    }
+
+    /**
+     * Lista de opciones asociada a la versión con la que se cargó y al momento de la carga
+     */
+    private static class CachedOptions {
+        private final long version;
+        private final List<SelectOption> options;
+        private final long loadedAt = System.nanoTime();
+
+        CachedOptions(long version, List<SelectOption> options) {
+            this.version = version;
+            this.options = options;
+        }
+    }
+}
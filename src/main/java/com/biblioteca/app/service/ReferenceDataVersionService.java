@@ -0,0 +1,124 @@
+package com.biblioteca.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.app.entity.DataVersion;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
+import com.biblioteca.app.repository.DataVersionRepository;
+
+/**
+ * Versiones de las tablas de referencia, guardadas en DataVersion (una fila por tabla).
+ * Las cachés de selectores usan la versión como parte de la clave; los servicios
+ * la incrementan al guardar o eliminar, en la misma transacción.
+ *
+ * Cada nodo relee las versiones a lo sumo cada version-check, así un cambio hecho en otro
+ * nodo se ve en ese plazo; el nodo que escribe adopta la versión nueva al confirmar. Las
+ * versiones solo crecen: una lectura atrasada (réplica) no hace retroceder la local.
+ */
+@Service
+public class ReferenceDataVersionService {
+
+    private static final List<String> NAMES = Arrays.stream(ReferenceDataType.values())
+            .map(ReferenceDataType::name)
+            .toList();
+
+    private final DataVersionRepository dataVersionRepository;
+    private final long versionCheckNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Map<ReferenceDataType, Long> versions = new EnumMap<>(ReferenceDataType.class);
+    private volatile long nextCheck = System.nanoTime();
+
+    public ReferenceDataVersionService(DataVersionRepository dataVersionRepository,
+                                       @Value("${biblioteca.reference-data.version-check:PT5S}") Duration versionCheck) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.versionCheckNanos = versionCheck.toNanos();
+    }
+
+    /**
+     * Obtiene la versión actual de una tabla de referencia.
+     *
+     * @param type Tabla de referencia
+     * @return Versión actual (0 si la tabla aún no tiene fila)
+     */
+    public long getVersion(ReferenceDataType type) {
+        if (System.nanoTime() - nextCheck >= 0) {
+            refresh();
+        }
+        return versions.getOrDefault(type, 0L);
+    }
+
+    /**
+     * Invalida la versión de una tabla de referencia.
+     * El incremento forma parte de la transacción del cambio, para que ninguna lectura
+     * vea la versión nueva con los datos antiguos; este nodo la adopta tras el commit.
+     *
+     * @param type Tabla modificada
+     */
+    @Transactional
+    public void invalidate(ReferenceDataType type) {
+        LocalDateTime now = LocalDateTime.now();
+        long version;
+        if (dataVersionRepository.increment(type.name(), now) > 0) {
+            version = dataVersionRepository.findVersion(type.name());
+        } else {
+            dataVersionRepository.save(new DataVersion(type.name(), 1, now));
+            version = 1;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(Map.of(type, version));
+                }
+            });
+        } else {
+            advance(Map.of(type, version));
+        }
+    }
+
+    /**
+     * Relee todas las versiones en una consulta; si otro hilo ya está releyendo,
+     * se sigue con las versiones anteriores
+     */
+    private void refresh() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            Map<ReferenceDataType, Long> loaded = new EnumMap<>(ReferenceDataType.class);
+            for (DataVersion version : dataVersionRepository.findAllById(NAMES)) {
+                loaded.put(ReferenceDataType.valueOf(version.getName()), version.getVersion());
+            }
+            advance(loaded);
+            nextCheck = System.nanoTime() + versionCheckNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void advance(Map<ReferenceDataType, Long> observed) {
+        lock.lock();
+        try {
+            Map<ReferenceDataType, Long> merged = new EnumMap<>(ReferenceDataType.class);
+            merged.putAll(versions);
+            observed.forEach((type, version) -> merged.merge(type, version, Math::max));
+            versions = merged;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.biblioteca.app.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.entity.Rental;
+import com.biblioteca.app.entity.RentalArchive;
+import com.biblioteca.app.entity.RentalStatus;
+import com.biblioteca.app.repository.RentalArchiveRepository;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.repository.RentalStatusRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Archivado de alquileres cerrados y lectura combinada de Rental + RentalArchive.
+ *
+ * Un job nocturno mueve a RentalArchive los alquileres 'Devuelto' y 'Cancelado' sin cambios
+ * desde hace más de biblioteca.archive.horizon-days días, en lotes acotados (una transacción
+ * por lote: INSERT ... SELECT y DELETE). Así Rental solo guarda los alquileres activos y recientes.
+ *
+ * Las lecturas consultan el archivo solo cuando hace falta: el historial del usuario lee solo
+ * Rental mientras la página quede por delante de todo su archivo y ordena ambas tablas juntas
+ * a partir de ahí; los reportes históricos usan las variantes "WithArchive" solo si hay filas archivadas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class RentalArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalArchiveService.class);
+
+    private static final List<String> CLOSED_STATUSES = List.of("Devuelto", "Cancelado");
+    // Mismo orden que RentalArchiveRepository.findUserHistoryIds
+    private static final Sort HISTORY_SORT = Sort.by(Sort.Direction.DESC, "rentalDate", "rentalId");
+    private static final long ARCHIVE_CHECK_MILLIS = 60_000L;
+
+    private final RentalRepository rentalRepository;
+    private final RentalArchiveRepository rentalArchiveRepository;
+    private final RentalStatusRepository rentalStatusRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final Counter archivedCounter;
+    private final Timer runTimer;
+
+    // El archivo solo crece: una vez visto con filas no se vuelve a consultar
+    private volatile boolean hasArchived = false;
+    private volatile long archiveCheckedAt = 0L;
+
+    public RentalArchiveService(RentalRepository rentalRepository,
+                                RentalArchiveRepository rentalArchiveRepository,
+                                RentalStatusRepository rentalStatusRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${biblioteca.archive.enabled:true}") boolean enabled,
+                                @Value("${biblioteca.archive.horizon-days:365}") int horizonDays,
+                                @Value("${biblioteca.archive.batch-size:500}") int batchSize,
+                                @Value("${biblioteca.archive.max-batches:200}") int maxBatches) {
+        this.rentalRepository = rentalRepository;
+        this.rentalArchiveRepository = rentalArchiveRepository;
+        this.rentalStatusRepository = rentalStatusRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+
+        this.archivedCounter = Counter.builder("biblioteca.archive.rentals.archived")
+                .description("Alquileres movidos a RentalArchive")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("biblioteca.archive.run.duration")
+                .description("Duración de una pasada del job de archivado")
+                .register(meterRegistry);
+    }
+
+    // ====== JOB ======
+
+    /**
+     * Pasada programada; horario en biblioteca.archive.cron
+     */
+    @Scheduled(cron = "${biblioteca.archive.cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            runTimer.record(() -> {
+                archiveClosedRentals();
+            });
+        } catch (RuntimeException e) {
+            log.error("Error en el job de archivado de alquileres", e);
+        }
+    }
+
+    /**
+     * Archiva alquileres cerrados anteriores al horizonte, hasta maxBatches lotes.
+     * Lo que quede pendiente se procesa en la siguiente pasada.
+     *
+     * @return Número de alquileres archivados
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long archiveClosedRentals() {
+        List<RentalStatus> closed = rentalStatusRepository.findByRentalStatusNameIn(CLOSED_STATUSES);
+        if (closed.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(horizonDays);
+
+        long total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(closed, cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            total += moved;
+            archivedCounter.increment(moved);
+            hasArchived = true;
+        }
+
+        if (total > 0) {
+            log.info("Archivados {} alquileres cerrados antes de {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(List<RentalStatus> closed, LocalDateTime cutoff) {
+        List<UUID> ids = rentalRepository.findArchiveCandidates(closed, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = rentalArchiveRepository.copyFromRental(ids, LocalDateTime.now());
+        int deleted = rentalRepository.deleteByRentalIdIn(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // Revierte el lote: no se borra nada que no se haya copiado
+            throw new IllegalStateException("Lote de archivado inconsistente: " + ids.size()
+                    + " seleccionados, " + copied + " copiados, " + deleted + " eliminados");
+        }
+        return deleted;
+    }
+
+    // ====== LECTURA COMBINADA ======
+
+    /**
+     * Indica si hay alquileres archivados (se vuelve a consultar como mucho una vez por minuto)
+     */
+    public boolean hasArchivedRentals() {
+        if (hasArchived) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - archiveCheckedAt > ARCHIVE_CHECK_MILLIS) {
+            hasArchived = rentalArchiveRepository.existsByRentalIdIsNotNull();
+            archiveCheckedAt = now;
+        }
+        return hasArchived;
+    }
+
+    /**
+     * Historial del usuario, del más reciente al más antiguo.
+     *
+     * Se archiva por UpdatedAt, así que un alquiler largo o devuelto tarde sigue en Rental
+     * aunque otros posteriores ya estén archivados. Mientras la página solo tenga alquileres
+     * de Rental más recientes que todo el archivo del usuario se lee solo Rental; si llega
+     * más allá, se ordenan juntas ambas tablas por RentalDate.
+     *
+     * @param userId ID del usuario
+     * @param pageable Página solicitada (base 0; se ignora el orden recibido)
+     * @return Página con alquileres recientes y, si corresponde, archivados
+     */
+    public Page<Rental> findUserHistory(UUID userId, Pageable pageable) {
+        int size = pageable.getPageSize();
+        PageRequest recentPage = PageRequest.of(pageable.getPageNumber(), size, HISTORY_SORT);
+
+        long archivedTotal = hasArchivedRentals() ? rentalArchiveRepository.countByUser_UserId(userId) : 0;
+        if (archivedTotal == 0) {
+            return rentalRepository.findByUser_UserId(userId, recentPage);
+        }
+
+        LocalDateTime newestArchived = rentalArchiveRepository.findNewestRentalDate(userId);
+        long recentAhead = rentalRepository.countByUser_UserIdAndRentalDateAfter(userId, newestArchived);
+        if (pageable.getOffset() + size <= recentAhead) {
+            Page<Rental> recent = rentalRepository.findByUser_UserId(userId, recentPage);
+            return new PageImpl<>(recent.getContent(), pageable, recent.getTotalElements() + archivedTotal);
+        }
+
+        List<UUID> ids = rentalArchiveRepository.findUserHistoryIds(userId.toString(), size, pageable.getOffset())
+                .stream()
+                .map(UUID::fromString)
+                .toList();
+
+        // Un alquiler archivado entre ambas lecturas no está en Rental pero sí en el archivo
+        Map<UUID, Rental> rentals = new HashMap<>();
+        rentalRepository.findAllById(ids).forEach(rental -> rentals.put(rental.getRentalId(), rental));
+        List<UUID> archivedIds = ids.stream().filter(id -> !rentals.containsKey(id)).toList();
+        if (!archivedIds.isEmpty()) {
+            rentalArchiveRepository.findAllById(archivedIds)
+                    .forEach(archived -> rentals.put(archived.getRentalId(), archived.toRental()));
+        }
+
+        List<Rental> content = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Rental rental = rentals.get(id);
+            if (rental != null) {
+                content.add(rental);
+            }
+        }
+        return new PageImpl<>(content, pageable, rentalRepository.countByUser_UserId(userId) + archivedTotal);
+    }
+
+    /**
+     * Busca un alquiler en Rental y, si no está, en el archivo
+     */
+    public Optional<Rental> findRental(UUID rentalId) {
+        Optional<Rental> rental = rentalRepository.findById(rentalId);
+        if (rental.isPresent() || !hasArchivedRentals()) {
+            return rental;
+        }
+        return rentalArchiveRepository.findById(rentalId).map(RentalArchive::toRental);
+    }
+
+    /**
+     * Alquileres archivados de un usuario
+     */
+    public long countArchivedByUser(UUID userId) {
+        return hasArchivedRentals() ? rentalArchiveRepository.countByUser_UserId(userId) : 0;
+    }
+
+    /**
+     * Total de alquileres archivados
+     */
+    public long countArchived() {
+        return hasArchivedRentals() ? rentalArchiveRepository.count() : 0;
+    }
+}
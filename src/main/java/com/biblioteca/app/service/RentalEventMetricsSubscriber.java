@@ -0,0 +1,27 @@
+package com.biblioteca.app.service;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.app.dto.rental.RentalEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cuenta los eventos de alquiler entregados por tipo (biblioteca.rental.events{type=...})
+ */
+@Component
+@Order(0)
+public class RentalEventMetricsSubscriber implements RentalEventSubscriber {
+
+    private final MeterRegistry meterRegistry;
+
+    public RentalEventMetricsSubscriber(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvent(RentalEvent event) {
+        meterRegistry.counter("biblioteca.rental.events", "type", event.getEventType().name()).increment();
+    }
+}
@@ -0,0 +1,16 @@
+package com.biblioteca.app.service;
+
+import com.biblioteca.app.dto.rental.RentalEvent;
+
+/**
+ * Suscriptor en proceso de los eventos de alquiler que entrega OutboxDispatcher.
+ *
+ * La entrega es "al menos una vez": si un suscriptor lanza una excepción el evento se
+ * reintenta para todos, así que cada suscriptor debe ser idempotente (p. ej. usando
+ * getEventId()). Los eventos de un mismo ejemplar llegan en orden; entre ejemplares
+ * distintos no hay orden garantizado. Se invoca fuera de transacción.
+ */
+public interface RentalEventSubscriber {
+
+    void onEvent(RentalEvent event);
+}
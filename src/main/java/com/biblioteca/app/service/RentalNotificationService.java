@@ -0,0 +1,254 @@
+package com.biblioteca.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.dto.notification.NotificationMessage;
+import com.biblioteca.app.entity.RentalStatus;
+import com.biblioteca.app.entity.enums.NotificationType;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.repository.RentalStatusRepository;
+import com.biblioteca.app.repository.projection.RentalNotificationProjection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Job programado de avisos de vencimiento.
+ *
+ * Envía un recordatorio a los alquileres en proceso que vencen en los próximos
+ * biblioteca.notification.days-ahead días y un aviso a los ya vencidos. Recorre los alquileres
+ * por bloques (keyset sobre DueDate, RentalId), agrupa los mensajes en lotes para el
+ * NotificationSender y, tras enviar, marca DueReminderSentAt / OverdueNoticeSentAt para no
+ * repetir el aviso en la siguiente pasada. Un lote que falla se reintenta con espera
+ * exponencial; si agota los intentos sus alquileres quedan sin marcar y entran en la próxima pasada.
+ */
+@Service
+public class RentalNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalNotificationService.class);
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final RentalRepository rentalRepository;
+    private final RentalStatusRepository rentalStatusRepository;
+    private final NotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int daysAhead;
+    private final int overdueLookbackDays;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    // ====== MÉTRICAS ======
+
+    private final MeterRegistry meterRegistry;
+    private final Counter retriesCounter;
+    private final Counter failedCounter;
+    private final Counter failedRunsCounter;
+    private final Timer batchTimer;
+    private final Timer runTimer;
+
+    public RentalNotificationService(RentalRepository rentalRepository,
+                                     RentalStatusRepository rentalStatusRepository,
+                                     NotificationSender notificationSender,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${biblioteca.notification.enabled:true}") boolean enabled,
+                                     @Value("${biblioteca.notification.days-ahead:2}") int daysAhead,
+                                     @Value("${biblioteca.notification.overdue-lookback-days:30}") int overdueLookbackDays,
+                                     @Value("${biblioteca.notification.chunk-size:500}") int chunkSize,
+                                     @Value("${biblioteca.notification.batch-size:100}") int batchSize,
+                                     @Value("${biblioteca.notification.max-attempts:4}") int maxAttempts,
+                                     @Value("${biblioteca.notification.retry-backoff:PT2S}") Duration retryBackoff) {
+        this.rentalRepository = rentalRepository;
+        this.rentalStatusRepository = rentalStatusRepository;
+        this.notificationSender = notificationSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.daysAhead = daysAhead;
+        this.overdueLookbackDays = overdueLookbackDays;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+
+        this.meterRegistry = meterRegistry;
+        this.retriesCounter = Counter.builder("biblioteca.notification.send.retries")
+                .description("Reintentos de envío de lotes de avisos")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("biblioteca.notification.messages.failed")
+                .description("Avisos no enviados tras agotar los reintentos")
+                .register(meterRegistry);
+        this.failedRunsCounter = Counter.builder("biblioteca.notification.runs.failed")
+                .description("Ejecuciones del job de avisos con error")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("biblioteca.notification.batch.duration")
+                .description("Duración del envío de un lote de avisos")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("biblioteca.notification.run.duration")
+                .description("Duración de una pasada completa del job de avisos")
+                .register(meterRegistry);
+    }
+
+    // ====== JOB ======
+
+    /**
+     * Pasada programada; horario en biblioteca.notification.cron
+     */
+    @Scheduled(cron = "${biblioteca.notification.cron:0 0 7 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            runTimer.record(() -> {
+                sendPending(LocalDateTime.now());
+            });
+        } catch (RuntimeException e) {
+            failedRunsCounter.increment();
+            log.error("Error en el job de avisos de vencimiento", e);
+        }
+    }
+
+    /**
+     * Envía recordatorios y avisos de vencido pendientes.
+     *
+     * @param now Instante de referencia
+     * @return Número de avisos enviados
+     */
+    public long sendPending(LocalDateTime now) {
+        RentalStatus enProceso = rentalStatusRepository.findByRentalStatusName("En Proceso")
+                .orElseThrow(() -> new IllegalStateException("Estado 'En Proceso' no encontrado"));
+
+        long reminders = process(NotificationType.DUE_REMINDER, enProceso, now, now.plusDays(daysAhead));
+        long notices = process(NotificationType.OVERDUE_NOTICE, enProceso, now.minusDays(overdueLookbackDays), now);
+
+        log.info("Job de avisos: {} recordatorios y {} avisos de vencido enviados", reminders, notices);
+        return reminders + notices;
+    }
+
+    /**
+     * Recorre los alquileres que vencen en [from, to) y envía el aviso del tipo indicado
+     */
+    private long process(NotificationType type, RentalStatus status, LocalDateTime from, LocalDateTime to) {
+        Counter sentCounter = meterRegistry.counter("biblioteca.notification.messages.sent", "type", type.name());
+        long sent = 0;
+        LocalDateTime lastDueDate = from;
+        UUID lastId = FIRST_ID;
+
+        while (true) {
+            List<RentalNotificationProjection> rentals = findChunk(type, status, from, to, lastDueDate, lastId);
+            if (rentals.isEmpty()) {
+                break;
+            }
+
+            List<UUID> notified = new ArrayList<>(rentals.size());
+            for (int start = 0; start < rentals.size(); start += batchSize) {
+                List<RentalNotificationProjection> batch =
+                        rentals.subList(start, Math.min(start + batchSize, rentals.size()));
+                if (sendWithRetry(type, batch)) {
+                    batch.forEach(rental -> notified.add(rental.getRentalId()));
+                }
+            }
+
+            if (!notified.isEmpty()) {
+                LocalDateTime sentAt = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(tx -> markSent(type, notified, sentAt));
+                sentCounter.increment(notified.size());
+                sent += notified.size();
+            }
+
+            if (rentals.size() < chunkSize) {
+                break;
+            }
+            RentalNotificationProjection last = rentals.get(rentals.size() - 1);
+            lastDueDate = last.getDueDate();
+            lastId = last.getRentalId();
+        }
+        return sent;
+    }
+
+    private List<RentalNotificationProjection> findChunk(NotificationType type, RentalStatus status,
+                                                         LocalDateTime from, LocalDateTime to,
+                                                         LocalDateTime lastDueDate, UUID lastId) {
+        PageRequest page = PageRequest.of(0, chunkSize);
+        return type == NotificationType.DUE_REMINDER
+                ? rentalRepository.findDueReminderChunk(status, from, to, lastDueDate, lastId, page)
+                : rentalRepository.findOverdueNoticeChunk(status, from, to, lastDueDate, lastId, page);
+    }
+
+    private void markSent(NotificationType type, List<UUID> rentalIds, LocalDateTime sentAt) {
+        if (type == NotificationType.DUE_REMINDER) {
+            rentalRepository.markDueReminderSent(rentalIds, sentAt);
+        } else {
+            rentalRepository.markOverdueNoticeSent(rentalIds, sentAt);
+        }
+    }
+
+    // ====== ENVÍO ======
+
+    /**
+     * Envía un lote con reintentos y espera exponencial (backoff, 2 x backoff, 4 x backoff...)
+     *
+     * @return true si el lote se envió
+     */
+    private boolean sendWithRetry(NotificationType type, List<RentalNotificationProjection> batch) {
+        List<NotificationMessage> messages = batch.stream().map(rental -> toMessage(type, rental)).toList();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                batchTimer.record(() -> notificationSender.send(messages));
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    failedCounter.increment(messages.size());
+                    log.error("Lote de {} avisos {} descartado tras {} intentos", messages.size(), type, attempt, e);
+                    return false;
+                }
+                retriesCounter.increment();
+                log.warn("Fallo al enviar {} avisos {} (intento {}): {}", messages.size(), type, attempt, e.toString());
+            }
+
+            try {
+                Thread.sleep(retryBackoff.multipliedBy(1L << (attempt - 1)).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private NotificationMessage toMessage(NotificationType type, RentalNotificationProjection rental) {
+        String dueDate = rental.getDueDate().format(DATE_FORMAT);
+        if (type == NotificationType.DUE_REMINDER) {
+            return new NotificationMessage(type, rental.getRentalId(), rental.getEmail(),
+                    "Tu alquiler vence el " + dueDate,
+                    "El alquiler de «" + rental.getTitle() + "» vence el " + dueDate
+                            + ". Devuélvelo a tiempo para evitar penalidades.");
+        }
+        return new NotificationMessage(type, rental.getRentalId(), rental.getEmail(),
+                "Alquiler vencido",
+                "El alquiler de «" + rental.getTitle() + "» venció el " + dueDate
+                        + ". Penalidad acumulada: S/ " + rental.getPenaltyAmount()
+                        + ". Devuélvelo lo antes posible.");
+    }
+}
@@ -0,0 +1,182 @@
+package com.biblioteca.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.entity.RentalStatus;
+import com.biblioteca.app.helper.PenaltyUtil;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.repository.RentalStatusRepository;
+import com.biblioteca.app.repository.projection.RentalPenaltyProjection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Job programado que calcula el vencimiento y la penalidad acumulada de los alquileres en proceso.
+ *
+ * Recorre los alquileres por bloques ordenados por RentalId (keyset) y guarda IsOverdue y
+ * PenaltyAmount solo en las filas que cambian. Cada bloque es una transacción corta, así
+ * el job no bloquea la tabla Rental. Los contadores del dashboard y las páginas del usuario
+ * leen los valores guardados.
+ *
+ * El cálculo es idempotente: si varios nodos ejecutan el job a la vez escriben los mismos valores.
+ */
+@Service
+public class RentalPenaltyService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalPenaltyService.class);
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final RentalRepository rentalRepository;
+    private final RentalStatusRepository rentalStatusRepository;
+    private final ConfigurationService configurationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    // ====== MÉTRICAS ======
+
+    private final Counter scannedCounter;
+    private final Counter updatedCounter;
+    private final Counter failedRunsCounter;
+    private final Timer runTimer;
+    private final AtomicLong lastSuccessEpochMillis = new AtomicLong(System.currentTimeMillis());
+
+    public RentalPenaltyService(RentalRepository rentalRepository,
+                                RentalStatusRepository rentalStatusRepository,
+                                ConfigurationService configurationService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${biblioteca.penalty.chunk-size:500}") int chunkSize) {
+        this.rentalRepository = rentalRepository;
+        this.rentalStatusRepository = rentalStatusRepository;
+        this.configurationService = configurationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.scannedCounter = Counter.builder("biblioteca.penalty.rentals.scanned")
+                .description("Alquileres en proceso evaluados por el job de penalidades")
+                .register(meterRegistry);
+        this.updatedCounter = Counter.builder("biblioteca.penalty.rentals.updated")
+                .description("Alquileres cuyo vencimiento o penalidad cambió")
+                .register(meterRegistry);
+        this.failedRunsCounter = Counter.builder("biblioteca.penalty.runs.failed")
+                .description("Ejecuciones del job de penalidades con error")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("biblioteca.penalty.run.duration")
+                .description("Duración de una pasada completa del job de penalidades")
+                .register(meterRegistry);
+        Gauge.builder("biblioteca.penalty.lag.seconds", lastSuccessEpochMillis,
+                        last -> (System.currentTimeMillis() - last.get()) / 1000.0)
+                .description("Segundos desde la última pasada completa del job de penalidades")
+                .register(meterRegistry);
+    }
+
+    // ====== JOB ======
+
+    /**
+     * Pasada programada; el intervalo se configura con biblioteca.penalty.interval
+     */
+    @Scheduled(initialDelayString = "${biblioteca.penalty.initial-delay:PT30S}",
+               fixedDelayString = "${biblioteca.penalty.interval:PT10M}")
+    public void scheduledRun() {
+        try {
+            evaluateAll();
+        } catch (RuntimeException e) {
+            failedRunsCounter.increment();
+            log.error("Error en el job de penalidades", e);
+        }
+    }
+
+    /**
+     * Evalúa todos los alquileres en proceso.
+     *
+     * @return Número de alquileres actualizados
+     */
+    public long evaluateAll() {
+        RentalStatus enProceso = rentalStatusRepository.findByRentalStatusName("En Proceso")
+                .orElseThrow(() -> new IllegalStateException("Estado 'En Proceso' no encontrado"));
+        BigDecimal dailyPenalty = configurationService.getBigDecimalValue(
+                "ReturnDelayDailyPenalty", new BigDecimal("12.5"));
+
+        long start = System.nanoTime();
+        long scanned = 0;
+        long updated = 0;
+        UUID lastId = FIRST_ID;
+
+        while (lastId != null) {
+            UUID from = lastId;
+            ChunkResult chunk = transactionTemplate.execute(
+                    status -> evaluateChunk(enProceso, dailyPenalty, from));
+            scanned += chunk.scanned;
+            updated += chunk.updated;
+            lastId = chunk.nextId;
+        }
+
+        runTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        lastSuccessEpochMillis.set(System.currentTimeMillis());
+        log.debug("Job de penalidades: {} evaluados, {} actualizados", scanned, updated);
+        return updated;
+    }
+
+    /**
+     * Procesa un bloque a partir de lastId.
+     * Las filas sin cambios no se escriben (no mueven UpdatedAt ni la caché HTTP).
+     */
+    private ChunkResult evaluateChunk(RentalStatus status, BigDecimal dailyPenalty, UUID lastId) {
+        List<RentalPenaltyProjection> rentals = rentalRepository.findPenaltyChunk(
+                status, lastId, PageRequest.of(0, chunkSize));
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (RentalPenaltyProjection rental : rentals) {
+            boolean overdue = PenaltyUtil.isOverdue(rental.getDueDate(), now);
+            BigDecimal penalty = PenaltyUtil.penalty(rental.getDueDate(), now, dailyPenalty);
+
+            boolean changed = overdue != Boolean.TRUE.equals(rental.getOverdue())
+                    || rental.getPenaltyAmount() == null
+                    || penalty.compareTo(rental.getPenaltyAmount()) != 0;
+            if (changed) {
+                updated += rentalRepository.updatePenalty(rental.getRentalId(), status, overdue, penalty, now);
+            }
+        }
+
+        scannedCounter.increment(rentals.size());
+        updatedCounter.increment(updated);
+
+        UUID nextId = rentals.size() < chunkSize ? null : rentals.get(rentals.size() - 1).getRentalId();
+        return new ChunkResult(rentals.size(), updated, nextId);
+    }
+
+    /**
+     * Resultado de un bloque: filas leídas, filas escritas y siguiente cursor (null = fin)
+     */
+    private static class ChunkResult {
+        private final int scanned;
+        private final int updated;
+        private final UUID nextId;
+
+        ChunkResult(int scanned, int updated, UUID nextId) {
+            this.scanned = scanned;
+            this.updated = updated;
+            this.nextId = nextId;
+        }
+    }
+}
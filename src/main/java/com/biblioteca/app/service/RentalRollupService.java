@@ -0,0 +1,298 @@
+package com.biblioteca.app.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.dto.rental.RentalEvent;
+import com.biblioteca.app.dto.rental.RentalTrendBreakdownDTO;
+import com.biblioteca.app.dto.rental.RentalTrendPointDTO;
+import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.entity.enums.RentalEventType;
+import com.biblioteca.app.entity.enums.RollupGranularity;
+import com.biblioteca.app.repository.BookRepository;
+import com.biblioteca.app.repository.RentalRollupRepository;
+import com.biblioteca.app.repository.projection.RentalTrendBreakdownProjection;
+import com.biblioteca.app.repository.projection.RentalTrendPointProjection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Agregados de alquileres por periodo, categoría y autor para el gráfico de tendencias.
+ *
+ * Las filas diarias se mantienen de forma incremental con los eventos del outbox
+ * (RentalRollupSubscriber): cada evento suma 1 a su día una sola vez (RentalRollupEvent),
+ * también si el día se reconstruyó con backfill antes de entregarse el evento.
+ * Un job nocturno compacta los días más antiguos que biblioteca.rollup.daily-retention-days
+ * en semanas y meses y borra las semanas más antiguas que weekly-retention-days; los meses
+ * se conservan siempre. Las consultas solo leen RentalRollup, nunca Rental.
+ */
+@Service
+public class RentalRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalRollupService.class);
+
+    private final RentalRollupRepository rentalRollupRepository;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int dailyRetentionDays;
+    private final int weeklyRetentionDays;
+    private final Duration appliedEventRetention;
+
+    // ====== MÉTRICAS ======
+
+    private final Counter appliedCounter;
+    private final Counter duplicateCounter;
+    private final Counter failedRunsCounter;
+    private final Timer compactionTimer;
+
+    public RentalRollupService(RentalRollupRepository rentalRollupRepository,
+                               BookRepository bookRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${biblioteca.rollup.enabled:true}") boolean enabled,
+                               @Value("${biblioteca.rollup.daily-retention-days:90}") int dailyRetentionDays,
+                               @Value("${biblioteca.rollup.weekly-retention-days:730}") int weeklyRetentionDays,
+                               @Value("${biblioteca.rollup.applied-event-retention:P14D}") Duration appliedEventRetention) {
+        this.rentalRollupRepository = rentalRollupRepository;
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.dailyRetentionDays = dailyRetentionDays;
+        this.weeklyRetentionDays = weeklyRetentionDays;
+        this.appliedEventRetention = appliedEventRetention;
+
+        this.appliedCounter = Counter.builder("biblioteca.rollup.events.applied")
+                .description("Eventos de alquiler sumados a los agregados diarios")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("biblioteca.rollup.events.duplicate")
+                .description("Eventos repetidos ignorados (ya sumados)")
+                .register(meterRegistry);
+        this.failedRunsCounter = Counter.builder("biblioteca.rollup.compaction.failed")
+                .description("Ejecuciones de la compactación con error")
+                .register(meterRegistry);
+        this.compactionTimer = Timer.builder("biblioteca.rollup.compaction.duration")
+                .description("Duración de la compactación de agregados")
+                .register(meterRegistry);
+    }
+
+    // ====== EVENTOS ======
+
+    /**
+     * Suma el evento a su día. Idempotente: una segunda entrega del mismo evento no cuenta.
+     */
+    public void apply(RentalEvent event) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (rentalRollupRepository.markEventApplied(event.getEventId(), LocalDateTime.now()) == 0) {
+                duplicateCounter.increment();
+                return;
+            }
+
+            Book book = bookRepository.findById(event.getBookId()).orElse(null);
+            if (book == null || book.getCategory() == null || book.getAuthor() == null) {
+                log.warn("Evento {} sin libro, categoría o autor; no se agrega", event);
+                return;
+            }
+
+            RentalEventType type = event.getEventType();
+            rentalRollupRepository.addToDay(
+                    event.getOccurredAt().toLocalDate(),
+                    book.getCategory().getCategoryId().toString(),
+                    book.getAuthor().getAuthorId().toString(),
+                    type == RentalEventType.RENTAL_CREATED ? 1 : 0,
+                    type == RentalEventType.RENTAL_RETURNED ? 1 : 0,
+                    type == RentalEventType.RENTAL_CANCELLED ? 1 : 0,
+                    LocalDateTime.now());
+            appliedCounter.increment();
+        });
+    }
+
+    // ====== COMPACTACIÓN (JOB) ======
+
+    /**
+     * Pasada programada; horario en biblioteca.rollup.compaction-cron
+     */
+    @Scheduled(cron = "${biblioteca.rollup.compaction-cron:0 45 3 * * *}")
+    public void scheduledCompaction() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            compactionTimer.record(() -> {
+                compact(LocalDate.now());
+            });
+        } catch (RuntimeException e) {
+            failedRunsCounter.increment();
+            log.error("Error en la compactación de agregados de alquileres", e);
+        }
+    }
+
+    /**
+     * Pasa a semanas y meses los días anteriores al horizonte diario y los borra, en una
+     * sola transacción para no contar dos veces. Luego purga semanas y eventos antiguos.
+     *
+     * @param today Día de referencia
+     * @return Filas diarias compactadas
+     */
+    public int compact(LocalDate today) {
+        LocalDate dayCutoff = getDailyHorizon(today);
+        LocalDate weekCutoff = bucketOf(RollupGranularity.WEEK, today.minusDays(weeklyRetentionDays));
+        LocalDateTime now = LocalDateTime.now();
+
+        Integer compacted = transactionTemplate.execute(tx -> {
+            rentalRollupRepository.compactDaysIntoWeeks(dayCutoff, now);
+            rentalRollupRepository.compactDaysIntoMonths(dayCutoff, now);
+            return rentalRollupRepository.deleteBefore(RollupGranularity.DAY, dayCutoff);
+        });
+
+        Integer purgedWeeks = transactionTemplate.execute(tx ->
+                rentalRollupRepository.deleteBefore(RollupGranularity.WEEK, weekCutoff));
+        Integer purgedEvents = transactionTemplate.execute(tx ->
+                rentalRollupRepository.deleteAppliedEventsBefore(now.minus(appliedEventRetention)));
+
+        log.info("Compactación de agregados: {} días compactados, {} semanas y {} eventos purgados",
+                compacted, purgedWeeks, purgedEvents);
+        return compacted != null ? compacted : 0;
+    }
+
+    /**
+     * Recalcula desde Rental los días de [from, to), p. ej. los anteriores a activar los
+     * eventos. Solo dentro del horizonte diario (los días compactados no se pueden rehacer)
+     * y hasta ayer (hoy siguen llegando eventos).
+     *
+     * En la misma transacción marca como sumados los eventos del outbox de esos días: los que
+     * se entreguen después (pendientes o reintentos) ya están en el recálculo y apply los
+     * ignora. Un apply simultáneo espera al marcador del evento o su fila se borra y se recalcula.
+     *
+     * @return Filas diarias generadas
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        if (from.isBefore(getDailyHorizon(today))) {
+            throw new IllegalArgumentException("Solo se pueden reconstruir los últimos "
+                    + dailyRetentionDays + " días");
+        }
+        if (to.isAfter(today) || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Rango de fechas no válido");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer rows = transactionTemplate.execute(tx -> {
+            rentalRollupRepository.markEventsAppliedBetween(from.atStartOfDay(), to.atStartOfDay(), now);
+            rentalRollupRepository.deleteDays(from, to);
+            return rentalRollupRepository.backfillDays(from.atStartOfDay(), to.atStartOfDay(), now);
+        });
+        log.info("Agregados diarios reconstruidos de {} a {}: {} filas", from, to, rows);
+        return rows != null ? rows : 0;
+    }
+
+    // ====== CONSULTAS ======
+
+    /**
+     * Serie de alquileres por periodo entre from y to (incluidos), con los periodos sin
+     * actividad a cero
+     */
+    @Transactional(readOnly = true)
+    public List<RentalTrendPointDTO> getTrend(RollupGranularity granularity, LocalDate from, LocalDate to,
+                                              UUID categoryId, UUID authorId) {
+        LocalDate start = bucketOf(granularity, from);
+        LocalDate end = nextBucket(granularity, bucketOf(granularity, to));
+
+        Map<LocalDate, RentalTrendPointProjection> points = rentalRollupRepository
+                .findTrend(granularity.name(), start, end, toParam(categoryId), toParam(authorId))
+                .stream()
+                .collect(Collectors.toMap(RentalTrendPointProjection::getBucketStart, Function.identity()));
+
+        List<RentalTrendPointDTO> trend = new ArrayList<>();
+        for (LocalDate bucket = start; bucket.isBefore(end); bucket = nextBucket(granularity, bucket)) {
+            RentalTrendPointProjection point = points.get(bucket);
+            trend.add(point == null
+                    ? new RentalTrendPointDTO(bucket, 0, 0, 0)
+                    : new RentalTrendPointDTO(bucket, point.getRentals(), point.getReturns(), point.getCancellations()));
+        }
+        return trend;
+    }
+
+    /**
+     * Categorías con más alquileres entre from y to
+     */
+    @Transactional(readOnly = true)
+    public List<RentalTrendBreakdownDTO> getCategoryBreakdown(RollupGranularity granularity, LocalDate from,
+                                                              LocalDate to, UUID authorId, int limit) {
+        return toBreakdown(rentalRollupRepository.findCategoryBreakdown(granularity.name(),
+                bucketOf(granularity, from), nextBucket(granularity, bucketOf(granularity, to)),
+                toParam(authorId), limit));
+    }
+
+    /**
+     * Autores con más alquileres entre from y to
+     */
+    @Transactional(readOnly = true)
+    public List<RentalTrendBreakdownDTO> getAuthorBreakdown(RollupGranularity granularity, LocalDate from,
+                                                            LocalDate to, UUID categoryId, int limit) {
+        return toBreakdown(rentalRollupRepository.findAuthorBreakdown(granularity.name(),
+                bucketOf(granularity, from), nextBucket(granularity, bucketOf(granularity, to)),
+                toParam(categoryId), limit));
+    }
+
+    /**
+     * Primer día con filas diarias; antes solo hay semanas y meses
+     */
+    public LocalDate getDailyHorizon(LocalDate today) {
+        return today.minusDays(dailyRetentionDays);
+    }
+
+    /**
+     * Inicio del periodo que contiene la fecha (lunes para semanas, día 1 para meses)
+     */
+    public static LocalDate bucketOf(RollupGranularity granularity, LocalDate date) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextBucket(RollupGranularity granularity, LocalDate bucket) {
+        return switch (granularity) {
+            case DAY -> bucket.plusDays(1);
+            case WEEK -> bucket.plusWeeks(1);
+            case MONTH -> bucket.plusMonths(1);
+        };
+    }
+
+    /**
+     * Porcentaje respecto al primero (el de más alquileres) para las barras del gráfico
+     */
+    private List<RentalTrendBreakdownDTO> toBreakdown(List<RentalTrendBreakdownProjection> projections) {
+        long max = projections.isEmpty() ? 0 : projections.get(0).getRentals();
+        return projections.stream()
+                .map(p -> new RentalTrendBreakdownDTO(p.getId(), p.getLabel(), p.getRentals(),
+                        max == 0 ? 0.0 : Math.round(p.getRentals() * 1000.0 / max) / 10.0))
+                .collect(Collectors.toList());
+    }
+
+    private static String toParam(UUID id) {
+        return id != null ? id.toString() : null;
+    }
+}
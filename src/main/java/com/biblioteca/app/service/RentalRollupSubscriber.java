@@ -0,0 +1,25 @@
+package com.biblioteca.app.service;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.biblioteca.app.dto.rental.RentalEvent;
+
+/**
+ * Mantiene los agregados diarios de alquileres (RentalRollupService) con los eventos del outbox
+ */
+@Component
+@Order(10)
+public class RentalRollupSubscriber implements RentalEventSubscriber {
+
+    private final RentalRollupService rentalRollupService;
+
+    public RentalRollupSubscriber(RentalRollupService rentalRollupService) {
+        this.rentalRollupService = rentalRollupService;
+    }
+
+    @Override
+    public void onEvent(RentalEvent event) {
+        rentalRollupService.apply(event);
+    }
+}
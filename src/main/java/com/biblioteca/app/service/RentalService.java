@@ -1,10 +1,14 @@
 package com.biblioteca.app.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,7 +29,11 @@ import com.biblioteca.app.entity.BookCopyStatus;
 import com.biblioteca.app.entity.Rental;
 import com.biblioteca.app.entity.RentalStatus;
 import com.biblioteca.app.entity.User;
+import com.biblioteca.app.entity.enums.RentalEventType;
+import com.biblioteca.app.helper.MostRequestedBookMapper;
 import com.biblioteca.app.helper.PageMapper;
+import com.biblioteca.app.helper.PenaltyUtil;
+import com.biblioteca.app.helper.ReadYourWritesUtil;
 import com.biblioteca.app.repository.BookCopyRepository;
 import com.biblioteca.app.repository.BookRepository;
 import com.biblioteca.app.repository.RentalRepository;
@@ -33,6 +41,13 @@ import com.biblioteca.app.repository.RentalStatusRepository;
 import com.biblioteca.app.repository.UserRepository;
 import com.biblioteca.app.repository.projection.BookMostRequestedProjection;
 import com.biblioteca.app.repository.projection.BookRentalStatsProjection;
+import com.biblioteca.app.repository.projection.BookReportLabelProjection;
+import com.biblioteca.app.repository.specification.RentalSpecifications;
+import com.biblioteca.app.service.analytics.BookRankingPage;
+import com.biblioteca.app.service.analytics.BookRentalTally;
+import com.biblioteca.app.service.analytics.RentalAnalyticsEngine;
+import com.biblioteca.app.service.jfr.RentalTransitionEvent;
+import com.biblioteca.app.service.metrics.BusinessMetrics;
 
 @Service
 @Transactional(readOnly = true)
@@ -55,10 +70,28 @@ public class RentalService {
 
     @Autowired
     private ConfigurationService configurationService;
+
+    @Autowired
+    private RentalArchiveService rentalArchiveService;
     
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private BookHoldService bookHoldService;
+
+    @Autowired
+    private RentalAnalyticsEngine rentalAnalyticsEngine;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private BusinessMetrics businessMetrics;
+
     /**
      * Obtiene un alquiler por ID
      */
@@ -121,7 +154,13 @@ public class RentalService {
      * Obtiene estadísticas de los libros más pedidos (top N)
      */
     public List<BookRentalStatsDTO> getTopRequestedBooks(int limit) {
-        List<BookRentalStatsProjection> projections = rentalRepository.getTopRequestedBooks(limit);
+        if (rentalAnalyticsEngine.isReady()) {
+            return getTopRequestedBooksFromEngine(limit);
+        }
+
+        List<BookRentalStatsProjection> projections = rentalArchiveService.hasArchivedRentals()
+                ? rentalRepository.getTopRequestedBooksWithArchive(limit)
+                : rentalRepository.getTopRequestedBooks(limit);
 
         return projections.stream()
                 .map(this::toDTO)
@@ -140,6 +179,7 @@ public class RentalService {
      */
     @Transactional
     public Rental save(Rental rental) {
+        dashboardStreamService.markChanged();
         return rentalRepository.save(rental);
     }
 
@@ -149,6 +189,7 @@ public class RentalService {
     @Transactional
     public void delete(UUID rentalId) {
         rentalRepository.deleteById(rentalId);
+        dashboardStreamService.markChanged();
     }
 
     /**
@@ -181,7 +222,7 @@ public class RentalService {
         String statusFilter, int dueSoonDays,
         String dateFrom, String dateTo) {
 
-        Pageable pageable = PageRequest.of(page - 1, size);
+        Pageable pageable = PageRequest.of(page - 1, size, Sort.by("dueDate").ascending());
 
         LocalDateTime dateFromParsed = (dateFrom != null && !dateFrom.isEmpty())
                 ? LocalDateTime.parse(dateFrom + "T00:00:00") : null;
@@ -194,9 +235,10 @@ public class RentalService {
         String normalizedStatus = (statusFilter != null && !statusFilter.isEmpty()) 
                 ? statusFilter : null;
 
-        Page<Rental> rentalsPage = rentalRepository.findActiveRentalsWithFilters(
-                search, dateFromParsed, dateToParsed,
-                normalizedStatus, now, dueSoonThreshold, pageable);
+        Page<Rental> rentalsPage = rentalRepository.findAll(
+                RentalSpecifications.activeWithFilters(search, dateFromParsed, dateToParsed,
+                        normalizedStatus, now, dueSoonThreshold),
+                pageable);
 
         return PageMapper.toPagedResult(
                 rentalsPage.getContent(),
@@ -216,9 +258,11 @@ public class RentalService {
         return (int) rentalRepository.countDueSoonRentals(now, dueSoonThreshold);
     }
 
+    /**
+     * Alquileres vencidos según el indicador que mantiene RentalPenaltyService
+     */
     public int getOverdueRentalsCount() {
-        LocalDateTime now = LocalDateTime.now();
-        return (int) rentalRepository.countOverdueRentals(now);
+        return (int) rentalRepository.countOverdueRentals();
     }
 
     public int getActiveRentalsCount() {
@@ -232,28 +276,145 @@ public class RentalService {
             int currentPage,
             int pageSize,
             String categoryId) {
+        return getMostRequestedBooks(currentPage, pageSize, categoryId, null, null);
+    }
+
+    /**
+     * Obtiene libros más pedidos con paginación y filtro por categoría.
+     *
+     * Orden estable (totalRentals DESC, bookId ASC). Si se indica el cursor (afterTotal, afterBookId:
+     * último libro de la página anterior) la página se lee por keyset desde ese libro, sin OFFSET;
+     * currentPage solo se usa entonces para la numeración.
+     */
+    public PagedResult<BookMostRequestedDTO> getMostRequestedBooks(
+            int currentPage,
+            int pageSize,
+            String categoryId,
+            Integer afterTotal,
+            String afterBookId) {
 
         if (currentPage < 1) {
             currentPage = 1;
         }
 
-        int offset = (currentPage - 1) * pageSize;
+        boolean keyset = afterTotal != null && afterBookId != null;
+        int offset = keyset ? 0 : (currentPage - 1) * pageSize;
+
+        if (rentalAnalyticsEngine.isReady()) {
+            return getMostRequestedBooksFromEngine(currentPage, pageSize, categoryId,
+                    keyset ? afterTotal : null, keyset ? afterBookId : null, offset);
+        }
+
+        // Límites de ayer / hoy como rango sobre RentalDate (sargable)
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        LocalDateTime yesterdayStart = todayStart.minusDays(1);
+        LocalDateTime tomorrowStart = todayStart.plusDays(1);
+
+        Integer cursorTotal = keyset ? afterTotal : null;
+        String cursorBookId = keyset ? afterBookId : null;
+
+        boolean withArchive = rentalArchiveService.hasArchivedRentals();
+        List<BookMostRequestedProjection> projections = withArchive
+                ? rentalRepository.findMostRequestedBooksWithArchive(categoryId, yesterdayStart, todayStart,
+                        tomorrowStart, cursorTotal, cursorBookId, pageSize, offset)
+                : rentalRepository.findMostRequestedBooks(categoryId, yesterdayStart, todayStart,
+                        tomorrowStart, cursorTotal, cursorBookId, pageSize, offset);
+
+        // El total viene en cada fila (ventana); una página vacía lo pide aparte
+        int totalItems = projections.isEmpty()
+                ? (currentPage > 1 ? (int) countMostRequestedBooks(categoryId, withArchive) : 0)
+                : projections.get(0).getTotalItems().intValue();
+
+        List<BookMostRequestedDTO> items = MostRequestedBookMapper.toDTOs(projections);
 
-        //long totalItems = rentalRepository.countMostRequestedBooks(categoryId);
+        return new PagedResult<>(items, currentPage, pageSize, totalItems);
+    }
+
+    /**
+     * Total del reporte para una página vacía, con la misma fuente (con o sin archivo) que la página
+     */
+    private long countMostRequestedBooks(String categoryId, boolean withArchive) {
+        return withArchive
+                ? rentalRepository.countMostRequestedBooksWithArchive(categoryId)
+                : rentalRepository.countMostRequestedBooks(categoryId);
+    }
 
-        List<BookMostRequestedProjection> projections = rentalRepository.findMostRequestedBooks(
-                categoryId, pageSize, offset);
+    // ========= REPORTES EN MEMORIA (RentalAnalyticsEngine) =========
 
-        List<BookMostRequestedDTO> items = projections.stream()
-                .map(this::toMostRequestedDTO)
+    /**
+     * Igual que la consulta SQL, con los conteos del motor en memoria y los textos leídos
+     * por clave solo para los libros de la página
+     */
+    private PagedResult<BookMostRequestedDTO> getMostRequestedBooksFromEngine(
+            int currentPage,
+            int pageSize,
+            String categoryId,
+            Integer afterTotal,
+            String afterBookId,
+            int offset) {
+
+        BookRankingPage ranking = rentalAnalyticsEngine.rankBooks(
+                categoryId != null && !categoryId.isBlank() ? UUID.fromString(categoryId) : null,
+                afterTotal,
+                afterBookId != null ? UUID.fromString(afterBookId) : null,
+                pageSize,
+                offset);
+
+        Map<UUID, BookReportLabelProjection> labels = findReportLabels(ranking.getItems());
+        List<BookMostRequestedDTO> items = ranking.getItems().stream()
+                .filter(tally -> labels.containsKey(tally.getBookId()))
+                .map(tally -> {
+                    BookReportLabelProjection label = labels.get(tally.getBookId());
+                    return new BookMostRequestedDTO(
+                            tally.getBookId().toString(),
+                            label.getTitle(),
+                            label.getIsbn(),
+                            label.getAuthorName(),
+                            label.getCategoryName(),
+                            tally.getTotalRentals(),
+                            tally.getYesterdayRentals(),
+                            tally.getTodayRentals());
+                })
                 .collect(Collectors.toList());
+        items.forEach(item -> item.setPopularityPercentage(ranking.getMaxRentals()));
 
-        if (!items.isEmpty()) {
-            Integer maxRentals = items.get(0).getTotalRentals();
-            items.forEach(item -> item.setPopularityPercentage(maxRentals));
-        }
+        return new PagedResult<>(items, currentPage, pageSize, ranking.getTotalItems());
+    }
+
+    /**
+     * Top N con los conteos del motor en memoria; el desempate por título se hace aquí
+     * sobre los candidatos empatados en el límite
+     */
+    private List<BookRentalStatsDTO> getTopRequestedBooksFromEngine(int limit) {
+        List<BookRentalTally> candidates = rentalAnalyticsEngine.topBooks(limit);
+        Map<UUID, BookReportLabelProjection> labels = findReportLabels(candidates);
+
+        return candidates.stream()
+                .filter(tally -> labels.containsKey(tally.getBookId()))
+                .map(tally -> {
+                    BookReportLabelProjection label = labels.get(tally.getBookId());
+                    return new BookRentalStatsDTO(
+                            tally.getBookId().toString(),
+                            label.getTitle(),
+                            label.getIsbn(),
+                            label.getAuthorName(),
+                            label.getCategoryName(),
+                            tally.getTotalRentals(),
+                            tally.getActiveRentals());
+                })
+                .sorted(Comparator.comparing(BookRentalStatsDTO::getRentalCount).reversed()
+                        .thenComparing(BookRentalStatsDTO::getTitle, String.CASE_INSENSITIVE_ORDER))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
 
-        return new PagedResult<>(items, currentPage, pageSize, pageSize);
+    private Map<UUID, BookReportLabelProjection> findReportLabels(List<BookRentalTally> tallies) {
+        if (tallies.isEmpty()) {
+            return Map.of();
+        }
+        return bookRepository.findReportLabels(tallies.stream().map(BookRentalTally::getBookId).toList())
+                .stream()
+                .collect(Collectors.toMap(BookReportLabelProjection::getBookId, Function.identity()));
     }
 
     // ========= CONVERSIÓN DTOs =========
@@ -270,28 +431,37 @@ public class RentalService {
         );
     }
 
-    private BookMostRequestedDTO toMostRequestedDTO(BookMostRequestedProjection projection) {
-        return new BookMostRequestedDTO(
-                projection.getBookId(),
-                projection.getTitle(),
-                projection.getIsbn(),
-                projection.getAuthorName(),
-                projection.getCategoryName(),
-                projection.getTotalRentals(),
-                projection.getYesterdayRentals(),
-                projection.getTodayRentals()
-        );
-    }
-
     // ========= MÉTODOS PARA MÓDULO DE USUARIO =========
 
     @Transactional
     public Rental createRental(User user, BookCopy bookCopy) {
+        businessMetrics.startRentalOperation("create");
 
         if (!"Disponible".equals(bookCopy.getBookCopyStatus().getBookCopyStatusName())) {
             throw new IllegalStateException("El ejemplar no está disponible");
         }
         
+        return startUserRental(user, bookCopy, "create");
+    }
+
+    /**
+     * Recoge el ejemplar apartado por una reserva lista y crea su alquiler
+     *
+     * @param user Usuario dueño de la reserva
+     * @param holdId ID de la reserva
+     * @return Rental creado
+     */
+    @Transactional
+    public Rental createRentalFromHold(User user, UUID holdId) {
+        businessMetrics.startRentalOperation("create_from_hold");
+        BookCopy bookCopy = bookHoldService.fulfill(user, holdId);
+        return startUserRental(user, bookCopy, "create_from_hold");
+    }
+
+    /**
+     * Alquiler de usuario de 5 días sobre un ejemplar ya validado
+     */
+    private Rental startUserRental(User user, BookCopy bookCopy, String operation) {
         RentalStatus enProcesoStatus = rentalStatusRepository.findByRentalStatusName("En Proceso")
             .orElseThrow(() -> new RuntimeException("Estado 'En Proceso' no encontrado"));
         
@@ -317,7 +487,13 @@ public class RentalService {
         bookCopy.setBookCopyStatus(alquiladoStatus);
         bookCopyRepository.save(bookCopy);
         
-        return rentalRepository.save(rental);
+        Rental savedRental = rentalRepository.save(rental);
+        outboxService.append(RentalEventType.RENTAL_CREATED, savedRental);
+        RentalTransitionEvent.record(operation, savedRental, null);
+        dashboardStreamService.markChanged();
+        
+        ReadYourWritesUtil.markWrite();
+        return savedRental;
     }
 
     @Transactional
@@ -354,7 +530,11 @@ public class RentalService {
             rental.setRentalStatus(status);
 
             Rental savedRental = rentalRepository.save(rental);
+            outboxService.append(RentalEventType.RENTAL_CREATED, savedRental);
+            RentalTransitionEvent.record("create_emergency", savedRental, null);
+            dashboardStreamService.markChanged();
             rentalRepository.flush();
+            ReadYourWritesUtil.markWrite();
             System.out.println("✓ Alquiler guardado con ID: " + savedRental.getRentalId());
 
             return savedRental;
@@ -366,8 +546,11 @@ public class RentalService {
         }
     }
 
+    /**
+     * Total de alquileres del usuario, incluidos los archivados
+     */
     public long countByUser(UUID userId) {
-        return rentalRepository.countByUser_UserId(userId);
+        return rentalRepository.countByUser_UserId(userId) + rentalArchiveService.countArchivedByUser(userId);
     }
 
     public long countActiveByUser(UUID userId) {
@@ -400,8 +583,8 @@ public class RentalService {
         Pageable pageable = PageRequest.of(page - 1, pageSize, 
             Sort.by(Sort.Direction.DESC, "rentalDate"));
         
-        Page<Rental> springPage = rentalRepository.findAllWithFilters(
-            search, userId, rentalStatusId, pageable);
+        Page<Rental> springPage = rentalRepository.findAll(
+            RentalSpecifications.withFilters(search, userId, rentalStatusId), pageable);
         
         return new PagedResult<>(
             springPage.getContent(),
@@ -440,6 +623,13 @@ public class RentalService {
         }
     }
     
+    /**
+     * Penalidad diaria exacta para el cálculo de importes
+     */
+    public BigDecimal getDailyPenaltyAmount() {
+        return configurationService.getBigDecimalValue("ReturnDelayDailyPenalty", new BigDecimal("12.5"));
+    }
+    
     /**
      * Crea un alquiler para el administrador
      * 
@@ -451,6 +641,7 @@ public class RentalService {
      */
     @Transactional
     public Rental createRentalForAdmin(UUID userId, UUID bookId, int rentalDays, String notes) {
+        businessMetrics.startRentalOperation("create_admin");
         
         // Buscar usuario
         User user = userRepository.findById(userId)
@@ -495,7 +686,13 @@ public class RentalService {
         bookCopy.setBookCopyStatus(alquiladoStatus);
         bookCopyRepository.save(bookCopy);
         
-        return rentalRepository.save(rental);
+        Rental savedRental = rentalRepository.save(rental);
+        outboxService.append(RentalEventType.RENTAL_CREATED, savedRental);
+        RentalTransitionEvent.record("create_admin", savedRental, null);
+        dashboardStreamService.markChanged();
+        
+        ReadYourWritesUtil.markWrite();
+        return savedRental;
     }
     
     /**
@@ -505,6 +702,7 @@ public class RentalService {
      */
     @Transactional
     public void markAsReturned(UUID rentalId) {
+        businessMetrics.startRentalOperation("return");
         Rental rental = rentalRepository.findById(rentalId)
             .orElseThrow(() -> new IllegalArgumentException("Alquiler no encontrado"));
         
@@ -515,16 +713,23 @@ public class RentalService {
         RentalStatus devueltoStatus = rentalStatusRepository.findByRentalStatusName("Devuelto")
             .orElseThrow(() -> new RuntimeException("Estado 'Devuelto' no encontrado"));
         
-        BookCopyStatus disponibleStatus = bookCopyStatusService.findByName("Disponible")
-            .orElseThrow(() -> new RuntimeException("Estado 'Disponible' no encontrado"));
+        // Penalidad definitiva a la fecha de devolución
+        LocalDateTime returnDate = LocalDateTime.now();
+        rental.setPenaltyAmount(PenaltyUtil.penalty(rental.getDueDate(), returnDate, getDailyPenaltyAmount()));
+        rental.setPenaltyCalculatedAt(returnDate);
+        rental.setOverdue(false);
         
         rental.setRentalStatus(devueltoStatus);
-        rental.setReturnDate(LocalDateTime.now());
+        rental.setReturnDate(returnDate);
         rentalRepository.save(rental);
         
-        BookCopy bookCopy = rental.getBookCopy();
-        bookCopy.setBookCopyStatus(disponibleStatus);
-        bookCopyRepository.save(bookCopy);
+        // El ejemplar pasa al primero de la cola de reservas o queda 'Disponible'
+        bookHoldService.releaseCopy(rental.getBookCopy());
+        
+        outboxService.append(RentalEventType.RENTAL_RETURNED, rental);
+        RentalTransitionEvent.record("return", rental, "En Proceso");
+        dashboardStreamService.markChanged();
+        ReadYourWritesUtil.markWrite();
     }
     
     /**
@@ -534,6 +739,7 @@ public class RentalService {
      */
     @Transactional
     public void cancelRental(UUID rentalId) {
+        businessMetrics.startRentalOperation("cancel");
         Rental rental = rentalRepository.findById(rentalId)
             .orElseThrow(() -> new IllegalArgumentException("Alquiler no encontrado"));
         
@@ -544,14 +750,16 @@ public class RentalService {
         RentalStatus canceladoStatus = rentalStatusRepository.findByRentalStatusName("Cancelado")
             .orElseThrow(() -> new RuntimeException("Estado 'Cancelado' no encontrado"));
         
-        BookCopyStatus disponibleStatus = bookCopyStatusService.findByName("Disponible")
-            .orElseThrow(() -> new RuntimeException("Estado 'Disponible' no encontrado"));
-        
         rental.setRentalStatus(canceladoStatus);
+        rental.setOverdue(false);
         rentalRepository.save(rental);
         
-        BookCopy bookCopy = rental.getBookCopy();
-        bookCopy.setBookCopyStatus(disponibleStatus);
-        bookCopyRepository.save(bookCopy);
+        // El ejemplar pasa al primero de la cola de reservas o queda 'Disponible'
+        bookHoldService.releaseCopy(rental.getBookCopy());
+        
+        outboxService.append(RentalEventType.RENTAL_CANCELLED, rental);
+        RentalTransitionEvent.record("cancel", rental, "En Proceso");
+        dashboardStreamService.markChanged();
+        ReadYourWritesUtil.markWrite();
     }
 }
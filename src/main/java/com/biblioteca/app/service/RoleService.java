@@ -1,6 +1,7 @@
 package com.biblioteca.app.service;
 
 import com.biblioteca.app.entity.Role;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
 import com.biblioteca.app.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,9 @@ public class RoleService {
     
     @Autowired
     private RoleRepository roleRepository;
+
+    @Autowired
+    private ReferenceDataVersionService referenceDataVersionService;
     
     /**
      * Obtiene todos los roles del sistema.
@@ -68,7 +72,9 @@ public class RoleService {
      */
     @Transactional
     public Role save(Role role) {
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        referenceDataVersionService.invalidate(ReferenceDataType.ROLE);
+        return saved;
     }
     
     /**
@@ -79,6 +85,7 @@ public class RoleService {
     @Transactional
     public void delete(UUID roleId) {
         roleRepository.deleteById(roleId);
+        referenceDataVersionService.invalidate(ReferenceDataType.ROLE);
     }
     
     /**
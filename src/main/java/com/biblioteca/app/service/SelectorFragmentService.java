@@ -0,0 +1,154 @@
+package com.biblioteca.app.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.biblioteca.app.dto.shared.SelectOption;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
+
+/**
+ * Caché de fragmentos renderizados para los selectores de las plantillas
+ * (categorías, autores, países, estados y roles).
+ *
+ * Las plantillas lo usan como bean: th:utext="${@selectorFragments.categories(categoryIdValue)}".
+ * El HTML se guarda una sola vez por lista de opciones, sin selección, junto con la posición
+ * de cada opción; la opción seleccionada se marca al servir insertando el atributo selected.
+ * Se vuelve a renderizar cuando ReferenceDataService recarga la lista, ya sea por un cambio
+ * de versión (compartida entre nodos) o por max-age.
+ */
+@Service("selectorFragments")
+public class SelectorFragmentService {
+
+    private static final String TEMPLATE = "fragments/selectors";
+    private static final Set<String> OPTIONS_FRAGMENT = Set.of("options");
+    private static final String SELECTED_ATTRIBUTE = " selected=\"selected\"";
+
+    private final ITemplateEngine templateEngine;
+    private final ReferenceDataService referenceDataService;
+
+    private final Map<ReferenceDataType, RenderedOptions> cache = new ConcurrentHashMap<>();
+
+    public SelectorFragmentService(ITemplateEngine templateEngine, ReferenceDataService referenceDataService) {
+        this.templateEngine = templateEngine;
+        this.referenceDataService = referenceDataService;
+    }
+
+    // ====== SELECTORES ======
+
+    /**
+     * Opciones de categorías
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String categories(Object selected) {
+        return render(ReferenceDataType.CATEGORY, selected);
+    }
+
+    /**
+     * Opciones de autores
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String authors(Object selected) {
+        return render(ReferenceDataType.AUTHOR, selected);
+    }
+
+    /**
+     * Opciones de países
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String countries(Object selected) {
+        return render(ReferenceDataType.COUNTRY, selected);
+    }
+
+    /**
+     * Opciones de estados de registro
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String statuses(Object selected) {
+        return render(ReferenceDataType.STATUS, selected);
+    }
+
+    /**
+     * Opciones de estados de libro
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String bookStatuses(Object selected) {
+        return render(ReferenceDataType.BOOK_STATUS, selected);
+    }
+
+    /**
+     * Opciones de estados de ejemplar
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String bookCopyStatuses(Object selected) {
+        return render(ReferenceDataType.BOOK_COPY_STATUS, selected);
+    }
+
+    /**
+     * Opciones de roles
+     * @param selected ID seleccionado (UUID o String, puede ser null)
+     */
+    public String roles(Object selected) {
+        return render(ReferenceDataType.ROLE, selected);
+    }
+
+    // ====== RENDERIZADO ======
+
+    private String render(ReferenceDataType type, Object selected) {
+        List<SelectOption> options = referenceDataService.getOptions(type);
+
+        RenderedOptions rendered = cache.get(type);
+        if (rendered == null || rendered.options != options) {
+            rendered = new RenderedOptions(options, renderOptions(options));
+            cache.put(type, rendered);
+        }
+
+        // Cualquier valor que no sea un ID de la lista se sirve sin selección
+        Integer offset = selected != null ? rendered.selectionOffsets.get(selected.toString()) : null;
+        if (offset == null) {
+            return rendered.html;
+        }
+        return new StringBuilder(rendered.html.length() + SELECTED_ATTRIBUTE.length())
+                .append(rendered.html, 0, offset)
+                .append(SELECTED_ATTRIBUTE)
+                .append(rendered.html, offset, rendered.html.length())
+                .toString();
+    }
+
+    private String renderOptions(List<SelectOption> options) {
+        Context context = new Context(LocaleContextHolder.getLocale());
+        context.setVariable("options", options);
+        return templateEngine.process(TEMPLATE, OPTIONS_FRAGMENT, context);
+    }
+
+    /**
+     * Una lista de opciones cargada, su HTML sin selección y, por ID, la posición justo
+     * después de value="ID" donde va el atributo selected
+     */
+    private static class RenderedOptions {
+        private final List<SelectOption> options;
+        private final String html;
+        private final Map<String, Integer> selectionOffsets;
+
+        RenderedOptions(List<SelectOption> options, String html) {
+            this.options = options;
+            this.html = html;
+            this.selectionOffsets = new HashMap<>(options.size() * 2);
+            for (SelectOption option : options) {
+                // Los textos van escapados, así que value="ID" solo aparece en su propia opción
+                String value = "value=\"" + option.getId() + "\"";
+                int index = html.indexOf(value);
+                if (index >= 0) {
+                    selectionOffsets.put(option.getId().toString(), index + value.length());
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.biblioteca.app.service;
 
 import com.biblioteca.app.entity.BookStatus;
 import com.biblioteca.app.entity.Status;
+import com.biblioteca.app.entity.enums.ReferenceDataType;
 import com.biblioteca.app.repository.BookStatusRepository;
 import com.biblioteca.app.repository.StatusRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +26,9 @@ public class StatusService {
     
     @Autowired
     private BookStatusRepository bookStatusRepository;
+
+    @Autowired
+    private ReferenceDataVersionService referenceDataVersionService;
     
     /**
      * Obtiene todos los estados del sistema.
@@ -73,7 +77,9 @@ public class StatusService {
      */
     @Transactional
     public Status save(Status status) {
-        return statusRepository.save(status);
+        Status saved = statusRepository.save(status);
+        referenceDataVersionService.invalidate(ReferenceDataType.STATUS);
+        return saved;
     }
     
     /**
@@ -84,6 +90,7 @@ public class StatusService {
     @Transactional
     public void delete(UUID statusId) {
         statusRepository.deleteById(statusId);
+        referenceDataVersionService.invalidate(ReferenceDataType.STATUS);
     }
     
     /**
@@ -159,7 +166,9 @@ public class StatusService {
      */
     @Transactional
     public BookStatus saveBookStatus(BookStatus bookStatus) {
-        return bookStatusRepository.save(bookStatus);
+        BookStatus saved = bookStatusRepository.save(bookStatus);
+        referenceDataVersionService.invalidate(ReferenceDataType.BOOK_STATUS);
+        return saved;
     }
     
     /**
@@ -170,6 +179,7 @@ public class StatusService {
     @Transactional
     public void deleteBookStatus(UUID bookStatusId) {
         bookStatusRepository.deleteById(bookStatusId);
+        referenceDataVersionService.invalidate(ReferenceDataType.BOOK_STATUS);
     }
     // ===== USUARIO =====
 
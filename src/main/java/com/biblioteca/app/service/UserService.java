@@ -9,15 +9,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.biblioteca.app.dto.shared.PagedResult;
+import com.biblioteca.app.dto.shared.SelectOption;
 import com.biblioteca.app.dto.user.UserDTO;
 import com.biblioteca.app.dto.user.UserData;
 import com.biblioteca.app.entity.Role;
 import com.biblioteca.app.entity.Status;
 import com.biblioteca.app.entity.User;
 import com.biblioteca.app.helper.PasswordUtil;
+import com.biblioteca.app.helper.SearchTermUtil;
 import com.biblioteca.app.repository.RoleRepository;
 import com.biblioteca.app.repository.StatusRepository;
 import com.biblioteca.app.repository.UserRepository;
+import com.biblioteca.app.repository.specification.UserSpecifications;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
@@ -171,6 +174,27 @@ public class UserService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Busca usuarios activos por prefijo de email para selectores con autocompletado.
+     *
+     * @param term Texto escrito por el usuario
+     * @return Como máximo 20 opciones (vacío si el término es demasiado corto)
+     */
+    public List<SelectOption> searchActiveOptions(String term) {
+        String prefix = SearchTermUtil.toLikePrefix(term);
+        if (prefix == null) {
+            return List.of();
+        }
+        return userRepository.findActiveOptionsByEmailPrefix(prefix, PageRequest.of(0, SearchTermUtil.TYPEAHEAD_LIMIT));
+    }
+
+    /**
+     * Obtiene un usuario como opción de selector (para mostrar el valor ya seleccionado)
+     */
+    public Optional<SelectOption> findOptionById(UUID userId) {
+        return userRepository.findOptionById(userId);
+    }
+
     /**
      * Obtiene usuarios con paginación y filtros
      */
@@ -182,7 +206,8 @@ public class UserService {
         
         Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by("createdAt").descending());
         
-        Page<User> springPage = userRepository.findAllWithFilters(search, roleId, statusId, pageable);
+        Page<User> springPage = userRepository.findAll(
+            UserSpecifications.withFilters(search, roleId, statusId), pageable);
         
         List<UserData> userDataList = springPage.getContent().stream()
             .map(this::mapToUserData)
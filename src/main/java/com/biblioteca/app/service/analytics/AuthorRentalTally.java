@@ -0,0 +1,26 @@
+package com.biblioteca.app.service.analytics;
+
+import java.util.UUID;
+
+/**
+ * Alquileres de todos los libros de un autor calculados por RentalAnalyticsEngine
+ */
+public class AuthorRentalTally {
+
+    private final UUID authorId;
+    private final int totalRentals;
+
+    public AuthorRentalTally(UUID authorId, int totalRentals) {
+        this.authorId = authorId;
+        this.totalRentals = totalRentals;
+    }
+
+    // Getters
+    public UUID getAuthorId() {
+        return authorId;
+    }
+
+    public int getTotalRentals() {
+        return totalRentals;
+    }
+}
@@ -0,0 +1,32 @@
+package com.biblioteca.app.service.analytics;
+
+import java.util.List;
+
+/**
+ * Página del ranking de libros más pedidos, con el total y el máximo del ranking completo
+ */
+public class BookRankingPage {
+
+    private final List<BookRentalTally> items;
+    private final int totalItems;
+    private final int maxRentals;
+
+    public BookRankingPage(List<BookRentalTally> items, int totalItems, int maxRentals) {
+        this.items = items;
+        this.totalItems = totalItems;
+        this.maxRentals = maxRentals;
+    }
+
+    // Getters
+    public List<BookRentalTally> getItems() {
+        return items;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public int getMaxRentals() {
+        return maxRentals;
+    }
+}
@@ -0,0 +1,45 @@
+package com.biblioteca.app.service.analytics;
+
+import java.util.UUID;
+
+/**
+ * Alquileres de un libro calculados por RentalAnalyticsEngine
+ */
+public class BookRentalTally {
+
+    private final UUID bookId;
+    private final int totalRentals;
+    private final int yesterdayRentals;
+    private final int todayRentals;
+    private final int activeRentals;
+
+    public BookRentalTally(UUID bookId, int totalRentals, int yesterdayRentals,
+                           int todayRentals, int activeRentals) {
+        this.bookId = bookId;
+        this.totalRentals = totalRentals;
+        this.yesterdayRentals = yesterdayRentals;
+        this.todayRentals = todayRentals;
+        this.activeRentals = activeRentals;
+    }
+
+    // Getters
+    public UUID getBookId() {
+        return bookId;
+    }
+
+    public int getTotalRentals() {
+        return totalRentals;
+    }
+
+    public int getYesterdayRentals() {
+        return yesterdayRentals;
+    }
+
+    public int getTodayRentals() {
+        return todayRentals;
+    }
+
+    public int getActiveRentals() {
+        return activeRentals;
+    }
+}
@@ -0,0 +1,692 @@
+package com.biblioteca.app.service.analytics;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToIntFunction;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.biblioteca.app.dto.rental.RentalEvent;
+import com.biblioteca.app.entity.enums.RentalEventType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Motor en memoria para los reportes de alquileres (libros y autores más pedidos).
+ *
+ * Al arrancar carga todos los alquileres (Rental y RentalArchive) en un RentalFactStore con
+ * una consulta JDBC en streaming y después se mantiene al día leyendo la tabla OutboxEvent
+ * cada biblioteca.analytics.poll-interval desde su propio cursor (último EventId leído).
+ * No es un RentalEventSubscriber: OutboxDispatcher entrega cada evento a un solo nodo y
+ * cada nodo necesita verlos todos. Los ids que faltan por debajo del cursor (transacciones
+ * aún sin confirmar) se vuelven a buscar durante biblioteca.analytics.gap-timeout.
+ *
+ * Los reportes se calculan con un escaneo fork-join de las columnas en lugar de un GROUP BY
+ * en MySQL; los textos (título, nombre...) los completa cada servicio con una consulta por
+ * clave de los pocos ids de la página.
+ *
+ * Las dimensiones libro -> autor/categoría y autor -> país/estado se releen cada
+ * biblioteca.analytics.dimension-refresh, y una recarga completa nocturna
+ * (biblioteca.analytics.reload-cron) acota cualquier desviación respecto a la base de datos.
+ * Mientras el motor no está cargado (isReady() == false) los servicios usan las consultas SQL.
+ */
+@Service
+public class RentalAnalyticsEngine implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalAnalyticsEngine.class);
+
+    /**
+     * Una sola sentencia: ve una foto consistente aunque el archivado mueva filas mientras carga
+     */
+    private static final String LOAD_RENTALS = """
+        SELECT r.RentalId, bc.BookId, r.UserId, r.RentalDate, rs.RentalStatusName
+        FROM Rental r
+        INNER JOIN BookCopy bc ON bc.BookCopyId = r.BookCopyId
+        INNER JOIN RentalStatus rs ON rs.RentalStatusId = r.RentalStatusId
+        UNION ALL
+        SELECT ra.RentalId, bc.BookId, ra.UserId, ra.RentalDate, rs.RentalStatusName
+        FROM RentalArchive ra
+        INNER JOIN BookCopy bc ON bc.BookCopyId = ra.BookCopyId
+        INNER JOIN RentalStatus rs ON rs.RentalStatusId = ra.RentalStatusId
+        """;
+
+    private static final String LOAD_EVENTS = """
+        SELECT EventId, EventType, RentalId, BookCopyId, BookId, UserId, RentalStatusName, OccurredAt
+        FROM OutboxEvent
+        """;
+
+    private static final String LOAD_EVENTS_AFTER = LOAD_EVENTS + "WHERE EventId > ? ORDER BY EventId LIMIT ?";
+
+    /**
+     * Cursor inicial de una carga: último evento anterior a la ventana de huecos. Los eventos
+     * posteriores se vuelven a leer tras la carga; aplicarlos otra vez no cambia nada.
+     */
+    private static final String START_CURSOR =
+            "SELECT EventId FROM OutboxEvent WHERE OccurredAt < ? ORDER BY EventId DESC LIMIT 1";
+
+    private static final String LOAD_BOOKS = "SELECT BookId, AuthorId, CategoryId FROM Book";
+
+    private static final String LOAD_AUTHORS = "SELECT AuthorId, CountryId, StatusId FROM Author";
+
+    private static final String LOAD_BOOK = """
+        SELECT b.AuthorId, b.CategoryId, a.CountryId, a.StatusId
+        FROM Book b
+        INNER JOIN Author a ON a.AuthorId = b.AuthorId
+        WHERE b.BookId = ?
+        """;
+
+    /**
+     * Orden del reporte SQL: totalRentals DESC, BookId ASC (bytes sin signo, como BINARY(16))
+     */
+    private static final Comparator<BookRentalTally> BOOK_ORDER =
+            Comparator.comparingInt(BookRentalTally::getTotalRentals).reversed()
+                    .thenComparing(BookRentalTally::getBookId, RentalAnalyticsEngine::compareBinary);
+
+    private static final int MIN_LEAF_ROWS = 1 << 16;
+    private static final int MAX_GAPS = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Excluye la lectura de eventos durante una recarga; protege cursor y gaps
+     */
+    private final ReentrantLock cursorLock = new ReentrantLock();
+
+    private final boolean enabled;
+    private final int parallelism;
+    private final int initialCapacity;
+    private final int pollBatchSize;
+    private final Duration gapTimeout;
+
+    /**
+     * null hasta la primera carga; se reemplaza entero en cada recarga (bajo el write lock)
+     */
+    private volatile RentalFactStore store;
+
+    /**
+     * Último EventId leído de OutboxEvent
+     */
+    private long cursor;
+
+    /**
+     * EventId que faltaban por debajo del cursor -> System.nanoTime() en que se detectaron
+     */
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+
+    // ====== MÉTRICAS ======
+
+    private final Counter appliedCounter;
+    private final Counter ignoredCounter;
+    private final Counter failedRunsCounter;
+    private final Timer loadTimer;
+    private final Timer scanTimer;
+
+    public RentalAnalyticsEngine(DataSource dataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${biblioteca.analytics.enabled:false}") boolean enabled,
+                                 @Value("${biblioteca.analytics.parallelism:0}") int parallelism,
+                                 @Value("${biblioteca.analytics.initial-capacity:1048576}") int initialCapacity,
+                                 @Value("${biblioteca.analytics.fetch-size:-2147483648}") int fetchSize,
+                                 @Value("${biblioteca.analytics.poll-batch-size:1000}") int pollBatchSize,
+                                 @Value("${biblioteca.analytics.gap-timeout:PT1M}") Duration gapTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Integer.MIN_VALUE: Connector/J entrega las filas de una en una (streaming)
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.enabled = enabled;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.initialCapacity = initialCapacity;
+        this.pollBatchSize = pollBatchSize;
+        this.gapTimeout = gapTimeout;
+        this.pool = new ForkJoinPool(this.parallelism);
+
+        this.appliedCounter = Counter.builder("biblioteca.analytics.events.applied")
+                .description("Eventos de alquiler aplicados al motor en memoria")
+                .register(meterRegistry);
+        this.ignoredCounter = Counter.builder("biblioteca.analytics.events.ignored")
+                .description("Eventos repetidos o de alquileres desconocidos ignorados")
+                .register(meterRegistry);
+        this.failedRunsCounter = Counter.builder("biblioteca.analytics.load.failed")
+                .description("Cargas, refrescos o lecturas de eventos del motor en memoria con error")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("biblioteca.analytics.load.duration")
+                .description("Duración de la carga completa del motor en memoria")
+                .register(meterRegistry);
+        this.scanTimer = Timer.builder("biblioteca.analytics.scan.duration")
+                .description("Duración del escaneo de columnas de un reporte")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gauges sobre el propio motor; fuera del constructor para no publicar this a medio construir
+     */
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("biblioteca.analytics.rows", this, e -> e.rowCount())
+                .description("Alquileres cargados en memoria")
+                .register(meterRegistry);
+        Gauge.builder("biblioteca.analytics.memory.bytes", this, e -> e.memoryBytes())
+                .description("Memoria estimada del motor (columnas, dimensiones e índices)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("biblioteca.analytics.memory.bytes.per.million", this, e -> e.memoryBytesPerMillion())
+                .description("Memoria estimada por millón de alquileres (NaN sin datos)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return enabled && store != null;
+    }
+
+    // ====== CARGA (JOBS) ======
+
+    /**
+     * Primera carga tras biblioteca.analytics.initial-delay y luego refresco de dimensiones
+     * cada biblioteca.analytics.dimension-refresh
+     */
+    @Scheduled(initialDelayString = "${biblioteca.analytics.initial-delay:PT5S}",
+               fixedDelayString = "${biblioteca.analytics.dimension-refresh:PT10M}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (store == null) {
+                reload();
+            } else {
+                refreshDimensions();
+            }
+        } catch (RuntimeException e) {
+            failedRunsCounter.increment();
+            log.error("Error cargando el motor de analítica de alquileres", e);
+        }
+    }
+
+    /**
+     * Recarga completa; horario en biblioteca.analytics.reload-cron
+     */
+    @Scheduled(cron = "${biblioteca.analytics.reload-cron:0 15 4 * * *}")
+    public void scheduledReload() {
+        if (!enabled || store == null) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            failedRunsCounter.increment();
+            log.error("Error recargando el motor de analítica de alquileres", e);
+        }
+    }
+
+    /**
+     * Construye un store nuevo desde la base de datos y lo publica. Mientras carga no se leen
+     * eventos; al terminar el cursor vuelve al inicio de la ventana de huecos y la siguiente
+     * lectura aplica al store nuevo lo ocurrido durante la carga (lo ya incluido se ignora).
+     */
+    public void reload() {
+        long start = System.nanoTime();
+        int today = (int) LocalDate.now().toEpochDay();
+
+        cursorLock.lock();
+        try {
+            // Antes de leer los alquileres: ningún evento posterior a la foto queda por delante del cursor
+            Long startCursor = jdbcTemplate.query(START_CURSOR,
+                    rs -> rs.next() ? rs.getLong(1) : 0L,
+                    LocalDateTime.now().minus(gapTimeout));
+
+            RentalFactStore previous = store;
+            int capacity = previous != null ? previous.size() + (previous.size() >> 3) : initialCapacity;
+            RentalFactStore fresh = new RentalFactStore(capacity, today - 1);
+
+            jdbcTemplate.query(LOAD_RENTALS, rs -> {
+                fresh.append(
+                        uuid(rs.getBytes(1)),
+                        uuid(rs.getBytes(2)),
+                        uuid(rs.getBytes(3)),
+                        (int) rs.getObject(4, LocalDateTime.class).toLocalDate().toEpochDay(),
+                        RentalFactStore.statusOf(rs.getString(5)));
+            });
+            // Después de los alquileres: así incluye los libros creados durante la carga
+            loadDimensions(fresh);
+
+            lock.writeLock().lock();
+            try {
+                store = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            cursor = startCursor != null ? startCursor : 0L;
+            gaps.clear();
+        } finally {
+            cursorLock.unlock();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Analítica de alquileres cargada: {} alquileres, {} libros, {} autores en {} ms; "
+                        + "memoria estimada {} KB ({} bytes por millón de alquileres)",
+                rowCount(), store.books.size(), store.authors.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), memoryBytes() / 1024,
+                Math.round(memoryBytesPerMillion()));
+    }
+
+    /**
+     * Relee libro -> autor/categoría y autor -> país/estado (cambios de catálogo, bajas)
+     */
+    public void refreshDimensions() {
+        List<UUID[]> books = new ArrayList<>();
+        List<UUID[]> authors = new ArrayList<>();
+        readDimensions(books, authors);
+
+        lock.writeLock().lock();
+        try {
+            RentalFactStore current = store;
+            if (current == null) {
+                return;
+            }
+            current.resetDimensions();
+            applyDimensions(current, books, authors);
+            current.pruneRecent((int) LocalDate.now().toEpochDay() - 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadDimensions(RentalFactStore target) {
+        List<UUID[]> books = new ArrayList<>();
+        List<UUID[]> authors = new ArrayList<>();
+        readDimensions(books, authors);
+        applyDimensions(target, books, authors);
+    }
+
+    private void readDimensions(List<UUID[]> books, List<UUID[]> authors) {
+        jdbcTemplate.query(LOAD_BOOKS, rs -> {
+            books.add(new UUID[] { uuid(rs.getBytes(1)), uuid(rs.getBytes(2)), uuid(rs.getBytes(3)) });
+        });
+        jdbcTemplate.query(LOAD_AUTHORS, rs -> {
+            authors.add(new UUID[] { uuid(rs.getBytes(1)), uuid(rs.getBytes(2)), uuid(rs.getBytes(3)) });
+        });
+    }
+
+    private static void applyDimensions(RentalFactStore target, List<UUID[]> books, List<UUID[]> authors) {
+        for (UUID[] book : books) {
+            target.setBook(book[0], book[1], book[2]);
+        }
+        for (UUID[] author : authors) {
+            target.setAuthor(author[0], author[1], author[2]);
+        }
+    }
+
+    // ====== EVENTOS ======
+
+    /**
+     * Lectura de eventos nuevos del outbox; intervalo en biblioteca.analytics.poll-interval
+     */
+    @Scheduled(initialDelayString = "${biblioteca.analytics.initial-delay:PT5S}",
+               fixedDelayString = "${biblioteca.analytics.poll-interval:PT1S}")
+    public void scheduledPoll() {
+        if (!enabled || store == null) {
+            return;
+        }
+        // Recarga en curso: al terminar se leerá desde su cursor
+        if (!cursorLock.tryLock()) {
+            return;
+        }
+        try {
+            while (poll() == pollBatchSize) {
+                // Quedan eventos: siguiente lote
+            }
+        } catch (RuntimeException e) {
+            failedRunsCounter.increment();
+            log.error("Error leyendo eventos de alquiler para el motor de analítica", e);
+        } finally {
+            cursorLock.unlock();
+        }
+    }
+
+    /**
+     * Lee y aplica un lote de eventos posteriores al cursor y los huecos pendientes; se llama con cursorLock
+     *
+     * @return Eventos leídos después del cursor
+     */
+    private int poll() {
+        long now = System.nanoTime();
+        List<RentalEvent> events = new ArrayList<>();
+        if (!gaps.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(gaps.size(), "?"));
+            events.addAll(jdbcTemplate.query(LOAD_EVENTS + "WHERE EventId IN (" + placeholders + ")",
+                    (rs, rowNum) -> event(rs), gaps.keySet().toArray()));
+            for (RentalEvent event : events) {
+                gaps.remove(event.getEventId());
+            }
+        }
+
+        List<RentalEvent> next = jdbcTemplate.query(LOAD_EVENTS_AFTER, (rs, rowNum) -> event(rs),
+                cursor, pollBatchSize);
+        for (RentalEvent event : next) {
+            long id = event.getEventId();
+            for (long missing = Math.max(cursor + 1, id - MAX_GAPS); missing < id; missing++) {
+                gaps.put(missing, now);
+            }
+            cursor = id;
+        }
+        // Los que no aparecen en gap-timeout eran transacciones deshechas
+        gaps.values().removeIf(detectedAt -> now - detectedAt > gapTimeout.toNanos());
+        while (gaps.size() > MAX_GAPS) {
+            gaps.pollFirstEntry();
+        }
+
+        events.addAll(next);
+        for (RentalEvent event : events) {
+            onEvent(event);
+        }
+        return next.size();
+    }
+
+    /**
+     * Aplica un evento del outbox. Idempotente: un RENTAL_CREATED repetido no añade otra fila
+     * y un cierre de un alquiler que ya no está en proceso no hace nada.
+     */
+    void onEvent(RentalEvent event) {
+        // Libro nuevo desde el último refresco: se leen sus dimensiones fuera del lock
+        UUID[] bookDimension = null;
+        if (event.getEventType() == RentalEventType.RENTAL_CREATED
+                && !knowsBook(event.getBookId())) {
+            bookDimension = jdbcTemplate.query(LOAD_BOOK,
+                    rs -> rs.next()
+                            ? new UUID[] { uuid(rs.getBytes(1)), uuid(rs.getBytes(2)),
+                                    uuid(rs.getBytes(3)), uuid(rs.getBytes(4)) }
+                            : null,
+                    (Object) bytes(event.getBookId()));
+        }
+
+        lock.writeLock().lock();
+        try {
+            RentalFactStore current = store;
+            if (current == null) {
+                return;
+            }
+            if (apply(current, event, bookDimension)) {
+                appliedCounter.increment();
+            } else {
+                ignoredCounter.increment();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static RentalEvent event(ResultSet rs) throws SQLException {
+        return new RentalEvent(rs.getLong(1), RentalEventType.valueOf(rs.getString(2)),
+                uuid(rs.getBytes(3)), uuid(rs.getBytes(4)), uuid(rs.getBytes(5)), uuid(rs.getBytes(6)),
+                rs.getString(7), rs.getObject(8, LocalDateTime.class));
+    }
+
+    private boolean knowsBook(UUID bookId) {
+        lock.readLock().lock();
+        try {
+            RentalFactStore current = store;
+            return current == null || current.hasBook(bookId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean apply(RentalFactStore target, RentalEvent event, UUID[] bookDimension) {
+        switch (event.getEventType()) {
+            case RENTAL_CREATED -> {
+                if (bookDimension != null) {
+                    target.setBook(event.getBookId(), bookDimension[0], bookDimension[1]);
+                    target.setAuthor(bookDimension[0], bookDimension[2], bookDimension[3]);
+                }
+                byte status = event.getRentalStatusName() != null
+                        ? RentalFactStore.statusOf(event.getRentalStatusName())
+                        : RentalFactStore.STATUS_ACTIVE;
+                return target.append(event.getRentalId(), event.getBookId(), event.getUserId(),
+                        (int) event.getOccurredAt().toLocalDate().toEpochDay(), status);
+            }
+            case RENTAL_RETURNED -> {
+                return target.close(event.getRentalId(), RentalFactStore.STATUS_RETURNED);
+            }
+            case RENTAL_CANCELLED -> {
+                return target.close(event.getRentalId(), RentalFactStore.STATUS_CANCELLED);
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    // ====== REPORTES ======
+
+    /**
+     * Página del ranking de libros más pedidos (mismo orden y cursor que
+     * RentalRepository.findMostRequestedBooks). totalItems y maxRentals son del ranking completo.
+     *
+     * @param categoryId  Filtro por categoría (opcional)
+     * @param afterTotal  Cursor: total del último libro de la página anterior (opcional)
+     * @param afterBookId Cursor: id del último libro de la página anterior (opcional)
+     */
+    public BookRankingPage rankBooks(UUID categoryId, Integer afterTotal, UUID afterBookId,
+                                     int limit, int offset) {
+        lock.readLock().lock();
+        try {
+            RentalFactStore current = requireStore();
+            int category = UuidDictionary.MISSING;
+            if (categoryId != null) {
+                category = current.categories.get(categoryId);
+                if (category == UuidDictionary.MISSING) {
+                    return new BookRankingPage(List.of(), 0, 0);
+                }
+            }
+
+            int[] counts = scan(current);
+            List<BookRentalTally> ranked = new ArrayList<>();
+            int maxRentals = 0;
+            for (int b = 0; b < current.books.size(); b++) {
+                int total = counts[b * RentalScanTask.STRIDE + RentalScanTask.TOTAL];
+                if (total == 0 || current.bookAuthor(b) == UuidDictionary.MISSING
+                        || (categoryId != null && current.bookCategory(b) != category)) {
+                    continue;
+                }
+                ranked.add(tally(current, counts, b));
+                maxRentals = Math.max(maxRentals, total);
+            }
+            ranked.sort(BOOK_ORDER);
+
+            boolean keyset = afterTotal != null && afterBookId != null;
+            List<BookRentalTally> page = ranked.stream()
+                    .filter(t -> !keyset || t.getTotalRentals() < afterTotal
+                            || (t.getTotalRentals() == afterTotal && compareBinary(t.getBookId(), afterBookId) > 0))
+                    .skip(keyset ? 0 : offset)
+                    .limit(limit)
+                    .toList();
+            return new BookRankingPage(page, ranked.size(), maxRentals);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Libros con más alquileres. Devuelve los limit primeros más los empatados con el último,
+     * para que el servicio desempate por título como el reporte SQL.
+     */
+    public List<BookRentalTally> topBooks(int limit) {
+        lock.readLock().lock();
+        try {
+            RentalFactStore current = requireStore();
+            int[] counts = scan(current);
+            List<BookRentalTally> ranked = new ArrayList<>();
+            for (int b = 0; b < current.books.size(); b++) {
+                if (counts[b * RentalScanTask.STRIDE + RentalScanTask.TOTAL] > 0
+                        && current.bookAuthor(b) != UuidDictionary.MISSING) {
+                    ranked.add(tally(current, counts, b));
+                }
+            }
+            return withTies(ranked, limit, BookRentalTally::getTotalRentals);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Autores con más alquileres (suma de sus libros), filtrados por país y estado. Devuelve
+     * los limit primeros más los empatados con el último (desempate por nombre en el servicio).
+     */
+    public List<AuthorRentalTally> topAuthors(UUID countryId, UUID statusId, int limit) {
+        lock.readLock().lock();
+        try {
+            RentalFactStore current = requireStore();
+            int country = countryId != null ? current.countries.get(countryId) : UuidDictionary.MISSING;
+            int status = statusId != null ? current.statuses.get(statusId) : UuidDictionary.MISSING;
+            if ((countryId != null && country == UuidDictionary.MISSING)
+                    || (statusId != null && status == UuidDictionary.MISSING)) {
+                return List.of();
+            }
+
+            int[] counts = scan(current);
+            int[] authorTotals = new int[current.authors.size()];
+            for (int b = 0; b < current.books.size(); b++) {
+                int author = current.bookAuthor(b);
+                if (author != UuidDictionary.MISSING) {
+                    authorTotals[author] += counts[b * RentalScanTask.STRIDE + RentalScanTask.TOTAL];
+                }
+            }
+
+            List<AuthorRentalTally> ranked = new ArrayList<>();
+            for (int a = 0; a < authorTotals.length; a++) {
+                if (authorTotals[a] == 0
+                        || (countryId != null && current.authorCountry(a) != country)
+                        || (statusId != null && current.authorStatus(a) != status)) {
+                    continue;
+                }
+                ranked.add(new AuthorRentalTally(current.authors.uuid(a), authorTotals[a]));
+            }
+            return withTies(ranked, limit, AuthorRentalTally::getTotalRentals);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta por libro (total, ayer, hoy, en proceso) en paralelo; se llama con el read lock
+     */
+    private int[] scan(RentalFactStore current) {
+        int size = current.size();
+        int books = current.books.size();
+        int today = (int) LocalDate.now().toEpochDay();
+        int threshold = Math.max(MIN_LEAF_ROWS, size / parallelism);
+        return scanTimer.record(() -> pool.invoke(new RentalScanTask(current.bookColumn(),
+                current.dayColumn(), current.statusColumn(), books, today, 0, size, threshold)));
+    }
+
+    private static BookRentalTally tally(RentalFactStore current, int[] counts, int book) {
+        int base = book * RentalScanTask.STRIDE;
+        return new BookRentalTally(current.books.uuid(book),
+                counts[base + RentalScanTask.TOTAL],
+                counts[base + RentalScanTask.YESTERDAY],
+                counts[base + RentalScanTask.TODAY],
+                counts[base + RentalScanTask.ACTIVE]);
+    }
+
+    private static <T> List<T> withTies(List<T> ranked, int limit, ToIntFunction<T> total) {
+        ranked.sort(Comparator.comparingInt(total).reversed());
+        if (ranked.size() <= limit) {
+            return ranked;
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+        int last = total.applyAsInt(ranked.get(limit - 1));
+        int end = limit;
+        while (end < ranked.size() && total.applyAsInt(ranked.get(end)) == last) {
+            end++;
+        }
+        return new ArrayList<>(ranked.subList(0, end));
+    }
+
+    private RentalFactStore requireStore() {
+        RentalFactStore current = store;
+        if (current == null) {
+            throw new IllegalStateException("El motor de analítica de alquileres no está cargado");
+        }
+        return current;
+    }
+
+    // ====== MEMORIA ======
+
+    public int rowCount() {
+        RentalFactStore current = store;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Memoria estimada: columnas (13 bytes por fila reservada) + dimensiones, diccionarios e índices
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            RentalFactStore current = store;
+            return current != null ? current.columnBytes() + current.dimensionBytes() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double memoryBytesPerMillion() {
+        int rows = rowCount();
+        return rows > 0 ? memoryBytes() * 1_000_000.0 / rows : Double.NaN;
+    }
+
+    // ====== UUID <-> BINARY(16) ======
+
+    /**
+     * Compara como MySQL compara BINARY(16): byte a byte sin signo
+     */
+    static int compareBinary(UUID a, UUID b) {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,239 @@
+package com.biblioteca.app.service.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hechos de alquiler en columnas de arrays primitivos, una fila por alquiler (activo o archivado).
+ *
+ * Columnas: libro y usuario (surrogates densos de UuidDictionary), día del alquiler (epoch day)
+ * y estado (byte). Autor y categoría no se repiten en cada fila: se resuelven con las
+ * dimensiones bookAuthor / bookCategory, que ocupan una entrada por libro y siguen siendo
+ * correctas si un libro cambia de categoría. Solo los alquileres en proceso se indexan por
+ * RentalId, porque son los únicos que pueden cambiar de estado; además se recuerdan los
+ * RentalId de los últimos días para ignorar un RENTAL_CREATED repetido aunque el alquiler
+ * ya se haya cerrado.
+ *
+ * No es thread-safe: RentalAnalyticsEngine lo protege con un ReadWriteLock.
+ */
+final class RentalFactStore {
+
+    static final byte STATUS_ACTIVE = 0;
+    static final byte STATUS_RETURNED = 1;
+    static final byte STATUS_CANCELLED = 2;
+    static final byte STATUS_OTHER = 3;
+
+    // ====== COLUMNAS ======
+
+    private int[] book;
+    private int[] user;
+    private int[] rentalDay;
+    private byte[] status;
+    private int size;
+
+    /**
+     * RentalId -> fila, solo alquileres en proceso
+     */
+    private final Map<UUID, Integer> activeRows = new HashMap<>();
+
+    /**
+     * RentalId -> día, alquileres con día >= recentFromDay
+     */
+    private final Map<UUID, Integer> recentRentals = new HashMap<>();
+    private int recentFromDay;
+
+    // ====== DIMENSIONES ======
+
+    final UuidDictionary books = new UuidDictionary();
+    final UuidDictionary authors = new UuidDictionary();
+    final UuidDictionary categories = new UuidDictionary();
+    final UuidDictionary users = new UuidDictionary();
+    final UuidDictionary countries = new UuidDictionary();
+    final UuidDictionary statuses = new UuidDictionary();
+
+    private int[] bookAuthor = new int[0];
+    private int[] bookCategory = new int[0];
+    private int[] authorCountry = new int[0];
+    private int[] authorStatus = new int[0];
+
+    RentalFactStore(int initialCapacity, int recentFromDay) {
+        this.recentFromDay = recentFromDay;
+        int capacity = Math.max(1024, initialCapacity);
+        book = new int[capacity];
+        user = new int[capacity];
+        rentalDay = new int[capacity];
+        status = new byte[capacity];
+    }
+
+    static byte statusOf(String rentalStatusName) {
+        return switch (rentalStatusName) {
+            case "En Proceso" -> STATUS_ACTIVE;
+            case "Devuelto" -> STATUS_RETURNED;
+            case "Cancelado" -> STATUS_CANCELLED;
+            default -> STATUS_OTHER;
+        };
+    }
+
+    // ====== ESCRITURA ======
+
+    /**
+     * Añade un alquiler; no hace nada si ya está en proceso o es un alquiler reciente ya añadido
+     *
+     * @return true si se añadió
+     */
+    boolean append(UUID rentalId, UUID bookId, UUID userId, int day, byte rentalStatus) {
+        if (activeRows.containsKey(rentalId) || recentRentals.containsKey(rentalId)) {
+            return false;
+        }
+        if (size == book.length) {
+            int capacity = book.length + (book.length >> 1);
+            book = Arrays.copyOf(book, capacity);
+            user = Arrays.copyOf(user, capacity);
+            rentalDay = Arrays.copyOf(rentalDay, capacity);
+            status = Arrays.copyOf(status, capacity);
+        }
+        book[size] = internBook(bookId);
+        user[size] = users.intern(userId);
+        rentalDay[size] = day;
+        status[size] = rentalStatus;
+        if (rentalStatus == STATUS_ACTIVE) {
+            activeRows.put(rentalId, size);
+        }
+        if (day >= recentFromDay) {
+            recentRentals.put(rentalId, day);
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Cambia el estado de un alquiler en proceso
+     *
+     * @return false si el alquiler no estaba en proceso (desconocido o ya cerrado)
+     */
+    boolean close(UUID rentalId, byte rentalStatus) {
+        Integer row = activeRows.remove(rentalId);
+        if (row == null) {
+            return false;
+        }
+        status[row] = rentalStatus;
+        return true;
+    }
+
+    /**
+     * Olvida los alquileres recientes anteriores a fromDay
+     */
+    void pruneRecent(int fromDay) {
+        recentFromDay = fromDay;
+        recentRentals.values().removeIf(day -> day < fromDay);
+    }
+
+    boolean hasBook(UUID bookId) {
+        int id = books.get(bookId);
+        return id != UuidDictionary.MISSING && bookAuthor[id] != UuidDictionary.MISSING;
+    }
+
+    void setBook(UUID bookId, UUID authorId, UUID categoryId) {
+        int id = internBook(bookId);
+        bookAuthor[id] = internAuthor(authorId);
+        bookCategory[id] = categories.intern(categoryId);
+    }
+
+    void setAuthor(UUID authorId, UUID countryId, UUID statusId) {
+        int id = internAuthor(authorId);
+        authorCountry[id] = countryId != null ? countries.intern(countryId) : UuidDictionary.MISSING;
+        authorStatus[id] = statusId != null ? statuses.intern(statusId) : UuidDictionary.MISSING;
+    }
+
+    /**
+     * Marca todos los libros y autores como desconocidos antes de recargar las dimensiones;
+     * los que ya no existan quedan fuera de los reportes
+     */
+    void resetDimensions() {
+        Arrays.fill(bookAuthor, UuidDictionary.MISSING);
+        Arrays.fill(bookCategory, UuidDictionary.MISSING);
+        Arrays.fill(authorCountry, UuidDictionary.MISSING);
+        Arrays.fill(authorStatus, UuidDictionary.MISSING);
+    }
+
+    private int internBook(UUID bookId) {
+        int id = books.intern(bookId);
+        if (id >= bookAuthor.length) {
+            int capacity = Math.max(16, bookAuthor.length * 2);
+            bookAuthor = grow(bookAuthor, capacity);
+            bookCategory = grow(bookCategory, capacity);
+        }
+        return id;
+    }
+
+    private int internAuthor(UUID authorId) {
+        int id = authors.intern(authorId);
+        if (id >= authorCountry.length) {
+            int capacity = Math.max(16, authorCountry.length * 2);
+            authorCountry = grow(authorCountry, capacity);
+            authorStatus = grow(authorStatus, capacity);
+        }
+        return id;
+    }
+
+    private static int[] grow(int[] array, int capacity) {
+        int[] grown = Arrays.copyOf(array, capacity);
+        Arrays.fill(grown, array.length, capacity, UuidDictionary.MISSING);
+        return grown;
+    }
+
+    // ====== LECTURA (para los escaneos) ======
+
+    int size() {
+        return size;
+    }
+
+    int[] bookColumn() {
+        return book;
+    }
+
+    int[] dayColumn() {
+        return rentalDay;
+    }
+
+    byte[] statusColumn() {
+        return status;
+    }
+
+    int bookAuthor(int bookId) {
+        return bookAuthor[bookId];
+    }
+
+    int bookCategory(int bookId) {
+        return bookCategory[bookId];
+    }
+
+    int authorCountry(int authorId) {
+        return authorCountry[authorId];
+    }
+
+    int authorStatus(int authorId) {
+        return authorStatus[authorId];
+    }
+
+    // ====== MEMORIA ======
+
+    /**
+     * Bytes de las columnas (capacidad reservada, no solo filas usadas)
+     */
+    long columnBytes() {
+        return book.length * (4L + 4L + 4L + 1L);
+    }
+
+    /**
+     * Bytes estimados de dimensiones, diccionarios e índice de alquileres en proceso
+     */
+    long dimensionBytes() {
+        return (bookAuthor.length + bookCategory.length + authorCountry.length + authorStatus.length) * 4L
+                + books.memoryBytes() + authors.memoryBytes() + categories.memoryBytes()
+                + users.memoryBytes() + countries.memoryBytes() + statuses.memoryBytes()
+                + (activeRows.size() + recentRentals.size()) * 96L;
+    }
+}
@@ -0,0 +1,77 @@
+package com.biblioteca.app.service.analytics;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Escaneo fork-join de las columnas de RentalFactStore. Cada hoja recorre un rango de filas
+ * y cuenta por libro en un array propio (sin contención); los resultados se suman al unir.
+ *
+ * Resultado: int[books * STRIDE] con total, ayer, hoy y en proceso de cada libro.
+ */
+final class RentalScanTask extends RecursiveTask<int[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int STRIDE = 4;
+    static final int TOTAL = 0;
+    static final int YESTERDAY = 1;
+    static final int TODAY = 2;
+    static final int ACTIVE = 3;
+
+    private final int[] book;
+    private final int[] day;
+    private final byte[] status;
+    private final int books;
+    private final int today;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    RentalScanTask(int[] book, int[] day, byte[] status, int books, int today,
+                   int from, int to, int threshold) {
+        this.book = book;
+        this.day = day;
+        this.status = status;
+        this.books = books;
+        this.today = today;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected int[] compute() {
+        if (to - from <= threshold) {
+            return scan();
+        }
+        int mid = (from + to) >>> 1;
+        RentalScanTask left = new RentalScanTask(book, day, status, books, today, from, mid, threshold);
+        RentalScanTask right = new RentalScanTask(book, day, status, books, today, mid, to, threshold);
+        left.fork();
+        int[] counts = right.compute();
+        int[] other = left.join();
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other[i];
+        }
+        return counts;
+    }
+
+    private int[] scan() {
+        int[] counts = new int[books * STRIDE];
+        int yesterday = today - 1;
+        for (int i = from; i < to; i++) {
+            int base = book[i] * STRIDE;
+            counts[base + TOTAL]++;
+            int d = day[i];
+            if (d == today) {
+                counts[base + TODAY]++;
+            } else if (d == yesterday) {
+                counts[base + YESTERDAY]++;
+            }
+            if (status[i] == RentalFactStore.STATUS_ACTIVE) {
+                counts[base + ACTIVE]++;
+            }
+        }
+        return counts;
+    }
+}
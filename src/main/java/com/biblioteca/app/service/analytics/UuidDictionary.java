@@ -0,0 +1,55 @@
+package com.biblioteca.app.service.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Asigna a cada UUID un entero denso (0, 1, 2...) para indexar arrays. No es thread-safe:
+ * se usa bajo el lock de RentalAnalyticsEngine.
+ */
+final class UuidDictionary {
+
+    static final int MISSING = -1;
+
+    private final Map<UUID, Integer> ids = new HashMap<>();
+    private final List<UUID> uuids = new ArrayList<>();
+
+    /**
+     * Surrogate del UUID, creándolo si no existe
+     */
+    int intern(UUID uuid) {
+        Integer id = ids.get(uuid);
+        if (id == null) {
+            id = uuids.size();
+            ids.put(uuid, id);
+            uuids.add(uuid);
+        }
+        return id;
+    }
+
+    /**
+     * Surrogate del UUID o MISSING
+     */
+    int get(UUID uuid) {
+        Integer id = uuid != null ? ids.get(uuid) : null;
+        return id != null ? id : MISSING;
+    }
+
+    UUID uuid(int id) {
+        return uuids.get(id);
+    }
+
+    int size() {
+        return uuids.size();
+    }
+
+    /**
+     * Estimación de memoria: entrada de HashMap + UUID + Integer + referencia de la lista
+     */
+    long memoryBytes() {
+        return uuids.size() * 96L;
+    }
+}
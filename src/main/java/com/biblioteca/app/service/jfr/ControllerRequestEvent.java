@@ -0,0 +1,41 @@
+package com.biblioteca.app.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Petición atendida por un controlador, desde preHandle hasta afterCompletion
+ * (o hasta que empieza el procesamiento asíncrono, p. ej. SSE)
+ */
+@Name("biblioteca.ControllerRequest")
+@Label("Petición a controlador")
+@Description("Petición HTTP atendida por un controlador de la aplicación")
+@Category({ "Biblioteca", "Web" })
+@StackTrace(false)
+public final class ControllerRequestEvent extends jdk.jfr.Event {
+
+    @Label("Handler")
+    @Description("Controlador y método, p. ej. AdminDashboardController.dashboard")
+    String handler;
+
+    @Label("Método HTTP")
+    String httpMethod;
+
+    @Label("Ruta")
+    @Description("Patrón de la ruta, sin valores de variables ni parámetros")
+    String path;
+
+    @Label("Rol")
+    @Description("ADMIN, USER o ANONYMOUS")
+    String userRole;
+
+    @Label("Estado HTTP")
+    int status;
+
+    @Label("Asíncrona")
+    @Description("La petición siguió en otro hilo (SSE, DeferredResult)")
+    boolean async;
+}
@@ -0,0 +1,159 @@
+package com.biblioteca.app.service.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Grabación continua de Java Flight Recorder y su volcado bajo demanda desde /admin/diagnostico.
+ *
+ * Desactivada por defecto. Con biblioteca.jfr.enabled arranca una grabación en disco con la
+ * configuración indicada (settings: "default" ronda el 1% de sobrecarga) más los eventos
+ * biblioteca.*, acotada por max-age y max-size; las peticiones y llamadas a repositorio por
+ * debajo de request-threshold y repository-threshold no se graban. El volcado toma una
+ * instantánea de todas las grabaciones en curso, así que también sirve si la JVM se arrancó
+ * con -XX:StartFlightRecording.
+ *
+ * Los eventos propios (ControllerRequestEvent, RepositoryCallEvent, RentalTransitionEvent)
+ * solo se emiten mientras alguna grabación los tiene activos.
+ */
+@Service
+public class JfrRecordingService {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingService.class);
+
+    private static final String RECORDING_NAME = "biblioteca";
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration requestThreshold;
+    private final Duration repositoryThreshold;
+
+    private Recording recording;
+    private Instant startedAt;
+
+    public JfrRecordingService(@Value("${biblioteca.jfr.enabled:false}") boolean enabled,
+                               @Value("${biblioteca.jfr.settings:default}") String settings,
+                               @Value("${biblioteca.jfr.max-age:PT30M}") Duration maxAge,
+                               @Value("${biblioteca.jfr.max-size:200MB}") DataSize maxSize,
+                               @Value("${biblioteca.jfr.request-threshold:50ms}") Duration requestThreshold,
+                               @Value("${biblioteca.jfr.repository-threshold:20ms}") Duration repositoryThreshold) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.requestThreshold = requestThreshold;
+        this.repositoryThreshold = repositoryThreshold;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Java Flight Recorder no está disponible en esta JVM; no se graba");
+            return;
+        }
+        try {
+            Map<String, String> recordingSettings = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+            recordingSettings.put("biblioteca.ControllerRequest#enabled", "true");
+            recordingSettings.put("biblioteca.ControllerRequest#threshold", requestThreshold.toMillis() + " ms");
+            recordingSettings.put("biblioteca.RepositoryCall#enabled", "true");
+            recordingSettings.put("biblioteca.RepositoryCall#threshold", repositoryThreshold.toMillis() + " ms");
+            recordingSettings.put("biblioteca.RentalTransition#enabled", "true");
+            recordingSettings.put("biblioteca.RentalTransition#threshold", "0 ms");
+
+            recording = new Recording(recordingSettings);
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setMaxAge(maxAge);
+            recording.setMaxSize(maxSize.toBytes());
+            recording.start();
+            startedAt = Instant.now();
+            log.info("Grabación JFR '{}' iniciada (settings={}, max-age={}, max-size={})",
+                    RECORDING_NAME, settings, maxAge, maxSize);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            recording = null;
+            log.error("No se pudo iniciar la grabación JFR con settings={}", settings, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    /**
+     * Hay alguna grabación en curso (la propia o una de -XX:StartFlightRecording)
+     */
+    public boolean isRecording() {
+        return FlightRecorder.isAvailable() && !FlightRecorder.getFlightRecorder().getRecordings().isEmpty();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    // ====== VOLCADO ======
+
+    /**
+     * Vuelca a un fichero temporal lo grabado hasta ahora por todas las grabaciones en curso;
+     * quien llama debe borrarlo
+     *
+     * @return Fichero .jfr
+     * @throws IllegalStateException si no hay ninguna grabación en curso
+     */
+    public Path dump() throws IOException {
+        if (!isRecording()) {
+            throw new IllegalStateException("No hay ninguna grabación JFR en curso");
+        }
+        Path file = Files.createTempFile("biblioteca-", ".jfr");
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        log.info("Grabación JFR volcada en {} ({} bytes)", file, Files.size(file));
+        return file;
+    }
+}
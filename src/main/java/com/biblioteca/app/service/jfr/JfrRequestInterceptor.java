@@ -0,0 +1,85 @@
+package com.biblioteca.app.service.jfr;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.biblioteca.app.helper.SecurityUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Emite un ControllerRequestEvent por petición y deja el handler en curso para que
+ * RepositoryCallInterceptor etiquete las llamadas a repositorio con su endpoint.
+ * Con JFR sin grabar solo cuesta fijar y limpiar el endpoint del hilo.
+ */
+public class JfrRequestInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = JfrRequestInterceptor.class.getName() + ".event";
+
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+    /**
+     * Handler de la petición que atiende el hilo actual; vacío fuera de peticiones
+     */
+    public static String currentEndpoint() {
+        String endpoint = CURRENT_ENDPOINT.get();
+        return endpoint != null ? endpoint : "";
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CURRENT_ENDPOINT.set(handlerName(handler));
+        ControllerRequestEvent event = new ControllerRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request, response, handler, true);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request, response, handler, false);
+    }
+
+    private void finish(HttpServletRequest request, HttpServletResponse response, Object handler, boolean async) {
+        CURRENT_ENDPOINT.remove();
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof ControllerRequestEvent event)) {
+            return;
+        }
+        // El despacho asíncrono posterior vuelve a pasar por preHandle con su propio evento
+        request.removeAttribute(EVENT_ATTRIBUTE);
+        event.end();
+        if (event.shouldCommit()) {
+            event.handler = handlerName(handler);
+            event.httpMethod = request.getMethod();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.path = pattern != null ? pattern.toString() : request.getRequestURI();
+            event.userRole = userRole();
+            event.status = response.getStatus();
+            event.async = async;
+            event.commit();
+        }
+    }
+
+    static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return handler.getClass().getSimpleName();
+    }
+
+    private static String userRole() {
+        if (!SecurityUtil.isAuthenticated()) {
+            return "ANONYMOUS";
+        }
+        return SecurityUtil.isAdmin() ? "ADMIN" : SecurityUtil.isUser() ? "USER" : "ANONYMOUS";
+    }
+}
@@ -0,0 +1,77 @@
+package com.biblioteca.app.service.jfr;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.biblioteca.app.entity.Rental;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Cambio de estado de un alquiler. Empieza al aplicar el cambio y termina al cerrar la
+ * transacción, así la duración es lo que el cambio tardó en confirmarse (outbox, liberación
+ * del ejemplar y commit) y committed indica si llegó a la base.
+ */
+@Name("biblioteca.RentalTransition")
+@Label("Transición de alquiler")
+@Description("Cambio de estado de un alquiler hasta el fin de su transacción")
+@Category({ "Biblioteca", "Alquileres" })
+public final class RentalTransitionEvent extends jdk.jfr.Event {
+
+    @Label("Operación")
+    @Description("create, create_from_hold, create_admin, create_emergency, return o cancel")
+    String operation;
+
+    @Label("Alquiler")
+    String rentalId;
+
+    @Label("Ejemplar")
+    String bookCopyId;
+
+    @Label("Estado anterior")
+    @Description("Vacío al crear el alquiler")
+    String fromStatus;
+
+    @Label("Estado nuevo")
+    String toStatus;
+
+    @Label("Confirmada")
+    boolean committed;
+
+    /**
+     * Registra la transición del alquiler (ya con su estado nuevo) desde fromStatus
+     *
+     * @param operation Operación de RentalService que la produce
+     * @param rental Alquiler ya guardado
+     * @param fromStatus Estado anterior, null al crear
+     */
+    public static void record(String operation, Rental rental, String fromStatus) {
+        RentalTransitionEvent event = new RentalTransitionEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.operation = operation;
+        event.rentalId = String.valueOf(rental.getRentalId());
+        event.bookCopyId = String.valueOf(rental.getBookCopy().getBookCopyId());
+        event.fromStatus = fromStatus != null ? fromStatus : "";
+        event.toStatus = rental.getRentalStatus().getRentalStatusName();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            event.committed = true;
+            event.commit();
+            return;
+        }
+        event.begin();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                event.end();
+                event.committed = status == STATUS_COMMITTED;
+                event.commit();
+            }
+        });
+    }
+}
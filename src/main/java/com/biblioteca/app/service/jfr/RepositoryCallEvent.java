@@ -0,0 +1,36 @@
+package com.biblioteca.app.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Llamada a un método de repositorio Spring Data, con el endpoint que la originó para
+ * agrupar en el análisis (JfrRepositoryReport)
+ */
+@Name("biblioteca.RepositoryCall")
+@Label("Llamada a repositorio")
+@Description("Método de repositorio Spring Data, filas devueltas y endpoint que lo llamó")
+@Category({ "Biblioteca", "Repositorio" })
+@StackTrace(false)
+public final class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repositorio")
+    String repository;
+
+    @Label("Método")
+    String method;
+
+    @Label("Filas")
+    @Description("Elementos devueltos (filas afectadas en @Modifying); -1 si no se conoce (Stream) o falló")
+    long rowCount;
+
+    @Label("Endpoint")
+    @Description("Handler de la petición en curso; vacío fuera de peticiones (jobs, suscriptores)")
+    String endpoint;
+
+    @Label("Falló")
+    boolean failed;
+}
@@ -0,0 +1,109 @@
+package com.biblioteca.app.service.jfr;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+
+/**
+ * Advice de los proxies de repositorio (lo añade JfrConfig) que emite un RepositoryCallEvent
+ * por llamada. Va delante del TransactionInterceptor, así la duración incluye el commit de las
+ * transacciones propias del repositorio. Sin grabación JFR solo comprueba isEnabled().
+ *
+ * También deja en el hilo la llamada en curso ("Repositorio.método"), con la que
+ * SlowQueryRecorder atribuye cada consulta lenta al método que la lanzó.
+ */
+public class RepositoryCallInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<String> CURRENT_CALL = new ThreadLocal<>();
+
+    private final String repositoryName;
+    private final Map<Method, String> callNames = new ConcurrentHashMap<>();
+
+    public RepositoryCallInterceptor(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    /**
+     * Llamada a repositorio en curso en el hilo actual ("Repositorio.método"); vacía si no hay
+     */
+    public static String currentCall() {
+        String call = CURRENT_CALL.get();
+        return call != null ? call : "";
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        String previousCall = CURRENT_CALL.get();
+        CURRENT_CALL.set(callNames.computeIfAbsent(method, m -> repositoryName + "." + m.getName()));
+        try {
+            return proceed(invocation, method);
+        } finally {
+            if (previousCall != null) {
+                CURRENT_CALL.set(previousCall);
+            } else {
+                CURRENT_CALL.remove();
+            }
+        }
+    }
+
+    private Object proceed(MethodInvocation invocation, Method method) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName;
+                event.method = method.getName();
+                event.endpoint = JfrRequestInterceptor.currentEndpoint();
+                event.failed = failed;
+                event.rowCount = failed ? -1 : rowCount(result, method);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Filas del resultado: elementos de colecciones y páginas, 0/1 en Optional y entidades,
+     * filas afectadas en @Modifying; -1 si no se pueden contar sin consumirlo (Stream)
+     */
+    static long rowCount(Object result, Method method) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number number && method.isAnnotationPresent(Modifying.class)) {
+            return number.longValue();
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
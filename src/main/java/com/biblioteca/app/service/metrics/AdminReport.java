@@ -0,0 +1,22 @@
+package com.biblioteca.app.service.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un handler de reporte del panel: ReportMetricsInterceptor mide la petición completa
+ * (consulta y render) en biblioteca.admin.report{report, outcome}
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdminReport {
+
+    /**
+     * Nombre del reporte (dashboard, libros_alquiler, libros_pedidos...)
+     */
+    String value();
+}
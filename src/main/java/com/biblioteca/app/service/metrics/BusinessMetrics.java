@@ -0,0 +1,116 @@
+package com.biblioteca.app.service.metrics;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas de los caminos de negocio más usados (expuestas en /admin/actuator/prometheus):
+ *
+ * - biblioteca.rental.operation{operation, outcome}: alta, devolución y cancelación de
+ *   alquileres, medidas hasta el commit o el rollback de su transacción.
+ * - biblioteca.catalog.search{search} y biblioteca.catalog.search.results{search}: duración y
+ *   número de resultados de las búsquedas del catálogo.
+ * - biblioteca.admin.report{report, outcome}: duración de cada reporte del panel (handlers con
+ *   @AdminReport, medidos por ReportMetricsInterceptor).
+ *
+ * Los timers publican histogramas (percentiles con histogram_quantile en Prometheus).
+ */
+@Component
+public class BusinessMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    /**
+     * Límites del histograma de resultados (cero resultados y búsquedas que casan con casi todo).
+     * Micrometer solo admite límites positivos: las búsquedas sin resultados caen en le=0.5
+     */
+    private static final double[] RESULT_BUCKETS = { 0.5, 1, 5, 20, 100, 1_000, 10_000, 100_000 };
+
+    private final MeterRegistry meterRegistry;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ====== ALQUILERES ======
+
+    /**
+     * Empieza a medir una operación de alquiler; se registra al terminar la transacción actual
+     * (outcome=success si hace commit, error si hace rollback). Sin transacción no mide nada.
+     *
+     * @param operation create, create_from_hold, create_admin, return, cancel
+     */
+    public void startRentalOperation(String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sample.stop(Timer.builder("biblioteca.rental.operation")
+                        .description("Operaciones de alquiler hasta el commit o rollback")
+                        .tag("operation", operation)
+                        .tag("outcome", status == STATUS_COMMITTED ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        });
+    }
+
+    // ====== BÚSQUEDAS ======
+
+    /**
+     * Ejecuta y mide una búsqueda del catálogo
+     *
+     * @param search Nombre de la búsqueda (catalog, admin_books, typeahead...)
+     * @param query Búsqueda
+     * @param resultCount Número de resultados (total de coincidencias si es paginada)
+     */
+    public <T> T timeSearch(String search, Supplier<T> query, ToLongFunction<T> resultCount) {
+        T result = Timer.builder("biblioteca.catalog.search")
+                .description("Duración de las búsquedas del catálogo")
+                .tag("search", search)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(query);
+        DistributionSummary.builder("biblioteca.catalog.search.results")
+                .description("Resultados por búsqueda del catálogo")
+                .tag("search", search)
+                .serviceLevelObjectives(RESULT_BUCKETS)
+                .register(meterRegistry)
+                .record(resultCount.applyAsLong(result));
+        return result;
+    }
+
+    // ====== REPORTES ======
+
+    /**
+     * Empieza a medir un reporte; lo usa ReportMetricsInterceptor
+     */
+    public Timer.Sample startReport() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param report Nombre del reporte (dashboard, libros_alquiler, libros_pedidos...)
+     * @param outcome OUTCOME_SUCCESS u OUTCOME_ERROR
+     */
+    public void stopReport(Timer.Sample sample, String report, String outcome) {
+        sample.stop(Timer.builder("biblioteca.admin.report")
+                .description("Duración de los reportes del panel de administración")
+                .tag("report", report)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
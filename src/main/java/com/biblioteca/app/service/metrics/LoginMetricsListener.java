@@ -0,0 +1,39 @@
+package com.biblioteca.app.service.metrics;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.InteractiveAuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cuenta los inicios de sesión (biblioteca.login{outcome, reason}).
+ *
+ * Los éxitos se toman de InteractiveAuthenticationSuccessEvent, que solo publican los
+ * formularios de login: así no cuentan las peticiones con HTTP Basic del scraper de métricas.
+ * reason es el tipo de fallo (BadCredentials, Disabled, Locked...).
+ */
+@Component
+public class LoginMetricsListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public LoginMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onSuccess(InteractiveAuthenticationSuccessEvent event) {
+        meterRegistry.counter("biblioteca.login", "outcome", BusinessMetrics.OUTCOME_SUCCESS, "reason", "none")
+                .increment();
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        String reason = event.getClass().getSimpleName()
+                .replace("AuthenticationFailure", "")
+                .replace("Event", "");
+        meterRegistry.counter("biblioteca.login", "outcome", "failure", "reason", reason).increment();
+    }
+}
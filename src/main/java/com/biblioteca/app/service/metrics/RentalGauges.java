@@ -0,0 +1,74 @@
+package com.biblioteca.app.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.biblioteca.app.repository.RentalRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Gauges de alquileres en proceso y vencidos (biblioteca.rentals.active / .overdue).
+ *
+ * Prometheus lee los gauges en cada scrape; para no lanzar dos COUNT por scrape (ni uno por
+ * cada réplica de Prometheus) los valores se recalculan cada biblioteca.metrics.gauge-refresh
+ * y el gauge solo lee el último valor.
+ */
+@Component
+public class RentalGauges {
+
+    private static final Logger log = LoggerFactory.getLogger(RentalGauges.class);
+
+    private final RentalRepository rentalRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong activeRentals = new AtomicLong();
+    private final AtomicLong overdueRentals = new AtomicLong();
+
+    private final boolean enabled;
+
+    public RentalGauges(RentalRepository rentalRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${biblioteca.metrics.gauges.enabled:true}") boolean enabled) {
+        this.rentalRepository = rentalRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+
+        Gauge.builder("biblioteca.rentals.active", activeRentals, AtomicLong::get)
+                .description("Alquileres en proceso (valor cacheado)")
+                .register(meterRegistry);
+        Gauge.builder("biblioteca.rentals.overdue", overdueRentals, AtomicLong::get)
+                .description("Alquileres vencidos según RentalPenaltyService (valor cacheado)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${biblioteca.metrics.gauge-refresh:PT30S}",
+               fixedDelayString = "${biblioteca.metrics.gauge-refresh:PT30S}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Error al actualizar los gauges de alquileres", e);
+        }
+    }
+
+    void refresh() {
+        readOnlyTransaction.executeWithoutResult(tx -> {
+            activeRentals.set(rentalRepository.countActiveRentals());
+            overdueRentals.set(rentalRepository.countOverdueRentals());
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.biblioteca.app.service.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mide los handlers anotados con @AdminReport, de preHandle hasta el final del render.
+ *
+ * outcome=error si el handler o la vista lanzan una excepción, si la respuesta es 5xx o si
+ * el reporte captura el fallo y lo muestra con el atributo "error" del modelo.
+ */
+public class ReportMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = ReportMetricsInterceptor.class.getName() + ".sample";
+    private static final String ERROR_ATTRIBUTE = ReportMetricsInterceptor.class.getName() + ".error";
+
+    private final BusinessMetrics businessMetrics;
+
+    public ReportMetricsInterceptor(BusinessMetrics businessMetrics) {
+        this.businessMetrics = businessMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (report(handler) != null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, businessMetrics.startReport());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getModel().get("error") != null) {
+            request.setAttribute(ERROR_ATTRIBUTE, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample)) {
+            return;
+        }
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
+        boolean failed = ex != null
+                || request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE) != null
+                || request.getAttribute(ERROR_ATTRIBUTE) != null
+                || response.getStatus() >= 500;
+        businessMetrics.stopReport(sample, report(handler),
+                failed ? BusinessMetrics.OUTCOME_ERROR : BusinessMetrics.OUTCOME_SUCCESS);
+    }
+
+    private static String report(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            AdminReport report = handlerMethod.getMethodAnnotation(AdminReport.class);
+            return report != null ? report.value() : null;
+        }
+        return null;
+    }
+}
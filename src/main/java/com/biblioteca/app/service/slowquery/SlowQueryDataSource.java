@@ -0,0 +1,161 @@
+package com.biblioteca.app.service.slowquery;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+/**
+ * Envoltorio JDBC del DataSource de la aplicación que mide las sentencias preparadas y entrega
+ * a SlowQueryRecorder las que superan el umbral.
+ *
+ * Solo se intercepta DataSource, Connection y PreparedStatement (los ResultSet no se envuelven,
+ * así que recorrer filas no paga nada). Por sentencia se guardan las llamadas setXxx(índice, ...)
+ * para repetir el EXPLAIN con los mismos valores; al registrar la consulta solo se conserva
+ * su forma (tipo y longitud), nunca los valores.
+ */
+public final class SlowQueryDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("executeQuery", "executeUpdate", "execute", "executeLargeUpdate");
+    private static final Set<String> BATCH_METHODS = Set.of("executeBatch", "executeLargeBatch");
+
+    private SlowQueryDataSource() {
+    }
+
+    /**
+     * Valor enlazado a un parámetro: setter y argumentos tal como los llamó Hibernate
+     */
+    static final class Binding {
+
+        final Method setter;
+        final Object[] arguments;
+
+        Binding(Method setter, Object[] arguments) {
+            this.setter = setter;
+            this.arguments = arguments;
+        }
+
+        /**
+         * Forma del valor sin el valor: NULL, String(36), byte[16], Long, Timestamp...
+         */
+        String shape() {
+            Object value = arguments[1];
+            if (setter.getName().equals("setNull") || value == null) {
+                return "NULL";
+            }
+            if (value instanceof String string) {
+                return "String(" + string.length() + ")";
+            }
+            if (value instanceof byte[] bytes) {
+                return "byte[" + bytes.length + "]";
+            }
+            return value.getClass().getSimpleName();
+        }
+
+        void apply(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof SQLException sqlException
+                        ? sqlException
+                        : new SQLException("No se pudo enlazar el parámetro " + arguments[0], e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("No se pudo enlazar el parámetro " + arguments[0], e);
+            }
+        }
+    }
+
+    /**
+     * Envuelve target; las consultas lentas se entregan a recorder junto con target,
+     * sobre el que se ejecuta el EXPLAIN sin volver a pasar por el envoltorio
+     */
+    public static DataSource wrap(DataSource target, SlowQueryRecorder recorder) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrapConnection(connection, target, recorder) : result;
+        };
+        // Conserva close() del pool (Hikari), que Spring invoca al cerrar el contexto
+        return target instanceof AutoCloseable
+                ? proxy(DataSource.class, target, handler, AutoCloseable.class)
+                : proxy(DataSource.class, target, handler);
+    }
+
+    private static Connection wrapConnection(Connection connection, DataSource target, SlowQueryRecorder recorder) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return wrapStatement(statement, (String) args[0], target, recorder);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement wrapStatement(PreparedStatement statement, String sql,
+                                                   DataSource target, SlowQueryRecorder recorder) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (args == null && (EXECUTE_METHODS.contains(name) || BATCH_METHODS.contains(name))) {
+                long start = System.nanoTime();
+                boolean failed = true;
+                try {
+                    Object result = invoke(statement, method, null);
+                    failed = false;
+                    return result;
+                } finally {
+                    long nanos = System.nanoTime() - start;
+                    if (nanos >= recorder.getThresholdNanos()) {
+                        recorder.record(sql, new ArrayList<>(bindings), nanos, BATCH_METHODS.contains(name), failed, target);
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(bindings, index, new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    /**
+     * Guarda el valor del parámetro index (1..n), sustituyendo el anterior si se vuelve a enlazar
+     */
+    private static void bind(List<Binding> bindings, int index, Binding binding) {
+        while (bindings.size() < index) {
+            bindings.add(null);
+        }
+        bindings.set(index - 1, binding);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler, Class<?>... extraTypes) {
+        InvocationHandler withIdentity = (proxy, method, args) -> switch (method.getName()) {
+            // Identidad del proxy, no del objeto envuelto (Spring y Hibernate comparan conexiones)
+            case "equals" -> args != null && args.length == 1 ? proxy == args[0] : handler.invoke(proxy, method, args);
+            case "hashCode" -> args == null ? System.identityHashCode(proxy) : handler.invoke(proxy, method, args);
+            case "toString" -> args == null ? "SlowQuery[" + target + "]" : handler.invoke(proxy, method, args);
+            default -> handler.invoke(proxy, method, args);
+        };
+        Class<?>[] types = new Class<?>[extraTypes.length + 1];
+        types[0] = type;
+        System.arraycopy(extraTypes, 0, types, 1, extraTypes.length);
+        return (T) Proxy.newProxyInstance(SlowQueryDataSource.class.getClassLoader(), types, withIdentity);
+    }
+}
@@ -0,0 +1,86 @@
+package com.biblioteca.app.service.slowquery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consulta lenta capturada: sentencia, forma de sus parámetros (sin valores), duración,
+ * origen y su EXPLAIN, que llega después desde el hilo de EXPLAIN (null mientras tanto)
+ */
+public class SlowQueryEntry {
+
+    private final LocalDateTime capturedAt;
+    private final String sql;
+    private final List<String> parameterShapes;
+    private final double durationMs;
+    private final String repositoryCall;
+    private final String endpoint;
+    private final String thread;
+    private final boolean batch;
+    private final boolean failed;
+
+    private volatile SlowQueryExplain explain;
+
+    public SlowQueryEntry(String sql, List<String> parameterShapes, double durationMs, String repositoryCall,
+                          String endpoint, String thread, boolean batch, boolean failed) {
+        this.capturedAt = LocalDateTime.now();
+        this.sql = sql;
+        this.parameterShapes = parameterShapes;
+        this.durationMs = durationMs;
+        this.repositoryCall = repositoryCall;
+        this.endpoint = endpoint;
+        this.thread = thread;
+        this.batch = batch;
+        this.failed = failed;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameterShapes() {
+        return parameterShapes;
+    }
+
+    public double getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Método de repositorio que lanzó la consulta ("RentalRepository.findX"); vacío si no vino de uno
+     */
+    public String getRepositoryCall() {
+        return repositoryCall;
+    }
+
+    /**
+     * Handler de la petición en curso; vacío en jobs y suscriptores
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public SlowQueryExplain getExplain() {
+        return explain;
+    }
+
+    void setExplain(SlowQueryExplain explain) {
+        this.explain = explain;
+    }
+}
@@ -0,0 +1,54 @@
+package com.biblioteca.app.service.slowquery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resultado del EXPLAIN de una consulta lenta: columnas y filas tal como las devuelve MySQL,
+ * o el motivo por el que no se obtuvo
+ */
+public class SlowQueryExplain {
+
+    private final List<String> columns;
+    private final List<List<String>> rows;
+    private final LocalDateTime explainedAt;
+    private final String message;
+
+    private SlowQueryExplain(List<String> columns, List<List<String>> rows, LocalDateTime explainedAt, String message) {
+        this.columns = columns;
+        this.rows = rows;
+        this.explainedAt = explainedAt;
+        this.message = message;
+    }
+
+    public static SlowQueryExplain of(List<String> columns, List<List<String>> rows) {
+        return new SlowQueryExplain(columns, rows, LocalDateTime.now(), null);
+    }
+
+    /**
+     * Sin plan: EXPLAIN desactivado, sentencia no explicable, cola llena o error
+     */
+    public static SlowQueryExplain unavailable(String message) {
+        return new SlowQueryExplain(List.of(), List.of(), LocalDateTime.now(), message);
+    }
+
+    public boolean isAvailable() {
+        return message == null;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public List<List<String>> getRows() {
+        return rows;
+    }
+
+    public LocalDateTime getExplainedAt() {
+        return explainedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
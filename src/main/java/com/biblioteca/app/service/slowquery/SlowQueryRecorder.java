@@ -0,0 +1,298 @@
+package com.biblioteca.app.service.slowquery;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.biblioteca.app.service.jfr.JfrRequestInterceptor;
+import com.biblioteca.app.service.jfr.RepositoryCallInterceptor;
+import com.biblioteca.app.service.slowquery.SlowQueryDataSource.Binding;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Consultas lentas de la aplicación (SlowQueryDataSource) con su EXPLAIN, en un buffer circular
+ * de biblioteca.slow-query.capacity entradas que se consulta en /admin/diagnostico.
+ *
+ * Sustituye a activar org.hibernate.SQL / BasicBinder en DEBUG/TRACE: solo se registran las
+ * sentencias que superan biblioteca.slow-query.threshold, con la forma de sus parámetros y no
+ * sus valores. El EXPLAIN se repite con los mismos valores en un hilo aparte y otra conexión,
+ * así no alarga la petición lenta; una misma sentencia se explica a lo sumo una vez por
+ * explain-interval y, si la cola de EXPLAIN está llena, la entrada queda sin plan.
+ *
+ * Se crea junto al DataSource (SlowQueryConfig), antes que el MeterRegistry; por eso solo
+ * depende de propiedades y registra sus métricas como MeterBinder.
+ */
+@Service
+public class SlowQueryRecorder implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final int EXPLAIN_CACHE_SIZE = 256;
+    private static final int LOGGED_SQL_LENGTH = 500;
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final Duration threshold;
+    private final int capacity;
+    private final boolean explainEnabled;
+    private final long explainIntervalNanos;
+    private final int explainTimeoutSeconds;
+
+    private final ArrayDeque<SlowQueryEntry> entries = new ArrayDeque<>();
+    private final Map<String, CachedExplain> explainCache = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    // ====== MÉTRICAS ======
+
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong explained = new AtomicLong();
+    private final AtomicLong explainFailed = new AtomicLong();
+    private final AtomicLong explainSkipped = new AtomicLong();
+
+    public SlowQueryRecorder(@Value("${biblioteca.slow-query.enabled:true}") boolean enabled,
+                             @Value("${biblioteca.slow-query.threshold:PT0.5S}") Duration threshold,
+                             @Value("${biblioteca.slow-query.capacity:200}") int capacity,
+                             @Value("${biblioteca.slow-query.explain:true}") boolean explainEnabled,
+                             @Value("${biblioteca.slow-query.explain-interval:PT5M}") Duration explainInterval,
+                             @Value("${biblioteca.slow-query.explain-timeout:PT5S}") Duration explainTimeout,
+                             @Value("${biblioteca.slow-query.explain-queue:16}") int explainQueue) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = Math.max(1, capacity);
+        this.explainEnabled = explainEnabled;
+        this.explainIntervalNanos = explainInterval.toNanos();
+        this.explainTimeoutSeconds = (int) Math.max(1, explainTimeout.toSeconds());
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, explainQueue)), runnable -> {
+                    Thread thread = new Thread(runnable, "biblioteca-slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("biblioteca.slow.query.captured", captured, AtomicLong::get)
+                .description("Sentencias SQL que superaron el umbral de consulta lenta")
+                .register(registry);
+        FunctionCounter.builder("biblioteca.slow.query.explains", explained, AtomicLong::get)
+                .description("EXPLAIN ejecutados para consultas lentas")
+                .tag("outcome", "success")
+                .register(registry);
+        FunctionCounter.builder("biblioteca.slow.query.explains", explainFailed, AtomicLong::get)
+                .description("EXPLAIN ejecutados para consultas lentas")
+                .tag("outcome", "error")
+                .register(registry);
+        FunctionCounter.builder("biblioteca.slow.query.explains", explainSkipped, AtomicLong::get)
+                .description("EXPLAIN ejecutados para consultas lentas")
+                .tag("outcome", "skipped")
+                .register(registry);
+    }
+
+    /**
+     * Captura activa (SlowQueryConfig solo envuelve el DataSource con biblioteca.slow-query.enabled)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isExplainEnabled() {
+        return explainEnabled;
+    }
+
+    // ====== CAPTURA ======
+
+    /**
+     * Registra una sentencia que superó el umbral; la llama SlowQueryDataSource en el hilo de la consulta
+     *
+     * @param sql Sentencia con sus ?
+     * @param bindings Valores enlazados, solo para el EXPLAIN (no se guardan)
+     * @param nanos Duración de executeXxx
+     * @param batch Ejecución por lotes (sin EXPLAIN: los valores son los del último lote)
+     * @param failed La ejecución lanzó excepción
+     * @param dataSource DataSource sin envolver para el EXPLAIN
+     */
+    void record(String sql, List<Binding> bindings, long nanos, boolean batch, boolean failed, DataSource dataSource) {
+        List<String> shapes = new ArrayList<>(bindings.size());
+        for (Binding binding : bindings) {
+            shapes.add(binding != null ? binding.shape() : "?");
+        }
+        SlowQueryEntry entry = new SlowQueryEntry(sql, List.copyOf(shapes), nanos / 1_000_000.0,
+                RepositoryCallInterceptor.currentCall(), JfrRequestInterceptor.currentEndpoint(),
+                Thread.currentThread().getName(), batch, failed);
+
+        synchronized (entries) {
+            if (entries.size() >= capacity) {
+                entries.pollFirst();
+            }
+            entries.addLast(entry);
+        }
+        captured.incrementAndGet();
+        log.warn("Consulta lenta ({} ms) en {}: {}", Math.round(entry.getDurationMs()),
+                entry.getRepositoryCall().isEmpty() ? entry.getThread() : entry.getRepositoryCall(),
+                abbreviate(sql));
+
+        requestExplain(entry, bindings, dataSource);
+    }
+
+    /**
+     * Consultas capturadas, de la más reciente a la más antigua
+     */
+    public List<SlowQueryEntry> getRecent() {
+        synchronized (entries) {
+            List<SlowQueryEntry> recent = new ArrayList<>(entries.size());
+            entries.descendingIterator().forEachRemaining(recent::add);
+            return recent;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        explainCache.clear();
+    }
+
+    @PreDestroy
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    // ====== EXPLAIN ======
+
+    private void requestExplain(SlowQueryEntry entry, List<Binding> bindings, DataSource dataSource) {
+        if (!explainEnabled) {
+            entry.setExplain(SlowQueryExplain.unavailable("EXPLAIN desactivado (biblioteca.slow-query.explain)"));
+            return;
+        }
+        if (entry.isBatch() || !isExplainable(entry.getSql()) || bindings.contains(null)) {
+            explainSkipped.incrementAndGet();
+            entry.setExplain(SlowQueryExplain.unavailable("Sentencia sin EXPLAIN (lote o tipo no explicable)"));
+            return;
+        }
+        CachedExplain cached = explainCache.get(entry.getSql());
+        if (cached != null && System.nanoTime() - cached.nanos < explainIntervalNanos) {
+            entry.setExplain(cached.explain);
+            return;
+        }
+
+        try {
+            explainExecutor.execute(() -> {
+                SlowQueryExplain explain = explain(entry.getSql(), bindings, dataSource);
+                entry.setExplain(explain);
+                if (explain.isAvailable()) {
+                    if (explainCache.size() >= EXPLAIN_CACHE_SIZE) {
+                        explainCache.clear();
+                    }
+                    explainCache.put(entry.getSql(), new CachedExplain(explain, System.nanoTime()));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            explainSkipped.incrementAndGet();
+            entry.setExplain(SlowQueryExplain.unavailable("Cola de EXPLAIN llena; se omitió el plan"));
+        }
+    }
+
+    private SlowQueryExplain explain(String sql, List<Binding> bindings, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (Binding binding : bindings) {
+                binding.apply(statement);
+            }
+            statement.setQueryTimeout(explainTimeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                List<String> columns = new ArrayList<>(metaData.getColumnCount());
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnLabel(i));
+                }
+                List<List<String>> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    List<String> row = new ArrayList<>(columns.size());
+                    for (int i = 1; i <= columns.size(); i++) {
+                        row.add(resultSet.getString(i));
+                    }
+                    rows.add(row);
+                }
+                explained.incrementAndGet();
+                return SlowQueryExplain.of(columns, rows);
+            }
+        } catch (SQLException e) {
+            explainFailed.incrementAndGet();
+            log.debug("No se pudo obtener el EXPLAIN de {}", abbreviate(sql), e);
+            return SlowQueryExplain.unavailable("Error en EXPLAIN: " + e.getMessage());
+        }
+    }
+
+    /**
+     * MySQL acepta EXPLAIN sobre SELECT, WITH, UPDATE, DELETE, INSERT y REPLACE
+     */
+    static boolean isExplainable(String sql) {
+        String start = sql.stripLeading();
+        while (start.startsWith("(")) {
+            start = start.substring(1).stripLeading();
+        }
+        String keyword = start.length() >= 7 ? start.substring(0, 7) : start;
+        keyword = keyword.toLowerCase(Locale.ROOT);
+        return keyword.startsWith("select") || keyword.startsWith("with")
+                || keyword.startsWith("update") || keyword.startsWith("delete")
+                || keyword.startsWith("insert") || keyword.startsWith("replace");
+    }
+
+    private static String abbreviate(String sql) {
+        String compact = sql.replaceAll("\\s+", " ").strip();
+        return compact.length() <= LOGGED_SQL_LENGTH ? compact : compact.substring(0, LOGGED_SQL_LENGTH) + "...";
+    }
+
+    /**
+     * Último EXPLAIN correcto de una sentencia y cuándo se obtuvo
+     */
+    private static final class CachedExplain {
+
+        final SlowQueryExplain explain;
+        final long nanos;
+
+        CachedExplain(SlowQueryExplain explain, long nanos) {
+            this.explain = explain;
+            this.nanos = nanos;
+        }
+    }
+}
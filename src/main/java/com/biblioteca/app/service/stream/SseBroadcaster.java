@@ -0,0 +1,230 @@
+package com.biblioteca.app.service.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Difusión de un mismo evento Server-Sent Events a todos los navegadores suscritos.
+ *
+ * Cada evento se construye una sola vez (broadcast) y se encola en cada suscriptor; un pool
+ * pequeño de hilos escribe las colas, así un cliente lento no bloquea la publicación ni a
+ * los demás. La cola de cada suscriptor está acotada: si se llena, se descartan sus eventos
+ * pendientes y recibe en su lugar el estado completo actual (resyncEvent), que los sustituye
+ * porque los eventos llevan valores absolutos. Tras maxOverflows desbordamientos seguidos se
+ * cierra la conexión; EventSource reconecta por sí solo.
+ *
+ * heartbeat() encola un comentario SSE para mantener viva la conexión a través de proxies y
+ * detectar navegadores que ya se fueron (la escritura falla y se retira el suscriptor).
+ */
+public class SseBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    private final String name;
+    private final Duration emitterTimeout;
+    private final int maxQueued;
+    private final int maxOverflows;
+    private final Supplier<Set<DataWithMediaType>> resyncEvent;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final Set<DataWithMediaType> heartbeatEvent = SseEmitter.event().comment("ping").build();
+
+    // ====== MÉTRICAS ======
+
+    private final Counter overflowCounter;
+    private final Counter slowDisconnectCounter;
+
+    /**
+     * @param name Nombre del stream (etiqueta stream=... de las métricas y nombre de los hilos)
+     * @param emitterTimeout Duración máxima de cada conexión
+     * @param maxQueued Eventos pendientes por suscriptor antes de descartarlos
+     * @param maxOverflows Desbordamientos seguidos antes de cerrar la conexión
+     * @param senderThreads Hilos que escriben en los navegadores
+     * @param resyncEvent Estado completo actual, para suscriptores que se quedaron atrás
+     */
+    public SseBroadcaster(String name, Duration emitterTimeout, int maxQueued, int maxOverflows,
+                          int senderThreads, Supplier<Set<DataWithMediaType>> resyncEvent,
+                          MeterRegistry meterRegistry) {
+        this.name = name;
+        this.emitterTimeout = emitterTimeout;
+        this.maxQueued = Math.max(1, maxQueued);
+        this.maxOverflows = Math.max(1, maxOverflows);
+        this.resyncEvent = resyncEvent;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "biblioteca-sse-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("biblioteca.sse.subscribers", subscribers, Set::size)
+                .description("Navegadores conectados al stream")
+                .tag("stream", name)
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("biblioteca.sse.overflows")
+                .description("Colas de suscriptores llenas (eventos descartados y reenvío del estado completo)")
+                .tag("stream", name)
+                .register(meterRegistry);
+        this.slowDisconnectCounter = Counter.builder("biblioteca.sse.slow.disconnects")
+                .description("Conexiones cerradas por no consumir los eventos a tiempo")
+                .tag("stream", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Construye un evento con datos JSON ya serializados
+     */
+    public static Set<DataWithMediaType> event(String eventName, String json) {
+        return SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON).build();
+    }
+
+    // ====== SUSCRIPCIÓN ======
+
+    /**
+     * Registra un navegador; recibe primero initialEvent (normalmente el estado completo)
+     */
+    public SseEmitter subscribe(Set<DataWithMediaType> initialEvent) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        enqueue(subscriber, initialEvent);
+        return emitter;
+    }
+
+    public int size() {
+        return subscribers.size();
+    }
+
+    // ====== PUBLICACIÓN ======
+
+    /**
+     * Encola el mismo evento en todos los suscriptores; no espera a que se escriba
+     */
+    public void broadcast(Set<DataWithMediaType> event) {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    public void heartbeat() {
+        broadcast(heartbeatEvent);
+    }
+
+    /**
+     * Cierra todas las conexiones y el pool de escritura
+     */
+    public void close() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        boolean schedule;
+        synchronized (subscriber) {
+            if (subscriber.queue.size() >= maxQueued) {
+                subscriber.queue.clear();
+                subscriber.resync = true;
+                overflowCounter.increment();
+                if (++subscriber.overflows >= maxOverflows) {
+                    slowDisconnectCounter.increment();
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.complete();
+                    return;
+                }
+            } else {
+                subscriber.queue.add(event);
+            }
+            schedule = !subscriber.draining;
+            subscriber.draining = true;
+        }
+        if (schedule) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Cerrando la aplicación
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Escribe la cola de un suscriptor; a lo sumo un drain en curso por suscriptor,
+     * así sus eventos salen en orden
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<DataWithMediaType> next;
+            synchronized (subscriber) {
+                if (subscriber.resync) {
+                    subscriber.resync = false;
+                    next = resyncEvent.get();
+                } else {
+                    next = subscriber.queue.poll();
+                }
+                if (next == null) {
+                    subscriber.draining = false;
+                    subscriber.overflows = 0;
+                    return;
+                }
+            }
+            try {
+                subscriber.emitter.send(next);
+            } catch (IOException | IllegalStateException e) {
+                // El navegador cerró la conexión o el emitter ya terminó
+                log.debug("Suscriptor del stream {} retirado: {}", name, e.getMessage());
+                subscribers.remove(subscriber);
+                synchronized (subscriber) {
+                    subscriber.queue.clear();
+                    subscriber.draining = false;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Navegador conectado y sus eventos pendientes (protegidos por el propio Subscriber)
+     */
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final ArrayDeque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+        boolean draining;
+        boolean resync;
+        int overflows;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Índices sobre UpdatedAt para las marcas de versión del catálogo
+-- Permiten resolver MAX(UpdatedAt) leyendo un solo extremo del índice; ver service/CatalogVersionService.java
+
+CREATE INDEX IX_Book_UpdatedAt ON Book (UpdatedAt);
+CREATE INDEX IX_BookCopy_UpdatedAt ON BookCopy (UpdatedAt);
+CREATE INDEX IX_Author_UpdatedAt ON Author (UpdatedAt);
+CREATE INDEX IX_Category_UpdatedAt ON Category (UpdatedAt);
+CREATE INDEX IX_Rental_UpdatedAt ON Rental (UpdatedAt);
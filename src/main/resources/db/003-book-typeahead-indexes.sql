@@ -0,0 +1,4 @@
+-- Índice para el autocompletado de libros (LIKE 'prefijo%' sobre Title)
+-- ISBN ya tiene índice único; ver BookRepository.findOptionsByPrefix
+
+CREATE INDEX IX_Book_Title ON Book (Title);
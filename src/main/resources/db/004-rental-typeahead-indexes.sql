@@ -0,0 +1,5 @@
+-- Índices para el autocompletado del formulario de alquiler
+-- Email ya tiene índice único (prefijo de email); ver UserRepository.findActiveOptionsByEmailPrefix
+-- EXISTS de ejemplares disponibles por libro; ver BookRepository.findAvailableOptionsByPrefix
+
+CREATE INDEX IX_BookCopy_Book_Status ON BookCopy (BookId, BookCopyStatusId);
@@ -0,0 +1,13 @@
+-- Vencimiento y penalidad persistidos por el job de penalidades (RentalPenaltyService)
+-- Los contadores del dashboard y las páginas del usuario leen estas columnas
+
+ALTER TABLE Rental
+    ADD COLUMN IsOverdue BIT(1) NOT NULL DEFAULT 0,
+    ADD COLUMN PenaltyAmount DECIMAL(10,2) NOT NULL DEFAULT 0.00,
+    ADD COLUMN PenaltyCalculatedAt DATETIME(6) NULL;
+
+-- Recorrido por keyset de alquileres en proceso (RentalStatusId, RentalId)
+CREATE INDEX IX_Rental_Status_Id ON Rental (RentalStatusId, RentalId);
+
+-- Contadores de vencidos (global y por usuario)
+CREATE INDEX IX_Rental_Overdue_User ON Rental (IsOverdue, UserId);
@@ -0,0 +1,30 @@
+-- Archivo de alquileres cerrados ('Devuelto' / 'Cancelado') fuera del horizonte configurado
+-- Lo llena RentalArchiveService por lotes; Rental conserva solo los alquileres recientes y activos
+
+CREATE TABLE RentalArchive (
+    RentalId BINARY(16) NOT NULL,
+    UserId BINARY(16) NOT NULL,
+    BookCopyId BINARY(16) NOT NULL,
+    RentalStatusId BINARY(16) NOT NULL,
+    RentalDate DATETIME(6) NOT NULL,
+    DueDate DATETIME(6) NOT NULL,
+    ReturnDate DATETIME(6) NULL,
+    RentalDays INT NOT NULL,
+    DailyRate DECIMAL(10,2) NOT NULL,
+    TotalCost DECIMAL(10,2) NOT NULL,
+    PenaltyAmount DECIMAL(10,2) NOT NULL DEFAULT 0.00,
+    Notes TEXT NULL,
+    CreatedAt DATETIME(6) NULL,
+    UpdatedAt DATETIME(6) NULL,
+    ArchivedAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (RentalId),
+    CONSTRAINT fk_rentalarchive_user FOREIGN KEY (UserId) REFERENCES `User` (UserId),
+    CONSTRAINT fk_rentalarchive_bookcopy FOREIGN KEY (BookCopyId) REFERENCES BookCopy (BookCopyId),
+    CONSTRAINT fk_rentalarchive_status FOREIGN KEY (RentalStatusId) REFERENCES RentalStatus (RentalStatusId)
+);
+
+-- Historial del usuario ordenado por fecha (UserHistorialController)
+CREATE INDEX IX_RentalArchive_User_Date ON RentalArchive (UserId, RentalDate);
+
+-- Selección de candidatos: alquileres cerrados por estado y antigüedad
+CREATE INDEX IX_Rental_Status_UpdatedAt ON Rental (RentalStatusId, UpdatedAt);
@@ -0,0 +1,10 @@
+-- Heartbeat para medir el retraso de las réplicas de lectura (config/replica/ReplicaLagMonitor)
+-- BeatAt = epoch millis escrito en el primario; en cada réplica se lee el último valor replicado
+-- Compatible con MySQL y H2 (perfil replica-local)
+
+CREATE TABLE IF NOT EXISTS ReplicaHeartbeat (
+    Id INT NOT NULL PRIMARY KEY,
+    BeatAt BIGINT NOT NULL
+);
+
+INSERT INTO ReplicaHeartbeat (Id, BeatAt) VALUES (1, 0);
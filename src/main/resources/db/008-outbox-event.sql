@@ -0,0 +1,26 @@
+-- Outbox de eventos de alquiler (OutboxService / OutboxDispatcher)
+-- Se escribe en la misma transacción que Rental y BookCopy; sin claves foráneas porque
+-- el archivado borra filas de Rental y el evento es una foto del momento
+
+CREATE TABLE OutboxEvent (
+    EventId          BIGINT       NOT NULL AUTO_INCREMENT,
+    EventType        VARCHAR(40)  NOT NULL,
+    RentalId         BINARY(16)   NOT NULL,
+    BookCopyId       BINARY(16)   NOT NULL,
+    BookId           BINARY(16)   NOT NULL,
+    UserId           BINARY(16)   NOT NULL,
+    RentalStatusName VARCHAR(50)  NOT NULL,
+    OccurredAt       DATETIME(6)  NOT NULL,
+    Attempts         INT          NOT NULL DEFAULT 0,
+    NextAttemptAt    DATETIME(6)  NULL,
+    LastError        VARCHAR(500) NULL,
+    DispatchedAt     DATETIME(6)  NULL,
+    FailedAt         DATETIME(6)  NULL,
+    PRIMARY KEY (EventId)
+) ENGINE=InnoDB;
+
+-- Pendientes en orden de llegada
+CREATE INDEX IX_OutboxEvent_Pending ON OutboxEvent (DispatchedAt, FailedAt, EventId);
+
+-- Orden por ejemplar: ¿hay un evento anterior pendiente del mismo ejemplar?
+CREATE INDEX IX_OutboxEvent_Copy ON OutboxEvent (BookCopyId, EventId);
@@ -0,0 +1,9 @@
+-- Marcas de aviso enviadas por el job de notificaciones (RentalNotificationService)
+-- Un alquiler recibe como mucho un recordatorio previo al vencimiento y un aviso de vencido
+
+ALTER TABLE Rental
+    ADD COLUMN DueReminderSentAt DATETIME(6) NULL,
+    ADD COLUMN OverdueNoticeSentAt DATETIME(6) NULL;
+
+-- Recorrido por keyset de alquileres en proceso por fecha de vencimiento
+CREATE INDEX IX_Rental_Status_Due ON Rental (RentalStatusId, DueDate, RentalId);
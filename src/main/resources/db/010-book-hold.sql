@@ -0,0 +1,36 @@
+-- Cola de reservas por libro (BookHoldService)
+-- Un ejemplar devuelto o liberado pasa al primer lector en espera y queda 'Reservado'
+-- hasta que lo recoge o vence el plazo de recogida
+
+CREATE TABLE BookHold (
+    HoldId BINARY(16) NOT NULL,
+    BookId BINARY(16) NOT NULL,
+    UserId BINARY(16) NOT NULL,
+    BookCopyId BINARY(16) NULL,
+    HoldStatus VARCHAR(20) NOT NULL,
+    RequestedAt DATETIME(6) NOT NULL,
+    ReadyAt DATETIME(6) NULL,
+    ExpiresAt DATETIME(6) NULL,
+    ClosedAt DATETIME(6) NULL,
+    CreatedAt DATETIME(6) NULL,
+    UpdatedAt DATETIME(6) NULL,
+    PRIMARY KEY (HoldId),
+    CONSTRAINT fk_bookhold_book FOREIGN KEY (BookId) REFERENCES Book (BookId),
+    CONSTRAINT fk_bookhold_user FOREIGN KEY (UserId) REFERENCES `User` (UserId),
+    CONSTRAINT fk_bookhold_bookcopy FOREIGN KEY (BookCopyId) REFERENCES BookCopy (BookCopyId)
+);
+
+-- Siguiente lector en espera de un libro (orden de llegada)
+CREATE INDEX IX_BookHold_Queue ON BookHold (BookId, HoldStatus, RequestedAt);
+
+-- Reservas del usuario
+CREATE INDEX IX_BookHold_User ON BookHold (UserId, HoldStatus);
+
+-- Barrido de reservas listas con plazo vencido
+CREATE INDEX IX_BookHold_Expiry ON BookHold (HoldStatus, ExpiresAt);
+
+-- Estado de ejemplar apartado para un lector
+INSERT INTO BookCopyStatus (BookCopyStatusId, BookCopyStatusName, CreatedAt, UpdatedAt)
+SELECT UUID_TO_BIN(UUID()), 'Reservado', NOW(6), NOW(6)
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM BookCopyStatus WHERE BookCopyStatusName = 'Reservado');
@@ -0,0 +1,4 @@
+-- Reporte de libros más pedidos (RentalRepository.findMostRequestedBooks)
+-- Cuenta ayer / hoy con un rango sobre RentalDate; el índice cubre también BookCopyId
+
+CREATE INDEX IX_Rental_RentalDate_Copy ON Rental (RentalDate, BookCopyId);
@@ -0,0 +1,29 @@
+-- Agregados de alquileres por periodo (RentalRollupService)
+-- DAY se mantiene con los eventos del outbox; la compactación pasa los días antiguos a
+-- WEEK y MONTH. Sin claves foráneas: son contadores históricos.
+
+CREATE TABLE RentalRollup (
+    RollupId      BIGINT      NOT NULL AUTO_INCREMENT,
+    Granularity   VARCHAR(10) NOT NULL,
+    BucketStart   DATE        NOT NULL,
+    CategoryId    BINARY(16)  NOT NULL,
+    AuthorId      BINARY(16)  NOT NULL,
+    Rentals       INT         NOT NULL DEFAULT 0,
+    Returns       INT         NOT NULL DEFAULT 0,
+    Cancellations INT         NOT NULL DEFAULT 0,
+    UpdatedAt     DATETIME(6) NOT NULL,
+    PRIMARY KEY (RollupId),
+    UNIQUE KEY UX_RentalRollup_Bucket (Granularity, BucketStart, CategoryId, AuthorId)
+) ENGINE=InnoDB;
+
+-- Filtros por autor del gráfico de tendencias
+CREATE INDEX IX_RentalRollup_Author ON RentalRollup (Granularity, AuthorId, BucketStart);
+
+-- Eventos ya sumados: la entrega del outbox es "al menos una vez"
+CREATE TABLE RentalRollupEvent (
+    EventId   BIGINT      NOT NULL,
+    AppliedAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (EventId)
+) ENGINE=InnoDB;
+
+CREATE INDEX IX_RentalRollupEvent_AppliedAt ON RentalRollupEvent (AppliedAt);
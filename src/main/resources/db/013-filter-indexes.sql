@@ -0,0 +1,20 @@
+-- Listados con filtros opcionales (repository/specification)
+-- Cada combinación de filtros es ahora una consulta distinta: un índice (filtro, orden) por
+-- filtro de igualdad permite leer la página en orden sin filesort
+
+CREATE INDEX IX_Book_Author_Title ON Book (AuthorId, Title);
+CREATE INDEX IX_Book_Category_Title ON Book (CategoryId, Title);
+CREATE INDEX IX_Book_BookStatus_Title ON Book (BookStatusId, Title);
+
+CREATE INDEX IX_Author_Country_FullName ON Author (CountryId, FullName);
+CREATE INDEX IX_Author_Status_FullName ON Author (StatusId, FullName);
+CREATE INDEX IX_Author_FullName ON Author (FullName);
+
+CREATE INDEX IX_User_Status_CreatedAt ON `User` (StatusId, CreatedAt);
+CREATE INDEX IX_User_CreatedAt ON `User` (CreatedAt);
+
+-- EXISTS del filtro por rol (UserSpecifications)
+CREATE INDEX IX_UserRole_Role_User ON UserRole (RoleId, UserId);
+
+CREATE INDEX IX_Rental_User_RentalDate ON Rental (UserId, RentalDate);
+CREATE INDEX IX_Rental_Status_RentalDate ON Rental (RentalStatusId, RentalDate);
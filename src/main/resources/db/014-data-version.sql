@@ -0,0 +1,13 @@
+-- Contadores de versión compartidos entre nodos (DataVersionRepository)
+-- Una fila por conjunto de datos; se incrementa en la misma transacción que la escritura,
+-- así una lectura nunca ve la versión nueva con los datos antiguos
+
+CREATE TABLE DataVersion (
+    Name      VARCHAR(40) NOT NULL,
+    Version   BIGINT      NOT NULL DEFAULT 0,
+    UpdatedAt DATETIME(6) NOT NULL,
+    PRIMARY KEY (Name)
+) ENGINE=InnoDB;
+
+-- Catálogo: libros, ejemplares, autores y categorías (CatalogVersionService)
+INSERT INTO DataVersion (Name, Version, UpdatedAt) VALUES ('CATALOG', 0, NOW(6));
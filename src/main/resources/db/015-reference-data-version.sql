@@ -0,0 +1,11 @@
+-- Versiones de las tablas de referencia (ReferenceDataVersionService), compartidas entre nodos
+-- Los nombres son los de ReferenceDataType; una fila que falte se crea en el primer cambio
+
+INSERT INTO DataVersion (Name, Version, UpdatedAt) VALUES
+    ('CATEGORY', 0, NOW(6)),
+    ('AUTHOR', 0, NOW(6)),
+    ('COUNTRY', 0, NOW(6)),
+    ('STATUS', 0, NOW(6)),
+    ('BOOK_STATUS', 0, NOW(6)),
+    ('BOOK_COPY_STATUS', 0, NOW(6)),
+    ('ROLE', 0, NOW(6));
@@ -0,0 +1,25 @@
+-- Una sola reserva activa (WAITING o READY) por lector y libro (BookHoldService.placeHold)
+-- La comprobación previa no basta con dos peticiones simultáneas: el índice único rechaza
+-- la segunda. ActiveHold vale 1 en las reservas activas y NULL en las cerradas, que no
+-- cuentan para la unicidad
+
+-- Cierra las reservas en espera duplicadas que pudieran existir (se conserva la lista o la
+-- más antigua); dos reservas READY del mismo lector y libro deben revisarse a mano
+UPDATE BookHold h
+INNER JOIN BookHold o
+    ON o.BookId = h.BookId
+    AND o.UserId = h.UserId
+    AND o.HoldId <> h.HoldId
+    AND o.HoldStatus IN ('WAITING', 'READY')
+    AND (o.HoldStatus = 'READY'
+        OR o.RequestedAt < h.RequestedAt
+        OR (o.RequestedAt = h.RequestedAt AND o.HoldId < h.HoldId))
+SET h.HoldStatus = 'CANCELLED',
+    h.ClosedAt = NOW(6),
+    h.UpdatedAt = NOW(6)
+WHERE h.HoldStatus = 'WAITING';
+
+ALTER TABLE BookHold
+    ADD COLUMN ActiveHold TINYINT
+        GENERATED ALWAYS AS (CASE WHEN HoldStatus IN ('WAITING', 'READY') THEN 1 END) STORED,
+    ADD UNIQUE INDEX UX_BookHold_Active (BookId, UserId, ActiveHold);
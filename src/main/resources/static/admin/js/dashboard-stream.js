@@ -0,0 +1,104 @@
+/*
+ * Contadores en vivo del dashboard (Server-Sent Events, ver DashboardStreamService).
+ *
+ * Uso:
+ *   <h3 data-counter="rentedCopies">12</h3>
+ *   <tbody data-recent-rentals>...</tbody>
+ *   <script th:src="@{/admin/js/dashboard-stream.js}" th:attr="data-stream-url=@{/admin/dashboard/stream}"></script>
+ *
+ * El evento "snapshot" trae el estado completo al conectar (o tras quedarse atrás);
+ * "delta" solo los contadores que cambiaron ({value, delta}) y, si cambió, la lista
+ * de alquileres recientes. EventSource reconecta solo si se corta la conexión.
+ */
+(function () {
+    'use strict';
+
+    var script = document.currentScript;
+    var url = script && script.dataset.streamUrl;
+    if (!url || !window.EventSource) {
+        return;
+    }
+
+    var HIGHLIGHT_MS = 1500;
+
+    var STATUS_BADGES = {
+        'En Proceso': ['bg-success', 'Activo'],
+        'Devuelto': ['bg-secondary', 'Devuelto'],
+        'Cancelado': ['bg-danger', 'Cancelado']
+    };
+
+    function setCounter(key, value, delta) {
+        document.querySelectorAll('[data-counter="' + key + '"]').forEach(function (element) {
+            element.textContent = value;
+            if (delta) {
+                element.classList.add(delta > 0 ? 'text-success' : 'text-danger');
+                setTimeout(function () {
+                    element.classList.remove('text-success', 'text-danger');
+                }, HIGHLIGHT_MS);
+            }
+        });
+    }
+
+    function cell(text) {
+        var td = document.createElement('td');
+        td.textContent = text;
+        return td;
+    }
+
+    function renderRecentRentals(rentals) {
+        document.querySelectorAll('[data-recent-rentals]').forEach(function (tbody) {
+            tbody.replaceChildren();
+            if (rentals.length === 0) {
+                var empty = cell('No hay alquileres recientes');
+                empty.colSpan = 4;
+                empty.className = 'text-center text-muted';
+                tbody.appendChild(document.createElement('tr')).appendChild(empty);
+                return;
+            }
+            rentals.forEach(function (rental) {
+                var row = document.createElement('tr');
+
+                var title = document.createElement('td');
+                title.appendChild(document.createElement('strong')).textContent = rental.bookTitle;
+                row.appendChild(title);
+                row.appendChild(cell(rental.userEmail));
+                row.appendChild(cell(rental.rentalDate));
+
+                var badge = STATUS_BADGES[rental.rentalStatusName] || ['bg-info', rental.rentalStatusName];
+                var status = document.createElement('td');
+                var span = status.appendChild(document.createElement('span'));
+                span.className = 'badge ' + badge[0];
+                span.textContent = badge[1];
+                row.appendChild(status);
+
+                tbody.appendChild(row);
+            });
+        });
+    }
+
+    var source = new EventSource(url);
+
+    source.addEventListener('snapshot', function (event) {
+        var data = JSON.parse(event.data);
+        Object.keys(data.counters).forEach(function (key) {
+            setCounter(key, data.counters[key], 0);
+        });
+        renderRecentRentals(data.recentRentals);
+    });
+
+    source.addEventListener('delta', function (event) {
+        var data = JSON.parse(event.data);
+        if (data.counters) {
+            Object.keys(data.counters).forEach(function (key) {
+                setCounter(key, data.counters[key].value, data.counters[key].delta);
+            });
+        }
+        if (data.recentRentals) {
+            renderRecentRentals(data.recentRentals);
+        }
+    });
+
+    window.addEventListener('pagehide', function () {
+        source.close();
+    });
+})();
@@ -0,0 +1,76 @@
+/*
+ * Autocompletado para selectores grandes.
+ *
+ * Uso:
+ *   <input type="search" data-typeahead-url="/admin/api/books" data-typeahead-target="bookId">
+ *   <select id="bookId" name="bookId"><option value="">Seleccione...</option></select>
+ *
+ * Al escribir, consulta la URL con ?q=texto y reemplaza las opciones del <select>
+ * (se conserva la primera opción vacía). El endpoint devuelve [{id, label}, ...].
+ */
+(function () {
+    'use strict';
+
+    var MIN_LENGTH = 2;
+    var DELAY_MS = 250;
+
+    function init(input) {
+        var select = document.getElementById(input.dataset.typeaheadTarget);
+        if (!select) {
+            return;
+        }
+
+        var timer = null;
+        var controller = null;
+
+        input.addEventListener('input', function () {
+            clearTimeout(timer);
+            var term = input.value.trim();
+            if (term.length < MIN_LENGTH) {
+                return;
+            }
+            timer = setTimeout(function () {
+                // Cancela la petición anterior si el usuario sigue escribiendo
+                if (controller) {
+                    controller.abort();
+                }
+                controller = new AbortController();
+
+                var url = input.dataset.typeaheadUrl;
+                url += (url.indexOf('?') >= 0 ? '&' : '?') + 'q=' + encodeURIComponent(term);
+
+                fetch(url, {
+                    headers: { 'Accept': 'application/json' },
+                    signal: controller.signal
+                })
+                    .then(function (response) {
+                        return response.ok ? response.json() : [];
+                    })
+                    .then(function (options) {
+                        render(select, options);
+                    })
+                    .catch(function (error) {
+                        if (error.name !== 'AbortError') {
+                            console.error('Error en autocompletado:', error);
+                        }
+                    });
+            }, DELAY_MS);
+        });
+    }
+
+    function render(select, options) {
+        while (select.options.length > 1) {
+            select.remove(1);
+        }
+        options.forEach(function (option) {
+            select.add(new Option(option.label, option.id));
+        });
+        if (options.length === 1) {
+            select.value = options[0].id;
+        }
+    }
+
+    document.addEventListener('DOMContentLoaded', function () {
+        document.querySelectorAll('[data-typeahead-url]').forEach(init);
+    });
+})();
@@ -0,0 +1,231 @@
+package com.biblioteca.app.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.app.repository.projection.AuthorStatsProjection;
+import com.biblioteca.app.support.LibraryTestData;
+
+/**
+ * Compara getMostRequestedAuthors(/WithArchive), que agrega por niveles, con la consulta
+ * anterior que unía Author-Book-BookCopy-Rental y agregaba las filas multiplicadas.
+ *
+ * Deben devolver los mismos autores en el mismo orden y los mismos conteos, salvo
+ * availableCopies: la consulta anterior lo contaba una vez por alquiler, así que se
+ * compara con el valor esperado de los datos insertados.
+ *
+ * Solo se prueban los filtros a null: en H2, CAST(:x AS CHAR) es CHAR(1) y trunca el UUID.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class AuthorReportQueryTests {
+
+	private static final String LEGACY_SQL = """
+		SELECT
+			BIN_TO_UUID(a.AuthorId) as authorId,
+			a.FullName as fullName,
+			a.Pseudonym as pseudonym,
+			a.PhotoUrl as photoUrl,
+			c.CountryName as countryName,
+			COUNT(DISTINCT b.BookId) as totalBooks,
+			COUNT(DISTINCT bc.BookCopyId) as totalCopies,
+			SUM(CASE WHEN bcs.BookCopyStatusName = 'Disponible' THEN 1 ELSE 0 END) as availableCopies,
+			COUNT(r.RentalId) as totalRentals
+		FROM Author a
+		INNER JOIN Country c ON a.CountryId = c.CountryId
+		INNER JOIN Status s ON a.StatusId = s.StatusId
+		LEFT JOIN Book b ON a.AuthorId = b.AuthorId
+		LEFT JOIN BookCopy bc ON b.BookId = bc.BookId
+		LEFT JOIN BookCopyStatus bcs ON bc.BookCopyStatusId = bcs.BookCopyStatusId
+		LEFT JOIN %s r ON bc.BookCopyId = r.BookCopyId
+		WHERE (:countryId IS NULL OR a.CountryId = UUID_TO_BIN(CAST(:countryId AS CHAR)))
+		AND (:statusId IS NULL OR a.StatusId = UUID_TO_BIN(CAST(:statusId AS CHAR)))
+		GROUP BY a.AuthorId, a.FullName, a.Pseudonym, a.PhotoUrl, c.CountryName
+		HAVING COUNT(r.RentalId) > 0
+		ORDER BY totalRentals DESC, a.FullName ASC
+		LIMIT :limit
+	""";
+
+	private static final String LEGACY_RENTALS = "Rental";
+
+	private static final String LEGACY_RENTALS_WITH_ARCHIVE = """
+		(
+			SELECT RentalId, BookCopyId, RentalStatusId, RentalDate FROM Rental
+			UNION ALL
+			SELECT RentalId, BookCopyId, RentalStatusId, RentalDate FROM RentalArchive
+		)""";
+
+	@Autowired
+	private AuthorRepository authorRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	/** availableCopies esperado por autor (ejemplares 'Disponible', sin contar alquileres) */
+	private final Map<String, Integer> expectedAvailable = new HashMap<>();
+
+	private String ana;
+	private String bruno;
+	private String carla;
+	private String diego;
+
+	@BeforeEach
+	void seed() {
+		LibraryTestData data = new LibraryTestData(jdbcTemplate);
+		UUID spain = data.country("España");
+		UUID chile = data.country("Chile");
+		UUID active = data.status("Activo");
+		UUID inactive = data.status("Inactivo");
+		UUID novel = data.category("Novela");
+		UUID published = data.bookStatus("Publicado");
+		UUID available = data.bookCopyStatus("Disponible");
+		UUID rented = data.bookCopyStatus("Alquilado");
+		UUID finished = data.rentalStatus("Finalizado");
+		UUID user = data.user("lector@biblioteca.test", active);
+		LocalDateTime date = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+		// Ana: 5 alquileres sobre dos ejemplares de un libro y un segundo libro sin ejemplares
+		UUID anaId = data.author("Ana Pérez", null, null, spain, active);
+		UUID anaBook = data.book("ISBN-A1", "Libro A1", anaId, novel, published);
+		data.book("ISBN-A2", "Libro A2", anaId, novel, published);
+		UUID anaCopy1 = data.copy(anaBook, available);
+		UUID anaCopy2 = data.copy(anaBook, rented);
+		data.copy(anaBook, available);
+		rent(data, user, anaCopy1, finished, date, 3);
+		rent(data, user, anaCopy2, finished, date, 2);
+
+		// Bruno: empata con Ana en alquileres; desempata el nombre
+		UUID brunoId = data.author("Bruno Soto", "B. S.", "/img/bruno.jpg", chile, inactive);
+		UUID brunoBook = data.book("ISBN-B1", "Libro B1", brunoId, novel, published);
+		rent(data, user, data.copy(brunoBook, available), finished, date, 5);
+
+		// Carla: un alquiler activo y tres archivados
+		UUID carlaId = data.author("Carla Ruiz", null, null, spain, active);
+		UUID carlaBook = data.book("ISBN-C1", "Libro C1", carlaId, novel, published);
+		UUID carlaCopy = data.copy(carlaBook, available);
+		data.copy(carlaBook, available);
+		rent(data, user, carlaCopy, finished, date, 1);
+		for (int i = 0; i < 3; i++) {
+			data.archivedRental(user, carlaCopy, finished, date.minusYears(2).plusDays(i));
+		}
+
+		// Diego: solo alquileres archivados (fuera del informe sin archivo)
+		UUID diegoId = data.author("Diego Gil", null, null, chile, active);
+		UUID diegoBook = data.book("ISBN-D1", "Libro D1", diegoId, novel, published);
+		data.archivedRental(user, data.copy(diegoBook, rented), finished, date.minusYears(3));
+
+		// Elena: libros y ejemplares sin alquileres; Fabio: sin libros
+		UUID elenaId = data.author("Elena Mora", null, null, spain, active);
+		data.copy(data.book("ISBN-E1", "Libro E1", elenaId, novel, published), available);
+		data.author("Fabio Luna", null, null, spain, active);
+
+		ana = anaId.toString();
+		bruno = brunoId.toString();
+		carla = carlaId.toString();
+		diego = diegoId.toString();
+		expectedAvailable.put(ana, 2);
+		expectedAvailable.put(bruno, 1);
+		expectedAvailable.put(carla, 2);
+		expectedAvailable.put(diego, 0);
+	}
+
+	// ====== TESTS ======
+
+	@Test
+	void mostRequestedAuthorsMatchesLegacyQuery() {
+		List<AuthorStatsProjection> current = authorRepository.getMostRequestedAuthors(null, null, 10);
+		List<Map<String, Object>> legacy = legacy(LEGACY_RENTALS, 10);
+
+		assertEquals(List.of(ana, bruno, carla), ids(current));
+		assertSameRows(legacy, current);
+	}
+
+	@Test
+	void mostRequestedAuthorsWithArchiveMatchesLegacyQuery() {
+		List<AuthorStatsProjection> current = authorRepository.getMostRequestedAuthorsWithArchive(null, null, 10);
+		List<Map<String, Object>> legacy = legacy(LEGACY_RENTALS_WITH_ARCHIVE, 10);
+
+		assertEquals(List.of(ana, bruno, carla, diego), ids(current));
+		assertSameRows(legacy, current);
+	}
+
+	@Test
+	void limitKeepsTheSameTopAuthors() {
+		assertSameRows(legacy(LEGACY_RENTALS, 2), authorRepository.getMostRequestedAuthors(null, null, 2));
+		assertSameRows(legacy(LEGACY_RENTALS_WITH_ARCHIVE, 3),
+				authorRepository.getMostRequestedAuthorsWithArchive(null, null, 3));
+	}
+
+	@Test
+	void legacyQueryCountedAvailableCopiesOncePerRental() {
+		Map<String, Object> legacyAna = legacy(LEGACY_RENTALS, 10).get(0);
+		AuthorStatsProjection currentAna = authorRepository.getMostRequestedAuthors(null, null, 10).get(0);
+
+		// Ejemplar 1 disponible con 3 alquileres + ejemplar 3 disponible sin alquileres
+		assertEquals(4, ((Number) legacyAna.get("availableCopies")).intValue());
+		assertEquals(2, currentAna.getAvailableCopies());
+	}
+
+	// ====== AUXILIARES ======
+
+	private void assertSameRows(List<Map<String, Object>> legacy, List<AuthorStatsProjection> current) {
+		assertEquals(legacy.size(), current.size());
+		for (int i = 0; i < legacy.size(); i++) {
+			Map<String, Object> expected = legacy.get(i);
+			AuthorStatsProjection actual = current.get(i);
+			assertEquals(expected.get("authorId"), actual.getAuthorId());
+			assertEquals(expected.get("fullName"), actual.getFullName());
+			assertEquals(expected.get("pseudonym"), actual.getPseudonym());
+			assertEquals(expected.get("photoUrl"), actual.getPhotoUrl());
+			assertEquals(expected.get("countryName"), actual.getCountryName());
+			assertEquals(intValue(expected, "totalBooks"), actual.getTotalBooks(), actual.getFullName());
+			assertEquals(intValue(expected, "totalCopies"), actual.getTotalCopies(), actual.getFullName());
+			assertEquals(intValue(expected, "totalRentals"), actual.getTotalRentals(), actual.getFullName());
+			assertEquals(expectedAvailable.get(actual.getAuthorId()), actual.getAvailableCopies(), actual.getFullName());
+		}
+	}
+
+	private List<Map<String, Object>> legacy(String rentals, int limit) {
+		Map<String, Object> params = new HashMap<>();
+		params.put("countryId", null);
+		params.put("statusId", null);
+		params.put("limit", limit);
+		return namedParameterJdbcTemplate.queryForList(LEGACY_SQL.formatted(rentals), params);
+	}
+
+	private static void rent(LibraryTestData data, UUID user, UUID copy, UUID status, LocalDateTime from, int times) {
+		for (int i = 0; i < times; i++) {
+			LocalDateTime rentalDate = from.plusDays(10L * i);
+			data.rental(user, copy, status, rentalDate, rentalDate.plusDays(7), rentalDate.plusDays(5));
+		}
+	}
+
+	private static List<String> ids(List<AuthorStatsProjection> rows) {
+		List<String> ids = new ArrayList<>(rows.size());
+		rows.forEach(row -> ids.add(row.getAuthorId()));
+		return ids;
+	}
+
+	private static Integer intValue(Map<String, Object> row, String column) {
+		return ((Number) row.get(column)).intValue();
+	}
+}
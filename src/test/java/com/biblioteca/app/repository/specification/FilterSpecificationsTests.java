@@ -0,0 +1,374 @@
+package com.biblioteca.app.repository.specification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.biblioteca.app.entity.Author;
+import com.biblioteca.app.entity.Book;
+import com.biblioteca.app.entity.Rental;
+import com.biblioteca.app.entity.User;
+import com.biblioteca.app.repository.AuthorRepository;
+import com.biblioteca.app.repository.BookRepository;
+import com.biblioteca.app.repository.RentalRepository;
+import com.biblioteca.app.repository.UserRepository;
+import com.biblioteca.app.support.LibraryTestData;
+import com.biblioteca.app.support.SqlStatementRecorder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Comprueba las especificaciones de filtros contra las consultas JPQL "catch-all" a las que
+ * sustituyeron ((:x IS NULL OR col = :x)) para todas las combinaciones de filtros:
+ * mismas filas y, en el SQL generado, ningún "? is null" ni filtros de más.
+ *
+ * Las búsquedas por UUID (y por ISBN en alquileres en proceso) son nuevas, así que se
+ * comparan con las filas esperadas. Los índices de 013-filter-indexes.sql son de MySQL y no existen en el
+ * esquema H2; su uso se revisa con FilterPlanCheck (perfil datagen) contra MySQL.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class FilterSpecificationsTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+	private static final LocalDateTime DUE_SOON = NOW.plusDays(3);
+
+	// ====== CONSULTAS ANTERIORES ======
+
+	private static final String LEGACY_BOOKS = """
+		SELECT b FROM Book b
+		WHERE (:search IS NULL OR :search = ''
+			OR LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%'))
+			OR LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')))
+		AND (:authorId IS NULL OR b.author.authorId = :authorId)
+		AND (:categoryId IS NULL OR b.category.categoryId = :categoryId)
+		AND (:bookStatusId IS NULL OR b.bookStatus.bookStatusId = :bookStatusId)
+	""";
+
+	private static final String LEGACY_AUTHORS = """
+		SELECT a FROM Author a
+		WHERE (:search IS NULL OR :search = ''
+			OR LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%'))
+			OR LOWER(a.pseudonym) LIKE LOWER(CONCAT('%', :search, '%')))
+		AND (:countryId IS NULL OR a.country.countryId = :countryId)
+		AND (:statusId IS NULL OR a.status.statusId = :statusId)
+	""";
+
+	private static final String LEGACY_USERS = """
+		SELECT DISTINCT u FROM User u
+		LEFT JOIN u.userRoles ur
+		WHERE (:search IS NULL OR :search = '' OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
+		AND (:roleId IS NULL OR ur.role.roleId = :roleId)
+		AND (:statusId IS NULL OR u.status.statusId = :statusId)
+	""";
+
+	/**
+	 * Sin el CAST(r.rentalId AS string) LIKE de la consulta anterior: la búsqueda por UUID se
+	 * prueba aparte y el texto hexadecimal de un UUID aleatorio podría contener los dígitos buscados
+	 */
+	private static final String LEGACY_ACTIVE_RENTALS = """
+		SELECT r FROM Rental r
+		WHERE r.rentalStatus.rentalStatusName = 'En Proceso'
+		AND r.returnDate IS NULL
+		AND (:search IS NULL OR :search = '' OR
+			LOWER(r.bookCopy.book.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
+			LOWER(r.bookCopy.book.author.fullName) LIKE LOWER(CONCAT('%', :search, '%')) OR
+			LOWER(r.user.email) LIKE LOWER(CONCAT('%', :search, '%')))
+		AND (:dateFrom IS NULL OR r.rentalDate >= :dateFrom)
+		AND (:dateTo IS NULL OR r.rentalDate <= :dateTo)
+		AND (
+			:statusFilter IS NULL OR :statusFilter = '' OR
+			(:statusFilter = 'vencido' AND r.overdue = true) OR
+			(:statusFilter = 'vencer' AND r.overdue = false AND r.dueDate >= :now AND r.dueDate < :dueSoonThreshold)
+		)
+	""";
+
+	private static final String LEGACY_RENTALS = """
+		SELECT r FROM Rental r
+		LEFT JOIN r.user u
+		LEFT JOIN r.bookCopy bc
+		LEFT JOIN bc.book b
+		LEFT JOIN b.author a
+		LEFT JOIN r.rentalStatus rs
+		WHERE (:search IS NULL OR :search = '' OR
+			LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')) OR
+			LOWER(b.title) LIKE LOWER(CONCAT('%', :search, '%')) OR
+			LOWER(b.isbn) LIKE LOWER(CONCAT('%', :search, '%')) OR
+			LOWER(a.fullName) LIKE LOWER(CONCAT('%', :search, '%')))
+		AND (:userId IS NULL OR u.userId = :userId)
+		AND (:rentalStatusId IS NULL OR rs.rentalStatusId = :rentalStatusId)
+	""";
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private AuthorRepository authorRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RentalRepository rentalRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UUID spain;
+	private UUID chile;
+	private UUID active;
+	private UUID inactive;
+	private UUID novel;
+	private UUID essay;
+	private UUID published;
+	private UUID discontinued;
+	private UUID inProgress;
+	private UUID finished;
+	private UUID admin;
+	private UUID reader;
+
+	private UUID cervantes;
+	private UUID allende;
+	private UUID neruda;
+	private UUID quijote;
+	private UUID casaEspiritus;
+	private UUID ana;
+	private UUID bruno;
+	private UUID carla;
+	private UUID overdueRental;
+	private UUID dueSoonRental;
+	private UUID laterRental;
+	private UUID finishedRental;
+	private UUID finishedCopy;
+
+	@BeforeEach
+	void seed() {
+		LibraryTestData data = new LibraryTestData(jdbcTemplate);
+		spain = data.country("España");
+		chile = data.country("Chile");
+		active = data.status("Activo");
+		inactive = data.status("Inactivo");
+		novel = data.category("Novela");
+		essay = data.category("Ensayo");
+		published = data.bookStatus("Publicado");
+		discontinued = data.bookStatus("Descatalogado");
+		UUID available = data.bookCopyStatus("Disponible");
+		UUID rented = data.bookCopyStatus("Alquilado");
+		inProgress = data.rentalStatus("En Proceso");
+		finished = data.rentalStatus("Finalizado");
+		admin = data.role("ADMIN");
+		reader = data.role("USER");
+
+		cervantes = data.author("Miguel de Cervantes", null, null, spain, active);
+		allende = data.author("Isabel Allende", null, null, chile, active);
+		neruda = data.author("Ricardo Reyes", "Pablo Neruda", null, chile, inactive);
+
+		quijote = data.book("9788420412146", "Don Quijote", cervantes, novel, published);
+		UUID ejemplares = data.book("978-84-376-0494-7", "Novelas ejemplares", cervantes, essay, discontinued);
+		casaEspiritus = data.book("8401242266", "La casa de los espíritus", allende, novel, published);
+		UUID canto = data.book("9788437604183", "Canto general", neruda, essay, published);
+
+		// Ana tiene dos roles: el filtro por rol no debe duplicarla
+		ana = data.user("ana@biblioteca.test", active);
+		bruno = data.user("bruno@correo.test", active);
+		carla = data.user("carla@biblioteca.test", inactive);
+		data.userRole(ana, reader);
+		data.userRole(ana, admin);
+		data.userRole(bruno, reader);
+
+		UUID quijoteCopy = data.copy(quijote, rented);
+		UUID casaCopy = data.copy(casaEspiritus, rented);
+		UUID cantoCopy = data.copy(canto, rented);
+		finishedCopy = data.copy(ejemplares, available);
+
+		overdueRental = data.rental(ana, quijoteCopy, inProgress, NOW.minusDays(10), NOW.minusDays(3), null, true);
+		dueSoonRental = data.rental(bruno, casaCopy, inProgress, NOW.minusDays(5), NOW.plusDays(1), null);
+		laterRental = data.rental(bruno, cantoCopy, inProgress, NOW.minusDays(2), NOW.plusDays(10), null);
+		finishedRental = data.rental(carla, finishedCopy, finished, NOW.minusDays(40), NOW.minusDays(33), NOW.minusDays(35));
+		entityManager.clear();
+	}
+
+	// ====== TESTS ======
+
+	@Test
+	void bookFiltersMatchLegacyQuery() {
+		for (String search : values(null, "", "quijote", "NOVELA", "978", "9788420412146", "978-84-376-0494-7", "zzz")) {
+			for (UUID authorId : values(null, cervantes, allende)) {
+				for (UUID categoryId : values(null, novel, essay)) {
+					for (UUID bookStatusId : values(null, published, discontinued)) {
+						Map<String, Object> params = params("search", search, "authorId", authorId,
+								"categoryId", categoryId, "bookStatusId", bookStatusId);
+						assertSameRows(params, legacy(LEGACY_BOOKS, Book.class, params), Book::getBookId,
+								() -> bookRepository.findAll(
+										BookSpecifications.withFilters(search, authorId, categoryId, bookStatusId)));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	void bookSearchByUuidUsesPrimaryKey() {
+		assertEquals(Set.of(casaEspiritus), ids(bookRepository.findAll(
+				BookSpecifications.withFilters(casaEspiritus.toString(), null, null, null)), Book::getBookId));
+		assertEquals(Set.of(), ids(bookRepository.findAll(
+				BookSpecifications.withFilters(casaEspiritus.toString(), cervantes, null, null)), Book::getBookId));
+	}
+
+	@Test
+	void authorFiltersMatchLegacyQuery() {
+		for (String search : values(null, "", "isabel", "neruda", "DE ", "zzz")) {
+			for (UUID countryId : values(null, spain, chile)) {
+				for (UUID statusId : values(null, active, inactive)) {
+					Map<String, Object> params = params("search", search, "countryId", countryId, "statusId", statusId);
+					assertSameRows(params, legacy(LEGACY_AUTHORS, Author.class, params), Author::getAuthorId,
+							() -> authorRepository.findAll(AuthorSpecifications.withFilters(search, countryId, statusId)));
+				}
+			}
+		}
+		assertEquals(Set.of(allende), ids(authorRepository.findAll(
+				AuthorSpecifications.withFilters(allende.toString(), null, null)), Author::getAuthorId));
+	}
+
+	@Test
+	void userFiltersMatchLegacyQuery() {
+		for (String search : values(null, "", "biblioteca", "ana@biblioteca.test", "BRUNO", "zzz")) {
+			for (UUID roleId : values(null, admin, reader)) {
+				for (UUID statusId : values(null, active, inactive)) {
+					Map<String, Object> params = params("search", search, "roleId", roleId, "statusId", statusId);
+					assertSameRows(params, legacy(LEGACY_USERS, User.class, params), User::getUserId,
+							() -> userRepository.findAll(UserSpecifications.withFilters(search, roleId, statusId)));
+				}
+			}
+		}
+		List<User> readers = userRepository.findAll(UserSpecifications.withFilters(null, reader, null));
+		assertEquals(2, readers.size(), "El EXISTS por rol no debe repetir usuarios");
+		assertEquals(Set.of(bruno), ids(userRepository.findAll(
+				UserSpecifications.withFilters(bruno.toString(), null, null)), User::getUserId));
+	}
+
+	@Test
+	void activeRentalFiltersMatchLegacyQuery() {
+		for (String search : values(null, "", "quijote", "CERVANTES", "correo", "bruno@correo.test")) {
+			for (LocalDateTime dateFrom : values(null, NOW.minusDays(6))) {
+				for (LocalDateTime dateTo : values(null, NOW.minusDays(3))) {
+					for (String statusFilter : values(null, "", "vencido", "vencer", "otro")) {
+						Map<String, Object> params = params("search", search, "dateFrom", dateFrom, "dateTo", dateTo,
+								"statusFilter", statusFilter, "now", NOW, "dueSoonThreshold", DUE_SOON);
+						assertSameRows(params, legacy(LEGACY_ACTIVE_RENTALS, Rental.class, params), Rental::getRentalId,
+								() -> rentalRepository.findAll(RentalSpecifications.activeWithFilters(
+										search, dateFrom, dateTo, statusFilter, NOW, DUE_SOON)));
+					}
+				}
+			}
+		}
+		assertEquals(Set.of(dueSoonRental), ids(rentalRepository.findAll(RentalSpecifications.activeWithFilters(
+				null, null, null, RentalSpecifications.STATUS_DUE_SOON, NOW, DUE_SOON)), Rental::getRentalId));
+		assertEquals(Set.of(dueSoonRental, laterRental), ids(rentalRepository.findAll(RentalSpecifications.activeWithFilters(
+				bruno.toString(), null, null, null, NOW, DUE_SOON)), Rental::getRentalId));
+		// El ISBN completo es nuevo en esta búsqueda (la anterior no miraba el ISBN)
+		assertEquals(Set.of(laterRental), ids(rentalRepository.findAll(RentalSpecifications.activeWithFilters(
+				"9788437604183", null, null, null, NOW, DUE_SOON)), Rental::getRentalId));
+	}
+
+	@Test
+	void rentalFiltersMatchLegacyQuery() {
+		for (String search : values(null, "", "quijote", "allende", "BRUNO", "978-84", "9788420412146", "carla@biblioteca.test")) {
+			for (UUID userId : values(null, ana, bruno, carla)) {
+				for (UUID rentalStatusId : values(null, inProgress, finished)) {
+					Map<String, Object> params = params("search", search, "userId", userId, "rentalStatusId", rentalStatusId);
+					assertSameRows(params, legacy(LEGACY_RENTALS, Rental.class, params), Rental::getRentalId,
+							() -> rentalRepository.findAll(RentalSpecifications.withFilters(search, userId, rentalStatusId)));
+				}
+			}
+		}
+	}
+
+	@Test
+	void rentalSearchByUuidMatchesRentalUserOrCopy() {
+		assertEquals(Set.of(overdueRental), rentalIds(overdueRental.toString()));
+		assertEquals(Set.of(dueSoonRental, laterRental), rentalIds(bruno.toString()));
+		assertEquals(Set.of(finishedRental), rentalIds(finishedCopy.toString()));
+		assertEquals(Set.of(), rentalIds(UUID.randomUUID().toString()));
+	}
+
+	// ====== AUXILIARES ======
+
+	/**
+	 * Mismas filas que la consulta anterior, sin repetidas, y SQL sin "? is null": solo los
+	 * predicados de los filtros indicados. Sin ningún filtro no debe quedar ningún parámetro.
+	 */
+	private <T> void assertSameRows(Map<String, Object> params, List<T> expected, Function<T, UUID> id,
+									Supplier<List<T>> current) {
+		SqlStatementRecorder.start();
+		List<T> rows;
+		try {
+			rows = current.get();
+		} finally {
+			List<String> statements = SqlStatementRecorder.stop();
+			assertFalse(statements.isEmpty(), "Sin SQL grabado");
+			for (String sql : statements) {
+				String normalized = sql.toLowerCase(Locale.ROOT);
+				assertFalse(normalized.contains("? is null"), () -> "Predicado catch-all en " + sql);
+				if (params.values().stream().allMatch(value -> value == null || "".equals(value))) {
+					assertFalse(normalized.contains("?"), () -> "Parámetros sin filtros en " + sql);
+				}
+			}
+		}
+		assertEquals(ids(expected, id), ids(rows, id), params::toString);
+		assertEquals(rows.size(), ids(rows, id).size(), () -> "Filas repetidas con " + params);
+	}
+
+	private <T> List<T> legacy(String jpql, Class<T> type, Map<String, Object> params) {
+		TypedQuery<T> query = entityManager.createQuery(jpql, type);
+		params.forEach(query::setParameter);
+		return query.getResultList();
+	}
+
+	private Set<UUID> rentalIds(String search) {
+		return ids(rentalRepository.findAll(RentalSpecifications.withFilters(search, null, null)), Rental::getRentalId);
+	}
+
+	private static <T> Set<UUID> ids(List<T> rows, Function<T, UUID> id) {
+		Set<UUID> ids = new HashSet<>();
+		rows.forEach(row -> ids.add(id.apply(row)));
+		return ids;
+	}
+
+	@SafeVarargs
+	private static <T> List<T> values(T... values) {
+		return Arrays.asList(values);
+	}
+
+	private static Map<String, Object> params(Object... keyValues) {
+		Map<String, Object> params = new HashMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			params.put((String) keyValues[i], keyValues[i + 1]);
+		}
+		return params;
+	}
+}
@@ -0,0 +1,42 @@
+package com.biblioteca.app.support;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Funciones de MySQL usadas por las consultas nativas, registradas como alias en H2
+ * (ver h2/mysql-functions.sql).
+ */
+public final class H2MySqlFunctions {
+
+    private H2MySqlFunctions() {
+    }
+
+    /**
+     * BIN_TO_UUID(BINARY(16))
+     */
+    public static String binToUuid(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    /**
+     * UUID_TO_BIN(CHAR(36))
+     */
+    public static byte[] uuidToBin(String value) {
+        if (value == null) {
+            return null;
+        }
+        return toBytes(UUID.fromString(value.trim()));
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,142 @@
+package com.biblioteca.app.support;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserta filas mínimas (solo columnas NOT NULL) en el esquema H2 del perfil h2.
+ *
+ * Va por JDBC y no por los servicios para que cada test controle exactamente qué hay en
+ * la base; con @Transactional en el test las filas se deshacen al terminar.
+ */
+public class LibraryTestData {
+
+	private static final BigDecimal DAILY_RATE = new BigDecimal("1.50");
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public LibraryTestData(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// ====== CATÁLOGOS ======
+
+	public UUID country(String name) {
+		return insertNamed("Country", "CountryId", "CountryName", name);
+	}
+
+	public UUID status(String name) {
+		return insertNamed("Status", "StatusId", "StatusName", name);
+	}
+
+	public UUID category(String name) {
+		return insertNamed("Category", "CategoryId", "CategoryName", name);
+	}
+
+	public UUID bookStatus(String name) {
+		return insertNamed("BookStatus", "BookStatusId", "BookStatusName", name);
+	}
+
+	public UUID bookCopyStatus(String name) {
+		return insertNamed("BookCopyStatus", "BookCopyStatusId", "BookCopyStatusName", name);
+	}
+
+	public UUID rentalStatus(String name) {
+		return insertNamed("RentalStatus", "RentalStatusId", "RentalStatusName", name);
+	}
+
+	public UUID role(String name) {
+		return insertNamed("Role", "RoleId", "RoleName", name);
+	}
+
+	// ====== CATÁLOGO DE LIBROS ======
+
+	public UUID author(String fullName, String pseudonym, String photoUrl, UUID countryId, UUID statusId) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO Author (AuthorId, FullName, Pseudonym, PhotoUrl, CountryId, StatusId) "
+				+ "VALUES (?, ?, ?, ?, ?, ?)", bin(id), fullName, pseudonym, photoUrl, bin(countryId), bin(statusId));
+		return id;
+	}
+
+	public UUID book(String isbn, String title, UUID authorId, UUID categoryId, UUID bookStatusId) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO Book (BookId, ISBN, Title, AuthorId, CategoryId, BookStatusId) "
+				+ "VALUES (?, ?, ?, ?, ?, ?)", bin(id), isbn, title, bin(authorId), bin(categoryId), bin(bookStatusId));
+		return id;
+	}
+
+	public UUID copy(UUID bookId, UUID bookCopyStatusId) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO BookCopy (BookCopyId, BookId, BookCopyStatusId, CreatedAt, UpdatedAt) "
+				+ "VALUES (?, ?, ?, ?, ?)", bin(id), bin(bookId), bin(bookCopyStatusId),
+				LocalDateTime.now(), LocalDateTime.now());
+		return id;
+	}
+
+	// ====== USUARIOS ======
+
+	public UUID user(String email, UUID statusId) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO User (UserId, Email, Password, StatusId) VALUES (?, ?, ?, ?)",
+				bin(id), email, "{noop}test", bin(statusId));
+		return id;
+	}
+
+	public UUID userRole(UUID userId, UUID roleId) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO UserRole (UserRoleId, UserId, RoleId) VALUES (?, ?, ?)",
+				bin(id), bin(userId), bin(roleId));
+		return id;
+	}
+
+	// ====== ALQUILERES ======
+
+	public UUID rental(UUID userId, UUID bookCopyId, UUID rentalStatusId, LocalDateTime rentalDate) {
+		return rental(userId, bookCopyId, rentalStatusId, rentalDate, rentalDate.plusDays(7), null);
+	}
+
+	public UUID rental(UUID userId, UUID bookCopyId, UUID rentalStatusId, LocalDateTime rentalDate,
+					   LocalDateTime dueDate, LocalDateTime returnDate) {
+		return rental(userId, bookCopyId, rentalStatusId, rentalDate, dueDate, returnDate, false);
+	}
+
+	public UUID rental(UUID userId, UUID bookCopyId, UUID rentalStatusId, LocalDateTime rentalDate,
+					   LocalDateTime dueDate, LocalDateTime returnDate, boolean overdue) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO Rental (RentalId, UserId, BookCopyId, RentalStatusId, RentalDate, DueDate, "
+				+ "ReturnDate, RentalDays, DailyRate, TotalCost, IsOverdue, PenaltyAmount, CreatedAt, UpdatedAt) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, 7, ?, ?, ?, 0, ?, ?)",
+				bin(id), bin(userId), bin(bookCopyId), bin(rentalStatusId), rentalDate, dueDate, returnDate,
+				DAILY_RATE, DAILY_RATE.multiply(BigDecimal.valueOf(7)), overdue, rentalDate, rentalDate);
+		return id;
+	}
+
+	public UUID archivedRental(UUID userId, UUID bookCopyId, UUID rentalStatusId, LocalDateTime rentalDate) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO RentalArchive (RentalId, UserId, BookCopyId, RentalStatusId, RentalDate, "
+				+ "DueDate, ReturnDate, RentalDays, DailyRate, TotalCost, PenaltyAmount, ArchivedAt) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, 7, ?, ?, 0, ?)",
+				bin(id), bin(userId), bin(bookCopyId), bin(rentalStatusId), rentalDate, rentalDate.plusDays(7),
+				rentalDate.plusDays(7), DAILY_RATE, DAILY_RATE.multiply(BigDecimal.valueOf(7)), LocalDateTime.now());
+		return id;
+	}
+
+	// ====== AUXILIARES ======
+
+	private UUID insertNamed(String table, String idColumn, String nameColumn, String name) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO " + table + " (" + idColumn + ", " + nameColumn + ") VALUES (?, ?)",
+				bin(id), name);
+		return id;
+	}
+
+	/**
+	 * UUID como BINARY(16), el formato de las columnas *Id
+	 */
+	public static byte[] bin(UUID id) {
+		return H2MySqlFunctions.uuidToBin(id.toString());
+	}
+}
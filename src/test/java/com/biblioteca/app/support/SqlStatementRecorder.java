@@ -0,0 +1,37 @@
+package com.biblioteca.app.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector del perfil h2: guarda el SQL que genera Hibernate en el hilo del test
+ * entre start() y stop(), para comprobar la forma de las consultas
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+	@Override
+	public String inspect(String sql) {
+		List<String> recorded = RECORDED.get();
+		if (recorded != null) {
+			recorded.add(sql);
+		}
+		return sql;
+	}
+
+	public static void start() {
+		RECORDED.set(new ArrayList<>());
+	}
+
+	/**
+	 * Deja de grabar y devuelve las sentencias grabadas desde start()
+	 */
+	public static List<String> stop() {
+		List<String> recorded = RECORDED.get();
+		RECORDED.remove();
+		return recorded != null ? recorded : List.of();
+	}
+}
@@ -0,0 +1,3 @@
+-- Funciones de MySQL que usan las consultas nativas (ver support/H2MySqlFunctions)
+CREATE ALIAS IF NOT EXISTS BIN_TO_UUID FOR 'com.biblioteca.app.support.H2MySqlFunctions.binToUuid';
+CREATE ALIAS IF NOT EXISTS UUID_TO_BIN FOR 'com.biblioteca.app.support.H2MySqlFunctions.uuidToBin';